@@ -0,0 +1,45 @@
+package top.lytree.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 基准测试的公共配置，子类继承后只需声明{@code @Benchmark}方法及{@code @Param}参数
+ * <p>
+ * 默认测量平均耗时（ns/op），预热3轮、测量5轮，每轮1秒，每组参数单独fork一个JVM。构建及运行：
+ * </p>
+ * <pre>
+ *     mvn -P benchmark -pl atomic-benchmark -am package
+ *     java -jar atomic-benchmark/target/benchmarks.jar CharMatcherBenchmark
+ * </pre>
+ *
+ * @author pride
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class BaseBenchmark {
+
+    /**
+     * 校验对比双方的结果一致，在{@code @Setup}中调用，不一致时测试直接失败
+     *
+     * @param condition 结果是否一致
+     * @param message   不一致时的说明
+     */
+    protected static void check(final boolean condition, final String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package top.lytree.json;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * parseObject/toMap/toMapList 吞吐对比：每次构造JavaType并通过ObjectMapper读取 vs 预构建ObjectReader缓存
+ * <p>
+ * 参数{@code blackbird=true}时注册Blackbird模块
+ * </p>
+ */
+public class JSONBenchmark extends BaseBenchmark {
+
+    private static final String OBJECT = "{\"id\":1,\"name\":\"atomic\",\"score\":99.5,\"tags\":[\"a\",\"b\"],\"enabled\":true}";
+    private static final String ARRAY = "[" + String.join(",", List.of(OBJECT, OBJECT, OBJECT, OBJECT)) + "]";
+
+    @Param({"false", "true"})
+    public boolean blackbird;
+
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setup() {
+        if (blackbird) {
+            check(JSON.registerBlackbird(), "blackbird module is not on the classpath");
+        }
+        mapper = JSON.getObjectMapper();
+    }
+
+    @Benchmark
+    public Object parseObjectMapper() throws IOException {
+        return mapper.readValue(OBJECT, Item.class);
+    }
+
+    @Benchmark
+    public Object parseObjectCached() {
+        return JSONObject.parseObject(OBJECT, Item.class);
+    }
+
+    @Benchmark
+    public Object toMapMapper() throws IOException {
+        return mapper.readValue(OBJECT, mapper.getTypeFactory().constructMapType(LinkedHashMap.class, String.class, Object.class));
+    }
+
+    @Benchmark
+    public Object toMapCached() {
+        return JSONObject.toMap(OBJECT, String.class, Object.class);
+    }
+
+    @Benchmark
+    public Object toMapListMapper() throws IOException {
+        final TypeFactory typeFactory = mapper.getTypeFactory();
+        return mapper.readValue(ARRAY, typeFactory.constructCollectionType(List.class,
+                typeFactory.constructMapType(Map.class, String.class, Object.class)));
+    }
+
+    @Benchmark
+    public Object toMapListCached() {
+        return JSONObject.toMapList(ARRAY);
+    }
+
+    static class Item {
+        private long id;
+        private String name;
+        private double score;
+        private List<String> tags;
+        private boolean enabled;
+    }
+}
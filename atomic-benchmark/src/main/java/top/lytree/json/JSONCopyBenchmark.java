@@ -0,0 +1,76 @@
+package top.lytree.json;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * jsonCopy 深拷贝耗时对比：序列化为String再解析 vs TokenBuffer流转
+ * <p>
+ * 对象序列化后约为1KB、64KB、1MB，开始前校验两种方式的结果一致
+ * </p>
+ */
+public class JSONCopyBenchmark extends BaseBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private Order order;
+
+    @Setup
+    public void setup() {
+        order = order(size);
+        final Order byString = stringRoundTrip();
+        final Order byToken = tokenBuffer();
+        check(JSONObject.toJSONString(byString).equals(JSONObject.toJSONString(byToken)), "copy result mismatch");
+    }
+
+    @Benchmark
+    public Order stringRoundTrip() {
+        return JSONObject.parseObject(JSONObject.toJSONString(order), Order.class);
+    }
+
+    @Benchmark
+    public Order tokenBuffer() {
+        return JSONObject.jsonCopy(order, Order.class);
+    }
+
+    private static Order order(int bytes) {
+        final Order order = new Order();
+        order.id = 1L;
+        order.remark = "order";
+        order.lines = new ArrayList<>();
+        order.attributes = new LinkedHashMap<>();
+        order.attributes.put("channel", "web");
+        // 每行约80字节
+        for (int i = 0; i < bytes / 80; i++) {
+            final Line line = new Line();
+            line.sku = "SKU-" + i;
+            line.quantity = i % 7;
+            line.price = 10.25 + i;
+            line.tags = List.of("a", "b");
+            order.lines.add(line);
+        }
+        return order;
+    }
+
+    static class Order {
+        private long id;
+        private String remark;
+        private List<Line> lines;
+        private Map<String, String> attributes;
+    }
+
+    static class Line {
+        private String sku;
+        private int quantity;
+        private double price;
+        private List<String> tags;
+    }
+}
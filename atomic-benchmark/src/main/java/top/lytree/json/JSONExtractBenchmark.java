@@ -0,0 +1,64 @@
+package top.lytree.json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * 从约500KB的webhook报文中提取字段：完整解析为JsonNode树 vs {@link JSONExtractor}按token流提取
+ * <p>
+ * 目标字段分布在开头、大数组之前及大数组之后；{@link #extractorStopEarly()}只取大数组之前的字段，读到即停止
+ * </p>
+ */
+public class JSONExtractBenchmark extends BaseBenchmark {
+
+    private byte[] body;
+    private ObjectMapper mapper;
+    private JSONExtractor extractor;
+    private JSONExtractor head;
+
+    @Setup
+    public void setup() {
+        body = body(500 << 10);
+        mapper = JSON.getObjectMapper();
+        extractor = JSONExtractor.compile("event", "data.order.id", "signature");
+        head = JSONExtractor.compile("event", "data.order.id");
+    }
+
+    @Benchmark
+    public String readTree() throws IOException {
+        final JsonNode tree = mapper.readTree(body);
+        return JSON.getString(tree, "event") + JSON.getLong(tree.get("data").get("order"), "id") + JSON.getString(tree, "signature");
+    }
+
+    @Benchmark
+    public String extractor() {
+        final JSONExtractor.Values values = extractor.extract(body);
+        return values.getString("event") + values.getLong("data.order.id") + values.getString("signature");
+    }
+
+    @Benchmark
+    public String extractorStopEarly() {
+        final JSONExtractor.Values values = head.extract(body);
+        return values.getString("event") + values.getLong("data.order.id");
+    }
+
+    private static byte[] body(int bytes) {
+        final StringBuilder builder = new StringBuilder(bytes + 256);
+        builder.append("{\"event\":\"order.paid\",\"data\":{\"order\":{\"id\":123456789,\"amount\":99.5},\"items\":[");
+        for (int i = 0; builder.length() < bytes; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"sku\":\"SKU-").append(i).append("\",\"quantity\":").append(i % 7)
+                    .append(",\"tags\":[\"a\",\"b\"],\"attrs\":{\"color\":\"red\",\"size\":\"L\"}}");
+        }
+        builder.append("]},\"signature\":\"abcdef\"}");
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
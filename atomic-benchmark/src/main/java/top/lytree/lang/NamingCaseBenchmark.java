@@ -0,0 +1,31 @@
+package top.lytree.lang;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * 命名转换耗时，每次操作转换一组常见的实体字段名
+ */
+public class NamingCaseBenchmark extends BaseBenchmark {
+
+    private static final String[] NAMES = {"id", "userName", "createTime", "updateTime", "orderNo", "totalAmount",
+            "shippingAddressLine1", "isDeleted", "tenantId", "lastLoginIP"};
+
+    @Benchmark
+    public int toSymbolCase() {
+        int n = 0;
+        for (String name : NAMES) {
+            n += NamingCase.toSymbolCase(name, '_').length();
+        }
+        return n;
+    }
+
+    @Benchmark
+    public int toUnderlineCase() {
+        int n = 0;
+        for (String name : NAMES) {
+            n += NamingCase.toUnderlineCase(name).length();
+        }
+        return n;
+    }
+}
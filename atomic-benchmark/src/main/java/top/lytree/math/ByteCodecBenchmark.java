@@ -0,0 +1,91 @@
+package top.lytree.math;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * 字节转换耗时对比：移位拼接 vs {@link ByteBuffer} vs {@link ByteCodec}
+ * <p>
+ * 每次操作读写1024个long，变长编码写入512个
+ * </p>
+ */
+public class ByteCodecBenchmark extends BaseBenchmark {
+
+    private final long[] values = new long[1024];
+    private final byte[] bytes = new byte[values.length * Long.BYTES];
+    private final long[] decoded = new long[values.length];
+    private final ByteCodec codec = ByteCodec.BIG_ENDIAN;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 0x9E3779B97F4A7C15L;
+        }
+        codec.putLongs(values, 0, bytes, 0, values.length);
+    }
+
+    @Benchmark
+    public byte[] shiftWrite() {
+        for (int i = 0; i < values.length; i++) {
+            long value = values[i];
+            for (int j = Long.BYTES - 1; j >= 0; j--) {
+                bytes[i * Long.BYTES + j] = (byte) value;
+                value >>= Byte.SIZE;
+            }
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public ByteBuffer byteBufferWrite() {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.BIG_ENDIAN);
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public int codecWrite() {
+        int offset = 0;
+        for (long value : values) {
+            offset = codec.putLong(bytes, offset, value);
+        }
+        return offset;
+    }
+
+    @Benchmark
+    public int codecBulkWrite() {
+        return codec.putLongs(values, 0, bytes, 0, values.length);
+    }
+
+    @Benchmark
+    public long[] shiftRead() {
+        for (int i = 0; i < values.length; i++) {
+            long value = 0;
+            for (int j = 0; j < Long.BYTES; j++) {
+                value = (value << Byte.SIZE) | (bytes[i * Long.BYTES + j] & 0xFF);
+            }
+            decoded[i] = value;
+        }
+        return decoded;
+    }
+
+    @Benchmark
+    public int codecBulkRead() {
+        return codec.getLongs(bytes, 0, decoded, 0, values.length);
+    }
+
+    @Benchmark
+    public int varintWrite() {
+        int offset = 0;
+        for (int i = 0; i < 512; i++) {
+            offset = ByteCodec.putVarLong(bytes, offset, ByteCodec.encodeZigZag(values[i] >> 48));
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,76 @@
+package top.lytree.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * 金额运算耗时对比：BigDecimal vs long分
+ * <p>
+ * 乘除的乘数为4位小数的汇率，合计为10万个金额
+ * </p>
+ */
+public class MoneyBenchmark extends BaseBenchmark {
+
+    private final Money money = new Money("12345.67");
+    private final BigDecimal rate = new BigDecimal("7.1234");
+    private final long[] cents = new long[100_000];
+    private final long[] ratios = {3, 5, 7, 11};
+    private final long[] shares = new long[ratios.length];
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = random.nextInt(10_000_000);
+        }
+    }
+
+    @Benchmark
+    public long bigDecimalMultiply() {
+        return BigDecimal.valueOf(money.getCent()).multiply(rate).setScale(0, RoundingMode.HALF_EVEN).longValue();
+    }
+
+    @Benchmark
+    public Money moneyMultiply() {
+        return money.multiply(rate);
+    }
+
+    @Benchmark
+    public long bigDecimalDivide() {
+        return BigDecimal.valueOf(money.getCent()).divide(rate, RoundingMode.HALF_EVEN).longValue();
+    }
+
+    @Benchmark
+    public Money moneyDivide() {
+        return money.divide(rate);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (long cent : cents) {
+            sum = sum.add(BigDecimal.valueOf(cent, 2));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long centsSum() {
+        return MoneyUtils.sum(cents);
+    }
+
+    @Benchmark
+    public Money[] moneyAllocate() {
+        return money.allocate(ratios);
+    }
+
+    @Benchmark
+    public long[] centsAllocate() {
+        return MoneyUtils.allocate(money.getCent(), ratios, shares);
+    }
+}
@@ -0,0 +1,77 @@
+package top.lytree.math;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 金额合计耗时对比：reduce vs {@link MoneyCollectors}
+ * <p>
+ * 100万个2位小数的金额，分别串行及并行合计
+ * </p>
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyCollectorsBenchmark extends BaseBenchmark {
+
+    private final Currency cny = Currency.getInstance("CNY");
+    private final List<BigDecimal> decimals = new ArrayList<>();
+    private final List<Money> moneys = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        for (int i = 0; i < 1_000_000; i++) {
+            final long cent = random.nextInt(10_000_000);
+            decimals.add(BigDecimal.valueOf(cent, 2));
+            final Money money = new Money(0, cny);
+            money.setCent(cent);
+            moneys.add(money);
+        }
+        check(reduceBigDecimal().compareTo(parallelCollectBigDecimal()) == 0, "parallel sum differs from reduce");
+    }
+
+    @Benchmark
+    public BigDecimal reduceBigDecimal() {
+        return decimals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal collectBigDecimal() {
+        return decimals.stream().collect(MoneyCollectors.summingBigDecimal());
+    }
+
+    @Benchmark
+    public BigDecimal parallelReduceBigDecimal() {
+        return decimals.parallelStream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal parallelCollectBigDecimal() {
+        return decimals.parallelStream().collect(MoneyCollectors.summingBigDecimal());
+    }
+
+    @Benchmark
+    public Money reduceMoney() {
+        return moneys.stream().reduce(new Money(0, cny), Money::add);
+    }
+
+    @Benchmark
+    public Money collectMoney() {
+        return moneys.stream().collect(MoneyCollectors.summingMoney(cny));
+    }
+
+    @Benchmark
+    public Money parallelCollectMoney() {
+        return moneys.parallelStream().collect(MoneyCollectors.summingMoney(cny));
+    }
+}
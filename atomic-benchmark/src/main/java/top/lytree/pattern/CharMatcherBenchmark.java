@@ -0,0 +1,62 @@
+package top.lytree.pattern;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * 字符匹配耗时对比：逐字符判断 vs 预计算匹配器的块扫描
+ * <p>
+ * 文本为4KB的随机小写字母，不含目标字符
+ * </p>
+ */
+public class CharMatcherBenchmark extends BaseBenchmark {
+
+    private String text;
+    private CharMatcher plain;
+    private CharMatcher fast;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final char[] chars = new char[4096];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        text = new String(chars);
+        plain = CharMatcher.anyOf("<>&\"'");
+        fast = plain.precomputed();
+    }
+
+    @Benchmark
+    public int anyOfIndexIn() {
+        return plain.indexIn(text);
+    }
+
+    @Benchmark
+    public int precomputedIndexIn() {
+        return fast.indexIn(text);
+    }
+
+    @Benchmark
+    public int anyOfCountIn() {
+        return plain.countIn(text);
+    }
+
+    @Benchmark
+    public int precomputedCountIn() {
+        return fast.countIn(text);
+    }
+
+    @Benchmark
+    public String anyOfRemoveFrom() {
+        return plain.removeFrom(text);
+    }
+
+    @Benchmark
+    public String precomputedRemoveFrom() {
+        return fast.removeFrom(text);
+    }
+}
@@ -0,0 +1,80 @@
+package top.lytree.redis;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import top.lytree.benchmark.BaseBenchmark;
+import top.lytree.json.JSONFormat;
+
+/**
+ * Redis值序列化对比：Jackson2JsonRedisSerializer vs BinaryJsonRedisSerializer(JSON/SMILE/CBOR)
+ * <p>
+ * 使用与RedisCachingConfig相同的ObjectMapper配置（默认类型信息），开始前输出各编码的大小
+ * </p>
+ */
+public class RedisSerializerBenchmark extends BaseBenchmark {
+
+    @Param({"jackson2json", "JSON", "SMILE", "CBOR"})
+    public String serializer;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        redisSerializer = "jackson2json".equals(serializer) ? new Jackson2JsonRedisSerializer<>(mapper(), Object.class)
+                : new BinaryJsonRedisSerializer<>(mapper(), Object.class, JSONFormat.valueOf(serializer));
+        value = order();
+        bytes = redisSerializer.serialize(value);
+        check(value.equals(redisSerializer.deserialize(bytes)), serializer + " round trip mismatch");
+        System.out.printf("%n%s: %d bytes%n", serializer, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(bytes);
+    }
+
+    private static ObjectMapper mapper() {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return mapper;
+    }
+
+    private static Object order() {
+        final Map<String, Object> order = new LinkedHashMap<>();
+        order.put("orderId", 1234567890123L);
+        order.put("status", "PAID");
+        order.put("amount", 1999.5);
+        final List<Map<String, Object>> lines = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final Map<String, Object> line = new LinkedHashMap<>();
+            line.put("sku", "SKU-" + i);
+            line.put("quantity", i % 5 + 1);
+            line.put("price", 10.25 + i);
+            line.put("warehouse", "WH-EAST-01");
+            lines.add(line);
+        }
+        order.put("lines", lines);
+        return order;
+    }
+}
@@ -0,0 +1,50 @@
+package top.lytree.text;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * HTML转义耗时对比：正则逐个替换 vs 查表整段复制
+ * <p>
+ * 输入为约4KB的文本，{@code clean}几乎不需要转义，{@code dirty}大量需要转义
+ * </p>
+ */
+public class EscaperBenchmark extends BaseBenchmark {
+
+    @Param({"clean", "dirty"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        text = "clean".equals(input) ? text(new Random(1), "abcdefghij klmnopqrst uvwxyz.,", 4096)
+                : text(new Random(2), "ab<>&\"c d", 4096);
+        check(regex().equals(table()), "escape result mismatch");
+    }
+
+    /**
+     * 原先htmlSpecialChars的实现
+     */
+    @Benchmark
+    public String regex() {
+        return text.replaceAll("&", "&amp;").replaceAll("\"", "&quot;").replaceAll("<", "&lt;").replaceAll(">", "&gt;");
+    }
+
+    @Benchmark
+    public String table() {
+        return HTMLFilter.htmlSpecialChars(text);
+    }
+
+    private static String text(Random random, String alphabet, int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,47 @@
+package top.lytree.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * HTMLFilter 耗时对比：多轮正则替换（{@link LegacyHTMLFilter}） vs 单遍扫描
+ * <p>
+ * 输入为约1KB、100KB的帖子内容，开始前校验两种实现的结果一致
+ * </p>
+ */
+public class HTMLFilterBenchmark extends BaseBenchmark {
+
+    @Param({"1024", "102400"})
+    public int size;
+
+    private final HTMLFilter filter = new HTMLFilter();
+    private final LegacyHTMLFilter legacy = new LegacyHTMLFilter();
+    private String post;
+
+    @Setup
+    public void setup() {
+        post = post(size);
+        check(regex().equals(singlePass()), "filter result mismatch");
+    }
+
+    @Benchmark
+    public String regex() {
+        return legacy.filter(post);
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return filter.filter(post);
+    }
+
+    private static String post(int chars) {
+        final StringBuilder post = new StringBuilder(chars + 128);
+        for (int i = 0; post.length() < chars; i++) {
+            post.append("<p>第").append(i).append("段 <b>加粗</b> a < b & c > d <a href=\"http://example.com/")
+                    .append(i).append("\" onclick=\"x()\">链接</a><img src=\"javascript:x\"><i></i>\n");
+        }
+        return post.toString();
+    }
+}
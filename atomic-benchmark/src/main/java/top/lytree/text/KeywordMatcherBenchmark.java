@@ -0,0 +1,73 @@
+package top.lytree.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * 多关键词匹配耗时对比：逐个关键词indexOf vs Aho-Corasick自动机
+ * <p>
+ * 词典为3万个2~6字的随机中文词，消息约1KB；{@link #build()}单独测量构建自动机的耗时
+ * </p>
+ */
+public class KeywordMatcherBenchmark extends BaseBenchmark {
+
+    private final List<String> words = new ArrayList<>();
+    private String message;
+    private KeywordMatcher matcher;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        for (int i = 0; i < 30_000; i++) {
+            words.add(chinese(random, 2 + random.nextInt(5)));
+        }
+        message = chinese(random, 1000);
+        matcher = KeywordMatcher.of(words);
+        check(indexOfPerWord() == automaton(), "match result mismatch");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public KeywordMatcher build() {
+        return KeywordMatcher.of(words);
+    }
+
+    @Benchmark
+    public boolean indexOfPerWord() {
+        for (String word : words) {
+            if (message.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean automaton() {
+        return matcher.containsAny(message);
+    }
+
+    @Benchmark
+    public String automatonReplace() {
+        return matcher.replaceAll(message, '*');
+    }
+
+    private static String chinese(Random random, int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            // 常用汉字区间内取3000个字
+            chars[i] = (char) (0x4E00 + random.nextInt(3000));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,50 @@
+package top.lytree.text;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+import top.lytree.lang.StringUtils;
+
+/**
+ * 切分后求和的耗时对比：StringUtils.split + Long.parseLong vs Tokenizer游标直接解析
+ * <p>
+ * 输入为200个逗号分隔的随机整数
+ * </p>
+ */
+public class TokenizerBenchmark extends BaseBenchmark {
+
+    private final Tokenizer tokenizer = Tokenizer.on(',');
+    private String line;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            builder.append(i == 0 ? "" : ",").append(random.nextInt(1_000_000));
+        }
+        line = builder.toString();
+        check(splitParseLong() == cursorParseLong(), "sum mismatch");
+    }
+
+    @Benchmark
+    public long splitParseLong() {
+        long sum = 0;
+        for (String token : StringUtils.split(line, ',')) {
+            sum += Long.parseLong(token);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long cursorParseLong() {
+        long sum = 0;
+        final Tokenizer.Cursor cursor = tokenizer.tokenize(line);
+        while (cursor.next()) {
+            sum += cursor.parseLong();
+        }
+        return sum;
+    }
+}
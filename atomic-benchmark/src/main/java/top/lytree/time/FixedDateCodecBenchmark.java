@@ -0,0 +1,62 @@
+package top.lytree.time;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * 定长日期格式耗时对比：{@link DateTimeFormatter} vs {@link FixedDateCodec}
+ * <p>
+ * 格式为yyyy-MM-dd HH:mm:ss、yyyyMMddHHmmss及yyyy-MM-dd'T'HH:mm:ss.SSS'Z'
+ * </p>
+ */
+public class FixedDateCodecBenchmark extends BaseBenchmark {
+
+    @Param({DatePattern.NORM_DATETIME_PATTERN, DatePattern.PURE_DATETIME_PATTERN, DatePattern.UTC_MS_PATTERN})
+    public String pattern;
+
+    private final LocalDateTime time = LocalDateTime.of(2023, 7, 9, 8, 5, 3, 45_000_000);
+    private FixedDateCodec codec;
+    private DateTimeFormatter formatter;
+    private String text;
+    private char[] buf;
+
+    @Setup
+    public void setup() {
+        codec = FixedDateCodec.of(pattern);
+        check(null != codec, "no fixed codec for " + pattern);
+        formatter = codec.getFormatter();
+        text = formatter.format(time);
+        buf = new char[codec.length()];
+        check(text.equals(codecFormat()) && formatterParse().equals(codecParse()), "codec result mismatch");
+    }
+
+    @Benchmark
+    public String formatterFormat() {
+        return formatter.format(time);
+    }
+
+    @Benchmark
+    public String codecFormat() {
+        return codec.format(time);
+    }
+
+    @Benchmark
+    public int codecFormatTo() {
+        return codec.formatTo(time, buf, 0);
+    }
+
+    @Benchmark
+    public LocalDateTime formatterParse() {
+        return LocalDateTime.parse(text, formatter);
+    }
+
+    @Benchmark
+    public LocalDateTime codecParse() {
+        return codec.parseDateTime(text);
+    }
+}
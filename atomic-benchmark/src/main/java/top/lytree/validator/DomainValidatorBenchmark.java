@@ -0,0 +1,58 @@
+package top.lytree.validator;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+import top.lytree.validator.DomainValidator.ArrayType;
+
+/**
+ * 顶级域名判断耗时对比：转小写后多个有序数组二分查找 vs 字符树
+ * <p>
+ * 输入为一组大小写混合的常见顶级域名及不存在的域名
+ * </p>
+ */
+public class DomainValidatorBenchmark extends BaseBenchmark {
+
+    private static final String[] TLDS = {"com", "CN", "org", "Net", "xn--fiqs8s", "io", "notatld", "shop", "DE", "arpa"};
+
+    private String[] generic;
+    private String[] countryCode;
+    private String[] infrastructure;
+    private DomainValidator validator;
+
+    @Setup
+    public void setup() {
+        generic = DomainValidator.getTLDEntries(ArrayType.GENERIC_RO);
+        countryCode = DomainValidator.getTLDEntries(ArrayType.COUNTRY_CODE_RO);
+        infrastructure = DomainValidator.getTLDEntries(ArrayType.INFRASTRUCTURE_RO);
+        validator = DomainValidator.getInstance();
+        check(binarySearch() == trie(), "tld lookup mismatch");
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        int n = 0;
+        for (String tld : TLDS) {
+            final String key = tld.toLowerCase(Locale.ENGLISH);
+            if (Arrays.binarySearch(infrastructure, key) >= 0 || Arrays.binarySearch(generic, key) >= 0
+                    || Arrays.binarySearch(countryCode, key) >= 0) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    @Benchmark
+    public int trie() {
+        int n = 0;
+        for (String tld : TLDS) {
+            if (validator.isValidTld(tld)) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,75 @@
+package top.lytree.validator;
+
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+import top.lytree.pattern.PatternPool;
+
+/**
+ * 格式校验耗时对比：正则（{@link RegexOracle}） vs 逐字符扫描，分别测试合法与非法输入
+ */
+public class FormatValidatorBenchmark extends BaseBenchmark {
+
+    @Param({"ipv4", "ipv6", "email", "authority", "mobile", "citizenId"})
+    public String format;
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    private String input;
+    private Predicate<String> regex;
+    private Predicate<String> scanner;
+
+    @Setup
+    public void setup() {
+        final DomainValidator domain = DomainValidator.getInstance(false);
+        switch (format) {
+            case "ipv4":
+                input = valid ? "192.168.100.200" : "192.168.100.2000";
+                regex = RegexOracle::isValidInet4Address;
+                scanner = InetAddressValidator.getInstance()::isValidInet4Address;
+                break;
+            case "ipv6":
+                input = valid ? "2001:db8::ff00:42:8329" : "2001:db8::ff00::42";
+                regex = RegexOracle::isValidInet6Address;
+                scanner = InetAddressValidator.getInstance()::isValidInet6Address;
+                break;
+            case "email":
+                input = valid ? "john.o'brien@apache.org" : "john..smith@apache.org";
+                regex = s -> RegexOracle.isValidEmail(s, domain);
+                scanner = EmailValidator.getInstance()::isValid;
+                break;
+            case "authority":
+                input = valid ? "user:pass@www.apache.org:8080" : "www.apache.org:99999";
+                regex = s -> RegexOracle.isValidAuthority(s, domain);
+                scanner = UrlValidator.getInstance()::isValidAuthority;
+                break;
+            case "mobile":
+                input = valid ? "+8613812345678" : "+8612812345678";
+                regex = s -> PatternPool.MOBILE.matcher(s).matches();
+                scanner = ChinaNumberValidator::isMobile;
+                break;
+            case "citizenId":
+                input = valid ? "11010519491231002X" : "110105194913310021";
+                regex = s -> PatternPool.CITIZEN_ID.matcher(s).matches();
+                scanner = ChinaNumberValidator::isCitizenId;
+                break;
+            default:
+                throw new IllegalArgumentException(format);
+        }
+        check(regex() == valid && scan() == valid, format + " result mismatch for " + input);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return regex.test(input);
+    }
+
+    @Benchmark
+    public boolean scan() {
+        return scanner.test(input);
+    }
+}
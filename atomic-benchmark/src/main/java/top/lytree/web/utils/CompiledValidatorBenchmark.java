@@ -0,0 +1,187 @@
+package top.lytree.web.utils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NegativeOrZero;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import top.lytree.benchmark.BaseBenchmark;
+
+/**
+ * Bean校验耗时对比：标准校验器 vs 预编译校验计划
+ * <p>
+ * DTO有30个带约束的字段，其中包含级联对象、级联集合及没有约束的级联对象；
+ * {@code @Email}一组在此之外多一个交给标准校验器的约束。开始前校验两种校验器的结果一致
+ * </p>
+ */
+public class CompiledValidatorBenchmark extends BaseBenchmark {
+
+    @Param({"standard", "compiled"})
+    public String validator;
+
+    private Validator target;
+    private final OrderForm valid = new OrderForm();
+    private final OrderForm invalid = new OrderForm();
+    private final ContactForm contact = new ContactForm();
+
+    @Setup
+    public void setup() {
+        final Validator standard = Validation.buildDefaultValidatorFactory().getValidator();
+        final Validator compiled = new CompiledValidator(standard);
+        target = "compiled".equals(validator) ? compiled : standard;
+
+        invalid.mobile = "12812345678";
+        invalid.quantity = 0;
+        invalid.address.zipCode = "140000";
+        check(messages(standard.validate(valid)).isEmpty() && messages(compiled.validate(valid)).isEmpty(), "valid form rejected");
+        check(messages(standard.validate(invalid)).equals(messages(compiled.validate(invalid))), "compiled validator differs from the standard validator");
+        check(messages(compiled.validate(contact)).isEmpty(), "valid contact form rejected");
+        contact.contact = "lisi@";
+        check(messages(standard.validate(contact)).equals(messages(compiled.validate(contact))), "compiled validator differs from the standard validator");
+        contact.contact = "lisi@example.com";
+    }
+
+    @Benchmark
+    public Object validForm() {
+        return target.validate(valid);
+    }
+
+    @Benchmark
+    public Object emailForm() {
+        return target.validate(contact);
+    }
+
+    @Benchmark
+    public Object invalidForm() {
+        return target.validate(invalid);
+    }
+
+    private static Set<String> messages(Set<? extends ConstraintViolation<?>> violations) {
+        final Set<String> messages = new TreeSet<>();
+        for (ConstraintViolation<?> violation : violations) {
+            messages.add(violation.getPropertyPath() + " " + violation.getMessage());
+        }
+        return messages;
+    }
+
+    public static class OrderForm {
+
+        @NotBlank
+        private String orderNo = "SO-20240101-0001";
+        @NotBlank
+        @Size(max = 32)
+        private String customerName = "张三";
+        @Pattern(regexp = "(?:0|86|\\+86)?1[3-9]\\d{9}")
+        private String mobile = "13812345678";
+        @Pattern(regexp = "[1-9]\\d{5}[1-2]\\d{3}((0\\d)|(1[0-2]))(([012]\\d)|3[0-1])\\d{3}(\\d|X|x)")
+        private String citizenId = "11010519491231002X";
+        @NotBlank
+        private String email = "zhangsan@example.com";
+        @NotNull
+        @Min(1)
+        @Max(999)
+        private Integer quantity = 3;
+        @Positive
+        private long amount = 12_800;
+        @PositiveOrZero
+        private BigDecimal discount = new BigDecimal("0.00");
+        @NotNull
+        private Long userId = 10_001L;
+        @NotNull
+        private Long shopId = 20_002L;
+        @Size(min = 1, max = 64)
+        private String title = "年货礼盒";
+        @Size(max = 512)
+        private String remark = "请尽快发货";
+        @NotEmpty
+        private List<String> tags = List.of("gift", "food");
+        @NotNull
+        private Boolean invoice = Boolean.TRUE;
+        @AssertTrue
+        private boolean agreed = true;
+        @Pattern(regexp = "[A-Z]{3}")
+        private String currency = "CNY";
+        @Min(0)
+        private int points = 120;
+        @Max(100)
+        private int percent = 35;
+        @NotBlank
+        private String channel = "app";
+        @NotBlank
+        private String clientIp = "192.168.1.20";
+        @Size(max = 128)
+        private String userAgent = "Mozilla/5.0";
+        @NotNull
+        private Integer payType = 2;
+        @NotNull
+        private Integer deliveryType = 1;
+        @Size(max = 16)
+        private String couponCode = "NEWYEAR";
+        @NegativeOrZero
+        private int adjustment = 0;
+        @NotBlank
+        @Size(max = 64)
+        private String province = "浙江省";
+        @NotBlank
+        private String city = "杭州市";
+        @Valid
+        @NotNull
+        private Address address = new Address();
+        @Valid
+        private List<Item> items = List.of(new Item(), new Item());
+        @Valid
+        private Note note = new Note();
+    }
+
+    /**
+     * 多一个没有编译的约束，由标准校验器按值校验
+     */
+    public static class ContactForm extends OrderForm {
+
+        @Email
+        private String contact = "lisi@example.com";
+    }
+
+    public static class Address {
+
+        @NotBlank
+        private String street = "文一西路969号";
+        @Pattern(regexp = "^(0[1-7]|1[0-356]|2[0-7]|3[0-6]|4[0-7]|5[0-7]|6[0-7]|7[0-5]|8[0-9]|9[0-8])\\d{4}|99907[78]$")
+        private String zipCode = "311121";
+    }
+
+    public static class Item {
+
+        @NotNull
+        private Long skuId = 1L;
+        @Min(1)
+        private int count = 2;
+    }
+
+    /**
+     * 没有约束的级联对象
+     */
+    public static final class Note {
+
+        private String text = "";
+    }
+}
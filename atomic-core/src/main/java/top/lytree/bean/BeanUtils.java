@@ -3,8 +3,6 @@ package top.lytree.bean;
 import top.lytree.collections.ArrayUtils;
 import top.lytree.collections.ListUtils;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
 
@@ -57,15 +55,8 @@ public class BeanUtils {
      * @return 是否为Bean对象
      */
     public static boolean hasSetter(Class<?> clazz) {
-        if (ClassUtils.isNormalClass(clazz)) {
-            for (Method method : clazz.getMethods()) {
-                if (method.getParameterCount() == 1 && method.getName().startsWith("set")) {
-                    // 检测包含标准的setXXX方法即视为标准的JavaBean
-                    return true;
-                }
-            }
-        }
-        return false;
+        // 检测包含标准的setXXX方法即视为标准的JavaBean
+        return ClassUtils.isNormalClass(clazz) && ClassMetadata.of(clazz).hasSetter();
     }
 
     /**
@@ -75,16 +66,7 @@ public class BeanUtils {
      * @return 是否为Bean对象
      */
     public static boolean hasGetter(Class<?> clazz) {
-        if (ClassUtils.isNormalClass(clazz)) {
-            for (Method method : clazz.getMethods()) {
-                if (method.getParameterCount() == 0) {
-                    if (method.getName().startsWith("get") || method.getName().startsWith("is")) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        return ClassUtils.isNormalClass(clazz) && ClassMetadata.of(clazz).hasGetter();
     }
 
     /**
@@ -94,15 +76,8 @@ public class BeanUtils {
      * @return 是否有public类型字段
      */
     public static boolean hasPublicField(Class<?> clazz) {
-        if (ClassUtils.isNormalClass(clazz)) {
-            for (Field field : clazz.getFields()) {
-                if (FieldUtils.isPublic(field) && !FieldUtils.isStatic(field)) {
-                    //非static的public字段
-                    return true;
-                }
-            }
-        }
-        return false;
+        //非static的public字段
+        return ClassUtils.isNormalClass(clazz) && ClassMetadata.of(clazz).hasPublicField();
     }
 
 }
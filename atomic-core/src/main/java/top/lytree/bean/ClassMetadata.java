@@ -0,0 +1,540 @@
+package top.lytree.bean;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import top.lytree.collections.ArrayUtils;
+import top.lytree.exception.BeanException;
+
+/**
+ * 类元数据缓存，供{@link FieldUtils}、{@link ReflectUtils}、{@link ClassUtils}及{@link BeanUtils}共享
+ * <p>
+ * 缓存基于{@link ClassValue}，元数据挂在对应{@link Class}对象上，不持有额外的强引用，类加载器卸载时随类一同回收。
+ * </p>
+ * <ul>
+ *     <li>字段数组在首次访问时反射获取一次，此后不再变化；缓存的字段保持原有的访问权限，读写字段值使用首次访问时创建的私有可访问副本</li>
+ *     <li>字段名到字段的映射为有序Map，子类字段优先</li>
+ *     <li>返回{@link List}、{@link Map}的方法直接返回缓存字段的只读视图，返回{@code Field[]}的方法返回缓存数组的克隆，都不再反射，
+ *     其中的字段为共享对象，调用方不得修改其访问权限</li>
+ *     <li>返回单个字段的方法返回新的副本，与{@link Class#getDeclaredField(String)}一样，调用方设置可访问不影响缓存及其他调用方</li>
+ *     <li>方法相关信息（如是否存在setter）在首次使用时才计算</li>
+ * </ul>
+ *
+ * @author pride
+ */
+public final class ClassMetadata {
+
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(final Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    /**
+     * 获取指定类的元数据
+     *
+     * @param clazz 类，不能为{@code null}
+     * @return 元数据
+     */
+    public static ClassMetadata of(final Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    private final Class<?> type;
+    /**
+     * 本类声明的字段
+     */
+    private final Field[] declaredFields;
+    /**
+     * 本类及父类的所有字段，子类字段在前，父类字段在后
+     */
+    private final Field[] fields;
+    private final List<Field> declaredFieldList;
+    private final List<Field> fieldList;
+    private final Map<String, Field> declaredFieldMap;
+    private final Map<String, Field> fieldMap;
+    /**
+     * 本类声明的字段名到其在{@link #declaredFields}中下标的映射，用于定位缓存的访问器
+     */
+    private final Map<String, Integer> declaredFieldIndex;
+    private final List<Class<?>> interfaces;
+
+    /**
+     * 延迟创建的字段可访问副本，与{@link #declaredFields}一一对应，只用于读写字段值，不对外暴露
+     */
+    private volatile Field[] accessibleDeclaredFields;
+    private volatile Field[] accessibleFields;
+    /**
+     * 延迟创建的字段访问器，与字段数组一一对应
+     */
+    private volatile FieldAccessor[] declaredAccessors;
+    private volatile FieldAccessor[] accessors;
+    /**
+     * 延迟计算的public方法
+     */
+    private volatile Method[] methods;
+
+    private ClassMetadata(final Class<?> type) {
+        this.type = type;
+        this.declaredFields = type.getDeclaredFields();
+
+        final Class<?> superclass = type.getSuperclass();
+        this.fields = null == superclass ? this.declaredFields
+                : ArrayUtils.addAll(this.declaredFields, of(superclass).fields);
+
+        this.declaredFieldList = Collections.unmodifiableList(Arrays.asList(this.declaredFields));
+        this.fieldList = Collections.unmodifiableList(Arrays.asList(this.fields));
+        this.declaredFieldMap = toFieldMap(this.declaredFields);
+        this.fieldMap = toFieldMap(this.fields);
+        final Map<String, Integer> index = new HashMap<>(Math.max((int) (this.declaredFields.length / .75f) + 1, 16));
+        for (int i = 0; i < this.declaredFields.length; i++) {
+            index.put(this.declaredFields[i].getName(), i);
+        }
+        this.declaredFieldIndex = index;
+
+        final LinkedHashSet<Class<?>> interfacesFound = new LinkedHashSet<>();
+        for (final Class<?> i : type.getInterfaces()) {
+            interfacesFound.add(i);
+            interfacesFound.addAll(of(i).interfaces);
+        }
+        if (null != superclass) {
+            interfacesFound.addAll(of(superclass).interfaces);
+        }
+        this.interfaces = Collections.unmodifiableList(new ArrayList<>(interfacesFound));
+    }
+
+    /**
+     * 对应的类
+     *
+     * @return 类
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 本类声明的字段，不包括父类字段<br>
+     * 返回的是缓存的共享数组，调用方不得修改数组或字段的访问权限
+     *
+     * @return 字段数组
+     */
+    Field[] declaredFields() {
+        return declaredFields;
+    }
+
+    /**
+     * 本类及父类的所有字段，子类字段在前，父类字段在后<br>
+     * 返回的是缓存的共享数组，调用方不得修改数组或字段的访问权限
+     *
+     * @return 字段数组
+     */
+    Field[] fields() {
+        return fields;
+    }
+
+    /**
+     * 按名称查找字段，包括父类字段，同名时子类字段优先<br>
+     * 返回的是缓存的共享字段，调用方不得修改其访问权限
+     *
+     * @param name 字段名
+     * @return 字段，不存在返回{@code null}
+     */
+    Field field(final String name) {
+        return fieldMap.get(name);
+    }
+
+    /**
+     * 按名称查找本类声明的字段<br>
+     * 返回的是缓存的共享字段，调用方不得修改其访问权限
+     *
+     * @param name 字段名
+     * @return 字段，不存在返回{@code null}
+     */
+    Field declaredField(final String name) {
+        return declaredFieldMap.get(name);
+    }
+
+    /**
+     * 本类声明的字段，不包括父类字段<br>
+     * 返回缓存数组的克隆，不再反射，其中的字段为共享对象，调用方不得修改其访问权限，需要设置可访问时使用{@link #getDeclaredField(String)}取得副本
+     *
+     * @return 新的字段数组
+     */
+    public Field[] getDeclaredFields() {
+        return declaredFields.clone();
+    }
+
+    /**
+     * 本类声明的字段的只读列表，不包括父类字段<br>
+     * 返回缓存的只读视图，不再反射，调用方不得修改其中字段的访问权限，需要设置可访问时使用{@link #getDeclaredField(String)}取得副本
+     *
+     * @return 只读列表
+     */
+    public List<Field> getDeclaredFieldList() {
+        return declaredFieldList;
+    }
+
+    /**
+     * 本类及父类的所有字段，子类字段在前，父类字段在后<br>
+     * 返回缓存数组的克隆，不再反射，其中的字段为共享对象，调用方不得修改其访问权限，需要设置可访问时使用{@link #getField(String)}取得副本
+     *
+     * @return 新的字段数组
+     */
+    public Field[] getFields() {
+        return fields.clone();
+    }
+
+    /**
+     * 本类及父类的所有字段的只读列表，子类字段在前，父类字段在后<br>
+     * 返回缓存的只读视图，不再反射，调用方不得修改其中字段的访问权限，需要设置可访问时使用{@link #getField(String)}取得副本
+     *
+     * @return 只读列表
+     */
+    public List<Field> getFieldList() {
+        return fieldList;
+    }
+
+    /**
+     * 字段名和字段对应的只读有序Map，包括父类字段，同名时子类字段优先<br>
+     * 返回缓存的只读视图，不再反射，调用方不得修改其中字段的访问权限
+     *
+     * @return 只读Map
+     */
+    public Map<String, Field> getFieldMap() {
+        return fieldMap;
+    }
+
+    /**
+     * 按名称查找字段，包括父类字段，同名时子类字段优先
+     *
+     * @param name 字段名
+     * @return 字段的副本，不存在返回{@code null}
+     */
+    public Field getField(final String name) {
+        return copy(fieldMap.get(name));
+    }
+
+    /**
+     * 按名称查找本类声明的字段
+     *
+     * @param name 字段名
+     * @return 字段的副本，不存在返回{@code null}
+     */
+    public Field getDeclaredField(final String name) {
+        return copy(declaredFieldMap.get(name));
+    }
+
+    /**
+     * 本类声明字段的可访问副本，与{@link #declaredFields()}一一对应，首次调用时创建<br>
+     * 返回的是缓存的共享数组，只用于读写字段值，调用方不得修改或传出
+     *
+     * @return 字段数组
+     */
+    Field[] accessibleDeclaredFields() {
+        Field[] result = this.accessibleDeclaredFields;
+        if (null == result) {
+            result = type.getDeclaredFields();
+            for (final Field field : result) {
+                open(field);
+            }
+            this.accessibleDeclaredFields = result;
+        }
+        return result;
+    }
+
+    /**
+     * 本类及父类所有字段的可访问副本，与{@link #fields()}一一对应，首次调用时创建<br>
+     * 返回的是缓存的共享数组，只用于读写字段值，调用方不得修改或传出
+     *
+     * @return 字段数组
+     */
+    Field[] accessibleFields() {
+        Field[] result = this.accessibleFields;
+        if (null == result) {
+            final Class<?> superclass = type.getSuperclass();
+            result = null == superclass ? accessibleDeclaredFields()
+                    : ArrayUtils.addAll(accessibleDeclaredFields(), of(superclass).accessibleFields());
+            this.accessibleFields = result;
+        }
+        return result;
+    }
+
+    /**
+     * 获取本类声明的字段对应的缓存可访问副本
+     *
+     * @param field 本类声明的字段
+     * @return 可访问的字段，字段不属于本类时创建不缓存的副本
+     */
+    Field accessibleField(final Field field) {
+        final Integer i = declaredFieldIndex.get(field.getName());
+        if (null != i && type == field.getDeclaringClass()) {
+            return accessibleDeclaredFields()[i];
+        }
+        return open(copy(field));
+    }
+
+    /**
+     * 读取字段值，通过缓存的可访问副本反射读取，不修改传入字段的访问权限
+     *
+     * @param field 字段
+     * @param obj   对象，static字段为{@code null}
+     * @return 字段值
+     * @throws BeanException 无法访问，或对象为{@code null}、类型不符
+     */
+    static Object readField(final Field field, final Object obj) throws BeanException {
+        try {
+            return of(field.getDeclaringClass()).accessibleField(field).get(obj);
+        } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+            throw accessError(e, field, obj);
+        }
+    }
+
+    /**
+     * 写入字段值，通过缓存的可访问副本反射写入，不修改传入字段的访问权限
+     *
+     * @param field 字段
+     * @param obj   对象，static字段为{@code null}
+     * @param value 值，类型须与字段兼容
+     * @throws BeanException 无法访问（如static final字段），或对象为{@code null}、类型不符，或值的类型与字段不兼容
+     */
+    static void writeField(final Field field, final Object obj, final Object value) throws BeanException {
+        try {
+            of(field.getDeclaringClass()).accessibleField(field).set(obj, value);
+        } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+            throw accessError(e, field, obj);
+        }
+    }
+
+    /**
+     * 本类声明字段的访问器，与{@link #declaredFields()}一一对应，首次调用时创建<br>
+     * 返回的是缓存的共享数组，调用方不得修改
+     *
+     * @return 访问器数组
+     */
+    FieldAccessor[] declaredAccessors() {
+        FieldAccessor[] result = this.declaredAccessors;
+        if (null == result) {
+            result = new FieldAccessor[declaredFields.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = FieldAccessor.create(declaredFields[i]);
+            }
+            this.declaredAccessors = result;
+        }
+        return result;
+    }
+
+    /**
+     * 本类及父类所有字段的访问器，与{@link #fields()}一一对应，首次调用时创建<br>
+     * 返回的是缓存的共享数组，调用方不得修改
+     *
+     * @return 访问器数组
+     */
+    FieldAccessor[] accessors() {
+        FieldAccessor[] result = this.accessors;
+        if (null == result) {
+            final Class<?> superclass = type.getSuperclass();
+            result = null == superclass ? declaredAccessors()
+                    : ArrayUtils.addAll(declaredAccessors(), of(superclass).accessors());
+            this.accessors = result;
+        }
+        return result;
+    }
+
+    /**
+     * 本类及父类所有字段的访问器，子类字段在前，父类字段在后
+     *
+     * @return 访问器数组的副本
+     */
+    public FieldAccessor[] getAccessors() {
+        return accessors().clone();
+    }
+
+    /**
+     * 本类声明字段的访问器，不包括父类字段，顺序与{@link #getDeclaredFieldList()}一致
+     *
+     * @return 访问器数组的副本
+     */
+    public FieldAccessor[] getDeclaredAccessors() {
+        return declaredAccessors().clone();
+    }
+
+    /**
+     * 获取本类声明的字段对应的缓存访问器
+     *
+     * @param field 本类声明的字段
+     * @return 访问器，字段不属于本类时创建不缓存的访问器
+     */
+    FieldAccessor accessor(final Field field) {
+        final Integer i = declaredFieldIndex.get(field.getName());
+        if (null != i && type == field.getDeclaringClass()) {
+            return declaredAccessors()[i];
+        }
+        return FieldAccessor.create(field);
+    }
+
+    /**
+     * 一次读取对象所有字段（包括父类字段）的值，顺序与{@link #getFields()}一致
+     *
+     * @param obj 对象
+     * @return 字段值数组
+     */
+    public Object[] readFieldValues(final Object obj) {
+        final Field[] all = accessibleFields();
+        final Object[] values = new Object[all.length];
+        for (int i = 0; i < all.length; i++) {
+            try {
+                values[i] = all[i].get(obj);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, all[i], obj);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 本类实现的所有接口，包括父类及父接口实现的接口，按声明顺序，无重复
+     *
+     * @return 只读列表
+     */
+    public List<Class<?>> getAllInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * 本类的所有public方法（{@link Class#getMethods()}），首次调用时计算<br>
+     * 返回的是缓存的共享数组，调用方不得修改
+     *
+     * @return 方法数组
+     */
+    Method[] methods() {
+        Method[] result = this.methods;
+        if (null == result) {
+            result = type.getMethods();
+            this.methods = result;
+        }
+        return result;
+    }
+
+    /**
+     * 是否存在非static的public字段
+     *
+     * @return 是否存在
+     */
+    public boolean hasPublicField() {
+        for (final Field field : fields) {
+            final int modifiers = field.getModifiers();
+            if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否存在只有一个参数的setXXX方法
+     *
+     * @return 是否存在
+     */
+    public boolean hasSetter() {
+        for (final Method method : methods()) {
+            if (method.getParameterCount() == 1 && method.getName().startsWith("set")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否存在无参数的getXXX方法或者isXXX方法
+     *
+     * @return 是否存在
+     */
+    public boolean hasGetter() {
+        for (final Method method : methods()) {
+            if (method.getParameterCount() == 0
+                    && (method.getName().startsWith("get") || method.getName().startsWith("is"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //-------------------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 复制字段，与{@link Class#getDeclaredField(String)}一样返回新的对象，访问权限为初始状态
+     *
+     * @param field 缓存的字段，可以为{@code null}
+     * @return 字段的副本
+     */
+    static Field copy(final Field field) {
+        if (null == field) {
+            return null;
+        }
+        try {
+            return field.getDeclaringClass().getDeclaredField(field.getName());
+        } catch (final NoSuchFieldException e) {
+            // 字段来自同一个类的反射结果，不会不存在
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 尝试将字段设置为可访问，失败（如模块未开放）时保持原状，由访问时的{@link IllegalAccessException}报错
+     *
+     * @param field 字段
+     * @return 原字段
+     */
+    static Field open(final Field field) {
+        try {
+            field.trySetAccessible();
+        } catch (final SecurityException ignored) {
+            // ignore in favor of subsequent IllegalAccessException
+        }
+        return field;
+    }
+
+    /**
+     * 包装读写字段值时的异常
+     *
+     * @param e     异常
+     * @param field 字段
+     * @param obj   对象
+     * @return 包装后的异常
+     */
+    static BeanException accessError(final Exception e, final Field field, final Object obj) {
+        if (e instanceof IllegalAccessException) {
+            return new BeanException(e, "IllegalAccess for {}.{}", field.getDeclaringClass(), field.getName());
+        }
+        if (null == obj && !Modifier.isStatic(field.getModifiers())) {
+            return new BeanException(e, "Object is null for non-static field {}.{}", field.getDeclaringClass(), field.getName());
+        }
+        return new BeanException(e, "Can not access {}.{} on {}: {}", field.getDeclaringClass(), field.getName(),
+                null == obj ? null : obj.getClass(), e.getMessage());
+    }
+
+    /**
+     * 字段数组转为只读有序Map，同名字段保留靠前者
+     *
+     * @param fields 字段数组
+     * @return 只读Map
+     */
+    private static Map<String, Field> toFieldMap(final Field[] fields) {
+        final Map<String, Field> map = new LinkedHashMap<>(Math.max((int) (fields.length / .75f) + 1, 16));
+        for (final Field field : fields) {
+            map.putIfAbsent(field.getName(), field);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+    //-------------------------------------------------------------------------------------------------------- Private method end
+}
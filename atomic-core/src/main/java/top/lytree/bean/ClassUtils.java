@@ -301,30 +301,7 @@ public class ClassUtils {
             return null;
         }
 
-        final LinkedHashSet<Class<?>> interfacesFound = new LinkedHashSet<>();
-        getAllInterfaces(cls, interfacesFound);
-
-        return new ArrayList<>(interfacesFound);
-    }
-
-    /**
-     * Gets the interfaces for the specified class.
-     *
-     * @param cls             the class to look up, may be {@code null}
-     * @param interfacesFound the {@link Set} of interfaces for the class
-     */
-    private static void getAllInterfaces(Class<?> cls, final HashSet<Class<?>> interfacesFound) {
-        while (cls != null) {
-            final Class<?>[] interfaces = cls.getInterfaces();
-
-            for (final Class<?> i : interfaces) {
-                if (interfacesFound.add(i)) {
-                    getAllInterfaces(i, interfacesFound);
-                }
-            }
-
-            cls = cls.getSuperclass();
-        }
+        return new ArrayList<>(ClassMetadata.of(cls).getAllInterfaces());
     }
 
     /**
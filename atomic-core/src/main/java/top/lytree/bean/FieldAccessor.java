@@ -0,0 +1,508 @@
+package top.lytree.bean;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import top.lytree.exception.BeanException;
+
+/**
+ * 基于{@link VarHandle}的字段访问器，按需选用，主要用于原始类型字段的读写，避免装箱
+ * <p>
+ * 句柄保存在访问器实例中而不是static final常量中，JIT不能把它当作常量折叠，实测读取比缓存的可访问{@link Field}还慢，
+ * 因此{@link ReflectUtils}、{@link FieldUtils}的字段读写仍使用{@link ClassMetadata}缓存的可访问字段副本，不经过访问器。
+ * </p>
+ * <p>
+ * 访问器通过{@link ClassMetadata}缓存，每个字段只创建一次。创建时通过{@link MethodHandles#privateLookupIn}获取字段的{@link VarHandle}，
+ * 每种读写方式首次使用时将其转为签名固定的{@link MethodHandle}并缓存，此后以{@code invokeExact}调用，不再做访问检查和参数适配。
+ * 提供原始类型的读写方法，避免装箱，原始类型之间按拓宽转换规则兼容（如int字段读为long，int写入long字段）。
+ * </p>
+ * <p>
+ * 无法获取{@link VarHandle}的字段（如未开放模块中的私有字段）回退为{@link Field}反射访问，final字段的句柄只读，写入同样回退为反射访问。
+ * 反射使用的是设置了可访问的字段副本，不影响缓存的字段及其他调用方拿到的字段。
+ * </p>
+ * <p>
+ * 所有失败（无法访问、对象为{@code null}或类型不符、值的类型与字段不兼容、写入static final字段）都包装为{@link BeanException}。
+ * </p>
+ *
+ * <pre>
+ *     FieldAccessor accessor = FieldAccessor.of(field);
+ *     int age = accessor.getInt(user);
+ *     accessor.set(user, "name");
+ * </pre>
+ *
+ * @author pride
+ */
+public final class FieldAccessor {
+
+    /**
+     * 读写方法使用的值类型，下标即{@link #handles}中的类型序号
+     */
+    private static final Class<?>[] VALUE_TYPES = {Object.class, int.class, long.class, double.class, float.class, boolean.class};
+    private static final int OBJECT = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int FLOAT = 4;
+    private static final int BOOLEAN = 5;
+
+    /**
+     * 获取字段对应的缓存访问器
+     *
+     * @param field 字段，不能为{@code null}
+     * @return 访问器
+     */
+    public static FieldAccessor of(final Field field) {
+        return ClassMetadata.of(field.getDeclaringClass()).accessor(field);
+    }
+
+    /**
+     * 创建访问器，不经过缓存
+     *
+     * @param field 字段
+     * @return 访问器
+     */
+    static FieldAccessor create(final Field field) {
+        VarHandle handle;
+        try {
+            handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectVarHandle(field);
+        } catch (final IllegalAccessException | IllegalArgumentException | SecurityException e) {
+            // 目标模块未开放，回退为反射访问
+            handle = null;
+        }
+        return new FieldAccessor(field, handle);
+    }
+
+    private final Field field;
+    private final boolean isStatic;
+    /**
+     * 字段句柄，{@code null}表示只能通过反射访问
+     */
+    private final VarHandle handle;
+    /**
+     * 是否可以通过句柄写入，final字段的句柄为只读
+     */
+    private final boolean handleWritable;
+    /**
+     * 由句柄转换的读写方法，前半部分为读，后半部分为写，按{@link #VALUE_TYPES}排列，首次使用时创建。
+     * {@link MethodHandle}不可变，并发创建时重复赋值无害
+     */
+    private final MethodHandle[] handles = new MethodHandle[VALUE_TYPES.length * 2];
+    /**
+     * 反射访问使用的字段副本，已尝试设置为可访问，不与{@link ClassMetadata}中缓存的字段共享；句柄可以完成所有读写时为{@code null}
+     */
+    private final Field reflectField;
+
+    private FieldAccessor(final Field field, final VarHandle handle) {
+        this.field = field;
+        this.handle = handle;
+        final int modifiers = field.getModifiers();
+        this.isStatic = Modifier.isStatic(modifiers);
+        this.handleWritable = null != handle && !Modifier.isFinal(modifiers);
+        this.reflectField = handleWritable ? null : ClassMetadata.open(ClassMetadata.copy(field));
+    }
+
+    /**
+     * 对应的字段
+     *
+     * @return 字段的副本
+     */
+    public Field getField() {
+        return ClassMetadata.copy(field);
+    }
+
+    /**
+     * 字段名
+     *
+     * @return 字段名
+     */
+    public String getName() {
+        return field.getName();
+    }
+
+    /**
+     * 字段类型
+     *
+     * @return 字段类型
+     */
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * 获取字段上指定类型的注解，不需要复制字段
+     *
+     * @param annotationType 注解类型
+     * @param <A>            注解类型
+     * @return 注解，不存在返回{@code null}
+     */
+    public <A extends Annotation> A getAnnotation(final Class<A> annotationType) {
+        return field.getAnnotation(annotationType);
+    }
+
+    /**
+     * 是否为static字段
+     *
+     * @return 是否为static字段
+     */
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    /**
+     * 获取字段值，原始类型装箱返回
+     *
+     * @param obj 对象，static字段忽略此参数
+     * @return 字段值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符
+     */
+    public Object get(final Object obj) throws BeanException {
+        if (null == handle) {
+            try {
+                return reflectField.get(obj);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+        }
+        final MethodHandle getter = handle(OBJECT, false);
+        try {
+            return (Object) getter.invokeExact(obj);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 设置字段值，值的类型必须与字段类型兼容，原始类型字段不接受{@code null}
+     *
+     * @param obj   对象，static字段忽略此参数
+     * @param value 值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或值的类型与字段不兼容
+     */
+    public void set(final Object obj, final Object value) throws BeanException {
+        if (!handleWritable) {
+            try {
+                reflectField.set(obj, value);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+            return;
+        }
+        final MethodHandle setter = handle(OBJECT, true);
+        try {
+            setter.invokeExact(obj, value);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 获取int字段值，不装箱，字段类型可以按拓宽转换规则转为int时也可读取（如short、char字段读为int）
+     *
+     * @param obj 对象，static字段忽略此参数
+     * @return 字段值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或字段类型不能转为int
+     */
+    public int getInt(final Object obj) throws BeanException {
+        if (null == handle) {
+            try {
+                return reflectField.getInt(obj);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+        }
+        final MethodHandle getter = handle(INT, false);
+        try {
+            return (int) getter.invokeExact(obj);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 获取long字段值，不装箱，字段类型可以按拓宽转换规则转为long时也可读取（如int字段读为long）
+     *
+     * @param obj 对象，static字段忽略此参数
+     * @return 字段值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或字段类型不能转为long
+     */
+    public long getLong(final Object obj) throws BeanException {
+        if (null == handle) {
+            try {
+                return reflectField.getLong(obj);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+        }
+        final MethodHandle getter = handle(LONG, false);
+        try {
+            return (long) getter.invokeExact(obj);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 获取double字段值，不装箱，字段类型可以按拓宽转换规则转为double时也可读取（如int、float字段读为double）
+     *
+     * @param obj 对象，static字段忽略此参数
+     * @return 字段值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或字段类型不能转为double
+     */
+    public double getDouble(final Object obj) throws BeanException {
+        if (null == handle) {
+            try {
+                return reflectField.getDouble(obj);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+        }
+        final MethodHandle getter = handle(DOUBLE, false);
+        try {
+            return (double) getter.invokeExact(obj);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 获取float字段值，不装箱，字段类型可以按拓宽转换规则转为float时也可读取（如int、long字段读为float，可能损失精度）
+     *
+     * @param obj 对象，static字段忽略此参数
+     * @return 字段值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或字段类型不能转为float
+     */
+    public float getFloat(final Object obj) throws BeanException {
+        if (null == handle) {
+            try {
+                return reflectField.getFloat(obj);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+        }
+        final MethodHandle getter = handle(FLOAT, false);
+        try {
+            return (float) getter.invokeExact(obj);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 获取boolean字段值，不装箱，boolean与其他原始类型之间不能转换，只能读取boolean字段
+     *
+     * @param obj 对象，static字段忽略此参数
+     * @return 字段值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或字段类型不能转为boolean
+     */
+    public boolean getBoolean(final Object obj) throws BeanException {
+        if (null == handle) {
+            try {
+                return reflectField.getBoolean(obj);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+        }
+        final MethodHandle getter = handle(BOOLEAN, false);
+        try {
+            return (boolean) getter.invokeExact(obj);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 设置int字段值，不装箱，int可以按拓宽转换规则转为字段类型时也可写入（如int写入long、double字段）
+     *
+     * @param obj   对象，static字段忽略此参数
+     * @param value 值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或int不能转为字段类型
+     */
+    public void setInt(final Object obj, final int value) throws BeanException {
+        if (!handleWritable) {
+            try {
+                reflectField.setInt(obj, value);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+            return;
+        }
+        final MethodHandle setter = handle(INT, true);
+        try {
+            setter.invokeExact(obj, value);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 设置long字段值，不装箱，long可以按拓宽转换规则转为字段类型时也可写入（如long写入float、double字段，可能损失精度）
+     *
+     * @param obj   对象，static字段忽略此参数
+     * @param value 值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或long不能转为字段类型
+     */
+    public void setLong(final Object obj, final long value) throws BeanException {
+        if (!handleWritable) {
+            try {
+                reflectField.setLong(obj, value);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+            return;
+        }
+        final MethodHandle setter = handle(LONG, true);
+        try {
+            setter.invokeExact(obj, value);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 设置double字段值，不装箱，double不能拓宽为其他原始类型，只能写入double字段
+     *
+     * @param obj   对象，static字段忽略此参数
+     * @param value 值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或double不能转为字段类型
+     */
+    public void setDouble(final Object obj, final double value) throws BeanException {
+        if (!handleWritable) {
+            try {
+                reflectField.setDouble(obj, value);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+            return;
+        }
+        final MethodHandle setter = handle(DOUBLE, true);
+        try {
+            setter.invokeExact(obj, value);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 设置float字段值，不装箱，float可以按拓宽转换规则转为字段类型时也可写入（如float写入double字段）
+     *
+     * @param obj   对象，static字段忽略此参数
+     * @param value 值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或float不能转为字段类型
+     */
+    public void setFloat(final Object obj, final float value) throws BeanException {
+        if (!handleWritable) {
+            try {
+                reflectField.setFloat(obj, value);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+            return;
+        }
+        final MethodHandle setter = handle(FLOAT, true);
+        try {
+            setter.invokeExact(obj, value);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 设置boolean字段值，不装箱，boolean与其他原始类型之间不能转换，只能写入boolean字段
+     *
+     * @param obj   对象，static字段忽略此参数
+     * @param value 值
+     * @throws BeanException 反射访问失败，或对象为{@code null}、类型不符，或boolean不能转为字段类型
+     */
+    public void setBoolean(final Object obj, final boolean value) throws BeanException {
+        if (!handleWritable) {
+            try {
+                reflectField.setBoolean(obj, value);
+            } catch (final IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+                throw accessError(e, obj);
+            }
+            return;
+        }
+        final MethodHandle setter = handle(BOOLEAN, true);
+        try {
+            setter.invokeExact(obj, value);
+        } catch (final Throwable e) {
+            throw invokeError(e, obj);
+        }
+    }
+
+    /**
+     * 批量读取字段值到数组
+     *
+     * @param accessors 访问器
+     * @param obj       对象，static字段忽略此参数
+     * @param values    存放字段值的数组，长度不小于访问器数量
+     * @return 传入的values数组
+     * @throws BeanException 反射访问失败
+     */
+    public static Object[] readAll(final FieldAccessor[] accessors, final Object obj, final Object[] values) throws BeanException {
+        for (int i = 0; i < accessors.length; i++) {
+            values[i] = accessors[i].get(obj);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldAccessor[" + field + "]";
+    }
+
+    /**
+     * 获取指定值类型的读或写方法，首次使用时由{@link VarHandle}转换并缓存<br>
+     * 读方法签名为{@code (Object)T}，写方法签名为{@code (Object,T)void}，static字段忽略第一个参数
+     *
+     * @param valueType 值类型在{@link #VALUE_TYPES}中的序号
+     * @param write     是否为写方法
+     * @return 方法句柄
+     * @throws BeanException 字段类型与值类型不能按拓宽转换规则兼容
+     */
+    private MethodHandle handle(final int valueType, final boolean write) throws BeanException {
+        final int index = write ? VALUE_TYPES.length + valueType : valueType;
+        MethodHandle result = handles[index];
+        if (null == result) {
+            result = handle.toMethodHandle(write ? VarHandle.AccessMode.SET : VarHandle.AccessMode.GET);
+            if (isStatic) {
+                result = MethodHandles.dropArguments(result, 0, Object.class);
+            }
+            final Class<?> type = VALUE_TYPES[valueType];
+            try {
+                result = result.asType(write ? MethodType.methodType(void.class, Object.class, type)
+                        : MethodType.methodType(type, Object.class));
+            } catch (final WrongMethodTypeException e) {
+                throw new BeanException(e, "Can not {} {}.{} of type {} as {}", write ? "write" : "read",
+                        field.getDeclaringClass(), field.getName(), field.getType(), type);
+            }
+            handles[index] = result;
+        }
+        return result;
+    }
+
+    /**
+     * 包装句柄调用抛出的异常，{@link Error}原样抛出
+     *
+     * @param e   异常
+     * @param obj 对象
+     * @return 包装后的异常
+     */
+    private BeanException invokeError(final Throwable e, final Object obj) {
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return accessError((Exception) e, obj);
+    }
+
+    private BeanException accessError(final Exception e, final Object obj) {
+        return ClassMetadata.accessError(e, field, obj);
+    }
+}
@@ -5,11 +5,11 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 import top.lytree.collections.ArrayUtils;
+import top.lytree.exception.BeanException;
 import top.lytree.utils.Assert;
 import top.lytree.lang.StringUtils;
 
@@ -138,38 +138,35 @@ public class FieldUtils {
         // private/different package blocks access to further superclasses
         // implementedinterface public
 
-        // check up the superclass hierarchy
+        // check up the superclass hierarchy, declared fields come from the cached class metadata
         for (Class<?> acls = cls; acls != null; acls = acls.getSuperclass()) {
-            try {
-                final Field field = acls.getDeclaredField(fieldName);
-                // getDeclaredField checks for non-public scopes as well
-                // and it returns accurate results
-                if (!MemberUtils.isPublic(field)) {
-                    if (!forceAccess) {
-                        continue;
-                    }
-                    field.setAccessible(true);
+            final Field cached = ClassMetadata.of(acls).declaredField(fieldName);
+            if (null == cached) {
+                continue;
+            }
+            // the declared field map contains non-public scopes as well
+            if (!MemberUtils.isPublic(cached)) {
+                if (!forceAccess) {
+                    continue;
                 }
-                return field;
-            } catch (final NoSuchFieldException ignored) {
-                // ignore
+                // only the caller's own copy is made accessible, never the cached instance
+                return ReflectUtils.setAccessible(ClassMetadata.copy(cached));
             }
+            return ClassMetadata.copy(cached);
         }
         // check the public interface case. This must be manually searched for
         // incase there is a public supersuperclass field hidden by a private/package
         // superclass field.
         Field match = null;
-        for (final Class<?> class1 : ClassUtils.getAllInterfaces(cls)) {
-            try {
-                final Field test = class1.getField(fieldName);
+        for (final Class<?> class1 : ClassMetadata.of(cls).getAllInterfaces()) {
+            final Field test = ClassMetadata.of(class1).declaredField(fieldName);
+            if (null != test) {
                 Assert.isTrue(match == null, "Reference to field {} is ambiguous relative to {}"
                         + "; a matching field exists on two or more implemented interfaces.", fieldName, cls);
                 match = test;
-            } catch (final NoSuchFieldException ignored) {
-                // ignore
             }
         }
-        return match;
+        return ClassMetadata.copy(match);
     }
 
     /**
@@ -344,9 +341,9 @@ public class FieldUtils {
      * @param obj       对象，如果static字段，此处为类
      * @param fieldName 字段名
      * @return 字段值
-     * @throws IllegalAccessException 包装IllegalAccessException异常
+     * @throws BeanException 包装IllegalAccessException异常
      */
-    public static Object getFieldValue(final Object obj, final String fieldName) throws IllegalAccessException {
+    public static Object getFieldValue(final Object obj, final String fieldName) throws BeanException {
         if (null == obj || StringUtils.isBlank(fieldName)) {
             return null;
         }
@@ -358,10 +355,10 @@ public class FieldUtils {
      *
      * @param field 字段
      * @return 字段值
-     * @throws IllegalAccessException 包装IllegalAccessException异常
+     * @throws BeanException 包装IllegalAccessException异常
      * @since 5.1.0
      */
-    public static Object getStaticFieldValue(final Field field) throws IllegalAccessException {
+    public static Object getStaticFieldValue(final Field field) throws BeanException {
         return getFieldValue(null, field);
     }
 
@@ -371,9 +368,9 @@ public class FieldUtils {
      * @param obj   对象，static字段则此字段为null
      * @param field 字段
      * @return 字段值
-     * @throws IllegalAccessException 包装IllegalAccessException异常
+     * @throws BeanException 包装IllegalAccessException异常
      */
-    public static Object getFieldValue(Object obj, final Field field) throws IllegalAccessException {
+    public static Object getFieldValue(Object obj, final Field field) throws BeanException {
         if (null == field) {
             return null;
         }
@@ -381,11 +378,16 @@ public class FieldUtils {
             // 静态字段获取时对象为null
             obj = null;
         }
-        return field.get(obj);
+        return ClassMetadata.readField(field, obj);
     }
 
     /**
      * Gets all fields of the given class and its parents (if any).
+     * <p>
+     * The array is a clone of the one cached by {@link ClassMetadata}, so no reflection happens after the first call. The
+     * fields themselves are shared with other callers and must not be made accessible; use
+     * {@link #getField(Class, String, boolean)} for an accessible copy.
+     * </p>
      *
      * @param cls the {@link Class} to query
      * @return an array of Fields (possibly empty).
@@ -393,11 +395,16 @@ public class FieldUtils {
      * @since 3.2
      */
     public static Field[] getAllFields(final Class<?> cls) {
-        return getAllFieldsList(cls).toArray(ArrayUtils.EMPTY_FIELD_ARRAY);
+        Objects.requireNonNull(cls, "cls");
+        return ClassMetadata.of(cls).getFields();
     }
 
     /**
      * Gets all fields of the given class and its parents (if any).
+     * <p>
+     * The fields are the ones cached by {@link ClassMetadata} and are shared with other callers, so they must not be made
+     * accessible; use {@link #getField(Class, String, boolean)} for an accessible copy.
+     * </p>
      *
      * @param cls the {@link Class} to query
      * @return a list of Fields (possibly empty).
@@ -406,14 +413,7 @@ public class FieldUtils {
      */
     public static List<Field> getAllFieldsList(final Class<?> cls) {
         Objects.requireNonNull(cls, "cls");
-        final List<Field> allFields = new ArrayList<>();
-        Class<?> currentClass = cls;
-        while (currentClass != null) {
-            final Field[] declaredFields = currentClass.getDeclaredFields();
-            Collections.addAll(allFields, declaredFields);
-            currentClass = currentClass.getSuperclass();
-        }
-        return allFields;
+        return new ArrayList<>(ClassMetadata.of(cls).getFieldList());
     }
 
     /**
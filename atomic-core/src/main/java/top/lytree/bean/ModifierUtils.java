@@ -284,13 +284,14 @@ public class ModifierUtils {
      *     <li>字符串，通过 new String("")实例化</li>
      *     <li>自定义java类</li>
      * </ul>
+     * <p>static final字段在JDK 12及以上无法通过反射修改，调用此方法将抛出异常。</p>
      * <pre class="code">
      * {@code
      *      //示例，移除final修饰符
-     *      class JdbcDialects {private static final List<Number> dialects = new ArrayList<>();}
+     *      class JdbcDialects {private final List<Number> dialects = new ArrayList<>();}
      *      Field field = ReflectUtil.getField(JdbcDialects.class, fieldName);
      * 		ReflectUtil.removeFinalModify(field);
-     * 		ReflectUtil.setFieldValue(JdbcDialects.class, fieldName, dialects);
+     * 		ReflectUtil.setFieldValue(jdbcDialects, fieldName, dialects);
      *    }
      * </pre>
      *
@@ -302,22 +303,14 @@ public class ModifierUtils {
     public static void removeFinalModify(Field field) {
         if (field != null) {
             if (hasModifier(field, ModifierType.FINAL)) {
-                //将字段的访问权限设为true：即去除private修饰符的影响
+                if (hasModifier(field, ModifierType.STATIC)) {
+                    // JDK 12起Field.modifiers被反射过滤，static final字段无法通过反射修改
+                    throw new BeanException("Can not remove final modifier of static field {}.{}", field.getDeclaringClass(), field.getName());
+                }
+                //非static的final字段，设为可访问后即可通过Field.set修改，ReflectUtils读写字段值使用的缓存副本已设为可访问
                 if (false == field.isAccessible()) {
                     field.setAccessible(true);
                 }
-                try {
-                    //去除final修饰符的影响，将字段设为可修改的
-                    final Field modifiersField = Field.class.getDeclaredField("modifiers");
-                    //Field 的 modifiers 是私有的
-                    modifiersField.setAccessible(true);
-                    //& ：位与运算符，按位与；  运算规则：两个数都转为二进制，然后从高位开始比较，如果两个数都为1则为1，否则为0。
-                    //~ ：位非运算符，按位取反；运算规则：转成二进制，如果位为0，结果是1，如果位为1，结果是0.
-                    modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
-                } catch (final NoSuchFieldException | IllegalAccessException e) {
-                    //内部，工具类，基本不抛出异常
-                    throw new BeanException(e, "IllegalAccess for {}.{}", field.getDeclaringClass(), field.getName());
-                }
             }
         }
     }
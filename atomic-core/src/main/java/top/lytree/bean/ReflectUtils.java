@@ -10,7 +10,6 @@ import top.lytree.lang.StringUtils;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 
 public class ReflectUtils {
@@ -39,31 +38,28 @@ public class ReflectUtils {
      * @throws SecurityException 安全异常
      */
     public static Field getField(Class<?> beanClass, String name) throws SecurityException {
-        final Field[] fields = getFields(beanClass);
-        return Arrays.stream(fields).filter((field) -> name.equals(getFieldName(field))).findFirst().orElse(null);
-
+        Assert.notNull(beanClass);
+        return ClassMetadata.of(beanClass).getField(name);
     }
 
     /**
      * 获取指定类中字段名和字段对应的有序Map，包括其父类中的字段<br>
-     * 如果子类与父类中存在同名字段，则这两个字段同时存在，子类字段在前，父类字段在后。
+     * 如果子类与父类中存在同名字段，则保留子类字段（早期版本返回可修改的HashMap，同名时保留父类字段）。<br>
+     * 返回类元数据缓存的只读视图，不再反射，调用方不得修改其中字段的访问权限，需要设置可访问时使用{@link #getField(Class, String)}取得副本。
      *
      * @param beanClass 类
-     * @return 字段名和字段对应的Map，有序
+     * @return 字段名和字段对应的只读Map，有序
      * @since 5.0.7
      */
     public static Map<String, Field> getFieldMap(Class<?> beanClass) {
-        final Field[] fields = getFields(beanClass);
-        final HashMap<String, Field> map = new HashMap<>(fields.length);
-        for (Field field : fields) {
-            map.put(field.getName(), field);
-        }
-        return map;
+        Assert.notNull(beanClass);
+        return ClassMetadata.of(beanClass).getFieldMap();
     }
 
     /**
-     * 获得一个类中所有字段列表，包括其父类中的字段<br>
-     * 如果子类与父类中存在同名字段，则这两个字段同时存在，子类字段在前，父类字段在后。
+     * 获得一个类中所有字段列表，包括其父类中的字段，返回类元数据缓存数组的克隆，不再反射<br>
+     * 如果子类与父类中存在同名字段，则这两个字段同时存在，子类字段在前，父类字段在后。<br>
+     * 数组中的字段为共享对象，调用方不得修改其访问权限，需要设置可访问时使用{@link #getField(Class, String)}取得副本。
      *
      * @param beanClass 类
      * @return 字段列表
@@ -71,13 +67,14 @@ public class ReflectUtils {
      */
     public static Field[] getFields(Class<?> beanClass) throws SecurityException {
         Assert.notNull(beanClass);
-        return getFieldsDirectly(beanClass, true);
+        return ClassMetadata.of(beanClass).getFields();
     }
 
 
     /**
-     * 获得一个类中所有满足条件的字段列表，包括其父类中的字段<br>
-     * 如果子类与父类中存在同名字段，则这两个字段同时存在，子类字段在前，父类字段在后。
+     * 获得一个类中所有满足条件的字段列表，包括其父类中的字段，字段来自类元数据缓存，不再反射<br>
+     * 如果子类与父类中存在同名字段，则这两个字段同时存在，子类字段在前，父类字段在后。<br>
+     * 数组中的字段为共享对象，调用方不得修改其访问权限。
      *
      * @param beanClass   类
      * @param fieldFilter field过滤器，过滤掉不需要的field
@@ -86,7 +83,15 @@ public class ReflectUtils {
      * @since 5.7.14
      */
     public static Field[] getFields(Class<?> beanClass, Filter<Field> fieldFilter) throws SecurityException {
-        return Arrays.stream(getFields(beanClass)).filter(fieldFilter::accept).toList().toArray(new Field[]{});
+        Assert.notNull(beanClass);
+        final Field[] fields = ClassMetadata.of(beanClass).getFields();
+        int size = 0;
+        for (Field field : fields) {
+            if (fieldFilter.accept(field)) {
+                fields[size++] = field;
+            }
+        }
+        return size == fields.length ? fields : Arrays.copyOf(fields, size);
     }
 
     /**
@@ -130,7 +135,7 @@ public class ReflectUtils {
         if (null == obj || StringUtils.isBlank(fieldName)) {
             return null;
         }
-        return getFieldValue(obj, getField(obj instanceof Class ? (Class<?>) obj : obj.getClass(), fieldName));
+        return getFieldValue(obj, ClassMetadata.of(obj instanceof Class ? (Class<?>) obj : obj.getClass()).field(fieldName));
     }
 
     /**
@@ -161,15 +166,7 @@ public class ReflectUtils {
             // 静态字段获取时对象为null
             obj = null;
         }
-
-        setAccessible(field);
-        Object result;
-        try {
-            result = field.get(obj);
-        } catch (IllegalAccessException e) {
-            throw new BeanException(e, "IllegalAccess for {}.{}", field.getDeclaringClass(), field.getName());
-        }
-        return result;
+        return ClassMetadata.readField(field, obj);
     }
 
     /**
@@ -181,14 +178,11 @@ public class ReflectUtils {
      */
     public static Object[] getFieldsValue(Object obj) {
         if (null != obj) {
-            final Field[] fields = getFields(obj instanceof Class ? (Class<?>) obj : obj.getClass());
-            if (null != fields) {
-                final Object[] values = new Object[fields.length];
-                for (int i = 0; i < fields.length; i++) {
-                    values[i] = getFieldValue(obj, fields[i]);
-                }
-                return values;
+            if (obj instanceof Class) {
+                // 静态字段获取时对象为null
+                return ClassMetadata.of((Class<?>) obj).readFieldValues(null);
             }
+            return ClassMetadata.of(obj.getClass()).readFieldValues(obj);
         }
         return null;
     }
@@ -207,13 +201,14 @@ public class ReflectUtils {
      *     <li>字符串，通过 new String("")实例化</li>
      *     <li>自定义java类</li>
      * </ul>
+     * <p>static final字段在JDK 12及以上无法通过反射修改，调用此方法将抛出异常。</p>
      * <pre class="code">
      * {@code
      *      //示例，移除final修饰符
-     *      class JdbcDialects {private static final List<Number> dialects = new ArrayList<>();}
+     *      class JdbcDialects {private final List<Number> dialects = new ArrayList<>();}
      *      Field field = ReflectUtil.getField(JdbcDialects.class, fieldName);
      * 		ReflectUtil.removeFinalModify(field);
-     * 		ReflectUtil.setFieldValue(JdbcDialects.class, fieldName, dialects);
+     * 		ReflectUtil.setFieldValue(jdbcDialects, fieldName, dialects);
      *    }
      * </pre>
      *
@@ -256,7 +251,7 @@ public class ReflectUtils {
         Assert.notNull(obj);
         Assert.notBlank(fieldName);
 
-        final Field field = getField((obj instanceof Class) ? (Class<?>) obj : obj.getClass(), fieldName);
+        final Field field = ClassMetadata.of((obj instanceof Class) ? (Class<?>) obj : obj.getClass()).field(fieldName);
         Assert.notNull(field, "Field [{}] is not exist in [{}]", fieldName, obj.getClass().getName());
         setFieldValue(obj, field, value);
     }
@@ -290,11 +285,6 @@ public class ReflectUtils {
             value = ClassUtils.getDefaultValue(fieldType);
         }
 
-        setAccessible(field);
-        try {
-            field.set(obj instanceof Class ? null : obj, value);
-        } catch (IllegalAccessException e) {
-            throw new BeanException(e, "IllegalAccess for {}.{}", obj, field.getName());
-        }
+        ClassMetadata.writeField(field, obj instanceof Class ? null : obj, value);
     }
 }
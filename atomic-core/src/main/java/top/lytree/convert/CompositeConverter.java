@@ -162,6 +162,48 @@ public class CompositeConverter extends RegisterConverter {
 		throw new ConvertException("Can not convert from {}: [{}] to [{}]", value.getClass().getName(), value, type.getTypeName());
 	}
 
+	/**
+	 * 获取转换到指定类型所使用的转换器<br>
+	 * 用于集合、Map等批量转换场景，在一次转换中只查找一次转换器，而非每个元素查找一次
+	 *
+	 * @param type 目标类型
+	 * @return 转换器，类型未知或为{@link Object}时返回{@code null}，表示无需转换；无法预先确定时返回本复合转换器
+	 */
+	public Converter resolve(final Type type) {
+		if (TypeUtils.isUnknown(type) || Object.class == type) {
+			return null;
+		}
+
+		// 标准转换器
+		final Converter converter = getConverter(type, true);
+		if (null != converter) {
+			return converter;
+		}
+
+		final Class<?> rowType = TypeUtils.getClass(type);
+		if (null != rowType) {
+			if (Collection.class.isAssignableFrom(rowType)) {
+				return CollectionConverter.INSTANCE;
+			}
+			if (Map.class.isAssignableFrom(rowType)) {
+				return MapConverter.INSTANCE;
+			}
+			if (rowType.isPrimitive()) {
+				return PrimitiveConverter.INSTANCE;
+			}
+			if (Number.class.isAssignableFrom(rowType)) {
+				return NumberConverter.INSTANCE;
+			}
+			if (rowType.isEnum()) {
+				return EnumConverter.INSTANCE;
+			}
+			if (rowType.isArray()) {
+				return ArrayConverter.INSTANCE;
+			}
+		}
+		return this;
+	}
+
 	// ----------------------------------------------------------- Private method start
 
 	/**
@@ -187,15 +229,15 @@ public class CompositeConverter extends RegisterConverter {
 			return null;
 		}
 
-//		// 集合转换（含有泛型参数，不可以默认强转）
-//		if (Collection.class.isAssignableFrom(rowType)) {
-//			return (T) CollectionConverter.INSTANCE.convert(type, value, (Collection<?>) defaultValue);
-//		}
+		// 集合转换（含有泛型参数，不可以默认强转）
+		if (Collection.class.isAssignableFrom(rowType)) {
+			return (T) CollectionConverter.INSTANCE.convert(type, value, (Collection<?>) defaultValue);
+		}
 
-//		// Map类型（含有泛型参数，不可以默认强转）
-//		if (Map.class.isAssignableFrom(rowType)) {
-//			return (T) MapConverter.INSTANCE.convert(type, value, (Map<?, ?>) defaultValue);
-//		}
+		// Map类型（含有泛型参数，不可以默认强转）
+		if (Map.class.isAssignableFrom(rowType)) {
+			return (T) MapConverter.INSTANCE.convert(type, value, (Map<?, ?>) defaultValue);
+		}
 
 		// 默认强转
 		if (rowType.isInstance(value)) {
@@ -16,11 +16,16 @@ package top.lytree.convert;
 
 
 import com.fasterxml.jackson.core.type.TypeReference;
-
+import top.lytree.convert.impl.CollectionConverter;
+import top.lytree.convert.impl.MapConverter;
 
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 类型转换器
@@ -446,6 +451,70 @@ public class Convert {
 		return toBigDecimal(value, null);
 	}
 
+	/**
+	 * 转换为ArrayList，元素类型默认Object<br>
+	 * 总是返回新的ArrayList，被转换的值已经是List时也会复制，修改结果不影响原值
+	 *
+	 * @param value 被转换的值
+	 * @return {@link List}，值为{@code null}时返回{@code null}
+	 */
+	public static List<?> toList(final Object value) {
+		return copyIfSame(convert(List.class, value), value);
+	}
+
+	/**
+	 * 转换为ArrayList，元素转换器只查找一次<br>
+	 * 总是返回新的ArrayList，被转换的值已经是List时也会复制，修改结果不影响原值
+	 *
+	 * @param <T>         元素类型
+	 * @param elementType 集合中元素类型
+	 * @param value       被转换的值
+	 * @return {@link List}，值为{@code null}时返回{@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> List<T> toList(final Class<T> elementType, final Object value) {
+		return copyIfSame((List<T>) CollectionConverter.INSTANCE.convert(List.class, elementType, value), value);
+	}
+
+	/**
+	 * 转换为HashSet，元素转换器只查找一次
+	 *
+	 * @param <T>         元素类型
+	 * @param elementType 集合中元素类型
+	 * @param value       被转换的值
+	 * @return {@link Set}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Set<T> toSet(final Class<T> elementType, final Object value) {
+		return (Set<T>) CollectionConverter.INSTANCE.convert(Set.class, elementType, value);
+	}
+
+	/**
+	 * 转换为Map，键、值转换器只查找一次
+	 *
+	 * @param <K>       键类型
+	 * @param <V>       值类型
+	 * @param keyType   键类型
+	 * @param valueType 值类型
+	 * @param value     被转换的值
+	 * @return {@link Map}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> Map<K, V> toMap(final Class<K> keyType, final Class<V> valueType, final Object value) {
+		return (Map<K, V>) MapConverter.INSTANCE.convert(Map.class, keyType, valueType, value);
+	}
+
+	/**
+	 * 转换器对已经是目标类型的值直接返回原对象，此时复制一份，保证返回新的ArrayList
+	 *
+	 * @param <T>    元素类型
+	 * @param result 转换结果
+	 * @param value  被转换的值
+	 * @return 新的List
+	 */
+	private static <T> List<T> copyIfSame(final List<T> result, final Object value) {
+		return null != result && result == value ? new ArrayList<>(result) : result;
+	}
 
 
 	/**
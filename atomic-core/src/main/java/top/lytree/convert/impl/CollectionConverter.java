@@ -1,60 +1,324 @@
-///*
-// * Copyright (c) 2023 looly(loolly@aliyun.com)
-// * Hutool is licensed under Mulan PSL v2.
-// * You can use this software according to the terms and conditions of the Mulan PSL v2.
-// * You may obtain a copy of Mulan PSL v2 at:
-// *          http://license.coscl.org.cn/MulanPSL2
-// * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
-// * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
-// * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
-// * See the Mulan PSL v2 for more details.
-// */
-//
-//package top.lytree.convert.impl;
-//
-//
-//import com.fasterxml.jackson.core.type.TypeReference;
-//import top.lytree.bean.TypeUtils;
-//import top.lytree.convert.Converter;
-//
-//
-//
-//import java.lang.reflect.Type;
-//import java.util.Collection;
-//
-///**
-// * 各种集合类转换器
-// *
-// * @author Looly
-// * @since 3.0.8
-// */
-//public class CollectionConverter implements Converter {
-//
-//	/**
-//	 * 单例实体
-//	 */
-//	public static CollectionConverter INSTANCE = new CollectionConverter();
-//
-//	@Override
-//	public Collection<?> convert(Type targetType, final Object value) {
-//		if (targetType instanceof TypeReference) {
-//			targetType = ((TypeReference<?>) targetType).getType();
-//		}
-//
-//		return convert(targetType, TypeUtils.getTypeArgument(targetType), value);
-//	}
-//
-//	/**
-//	 * 转换
-//	 *
-//	 * @param collectionType 集合类型
-//	 * @param elementType    集合中元素类型
-//	 * @param value          被转换的值
-//	 * @return 转换后的集合对象
-//	 */
-//	public Collection<?> convert(final Type collectionType, final Type elementType, final Object value) {
-//		// pr#2684，兼容EnumSet创建
-//		final Collection<?> collection = CollUtil.create(collectionType.getClass(), elementType.getClass());
-//		return CollUtil.addAll(collection, value, elementType);
-//	}
-//}
+/*
+ * Copyright (c) 2023 looly(loolly@aliyun.com)
+ * Hutool is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ *          http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ */
+
+package top.lytree.convert.impl;
+
+
+import top.lytree.bean.TypeUtils;
+import top.lytree.convert.CompositeConverter;
+import top.lytree.convert.ConvertException;
+import top.lytree.convert.Converter;
+import top.lytree.lang.StringUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * 各种集合类转换器
+ * <ul>
+ *     <li>目标集合按源元素数量预先分配容量</li>
+ *     <li>元素转换器在每次转换时只查找一次，而非每个元素查找一次</li>
+ *     <li>元素数量达到并行阈值时并行转换元素，结果顺序与源一致</li>
+ *     <li>提供只读的懒转换视图，元素在访问时才转换</li>
+ * </ul>
+ *
+ * @author Looly
+ * @since 3.0.8
+ */
+public class CollectionConverter implements Converter, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 默认并行转换阈值，元素数量达到此值时并行转换
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+	/**
+	 * 单例实体
+	 */
+	public static final CollectionConverter INSTANCE = new CollectionConverter();
+
+	/**
+	 * 并行转换阈值
+	 */
+	private final int parallelThreshold;
+
+	/**
+	 * 构造，使用默认并行转换阈值
+	 */
+	public CollectionConverter() {
+		this(DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param parallelThreshold 并行转换阈值，元素数量达到此值时并行转换，{@link Integer#MAX_VALUE}表示始终串行
+	 */
+	public CollectionConverter(final int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	@Override
+	public Collection<?> convert(final Type targetType, final Object value) throws ConvertException {
+		if (null == value) {
+			return null;
+		}
+		return convert(targetType, TypeUtils.getTypeArgument(targetType), value);
+	}
+
+	/**
+	 * 转换
+	 *
+	 * @param collectionType 集合类型
+	 * @param elementType    集合中元素类型
+	 * @param value          被转换的值
+	 * @return 转换后的集合对象
+	 * @throws ConvertException 集合创建失败或元素转换失败
+	 */
+	public Collection<?> convert(final Type collectionType, final Type elementType, final Object value) throws ConvertException {
+		if (null == value) {
+			return null;
+		}
+		final Class<?> collectionClass = TypeUtils.getClass(collectionType);
+		if (null == collectionClass) {
+			throw new ConvertException("Can not get class from type: {}", collectionType);
+		}
+
+		final Converter elementConverter = CompositeConverter.getInstance().resolve(elementType);
+		if (null == elementConverter && collectionClass.isInstance(value)) {
+			// 元素类型未知，且已经是目标集合类型，无需转换
+			return (Collection<?>) value;
+		}
+
+		final Collection<?> source = toSource(value);
+		final Collection<Object> result = create(collectionClass, TypeUtils.getClass(elementType), source.size());
+		if (null == elementConverter) {
+			result.addAll(source);
+		} else if (source.size() >= this.parallelThreshold) {
+			Collections.addAll(result, convertParallel(elementConverter, elementType, source));
+		} else {
+			for (final Object element : source) {
+				result.add(elementConverter.convert(elementType, element));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 创建只读的懒转换视图，元素在访问时才转换，不复制源列表<br>
+	 * 适用于只读取部分元素或只遍历一次的场景，视图随源列表变化
+	 *
+	 * @param <T>         元素类型
+	 * @param source      源列表
+	 * @param elementType 元素类型
+	 * @return 只读视图
+	 */
+	public static <T> List<T> view(final List<?> source, final Type elementType) {
+		return new ConvertedList<>(source, elementType, CompositeConverter.getInstance().resolve(elementType));
+	}
+
+	/**
+	 * 创建只读的懒转换视图，元素在遍历时才转换，不复制源集合<br>
+	 * 适用于只遍历一次的场景，视图随源集合变化
+	 *
+	 * @param <T>         元素类型
+	 * @param source      源集合
+	 * @param elementType 元素类型
+	 * @return 只读视图
+	 */
+	public static <T> Collection<T> view(final Collection<?> source, final Type elementType) {
+		if (source instanceof List) {
+			return view((List<?>) source, elementType);
+		}
+		return new ConvertedCollection<>(source, elementType, CompositeConverter.getInstance().resolve(elementType));
+	}
+
+	// -------------------------------------------------------------------------------------- Private method start
+
+	/**
+	 * 并行转换元素，结果顺序与源一致
+	 *
+	 * @param elementConverter 元素转换器
+	 * @param elementType      元素类型
+	 * @param source           源集合
+	 * @return 转换后的元素
+	 */
+	private static Object[] convertParallel(final Converter elementConverter, final Type elementType, final Collection<?> source) {
+		final List<?> list = source instanceof List && source instanceof RandomAccess
+				? (List<?>) source : Arrays.asList(source.toArray());
+		final Object[] converted = new Object[list.size()];
+		IntStream.range(0, converted.length).parallel()
+				.forEach(i -> converted[i] = elementConverter.convert(elementType, list.get(i)));
+		return converted;
+	}
+
+	/**
+	 * 将被转换的值统一为可确定大小的集合，数组及集合不复制
+	 *
+	 * @param value 被转换的值
+	 * @return 源集合
+	 */
+	private static Collection<?> toSource(final Object value) {
+		if (value instanceof Collection) {
+			return (Collection<?>) value;
+		}
+		if (value instanceof Object[]) {
+			return Arrays.asList((Object[]) value);
+		}
+		if (value.getClass().isArray()) {
+			final int length = Array.getLength(value);
+			final List<Object> list = new ArrayList<>(length);
+			for (int i = 0; i < length; i++) {
+				list.add(Array.get(value, i));
+			}
+			return list;
+		}
+		if (value instanceof CharSequence) {
+			return Arrays.asList(StringUtils.split(value.toString(), ','));
+		}
+		if (value instanceof Iterable || value instanceof Iterator) {
+			final Iterator<?> iterator = value instanceof Iterator ? (Iterator<?>) value : ((Iterable<?>) value).iterator();
+			final List<Object> list = new ArrayList<>();
+			iterator.forEachRemaining(list::add);
+			return list;
+		}
+		return Collections.singletonList(value);
+	}
+
+	/**
+	 * 创建指定类型的集合，并按元素数量预分配容量
+	 *
+	 * @param collectionType 集合类型
+	 * @param elementType    元素类型，用于创建{@link EnumSet}
+	 * @param size           元素数量
+	 * @return 集合
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Collection<Object> create(final Class<?> collectionType, final Class<?> elementType, final int size) {
+		if (collectionType.isAssignableFrom(ArrayList.class)) {
+			return new ArrayList<>(size);
+		}
+		if (collectionType.isAssignableFrom(LinkedHashSet.class)) {
+			return new LinkedHashSet<>(Math.max((int) (size / .75f) + 1, 16));
+		}
+		if (collectionType.isAssignableFrom(TreeSet.class)) {
+			return new TreeSet<>();
+		}
+		if (collectionType.isAssignableFrom(LinkedList.class)) {
+			return new LinkedList<>();
+		}
+		if (EnumSet.class.isAssignableFrom(collectionType)) {
+			if (null == elementType || !elementType.isEnum()) {
+				throw new ConvertException("EnumSet requires an enum element type, but got: {}", elementType);
+			}
+			return (Collection) EnumSet.noneOf((Class<Enum>) elementType);
+		}
+
+		// 其它具体集合类型，优先使用容量构造
+		try {
+			return (Collection<Object>) collectionType.getConstructor(int.class).newInstance(size);
+		} catch (final ReflectiveOperationException ignore) {
+			// 无容量构造，使用默认构造
+		}
+		try {
+			return (Collection<Object>) collectionType.getConstructor().newInstance();
+		} catch (final ReflectiveOperationException e) {
+			throw new ConvertException(e, "Can not create collection of type: {}", collectionType.getName());
+		}
+	}
+	// -------------------------------------------------------------------------------------- Private method end
+
+	/**
+	 * 懒转换列表视图
+	 *
+	 * @param <T> 元素类型
+	 */
+	private static class ConvertedList<T> extends AbstractList<T> implements RandomAccess {
+		private final List<?> source;
+		private final Type elementType;
+		private final Converter converter;
+
+		ConvertedList(final List<?> source, final Type elementType, final Converter converter) {
+			this.source = source;
+			this.elementType = elementType;
+			this.converter = converter;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T get(final int index) {
+			final Object element = source.get(index);
+			return (T) (null == converter ? element : converter.convert(elementType, element));
+		}
+
+		@Override
+		public int size() {
+			return source.size();
+		}
+	}
+
+	/**
+	 * 懒转换集合视图
+	 *
+	 * @param <T> 元素类型
+	 */
+	private static class ConvertedCollection<T> extends AbstractCollection<T> {
+		private final Collection<?> source;
+		private final Type elementType;
+		private final Converter converter;
+
+		ConvertedCollection(final Collection<?> source, final Type elementType, final Converter converter) {
+			this.source = source;
+			this.elementType = elementType;
+			this.converter = converter;
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			final Iterator<?> iterator = source.iterator();
+			return new Iterator<>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@SuppressWarnings("unchecked")
+				@Override
+				public T next() {
+					final Object element = iterator.next();
+					return (T) (null == converter ? element : converter.convert(elementType, element));
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return source.size();
+		}
+	}
+}
@@ -1,109 +1,287 @@
-///*
-// * Copyright (c) 2023 looly(loolly@aliyun.com)
-// * Hutool is licensed under Mulan PSL v2.
-// * You can use this software according to the terms and conditions of the Mulan PSL v2.
-// * You may obtain a copy of Mulan PSL v2 at:
-// *          http://license.coscl.org.cn/MulanPSL2
-// * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
-// * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
-// * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
-// * See the Mulan PSL v2 for more details.
-// */
-//
-//package top.lytree.convert.impl;
-//
-//
-//import com.fasterxml.jackson.core.type.TypeReference;
-//import top.lytree.bean.BeanUtils;
-//import top.lytree.bean.TypeUtils;
-//import top.lytree.collections.MapUtils;
-//import top.lytree.convert.ConvertException;
-//import top.lytree.convert.Converter;
-//
-//import java.io.Serial;
-//import java.io.Serializable;
-//import java.lang.reflect.Type;
-//import java.util.LinkedHashMap;
-//import java.util.Map;
-//import java.util.Objects;
-//
-///**
-// * {@link Map} 转换器，通过预定义key和value的类型，实现：
-// * <ul>
-// *     <li>Map 转 Map，key和value类型自动转换</li>
-// *     <li>Bean 转 Map，字段和字段值类型自动转换</li>
-// * </ul>
-// *
-// * @author Looly
-// * @since 3.0.8
-// */
-//public class MapConverter implements Converter, Serializable {
-//	@Serial
-//	private static final long serialVersionUID = 1L;
-//
-//	/**
-//	 * 单例
-//	 */
-//	public static MapConverter INSTANCE = new MapConverter();
-//
-//	@Override
-//	public Object convert(Type targetType, final Object value) throws ConvertException {
-//		if (targetType instanceof TypeReference) {
-//			targetType = ((TypeReference<?>) targetType).getType();
-//		}
-//		final Type keyType = TypeUtils.getTypeArgument(targetType, 0);
-//		final Type valueType = TypeUtils.getTypeArgument(targetType, 1);
-//
-//		return convert(targetType, keyType, valueType, value);
-//	}
-//
-//	/**
-//	 * 转换对象为指定键值类型的指定类型Map
-//	 *
-//	 * @param targetType 目标的Map类型
-//	 * @param keyType    键类型
-//	 * @param valueType  值类型
-//	 * @param value      被转换的值
-//	 * @return 转换后的Map
-//	 * @throws ConvertException 转换异常或不支持的类型
-//	 */
-//	@SuppressWarnings("rawtypes")
-//	public Map<?, ?> convert(final Type targetType, final Type keyType, final Type valueType, final Object value)
-//		throws ConvertException{
-//		Map map;
-//		if (value instanceof Map) {
-//			final Class<?> valueClass = value.getClass();
-//			if (valueClass.equals(targetType)) {
-//				final Type[] typeArguments = TypeUtils.getTypeArguments(valueClass);
-//				if (null != typeArguments //
-//						&& 2 == typeArguments.length//
-//						&& Objects.equals(keyType, typeArguments[0]) //
-//						&& Objects.equals(valueType, typeArguments[1])) {
-//					//对于键值对类型一致的Map对象，不再做转换，直接返回原对象
-//					return (Map) value;
-//				}
-//			}
-//
-//			map = MapUtils.createMap(targetType.getClass(), LinkedHashMap::new);
-//			convertMapToMap(keyType, valueType, (Map) value, map);
-//		}  else {
-//			throw new ConvertException("Unsupported to map from [{}] of type: {}", value, value.getClass().getName());
-//		}
-//		return map;
-//	}
-//
-//	/**
-//	 * Map转Map
-//	 *
-//	 * @param srcMap    源Map
-//	 * @param targetMap 目标Map
-//	 */
-//	@SuppressWarnings({"rawtypes", "unchecked"})
-//	private void convertMapToMap(final Type keyType, final Type valueType, final Map<?, ?> srcMap, final Map targetMap) {
-//		final CompositeConverter convert = CompositeConverter.getInstance();
-//		srcMap.forEach((key, value) -> targetMap.put(
-//			TypeUtil.isUnknown(keyType) ? key : convert.convert(keyType, key),
-//			TypeUtil.isUnknown(valueType) ? value : convert.convert(valueType, value)
-//		));
-//	}
-//}
+/*
+ * Copyright (c) 2023 looly(loolly@aliyun.com)
+ * Hutool is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ *          http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ */
+
+package top.lytree.convert.impl;
+
+
+import top.lytree.bean.TypeUtils;
+import top.lytree.convert.CompositeConverter;
+import top.lytree.convert.ConvertException;
+import top.lytree.convert.Converter;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+
+/**
+ * {@link Map} 转换器，通过预定义key和value的类型，实现Map 转 Map，key和value类型自动转换
+ * <ul>
+ *     <li>目标Map按源键值对数量预先分配容量</li>
+ *     <li>键、值转换器在每次转换时只查找一次，而非每个键值对查找一次</li>
+ *     <li>键值对数量达到并行阈值时并行转换，结果顺序与源一致</li>
+ *     <li>提供只读的值懒转换视图</li>
+ * </ul>
+ *
+ * @author Looly
+ * @since 3.0.8
+ */
+public class MapConverter implements Converter, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 单例
+	 */
+	public static final MapConverter INSTANCE = new MapConverter();
+
+	/**
+	 * 并行转换阈值
+	 */
+	private final int parallelThreshold;
+
+	/**
+	 * 构造，使用默认并行转换阈值{@link CollectionConverter#DEFAULT_PARALLEL_THRESHOLD}
+	 */
+	public MapConverter() {
+		this(CollectionConverter.DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param parallelThreshold 并行转换阈值，键值对数量达到此值时并行转换，{@link Integer#MAX_VALUE}表示始终串行
+	 */
+	public MapConverter(final int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	@Override
+	public Map<?, ?> convert(final Type targetType, final Object value) throws ConvertException {
+		if (null == value) {
+			return null;
+		}
+		final Type keyType = TypeUtils.getTypeArgument(targetType, 0);
+		final Type valueType = TypeUtils.getTypeArgument(targetType, 1);
+
+		return convert(targetType, keyType, valueType, value);
+	}
+
+	/**
+	 * 转换对象为指定键值类型的指定类型Map
+	 *
+	 * @param targetType 目标的Map类型
+	 * @param keyType    键类型
+	 * @param valueType  值类型
+	 * @param value      被转换的值
+	 * @return 转换后的Map
+	 * @throws ConvertException 转换异常或不支持的类型
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public Map<?, ?> convert(final Type targetType, final Type keyType, final Type valueType, final Object value)
+			throws ConvertException {
+		if (null == value) {
+			return null;
+		}
+		if (!(value instanceof Map)) {
+			throw new ConvertException("Unsupported to map from [{}] of type: {}", value, value.getClass().getName());
+		}
+		final Class<?> mapClass = TypeUtils.getClass(targetType);
+		if (null == mapClass) {
+			throw new ConvertException("Can not get class from type: {}", targetType);
+		}
+
+		final CompositeConverter compositeConverter = CompositeConverter.getInstance();
+		final Converter keyConverter = compositeConverter.resolve(keyType);
+		final Converter valueConverter = compositeConverter.resolve(valueType);
+		if (null == keyConverter && null == valueConverter && mapClass.isInstance(value)) {
+			//对于键值对类型未知且已经是目标类型的Map对象，不再做转换，直接返回原对象
+			return (Map) value;
+		}
+
+		final Map<?, ?> source = (Map) value;
+		final Map<Object, Object> target = create(mapClass, TypeUtils.getClass(keyType), source.size());
+		if (source.size() >= this.parallelThreshold) {
+			final Map.Entry<?, ?>[] entries = source.entrySet().toArray(new Map.Entry[0]);
+			final Object[] keys = new Object[entries.length];
+			final Object[] values = new Object[entries.length];
+			IntStream.range(0, entries.length).parallel().forEach(i -> {
+				keys[i] = convertValue(keyConverter, keyType, entries[i].getKey());
+				values[i] = convertValue(valueConverter, valueType, entries[i].getValue());
+			});
+			for (int i = 0; i < entries.length; i++) {
+				put(target, keys[i], values[i]);
+			}
+		} else {
+			source.forEach((k, v) -> put(target,
+					convertValue(keyConverter, keyType, k),
+					convertValue(valueConverter, valueType, v)));
+		}
+		return target;
+	}
+
+	/**
+	 * 创建只读的值懒转换视图，值在访问时才转换，键保持不变，不复制源Map<br>
+	 * 视图随源Map变化
+	 *
+	 * @param <K>       键类型
+	 * @param <V>       值类型
+	 * @param source    源Map
+	 * @param valueType 值类型
+	 * @return 只读视图
+	 */
+	public static <K, V> Map<K, V> view(final Map<K, ?> source, final Type valueType) {
+		return new ConvertedValueMap<>(source, valueType, CompositeConverter.getInstance().resolve(valueType));
+	}
+
+	// -------------------------------------------------------------------------------------- Private method start
+
+	/**
+	 * 使用预先查找的转换器转换单个值
+	 *
+	 * @param converter 转换器，{@code null}表示无需转换
+	 * @param type      目标类型
+	 * @param value     值
+	 * @return 转换后的值
+	 */
+	private static Object convertValue(final Converter converter, final Type type, final Object value) {
+		return null == converter ? value : converter.convert(type, value);
+	}
+
+	/**
+	 * 放入转换后的键值对，{@link ConcurrentMap}不接受{@code null}键或值，此时抛出转换异常而非{@link NullPointerException}
+	 *
+	 * @param target 目标Map
+	 * @param key    转换后的键
+	 * @param value  转换后的值
+	 * @throws ConvertException 目标为{@link ConcurrentMap}且键或值为{@code null}
+	 */
+	private static void put(final Map<Object, Object> target, final Object key, final Object value) {
+		if (target instanceof ConcurrentMap && (null == key || null == value)) {
+			throw new ConvertException("{} does not accept null key or value, key: {}, value: {}",
+					target.getClass().getName(), key, value);
+		}
+		target.put(key, value);
+	}
+
+	/**
+	 * 创建指定类型的Map，并按键值对数量预分配容量
+	 *
+	 * @param mapType Map类型
+	 * @param keyType 键类型，用于创建{@link EnumMap}
+	 * @param size    键值对数量
+	 * @return Map
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Map<Object, Object> create(final Class<?> mapType, final Class<?> keyType, final int size) {
+		final int capacity = Math.max((int) (size / .75f) + 1, 16);
+		if (mapType.isAssignableFrom(LinkedHashMap.class)) {
+			return new LinkedHashMap<>(capacity);
+		}
+		if (mapType.isAssignableFrom(TreeMap.class)) {
+			return new TreeMap<>();
+		}
+		if (mapType.isAssignableFrom(ConcurrentHashMap.class)) {
+			return new ConcurrentHashMap<>(capacity);
+		}
+		if (EnumMap.class.isAssignableFrom(mapType)) {
+			if (null == keyType || !keyType.isEnum()) {
+				throw new ConvertException("EnumMap requires an enum key type, but got: {}", keyType);
+			}
+			return new EnumMap(keyType);
+		}
+
+		// 其它具体Map类型，优先使用容量构造
+		try {
+			return (Map<Object, Object>) mapType.getConstructor(int.class).newInstance(capacity);
+		} catch (final ReflectiveOperationException ignore) {
+			// 无容量构造，使用默认构造
+		}
+		try {
+			return (Map<Object, Object>) mapType.getConstructor().newInstance();
+		} catch (final ReflectiveOperationException e) {
+			throw new ConvertException(e, "Can not create map of type: {}", mapType.getName());
+		}
+	}
+	// -------------------------------------------------------------------------------------- Private method end
+
+	/**
+	 * 值懒转换Map视图
+	 *
+	 * @param <K> 键类型
+	 * @param <V> 值类型
+	 */
+	private static class ConvertedValueMap<K, V> extends AbstractMap<K, V> {
+		private final Map<K, ?> source;
+		private final Type valueType;
+		private final Converter converter;
+
+		ConvertedValueMap(final Map<K, ?> source, final Type valueType, final Converter converter) {
+			this.source = source;
+			this.valueType = valueType;
+			this.converter = converter;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V get(final Object key) {
+			return (V) convertValue(converter, valueType, source.get(key));
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return source.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return source.size();
+		}
+
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<K, V>> iterator() {
+					final Iterator<? extends Entry<K, ?>> iterator = source.entrySet().iterator();
+					return new Iterator<>() {
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@SuppressWarnings("unchecked")
+						@Override
+						public Entry<K, V> next() {
+							final Entry<K, ?> entry = iterator.next();
+							return new SimpleImmutableEntry<>(entry.getKey(),
+									(V) convertValue(converter, valueType, entry.getValue()));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return source.size();
+				}
+			};
+		}
+	}
+}
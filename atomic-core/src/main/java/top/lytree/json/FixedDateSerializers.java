@@ -0,0 +1,315 @@
+package top.lytree.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import java.io.IOException;
+import java.io.Serial;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import top.lytree.time.DateFormatterPool;
+import top.lytree.time.FixedDateCodec;
+
+/**
+ * 定长数字日期格式的JSR-310序列化、反序列化器
+ * <p>
+ * 格式是{@link FixedDateCodec}支持的定长格式时，序列化直接把数字写入{@code char[]}交给{@link JsonGenerator}，
+ * 反序列化按固定位置取数字；其余情况（时间戳输出、定长写法表示不了的年份、解析失败等）都交给父类，
+ * 输出及报错与jackson-datatype-jsr310原有的序列化器一致。
+ * 属性上下文化（{@code createContextual}）时格式不变则保留定长实现，{@code @JsonFormat}指定了其它格式的属性由父类按该格式处理。
+ * </p>
+ *
+ * @author pride
+ */
+final class FixedDateSerializers {
+
+    private FixedDateSerializers() {
+    }
+
+    /**
+     * 按格式注册{@link LocalDateTime}、{@link LocalDate}、{@link LocalTime}的序列化、反序列化器，
+     * 格式化器从{@link DateFormatterPool}获取，不是定长格式时与jackson-datatype-jsr310原有的序列化器相同
+     *
+     * @param module         {@link JavaTimeModule}
+     * @param dateTimeFormat {@link LocalDateTime}格式
+     * @param dateFormat     {@link LocalDate}格式
+     * @param timeFormat     {@link LocalTime}格式
+     */
+    static void register(JavaTimeModule module, String dateTimeFormat, String dateFormat, String timeFormat) {
+        final DateTimeFormatter dateTime = DateFormatterPool.get(dateTimeFormat);
+        final DateTimeFormatter date = DateFormatterPool.get(dateFormat);
+        final DateTimeFormatter time = DateFormatterPool.get(timeFormat);
+        module.addSerializer(LocalDateTime.class, new FixedLocalDateTimeSerializer(dateTime));
+        module.addSerializer(LocalDate.class, new FixedLocalDateSerializer(date));
+        module.addSerializer(LocalTime.class, new FixedLocalTimeSerializer(time));
+        module.addDeserializer(LocalDateTime.class, new FixedLocalDateTimeDeserializer(dateTime));
+        module.addDeserializer(LocalDate.class, new FixedLocalDateDeserializer(date));
+        module.addDeserializer(LocalTime.class, new FixedLocalTimeDeserializer(time));
+    }
+
+    private static final class FixedLocalDateTimeSerializer extends LocalDateTimeSerializer {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final FixedDateCodec codec;
+
+        private FixedLocalDateTimeSerializer(DateTimeFormatter formatter) {
+            super(formatter);
+            this.codec = FixedDateCodec.of(formatter);
+        }
+
+        private FixedLocalDateTimeSerializer(FixedLocalDateTimeSerializer base, Boolean useTimestamp, Boolean useNanoseconds) {
+            super(base, useTimestamp, useNanoseconds, base._formatter);
+            this.codec = base.codec;
+        }
+
+        @Override
+        protected LocalDateTimeSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, JsonFormat.Shape shape) {
+            if (formatter != _formatter) {
+                return (LocalDateTimeSerializer) super.withFormat(useTimestamp, formatter, shape);
+            }
+            return new FixedLocalDateTimeSerializer(this, useTimestamp, _useNanoseconds);
+        }
+
+        @Override
+        protected LocalDateTimeSerializer withFeatures(Boolean writeZoneId, Boolean writeNanoseconds) {
+            return new FixedLocalDateTimeSerializer(this, _useTimestamp, writeNanoseconds);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator g, SerializerProvider provider) throws IOException {
+            if (codec != null && !useTimestamp(provider)) {
+                final char[] buf = new char[codec.length()];
+                if (codec.formatTo(value, buf, 0) > 0) {
+                    g.writeString(buf, 0, buf.length);
+                    return;
+                }
+            }
+            super.serialize(value, g, provider);
+        }
+    }
+
+    private static final class FixedLocalDateSerializer extends LocalDateSerializer {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final FixedDateCodec codec;
+
+        private FixedLocalDateSerializer(DateTimeFormatter formatter) {
+            super(formatter);
+            this.codec = FixedDateCodec.of(formatter);
+        }
+
+        private FixedLocalDateSerializer(FixedLocalDateSerializer base, Boolean useTimestamp, JsonFormat.Shape shape) {
+            super(base, useTimestamp, base._formatter, shape);
+            this.codec = base.codec;
+        }
+
+        @Override
+        protected LocalDateSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, JsonFormat.Shape shape) {
+            if (formatter != _formatter) {
+                return super.withFormat(useTimestamp, formatter, shape);
+            }
+            return new FixedLocalDateSerializer(this, useTimestamp, shape);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator g, SerializerProvider provider) throws IOException {
+            if (codec != null && !useTimestamp(provider)) {
+                final char[] buf = new char[codec.length()];
+                if (codec.formatTo(value, buf, 0) > 0) {
+                    g.writeString(buf, 0, buf.length);
+                    return;
+                }
+            }
+            super.serialize(value, g, provider);
+        }
+    }
+
+    private static final class FixedLocalTimeSerializer extends LocalTimeSerializer {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final FixedDateCodec codec;
+
+        private FixedLocalTimeSerializer(DateTimeFormatter formatter) {
+            super(formatter);
+            this.codec = FixedDateCodec.of(formatter);
+        }
+
+        private FixedLocalTimeSerializer(FixedLocalTimeSerializer base, Boolean useTimestamp, Boolean useNanoseconds) {
+            super(base, useTimestamp, useNanoseconds, base._formatter);
+            this.codec = base.codec;
+        }
+
+        @Override
+        protected LocalTimeSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, JsonFormat.Shape shape) {
+            if (formatter != _formatter) {
+                return (LocalTimeSerializer) super.withFormat(useTimestamp, formatter, shape);
+            }
+            return new FixedLocalTimeSerializer(this, useTimestamp, _useNanoseconds);
+        }
+
+        @Override
+        protected LocalTimeSerializer withFeatures(Boolean writeZoneId, Boolean writeNanoseconds) {
+            return new FixedLocalTimeSerializer(this, _useTimestamp, writeNanoseconds);
+        }
+
+        @Override
+        public void serialize(LocalTime value, JsonGenerator g, SerializerProvider provider) throws IOException {
+            if (codec != null && !useTimestamp(provider)) {
+                final char[] buf = new char[codec.length()];
+                if (codec.formatTo(value, buf, 0) > 0) {
+                    g.writeString(buf, 0, buf.length);
+                    return;
+                }
+            }
+            super.serialize(value, g, provider);
+        }
+    }
+
+    private static final class FixedLocalDateTimeDeserializer extends LocalDateTimeDeserializer {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final FixedDateCodec codec;
+
+        private FixedLocalDateTimeDeserializer(DateTimeFormatter formatter) {
+            super(formatter);
+            this.codec = FixedDateCodec.of(formatter);
+        }
+
+        private FixedLocalDateTimeDeserializer(FixedLocalDateTimeDeserializer base, Boolean leniency) {
+            super(base, leniency);
+            this.codec = base.codec;
+        }
+
+        @Override
+        protected LocalDateTimeDeserializer withDateFormat(DateTimeFormatter formatter) {
+            return formatter == _formatter ? this : super.withDateFormat(formatter);
+        }
+
+        @Override
+        protected LocalDateTimeDeserializer withLeniency(Boolean leniency) {
+            return new FixedLocalDateTimeDeserializer(this, leniency);
+        }
+
+        @Override
+        protected LocalDateTime _fromString(JsonParser p, DeserializationContext ctxt, String string) throws IOException {
+            if (codec != null && string.length() == codec.length()) {
+                try {
+                    return codec.parseDateTime(string);
+                } catch (DateTimeException e) {
+                    // 由父类按原有方式报错
+                }
+            }
+            return super._fromString(p, ctxt, string);
+        }
+    }
+
+    private static final class FixedLocalDateDeserializer extends LocalDateDeserializer {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final FixedDateCodec codec;
+
+        private FixedLocalDateDeserializer(DateTimeFormatter formatter) {
+            super(formatter);
+            this.codec = FixedDateCodec.of(formatter);
+        }
+
+        private FixedLocalDateDeserializer(FixedLocalDateDeserializer base, Boolean leniency) {
+            super(base, leniency);
+            this.codec = base.codec;
+        }
+
+        private FixedLocalDateDeserializer(FixedLocalDateDeserializer base, JsonFormat.Shape shape) {
+            super(base, shape);
+            this.codec = base.codec;
+        }
+
+        @Override
+        protected LocalDateDeserializer withDateFormat(DateTimeFormatter formatter) {
+            return formatter == _formatter ? this : super.withDateFormat(formatter);
+        }
+
+        @Override
+        protected LocalDateDeserializer withLeniency(Boolean leniency) {
+            return new FixedLocalDateDeserializer(this, leniency);
+        }
+
+        @Override
+        protected LocalDateDeserializer withShape(JsonFormat.Shape shape) {
+            return new FixedLocalDateDeserializer(this, shape);
+        }
+
+        @Override
+        protected LocalDate _fromString(JsonParser p, DeserializationContext ctxt, String string) throws IOException {
+            if (codec != null && string.length() == codec.length()) {
+                try {
+                    return codec.parseDate(string);
+                } catch (DateTimeException e) {
+                    // 由父类按原有方式报错
+                }
+            }
+            return super._fromString(p, ctxt, string);
+        }
+    }
+
+    private static final class FixedLocalTimeDeserializer extends LocalTimeDeserializer {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final FixedDateCodec codec;
+
+        private FixedLocalTimeDeserializer(DateTimeFormatter formatter) {
+            super(formatter);
+            this.codec = FixedDateCodec.of(formatter);
+        }
+
+        private FixedLocalTimeDeserializer(FixedLocalTimeDeserializer base, Boolean leniency) {
+            super(base, leniency);
+            this.codec = base.codec;
+        }
+
+        @Override
+        protected LocalTimeDeserializer withDateFormat(DateTimeFormatter formatter) {
+            return formatter == _formatter ? this : super.withDateFormat(formatter);
+        }
+
+        @Override
+        protected LocalTimeDeserializer withLeniency(Boolean leniency) {
+            return new FixedLocalTimeDeserializer(this, leniency);
+        }
+
+        @Override
+        protected LocalTime _fromString(JsonParser p, DeserializationContext ctxt, String string) throws IOException {
+            if (codec != null && string.length() == codec.length()) {
+                try {
+                    return codec.parseTime(string);
+                } catch (DateTimeException e) {
+                    // 由父类按原有方式报错
+                }
+            }
+            return super._fromString(p, ctxt, string);
+        }
+    }
+}
@@ -6,29 +6,37 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.UUID;
 import java.util.function.Supplier;
 
 /**
@@ -46,6 +54,22 @@ abstract class JSON {
      * 默认日期格式化对象
      */
     protected static ThreadLocal<SimpleDateFormat> formatLocal = ThreadLocal.withInitial(() -> new SimpleDateFormat(STANDARD_FORMAT));
+    /**
+     * 预构建的ObjectReader/ObjectWriter缓存，MAPPER配置变化后重建
+     */
+    private static volatile JSONTypeCache typeCache;
+    /**
+     * Smile/CBOR等二进制格式的编解码器，与MAPPER共享配置，MAPPER配置变化后重建
+     */
+    private static volatile JSONCodec codec;
+    /**
+     * 不可变的叶子值类型，源对象本身为此类值时拷贝直接返回原对象
+     */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class,
+            LocalDate.class, LocalDateTime.class, LocalTime.class, Instant.class, OffsetDateTime.class,
+            ZonedDateTime.class, Duration.class, Period.class, Year.class, YearMonth.class);
 
     static {
         MAPPER = new ObjectMapper();
@@ -78,13 +102,10 @@ abstract class JSON {
 
         //针对于JDK新时间类。序列化时带有T的问题，自定义格式化字符串
         JavaTimeModule javaTimeModule = new JavaTimeModule();
-        javaTimeModule.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ofPattern(DATE_TIME_FORMAT)));
-        javaTimeModule.addSerializer(LocalDate.class, new LocalDateSerializer(DateTimeFormatter.ofPattern(DATE_FORMAT)));
-        javaTimeModule.addSerializer(LocalTime.class, new LocalTimeSerializer(DateTimeFormatter.ofPattern((TIME_FORMAT))));
-        javaTimeModule.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ofPattern(DATE_TIME_FORMAT)));
-        javaTimeModule.addDeserializer(LocalDate.class, new LocalDateDeserializer(DateTimeFormatter.ofPattern(DATE_FORMAT)));
-        javaTimeModule.addDeserializer(LocalTime.class, new LocalTimeDeserializer(DateTimeFormatter.ofPattern(TIME_FORMAT)));
+        FixedDateSerializers.register(javaTimeModule, DATE_TIME_FORMAT, DATE_FORMAT, TIME_FORMAT);
         MAPPER.registerModule(javaTimeModule);
+        typeCache = new JSONTypeCache(MAPPER);
+        codec = JSONCodec.of(MAPPER);
     }
 
     /**
@@ -96,6 +117,54 @@ abstract class JSON {
         return MAPPER;
     }
 
+    /**
+     * 注册Jackson模块，并重建预构建的ObjectReader/ObjectWriter缓存<br>
+     * 直接通过{@link #getObjectMapper()}修改配置不会刷新缓存，应在首次序列化前完成或使用此方法
+     *
+     * @param module Jackson模块
+     */
+    public static synchronized void registerModule(Module module) {
+        MAPPER.registerModule(module);
+        typeCache = new JSONTypeCache(MAPPER);
+        codec = JSONCodec.of(MAPPER);
+    }
+
+    /**
+     * 注册Blackbird模块，使用LambdaMetafactory生成的访问器替代反射读写属性<br>
+     * 需要classpath中存在{@code com.fasterxml.jackson.module:jackson-module-blackbird}
+     *
+     * @return 是否注册成功，不存在Blackbird时返回{@code false}
+     */
+    public static boolean registerBlackbird() {
+        final Module module;
+        try {
+            module = (Module) Class.forName("com.fasterxml.jackson.module.blackbird.BlackbirdModule")
+                    .getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+        registerModule(module);
+        return true;
+    }
+
+    /**
+     * 获取预构建的ObjectReader/ObjectWriter缓存
+     *
+     * @return 缓存
+     */
+    static JSONTypeCache typeCache() {
+        return typeCache;
+    }
+
+    /**
+     * 获取与MAPPER共享配置的多格式编解码器
+     *
+     * @return 编解码器
+     */
+    public static JSONCodec getCodec() {
+        return codec;
+    }
+
     /**
      * 将对象序列化成 json byte 数组
      *
@@ -104,12 +173,24 @@ abstract class JSON {
      */
     public static byte[] toJSONBytes(Object object) {
         try {
-            return getObjectMapper().writeValueAsBytes(object);
+            return null == object ? typeCache.writer(false).writeValueAsBytes(null)
+                    : typeCache.writer(object.getClass(), false).writeValueAsBytes(object);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
+    /**
+     * 将对象序列化为指定格式的byte数组，二进制格式以格式字节开头，可由{@link JSONObject#parseObject(byte[], Class)}自动识别读取
+     *
+     * @param object javaBean
+     * @param format 格式
+     * @return byte数组
+     */
+    public static byte[] toJSONBytes(Object object, JSONFormat format) {
+        return format == JSONFormat.JSON ? toJSONBytes(object) : codec.encode(object, format);
+    }
+
     public static String toJSONString(Object obj, boolean format) {
         return obj != null ? toJSONString(obj, () -> "", format) : "";
     }
@@ -133,14 +214,49 @@ abstract class JSON {
             if (obj instanceof Number) {
                 return obj.toString();
             }
-            if (format) {
-                return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
-            }
-            return MAPPER.writeValueAsString(obj);
+            return typeCache.writer(obj.getClass(), format).writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
         }
     }
+    /**
+     * 深拷贝/转换对象：序列化产生的token写入{@link TokenBuffer}后直接反序列化，不生成中间JSON字符串<br>
+     * 只有源对象本身是不可变的叶子值（字符串、数字、枚举、时间等）且已是目标类型时才直接返回，不做拷贝。
+     * 嵌套在对象或集合中的叶子值仍随token重建：{@link TokenBuffer}按引用保存的字符串和{@link BigDecimal}会得到同一实例，
+     * 时间类型、装箱数字等会重新创建
+     *
+     * @param obj    源对象，非null
+     * @param type   目标类型
+     * @param reader 目标类型的读取器
+     * @param <T>    目标类型
+     * @return 拷贝后的对象
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T tokenCopy(Object obj, Class<?> type, ObjectReader reader) {
+        if (type.isInstance(obj) && isImmutable(obj.getClass())) {
+            return (T) obj;
+        }
+        final JSONTypeCache cache = typeCache;
+        try (TokenBuffer buffer = new TokenBuffer(MAPPER, false)) {
+            cache.writer(obj.getClass(), false).writeValue(buffer, obj);
+            try (JsonParser parser = buffer.asParser(MAPPER)) {
+                return reader.readValue(parser);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 是否为不可变的叶子值类型，此类值拷贝时直接复用
+     *
+     * @param type 类型
+     * @return 是否不可变
+     */
+    static boolean isImmutable(Class<?> type) {
+        return IMMUTABLE_TYPES.contains(type) || type.isEnum();
+    }
+
     //============================================== 获取value值方法封装 =============================================================
 
     /**
@@ -1,10 +1,16 @@
 package top.lytree.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.function.Supplier;
+import top.lytree.io.input.MemoryMappedFileInputStream;
 import top.lytree.lang.StringUtils;
 
 /**
@@ -44,8 +50,7 @@ public class JSONArray extends JSON {
             if (StringUtils.isBlank(value)) {
                 return defaultSupplier.get();
             }
-            JavaType javaType = MAPPER.getTypeFactory().constructParametricType(List.class, tClass);
-            return MAPPER.readValue(value, javaType);
+            return typeCache().listReader(tClass).readValue(value);
         } catch (Exception e) {
             throw new IllegalArgumentException(String.format("toJavaObjectList exception \n%s\n%s", value, tClass), e);
         }
@@ -99,9 +104,96 @@ public class JSONArray extends JSON {
         }
     }
 
-    // 简单地直接用json复制或者转换(Cloneable)
+    /**
+     * 通过JSON深拷贝或转换为List，token经{@link com.fasterxml.jackson.databind.util.TokenBuffer}直接流转，不生成中间字符串<br>
+     * 元素随token重建，不可变叶子值不保证复用同一实例，见{@link JSON#tokenCopy}
+     *
+     * @param obj    源对象
+     * @param tClass 元素类型
+     * @param <T>    元素类型
+     * @return 拷贝后的List
+     */
     public static <T> List<T> jsonCopy(Object obj, Class<T> tClass) {
-        return obj != null ? parseArray(toJSONString(obj), tClass) : null;
+        return obj != null ? tokenCopy(obj, List.class, typeCache().listReader(tClass)) : null;
+    }
+
+    /**
+     * 流式读取输入流中的顶层JSON数组，逐个解析元素，内存占用与数组大小无关<br>
+     * 读取器关闭时同时关闭输入流
+     *
+     * @param in     输入流
+     * @param tClass 元素类型
+     * @param <T>    元素类型
+     * @return 读取器
+     */
+    public static <T> JSONArrayReader<T> reader(InputStream in, Class<T> tClass) {
+        try {
+            return new JSONArrayReader<>(typeCache().reader(tClass).readValues(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 流式读取字符流中的顶层JSON数组，逐个解析元素，内存占用与数组大小无关<br>
+     * 读取器关闭时同时关闭字符流
+     *
+     * @param reader 字符流
+     * @param tClass 元素类型
+     * @param <T>    元素类型
+     * @return 读取器
+     */
+    public static <T> JSONArrayReader<T> reader(Reader reader, Class<T> tClass) {
+        try {
+            return new JSONArrayReader<>(typeCache().reader(tClass).readValues(reader));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 流式读取文件中的顶层JSON数组，文件以滑动窗口方式内存映射，不受2GB映射上限限制
+     *
+     * @param path   文件路径
+     * @param tClass 元素类型
+     * @param <T>    元素类型
+     * @return 读取器
+     * @see MemoryMappedFileInputStream
+     */
+    public static <T> JSONArrayReader<T> reader(Path path, Class<T> tClass) {
+        final InputStream in;
+        try {
+            in = new MemoryMappedFileInputStream(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            return reader(in, tClass);
+        } catch (RuntimeException e) {
+            try {
+                in.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 创建流式写出器，元素逐个追加为顶层JSON数组<br>
+     * 每个元素按其运行时类型序列化，子类的字段同样写出，各类型的序列化器在写出器内缓存；写出器关闭时写出数组结束符并关闭输出流
+     *
+     * @param out    输出流，UTF-8编码
+     * @param tClass 元素类型，只用于约束写入的元素
+     * @param <T>    元素类型
+     * @return 写出器
+     */
+    public static <T> JSONArrayWriter<T> writer(OutputStream out, Class<T> tClass) {
+        try {
+            return new JSONArrayWriter<>(typeCache().writer(false).writeValuesAsArray(out));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -0,0 +1,136 @@
+package top.lytree.json;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 顶层JSON数组的流式读取器，逐个元素解析，不构造完整的List或树
+ * <p>
+ * 无论输入多大，内存中只保留当前元素（或当前批次）及解析缓冲区，适合读取超大的导出文件。
+ * 读取器持有底层输入，使用完毕后需调用{@link #close()}关闭，建议配合try-with-resources使用。
+ * </p>
+ *
+ * <pre>
+ *     try (JSONArrayReader&lt;Order&gt; reader = JSONArray.reader(path, Order.class)) {
+ *         reader.forEachBatch(1000, orders -&gt; repository.saveAll(orders));
+ *     }
+ * </pre>
+ *
+ * @param <T> 元素类型
+ * @author PrideYang
+ */
+public class JSONArrayReader<T> implements Iterator<T>, Closeable {
+
+    private final MappingIterator<T> iterator;
+
+    JSONArrayReader(MappingIterator<T> iterator) {
+        this.iterator = iterator;
+    }
+
+    /**
+     * 是否还有下一个元素
+     *
+     * @return 是否还有下一个元素
+     * @throws IllegalArgumentException JSON格式错误
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            return iterator.hasNextValue();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 解析下一个元素
+     *
+     * @return 元素
+     * @throws NoSuchElementException   没有更多元素
+     * @throws IllegalArgumentException JSON格式错误
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return iterator.nextValue();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 读取至多{@code max}个元素追加到{@code batch}中
+     *
+     * @param batch 存放元素的List
+     * @param max   最多读取的元素个数
+     * @return 实际读取的元素个数，0表示已读完
+     */
+    public int next(List<T> batch, int max) {
+        int count = 0;
+        while (count < max && hasNext()) {
+            batch.add(next());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 按批次消费所有剩余元素，每批至多{@code batchSize}个<br>
+     * 批次List在回调之间复用，回调返回后会被清空，需要保留元素时请自行拷贝。
+     * 下一批只在回调返回后才开始解析，消费速度决定读取速度
+     *
+     * @param batchSize 每批元素个数
+     * @param consumer  批次回调
+     */
+    public void forEachBatch(int batchSize, Consumer<? super List<T>> consumer) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        final List<T> batch = new ArrayList<>(batchSize);
+        while (next(batch, batchSize) > 0) {
+            consumer.accept(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 转为顺序{@link Stream}，关闭Stream时同时关闭此读取器
+     *
+     * @return 元素Stream
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * 关闭读取器及底层输入
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void close() throws IOException {
+        iterator.close();
+    }
+}
@@ -0,0 +1,81 @@
+package top.lytree.json;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * 顶层JSON数组的流式写出器，元素逐个序列化追加到输出，不在内存中拼接完整数组
+ * <p>
+ * 关闭时写出数组结束符并关闭底层输出，未关闭的输出不是合法的JSON。
+ * </p>
+ *
+ * <pre>
+ *     try (JSONArrayWriter&lt;Order&gt; writer = JSONArray.writer(out, Order.class)) {
+ *         orders.forEach(writer::write);
+ *     }
+ * </pre>
+ *
+ * @param <T> 元素类型
+ * @author PrideYang
+ */
+public class JSONArrayWriter<T> implements Closeable, Flushable {
+
+    private final SequenceWriter writer;
+
+    JSONArrayWriter(SequenceWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * 写出一个元素
+     *
+     * @param value 元素
+     * @return this
+     * @throws IllegalArgumentException 序列化或写出失败
+     */
+    public JSONArrayWriter<T> write(T value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return this;
+    }
+
+    /**
+     * 写出所有元素
+     *
+     * @param values 元素
+     * @return this
+     * @throws IllegalArgumentException 序列化或写出失败
+     */
+    public JSONArrayWriter<T> writeAll(Iterable<? extends T> values) {
+        for (T value : values) {
+            write(value);
+        }
+        return this;
+    }
+
+    /**
+     * 将已写出的内容刷新到底层输出
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * 写出数组结束符并关闭底层输出
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,119 @@
+package top.lytree.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 多格式的JSON编解码器，同一套{@link ObjectMapper}配置可输出JSON文本或Smile、CBOR二进制格式
+ * <p>
+ * 二进制格式的输出以{@link JSONFormat#getMarker()}开头，解码时自动识别格式，没有格式字节的数据按JSON文本解码。
+ * 二进制格式的{@link ObjectMapper}由{@link ObjectMapper#copyWith}复制得到，模块、可见性、默认类型等配置与原对象一致，首次使用时创建。
+ * </p>
+ *
+ * <pre>
+ *     JSONCodec codec = JSONCodec.of(mapper);
+ *     byte[] bytes = codec.encode(user, JSONFormat.SMILE);
+ *     User user = codec.decode(bytes, User.class);
+ * </pre>
+ *
+ * @author PrideYang
+ */
+public final class JSONCodec {
+
+    private final ObjectMapper mapper;
+    /**
+     * 按{@link JSONFormat#ordinal()}存放各格式的ObjectMapper，读取不加锁，首次使用时通过CAS发布，并发创建时保留先发布的一个
+     */
+    private final AtomicReferenceArray<ObjectMapper> mappers = new AtomicReferenceArray<>(JSONFormat.values().length);
+
+    private JSONCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.mappers.set(JSONFormat.JSON.ordinal(), mapper);
+    }
+
+    /**
+     * 创建编解码器，之后对{@code mapper}的配置修改不会同步到已创建的二进制格式
+     *
+     * @param mapper JSON文本使用的ObjectMapper
+     * @return 编解码器
+     */
+    public static JSONCodec of(ObjectMapper mapper) {
+        return new JSONCodec(mapper);
+    }
+
+    /**
+     * 获取指定格式的ObjectMapper
+     *
+     * @param format 格式
+     * @return ObjectMapper
+     */
+    public ObjectMapper getMapper(JSONFormat format) {
+        final int index = format.ordinal();
+        final ObjectMapper cached = mappers.get(index);
+        if (null != cached) {
+            return cached;
+        }
+        final ObjectMapper created = mapper.copyWith(format.createFactory());
+        return mappers.compareAndSet(index, null, created) ? created : mappers.get(index);
+    }
+
+    /**
+     * 编码为指定格式
+     *
+     * @param value  对象
+     * @param format 格式
+     * @return 编码后的字节，二进制格式以格式字节开头
+     * @throws IllegalArgumentException 序列化失败
+     */
+    public byte[] encode(Object value, JSONFormat format) {
+        try {
+            if (format == JSONFormat.JSON) {
+                return mapper.writeValueAsBytes(value);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            out.write(format.getMarker());
+            getMapper(format).writeValue(out, value);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 解码，自动识别格式
+     *
+     * @param bytes 数据
+     * @param type  目标类型
+     * @param <T>   目标类型
+     * @return 对象
+     * @throws IllegalArgumentException 反序列化失败
+     */
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return decode(bytes, mapper.constructType(type));
+    }
+
+    /**
+     * 解码，自动识别格式
+     *
+     * @param bytes 数据
+     * @param type  目标类型
+     * @param <T>   目标类型
+     * @return 对象
+     * @throws IllegalArgumentException 反序列化失败
+     */
+    public <T> T decode(byte[] bytes, JavaType type) {
+        final JSONFormat format = JSONFormat.detect(bytes);
+        try {
+            if (format == JSONFormat.JSON) {
+                return mapper.readValue(bytes, type);
+            }
+            return getMapper(format).readValue(bytes, 1, bytes.length - 1, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,550 @@
+package top.lytree.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import top.lytree.convert.Convert;
+import top.lytree.lang.StringUtils;
+
+/**
+ * 基于token流的部分JSON提取器，只取需要的几个字段，不构建完整的{@link JsonNode}树
+ * <p>
+ * 路径在{@link #compile(String...)}时编译为前缀树，一次扫描同时匹配所有路径：
+ * 不在路径上的子树通过{@link JsonParser#skipChildren()}跳过，所有路径都找到后立即停止解析，不再读取剩余内容。
+ * JSON中同一路径出现多次时取第一次出现的值。
+ * </p>
+ * <p>
+ * 路径语法：以{@code .}分隔字段名，{@code [n]}表示数组下标，可选的{@code $}或{@code $.}前缀，如{@code $.order.items[0].sku}。
+ * 提取器编译后不可变，可在多线程间共享。
+ * </p>
+ *
+ * <pre>
+ *     private static final JSONExtractor EXTRACTOR = JSONExtractor.compile("event", "data.order.id", "data.items[0].sku");
+ *
+ *     JSONExtractor.Values values = EXTRACTOR.extract(body);
+ *     String event = values.getString("event");
+ *     Long orderId = values.getLong("data.order.id");
+ * </pre>
+ *
+ * @author PrideYang
+ */
+public final class JSONExtractor {
+
+    private final String[] paths;
+    private final Map<String, Integer> slots;
+    private final Node root;
+
+    private JSONExtractor(String[] paths) {
+        this.paths = paths;
+        this.slots = new HashMap<>(paths.length * 2);
+        this.root = new Node();
+        for (int i = 0; i < paths.length; i++) {
+            Node node = root;
+            for (Object segment : parse(paths[i])) {
+                node = node.child(segment);
+            }
+            // 按解析后的路径判断重复，写法不同的同一路径（如a与$.a、a[0]与a.[0]）共用一个节点
+            if (node.slot >= 0) {
+                throw new IllegalArgumentException("Duplicate path: " + paths[i] + " (same as " + paths[node.slot] + ")");
+            }
+            node.slot = i;
+            slots.put(paths[i], i);
+        }
+        root.collect();
+    }
+
+    /**
+     * 编译路径
+     *
+     * @param paths 路径，不能为空
+     * @return 提取器
+     * @throws IllegalArgumentException 路径为空、重复或格式错误
+     */
+    public static JSONExtractor compile(String... paths) {
+        if (null == paths || paths.length == 0) {
+            throw new IllegalArgumentException("paths must not be empty");
+        }
+        return new JSONExtractor(paths.clone());
+    }
+
+    /**
+     * 编译时的路径
+     *
+     * @return 路径的副本
+     */
+    public String[] getPaths() {
+        return paths.clone();
+    }
+
+    /**
+     * 从UTF-8字节中提取
+     *
+     * @param json JSON字节
+     * @return 提取结果
+     * @throws IllegalArgumentException JSON格式错误
+     */
+    public Values extract(byte[] json) {
+        try (JsonParser parser = JSON.MAPPER.createParser(json)) {
+            return extract(parser);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 从字符串中提取
+     *
+     * @param json JSON字符串
+     * @return 提取结果
+     * @throws IllegalArgumentException JSON格式错误
+     */
+    public Values extract(String json) {
+        try (JsonParser parser = JSON.MAPPER.createParser(json)) {
+            return extract(parser);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 从输入流中提取，找到所有路径后即停止读取，输入流由调用方关闭
+     *
+     * @param in 输入流
+     * @return 提取结果
+     * @throws IllegalArgumentException JSON格式错误或读取失败
+     */
+    public Values extract(InputStream in) {
+        try (JsonParser parser = JSON.MAPPER.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return extract(parser);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private Values extract(JsonParser parser) throws IOException {
+        final Values values = new Values(this);
+        if (null != parser.nextToken()) {
+            visit(parser, root, values);
+        }
+        return values;
+    }
+
+    /**
+     * 处理当前值，进入时parser位于值的第一个token
+     */
+    private static void visit(JsonParser parser, Node node, Values values) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (node.slot >= 0) {
+            if (token.isStructStart()) {
+                final JsonNode tree = parser.readValueAsTree();
+                values.put(node.slot, tree);
+                if (node.hasChildren()) {
+                    fill(tree, node, values);
+                }
+            } else {
+                values.put(node.slot, scalar(parser, token));
+            }
+            return;
+        }
+        if (token == JsonToken.START_OBJECT && null != node.fields) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final Node child = node.fields.get(parser.currentName());
+                parser.nextToken();
+                if (null == child || child.done(values)) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, child, values);
+                    if (values.remaining == 0) {
+                        return;
+                    }
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY && null != node.indexes) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                final Node child = index < node.indexes.length ? node.indexes[index] : null;
+                index++;
+                if (null == child || child.done(values)) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, child, values);
+                    if (values.remaining == 0) {
+                        return;
+                    }
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * 路径互为前缀时（如{@code a}和{@code a.b}），较长路径的值从已读取的子树中获取
+     */
+    private static void fill(JsonNode tree, Node node, Values values) {
+        if (null != node.fields) {
+            node.fields.forEach((name, child) -> fillChild(tree.get(name), child, values));
+        }
+        if (null != node.indexes) {
+            for (int i = 0; i < node.indexes.length; i++) {
+                if (null != node.indexes[i]) {
+                    fillChild(tree.get(i), node.indexes[i], values);
+                }
+            }
+        }
+    }
+
+    private static void fillChild(JsonNode tree, Node child, Values values) {
+        if (null == tree) {
+            return;
+        }
+        if (child.slot >= 0) {
+            values.put(child.slot, tree.isValueNode() ? scalar(tree) : tree);
+        }
+        if (child.hasChildren()) {
+            fill(tree, child, values);
+        }
+    }
+
+    private static Object scalar(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+            default:
+                return null;
+        }
+    }
+
+    private static Object scalar(JsonNode node) {
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isNumber()) {
+            return node.numberValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        return null;
+    }
+
+    /**
+     * 解析路径为字段名（String）和数组下标（Integer）组成的段
+     */
+    private static List<Object> parse(String path) {
+        if (StringUtils.isBlank(path)) {
+            throw new IllegalArgumentException("Blank path");
+        }
+        final List<Object> segments = new ArrayList<>();
+        int i = 0;
+        final int length = path.length();
+        if (path.charAt(0) == '$') {
+            i = 1;
+            if (i < length && path.charAt(i) == '.') {
+                i++;
+            }
+        }
+        while (i < length) {
+            final char c = path.charAt(i);
+            if (c == '[') {
+                final int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in path: " + path);
+                }
+                try {
+                    final int index = Integer.parseInt(path, i + 1, end, 10);
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Negative index in path: " + path);
+                    }
+                    segments.add(index);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid index in path: " + path, e);
+                }
+                i = end + 1;
+                if (i < length && path.charAt(i) == '.') {
+                    i++;
+                }
+            } else {
+                int end = i;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i) {
+                    throw new IllegalArgumentException("Empty field name in path: " + path);
+                }
+                segments.add(path.substring(i, end));
+                i = end < length && path.charAt(end) == '.' ? end + 1 : end;
+            }
+        }
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("Empty path: " + path);
+        }
+        return segments;
+    }
+
+    /**
+     * 路径前缀树节点
+     */
+    private static final class Node {
+        /**
+         * 以此节点结束的路径序号，-1表示不是路径终点
+         */
+        private int slot = -1;
+        private Map<String, Node> fields;
+        private Node[] indexes;
+        /**
+         * 子树中所有路径的序号（包括本节点）
+         */
+        private int[] subtreeSlots;
+
+        private Node child(Object segment) {
+            final Node child;
+            if (segment instanceof Integer) {
+                final int index = (Integer) segment;
+                if (null == indexes) {
+                    indexes = new Node[index + 1];
+                } else if (indexes.length <= index) {
+                    indexes = Arrays.copyOf(indexes, index + 1);
+                }
+                if (null == indexes[index]) {
+                    indexes[index] = new Node();
+                }
+                child = indexes[index];
+            } else {
+                if (null == fields) {
+                    fields = new HashMap<>(4);
+                }
+                child = fields.computeIfAbsent((String) segment, k -> new Node());
+            }
+            return child;
+        }
+
+        private int[] collect() {
+            final List<int[]> parts = new ArrayList<>();
+            if (slot >= 0) {
+                parts.add(new int[]{slot});
+            }
+            if (null != fields) {
+                fields.values().forEach(child -> parts.add(child.collect()));
+            }
+            if (null != indexes) {
+                for (Node child : indexes) {
+                    if (null != child) {
+                        parts.add(child.collect());
+                    }
+                }
+            }
+            subtreeSlots = parts.stream().flatMapToInt(Arrays::stream).toArray();
+            return subtreeSlots;
+        }
+
+        private boolean hasChildren() {
+            return null != fields || null != indexes;
+        }
+
+        /**
+         * 子树中的路径是否都已找到，重复出现的字段直接跳过
+         */
+        private boolean done(Values values) {
+            for (int s : subtreeSlots) {
+                if (!values.found[s]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 提取结果，按路径或路径序号获取值
+     * <p>
+     * 标量值为{@link String}、{@link Number}、{@link Boolean}，对象和数组为{@link JsonNode}；
+     * JSON中的{@code null}和未找到的路径均返回{@code null}，可通过{@link #isFound(String)}区分。
+     * </p>
+     */
+    public static final class Values {
+        private final JSONExtractor extractor;
+        private final Object[] values;
+        private final boolean[] found;
+        private int remaining;
+
+        private Values(JSONExtractor extractor) {
+            this.extractor = extractor;
+            this.values = new Object[extractor.paths.length];
+            this.found = new boolean[values.length];
+            this.remaining = values.length;
+        }
+
+        private void put(int slot, Object value) {
+            if (!found[slot]) {
+                values[slot] = value;
+                found[slot] = true;
+                remaining--;
+            }
+        }
+
+        private int slot(String path) {
+            final Integer slot = extractor.slots.get(path);
+            if (null == slot) {
+                throw new IllegalArgumentException("Path not compiled: " + path);
+            }
+            return slot;
+        }
+
+        /**
+         * 按编译时的路径序号获取值
+         *
+         * @param index 路径序号
+         * @return 值
+         */
+        public Object get(int index) {
+            return values[index];
+        }
+
+        /**
+         * 按路径获取值
+         *
+         * @param path 编译时的路径
+         * @return 值
+         */
+        public Object get(String path) {
+            return values[slot(path)];
+        }
+
+        /**
+         * 路径是否在JSON中出现（值可以是{@code null}）
+         *
+         * @param path 编译时的路径
+         * @return 是否出现
+         */
+        public boolean isFound(String path) {
+            return found[slot(path)];
+        }
+
+        /**
+         * 获取String类型的值，非字符串的标量和{@link JsonNode}取其字符串形式
+         *
+         * @param path 编译时的路径
+         * @return String
+         */
+        public String getString(String path) {
+            final Object value = get(path);
+            return null == value ? null : value.toString();
+        }
+
+        /**
+         * 获取Integer类型的值，转换失败返回{@code null}
+         *
+         * @param path 编译时的路径
+         * @return Integer
+         */
+        public Integer getInteger(String path) {
+            return Convert.toInt(get(path));
+        }
+
+        /**
+         * 获取Long类型的值，转换失败返回{@code null}
+         *
+         * @param path 编译时的路径
+         * @return Long
+         */
+        public Long getLong(String path) {
+            return Convert.toLong(get(path));
+        }
+
+        /**
+         * 获取Double类型的值，转换失败返回{@code null}
+         *
+         * @param path 编译时的路径
+         * @return Double
+         */
+        public Double getDouble(String path) {
+            return Convert.toDouble(get(path));
+        }
+
+        /**
+         * 获取Boolean类型的值，非布尔值按{@link Boolean#valueOf(String)}转换
+         *
+         * @param path 编译时的路径
+         * @return Boolean
+         */
+        public Boolean getBoolean(String path) {
+            final Object value = get(path);
+            return null == value ? null : value instanceof Boolean ? (Boolean) value : Boolean.valueOf(value.toString());
+        }
+
+        /**
+         * 获取Date类型的值
+         *
+         * @param path   编译时的路径
+         * @param format 日期格式对象
+         * @return Date
+         */
+        public Date getDate(String path, SimpleDateFormat format) {
+            final String value = getString(path);
+            if (null == value) {
+                return null;
+            }
+            try {
+                return format.parse(value);
+            } catch (ParseException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        /**
+         * 获取Date类型的值，使用默认的{@code yyyy-MM-dd HH:mm:ss}格式
+         *
+         * @param path 编译时的路径
+         * @return Date
+         */
+        public Date getDate(String path) {
+            return getDate(path, JSON.formatLocal.get());
+        }
+
+        /**
+         * 获取对象或数组类型的值
+         *
+         * @param path 编译时的路径
+         * @return JsonNode，值不是对象或数组时返回{@code null}
+         */
+        public JsonNode getNode(String path) {
+            final Object value = get(path);
+            return value instanceof JsonNode ? (JsonNode) value : null;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder("{");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(extractor.paths[i]).append('=').append(values[i]);
+            }
+            return builder.append('}').toString();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package top.lytree.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+
+/**
+ * {@link JSONCodec}支持的数据格式
+ * <p>
+ * 二进制格式写出时在数据前加一个格式字节，读取时据此自动识别格式。
+ * 格式字节取不可能出现在JSON文本开头的控制字符，因此没有格式字节的数据按JSON文本读取，已有的JSON数据无需迁移即可读取。
+ * </p>
+ * <p>
+ * Smile、CBOR需要classpath中存在{@code jackson-dataformat-smile}、{@code jackson-dataformat-cbor}，仅在首次使用对应格式时加载。
+ * </p>
+ *
+ * @author PrideYang
+ */
+public enum JSONFormat {
+    /**
+     * JSON文本，不加格式字节，与{@link JSON#toJSONBytes(Object)}的输出一致
+     */
+    JSON((byte) 0),
+    /**
+     * Smile二进制JSON，字段名自动去重，适合字段名重复较多的对象和列表
+     */
+    SMILE((byte) 0x01),
+    /**
+     * CBOR（RFC 8949）二进制JSON
+     */
+    CBOR((byte) 0x02);
+
+    private final byte marker;
+
+    JSONFormat(byte marker) {
+        this.marker = marker;
+    }
+
+    /**
+     * 格式字节，{@link #JSON}没有格式字节，返回0
+     *
+     * @return 格式字节
+     */
+    public byte getMarker() {
+        return marker;
+    }
+
+    /**
+     * 根据首字节识别格式，非二进制格式字节均视为JSON文本
+     *
+     * @param bytes 数据
+     * @return 格式
+     */
+    public static JSONFormat detect(byte[] bytes) {
+        if (null == bytes || bytes.length == 0) {
+            return JSON;
+        }
+        switch (bytes[0]) {
+            case 0x01:
+                return SMILE;
+            case 0x02:
+                return CBOR;
+            default:
+                return JSON;
+        }
+    }
+
+    /**
+     * 创建对应格式的{@link JsonFactory}，二进制格式的依赖只在此时加载
+     *
+     * @return JsonFactory
+     */
+    JsonFactory createFactory() {
+        switch (this) {
+            case SMILE:
+                return Smile.factory();
+            case CBOR:
+                return Cbor.factory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private static final class Smile {
+        /**
+         * 格式字节已标识格式，不再写出Smile自带的4字节文件头
+         */
+        static JsonFactory factory() {
+            return SmileFactory.builder()
+                    .disable(SmileGenerator.Feature.WRITE_HEADER)
+                    .disable(SmileParser.Feature.REQUIRE_HEADER)
+                    .build();
+        }
+    }
+
+    private static final class Cbor {
+        static JsonFactory factory() {
+            return new CBORFactory();
+        }
+    }
+}
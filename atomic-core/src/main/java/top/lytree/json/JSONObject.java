@@ -3,10 +3,8 @@ package top.lytree.json;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.type.CollectionType;
-import com.fasterxml.jackson.databind.type.MapType;
-import com.fasterxml.jackson.databind.type.TypeFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -42,12 +40,20 @@ public class JSONObject extends JSON {
             if (StringUtils.isBlank(value)) {
                 return defaultSupplier.get();
             }
-            return MAPPER.readValue(value, tClass);
+            return typeCache().reader(tClass).readValue(value);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
+    /**
+     * 解析byte数组，支持JSON文本以及{@link JSON#toJSONBytes(Object, JSONFormat)}输出的Smile、CBOR格式，根据格式字节自动识别
+     *
+     * @param value  byte数组
+     * @param tClass 目标类型
+     * @param <T>    目标类型
+     * @return 对象
+     */
     public static <T> T parseObject(byte[] value, Class<T> tClass) {
         return value != null ? parseObject(value, tClass, () -> null) : null;
     }
@@ -57,15 +63,26 @@ public class JSONObject extends JSON {
             if (ArrayUtils.isEmpty(value)) {
                 return defaultSupplier.get();
             }
-            return getObjectMapper().readValue(value, tClass);
+            if (JSONFormat.detect(value) != JSONFormat.JSON) {
+                return getCodec().decode(value, tClass);
+            }
+            return typeCache().reader(tClass).readValue(value);
         } catch (IOException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
-    // 简单地直接用json复制或者转换(Cloneable)
+    /**
+     * 通过JSON深拷贝或转换对象，token经{@link com.fasterxml.jackson.databind.util.TokenBuffer}直接流转，不生成中间字符串<br>
+     * 源对象本身为不可变叶子值时直接复用，嵌套的值随token重建，见{@link JSON#tokenCopy}
+     *
+     * @param obj    源对象
+     * @param tClass 目标类型
+     * @param <T>    目标类型
+     * @return 拷贝后的对象
+     */
     public static <T> T jsonCopy(Object obj, Class<T> tClass) {
-        return obj != null ? parseObject(toJSONString(obj), tClass) : null;
+        return obj != null ? tokenCopy(obj, tClass, typeCache().reader(tClass)) : null;
     }
 
 
@@ -103,9 +120,8 @@ public class JSONObject extends JSON {
             throw new IllegalArgumentException("keyType or valueType is null!");
         }
         try {
-            //第二参数是 map 的 key 的类型，第三参数是 map 的 value 的类型
-            MapType javaType = MAPPER.getTypeFactory().constructMapType(LinkedHashMap.class, keyType, valueType);
-            return MAPPER.readValue(value, javaType);
+            //第一参数是 map 的 key 的类型，第二参数是 map 的 value 的类型，读取器按类型缓存
+            return typeCache().mapReader(keyType, valueType).readValue(value);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
         }
@@ -160,10 +176,7 @@ public class JSONObject extends JSON {
             throw new IllegalArgumentException("keyType or valueType is null!");
         }
         try {
-            TypeFactory typeFactory = MAPPER.getTypeFactory();
-            MapType mapType = typeFactory.constructMapType(Map.class, keyType, valueType);
-            CollectionType collectionType = typeFactory.constructCollectionType(List.class, mapType);
-            return MAPPER.readValue(value, collectionType);
+            return typeCache().mapListReader(keyType, valueType).readValue(value);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
         }
@@ -194,13 +207,11 @@ public class JSONObject extends JSON {
             throw new IllegalArgumentException("keyType or valueType is null!");
         }
         try {
-            TypeFactory typeFactory = MAPPER.getTypeFactory();
-            MapType mapType = typeFactory.constructMapType(Map.class, keyType, valueType);
-            CollectionType collectionType = MAPPER.getTypeFactory().constructCollectionType(List.class, mapType);
+            final ObjectReader reader = typeCache().mapListReader(keyType, valueType);
             if (object instanceof String) {
-                return MAPPER.readValue((String) object, collectionType);
+                return reader.readValue((String) object);
             }
-            return MAPPER.readValue(toJSONString(object), collectionType);
+            return reader.readValue(toJSONString(object));
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
         }
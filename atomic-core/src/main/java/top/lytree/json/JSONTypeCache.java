@@ -0,0 +1,162 @@
+package top.lytree.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 预构建的{@link ObjectReader}、{@link ObjectWriter}缓存
+ * <p>
+ * 每个目标类型只构造一次{@link JavaType}并预取根序列化/反序列化器，后续调用直接复用。
+ * 缓存基于{@link ClassValue}，挂在目标类上，不阻止类加载器卸载。
+ * 缓存在创建时固化{@link ObjectMapper}的配置，修改配置后需通过{@link JSON#registerModule}等方法重建缓存。
+ * </p>
+ *
+ * @author PrideYang
+ */
+final class JSONTypeCache {
+
+    private final ObjectMapper mapper;
+
+    private final ClassValue<ObjectReader> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(final Class<?> type) {
+            return mapper.readerFor(type);
+        }
+    };
+
+    private final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(final Class<?> type) {
+            return mapper.writerFor(type);
+        }
+    };
+
+    /**
+     * 格式化输出的写出器，与{@link #writers}分开缓存，避免每次调用{@link ObjectWriter#withDefaultPrettyPrinter()}创建新对象
+     */
+    private final ClassValue<ObjectWriter> prettyWriters = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(final Class<?> type) {
+            return writers.get(type).withDefaultPrettyPrinter();
+        }
+    };
+
+    /**
+     * 元素类型 -&gt; List&lt;T&gt;的读取器
+     */
+    private final ClassValue<ObjectReader> listReaders = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(final Class<?> type) {
+            return mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, type));
+        }
+    };
+
+    /**
+     * 值类型 -&gt; (键类型 -&gt; LinkedHashMap&lt;K, V&gt;的读取器)
+     */
+    private final ClassValue<ConcurrentMap<Class<?>, ObjectReader>> mapReaders = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Class<?>, ObjectReader> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    /**
+     * 值类型 -&gt; (键类型 -&gt; List&lt;Map&lt;K, V&gt;&gt;的读取器)
+     */
+    private final ClassValue<ConcurrentMap<Class<?>, ObjectReader>> mapListReaders = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Class<?>, ObjectReader> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    private final ObjectWriter writer;
+    private final ObjectWriter prettyWriter;
+
+    JSONTypeCache(final ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.writer = mapper.writer();
+        this.prettyWriter = mapper.writerWithDefaultPrettyPrinter();
+    }
+
+    /**
+     * 读取为指定类型的读取器
+     *
+     * @param type 目标类型
+     * @return {@link ObjectReader}
+     */
+    ObjectReader reader(final Class<?> type) {
+        return readers.get(type);
+    }
+
+    /**
+     * 读取为{@code List<T>}的读取器
+     *
+     * @param elementType 元素类型
+     * @return {@link ObjectReader}
+     */
+    ObjectReader listReader(final Class<?> elementType) {
+        return listReaders.get(elementType);
+    }
+
+    /**
+     * 读取为{@code LinkedHashMap<K, V>}的读取器
+     *
+     * @param keyType   键类型
+     * @param valueType 值类型
+     * @return {@link ObjectReader}
+     */
+    ObjectReader mapReader(final Class<?> keyType, final Class<?> valueType) {
+        return mapReaders.get(valueType).computeIfAbsent(keyType,
+                k -> mapper.readerFor(mapType(LinkedHashMap.class, k, valueType)));
+    }
+
+    /**
+     * 读取为{@code List<Map<K, V>>}的读取器
+     *
+     * @param keyType   键类型
+     * @param valueType 值类型
+     * @return {@link ObjectReader}
+     */
+    ObjectReader mapListReader(final Class<?> keyType, final Class<?> valueType) {
+        return mapListReaders.get(valueType).computeIfAbsent(keyType,
+                k -> mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, mapType(Map.class, k, valueType))));
+    }
+
+    /**
+     * 写出指定类型对象的写出器，根序列化器已预取
+     *
+     * @param type 对象类型
+     * @param pretty 是否格式化输出
+     * @return {@link ObjectWriter}
+     */
+    ObjectWriter writer(final Class<?> type, final boolean pretty) {
+        return pretty ? prettyWriters.get(type) : writers.get(type);
+    }
+
+    /**
+     * 未指定类型的写出器
+     *
+     * @param pretty 是否格式化输出
+     * @return {@link ObjectWriter}
+     */
+    ObjectWriter writer(final boolean pretty) {
+        return pretty ? prettyWriter : writer;
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    private JavaType mapType(final Class<? extends Map> mapClass, final Class<?> keyType, final Class<?> valueType) {
+        final TypeFactory typeFactory = mapper.getTypeFactory();
+        return typeFactory.constructMapType(mapClass, keyType, valueType);
+    }
+}
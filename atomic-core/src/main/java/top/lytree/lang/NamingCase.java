@@ -8,6 +8,15 @@ package top.lytree.lang;
  */
 public class NamingCase {
 
+    /**
+     * 缓存的标识符最大长度，更长的输入不缓存
+     */
+    private static final int MAX_CACHED_LENGTH = 128;
+
+    private static final Cache UNDERLINE_CACHE = new Cache();
+    private static final Cache KEBAB_CACHE = new Cache();
+    private static final Cache CAMEL_CACHE = new Cache();
+
     /**
      * 将驼峰式命名的字符串转换为下划线方式，又称SnakeCase、underScoreCase。<br> 如果转换前的驼峰式命名的字符串为空，则返回空字符串。<br> 规则为：
      * <ul>
@@ -26,7 +35,8 @@ public class NamingCase {
      * @return 转换后下划线方式命名的字符串
      */
     public static String toUnderlineCase(CharSequence str) {
-        return toSymbolCase(str, CharUtils.UNDERLINE);
+        final String cached = UNDERLINE_CACHE.get(str);
+        return cached != null ? cached : UNDERLINE_CACHE.put(str, toSymbolCase(str, CharUtils.UNDERLINE));
     }
 
     /**
@@ -47,7 +57,8 @@ public class NamingCase {
      * @return 转换后下划线方式命名的字符串
      */
     public static String toKebabCase(CharSequence str) {
-        return toSymbolCase(str, CharUtils.DASHED);
+        final String cached = KEBAB_CACHE.get(str);
+        return cached != null ? cached : KEBAB_CACHE.put(str, toSymbolCase(str, CharUtils.DASHED));
     }
 
     /**
@@ -62,53 +73,58 @@ public class NamingCase {
         if (str == null) {
             return null;
         }
+        return toSymbolCase(str, symbol, new char[str.length() << 1]);
+    }
 
+    /**
+     * 转换为符号连接方式，写入预先分配的缓冲区，每个大写字母最多在前面插入一个连接符，缓冲区长度至少为输入的两倍
+     */
+    private static String toSymbolCase(CharSequence str, char symbol, char[] out) {
         final int length = str.length();
-        final StringBuilder sb = new StringBuilder();
-        char c;
+        int n = 0;
         for (int i = 0; i < length; i++) {
-            c = str.charAt(i);
-            if (Character.isUpperCase(c)) {
-                final Character preChar = (i > 0) ? str.charAt(i - 1) : null;
-                final Character nextChar = (i < str.length() - 1) ? str.charAt(i + 1) : null;
-
-                if (null != preChar) {
+            char c = str.charAt(i);
+            if (isUpperCase(c)) {
+                final boolean hasNext = i < length - 1;
+                final char nextChar = hasNext ? str.charAt(i + 1) : 0;
+                if (i > 0) {
+                    final char preChar = str.charAt(i - 1);
                     if (symbol == preChar) {
                         // 前一个为分隔符
-                        if (null == nextChar || Character.isLowerCase(nextChar)) {
+                        if (!hasNext || isLowerCase(nextChar)) {
                             //普通首字母大写，如_Abb -> _abb
-                            c = Character.toLowerCase(c);
+                            c = toLowerCase(c);
                         }
                         //后一个为大写，按照专有名词对待，如_AB -> _AB
-                    } else if (Character.isLowerCase(preChar)) {
+                    } else if (isLowerCase(preChar)) {
                         // 前一个为小写
-                        sb.append(symbol);
-                        if (null == nextChar || Character.isLowerCase(nextChar) || CharUtils.isNumber(nextChar)) {
+                        out[n++] = symbol;
+                        if (!hasNext || isLowerCase(nextChar) || CharUtils.isNumber(nextChar)) {
                             //普通首字母大写，如aBcc -> a_bcc
-                            c = Character.toLowerCase(c);
+                            c = toLowerCase(c);
                         }
                         // 后一个为大写，按照专有名词对待，如aBC -> a_BC
                     } else {
                         //前一个为大写
-                        if (null != nextChar && Character.isLowerCase(nextChar)) {
+                        if (hasNext && isLowerCase(nextChar)) {
                             // 普通首字母大写，如ABcc -> A_bcc
-                            sb.append(symbol);
-                            c = Character.toLowerCase(c);
+                            out[n++] = symbol;
+                            c = toLowerCase(c);
                         }
                         // 后一个为大写，按照专有名词对待，如ABC -> ABC
                     }
                 } else {
                     // 首字母，需要根据后一个判断是否转为小写
-                    if (null == nextChar || Character.isLowerCase(nextChar)) {
+                    if (!hasNext || isLowerCase(nextChar)) {
                         // 普通首字母大写，如Abc -> abc
-                        c = Character.toLowerCase(c);
+                        c = toLowerCase(c);
                     }
                     // 后一个为大写，按照专有名词对待，如ABC -> ABC
                 }
             }
-            sb.append(c);
+            out[n++] = c;
         }
-        return sb.toString();
+        return new String(out, 0, n);
     }
 
     /**
@@ -141,7 +157,8 @@ public class NamingCase {
      * @return 转换后的驼峰式命名的字符串
      */
     public static String toCamelCase(CharSequence name) {
-        return toCamelCase(name, CharUtils.UNDERLINE);
+        final String cached = CAMEL_CACHE.get(name);
+        return cached != null ? cached : CAMEL_CACHE.put(name, toCamelCase(name, CharUtils.UNDERLINE));
     }
 
     /**
@@ -156,27 +173,138 @@ public class NamingCase {
             return null;
         }
 
+        return toCamelCase(name, symbol, new char[name.length()]);
+    }
+
+    private static String toCamelCase(CharSequence name, char symbol, char[] out) {
         final String name2 = name.toString();
-        if (StringUtils.contains(name2, symbol)) {
-            final int length = name2.length();
-            final StringBuilder sb = new StringBuilder(length);
-            boolean upperCase = false;
-            for (int i = 0; i < length; i++) {
-                char c = name2.charAt(i);
-
-                if (c == symbol) {
-                    upperCase = true;
-                } else if (upperCase) {
-                    sb.append(Character.toUpperCase(c));
-                    upperCase = false;
-                } else {
-                    sb.append(Character.toLowerCase(c));
-                }
-            }
-            return sb.toString();
-        } else {
+        if (name2.indexOf(symbol) < 0) {
             return name2;
         }
+        final int length = name2.length();
+        int n = 0;
+        boolean upperCase = false;
+        for (int i = 0; i < length; i++) {
+            final char c = name2.charAt(i);
+            if (c == symbol) {
+                upperCase = true;
+            } else if (upperCase) {
+                out[n++] = toUpperCase(c);
+                upperCase = false;
+            } else {
+                out[n++] = toLowerCase(c);
+            }
+        }
+        return new String(out, 0, n);
+    }
+
+    /**
+     * 批量转换为下划线方式，用于类元数据加载时一次转换全部字段名，所有名称共用同一个缓冲区
+     *
+     * @param names 驼峰式命名的名称，元素可以为{@code null}
+     * @return 转换结果，与输入一一对应
+     * @see #toUnderlineCase(CharSequence)
+     */
+    public static String[] toUnderlineCaseAll(String[] names) {
+        final String[] result = new String[names.length];
+        final char[] out = new char[maxLength(names) << 1];
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            if (name != null) {
+                final String cached = UNDERLINE_CACHE.get(name);
+                result[i] = cached != null ? cached : UNDERLINE_CACHE.put(name, toSymbolCase(name, CharUtils.UNDERLINE, out));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量转换为驼峰式，所有名称共用同一个缓冲区
+     *
+     * @param names 下划线方式命名的名称，元素可以为{@code null}
+     * @return 转换结果，与输入一一对应
+     * @see #toCamelCase(CharSequence)
+     */
+    public static String[] toCamelCaseAll(String[] names) {
+        final String[] result = new String[names.length];
+        final char[] out = new char[maxLength(names)];
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            if (name != null) {
+                final String cached = CAMEL_CACHE.get(name);
+                result[i] = cached != null ? cached : CAMEL_CACHE.put(name, toCamelCase(name, CharUtils.UNDERLINE, out));
+            }
+        }
+        return result;
     }
 
+    private static int maxLength(String[] names) {
+        int max = 0;
+        for (String name : names) {
+            if (name != null && name.length() > max) {
+                max = name.length();
+            }
+        }
+        return max;
+    }
+
+    // ASCII字符直接比较，其余交给Character
+
+    private static boolean isUpperCase(char c) {
+        return c < 0x80 ? c >= 'A' && c <= 'Z' : Character.isUpperCase(c);
+    }
+
+    private static boolean isLowerCase(char c) {
+        return c < 0x80 ? c >= 'a' && c <= 'z' : Character.isLowerCase(c);
+    }
+
+    private static char toLowerCase(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static char toUpperCase(char c) {
+        if (c < 0x80) {
+            return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+        }
+        return Character.toUpperCase(c);
+    }
+
+    /**
+     * 标识符转换结果的缓存，按哈希直接映射到固定大小的槽位，冲突时后者覆盖前者
+     * <p>
+     * 条目不可变，读写不加锁：并发时最多是重复计算或丢失一次写入，不会读到不一致的结果。只缓存{@link String}输入，
+     * 其他{@link CharSequence}可能可变。
+     * </p>
+     */
+    private static final class Cache {
+
+        private static final int SIZE = 2048;
+
+        private final Entry[] entries = new Entry[SIZE];
+
+        String get(CharSequence key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            final Entry entry = entries[index(key.hashCode())];
+            return entry != null && entry.key.equals(key) ? entry.value : null;
+        }
+
+        String put(CharSequence key, String value) {
+            if (key instanceof String && value != null && key.length() <= MAX_CACHED_LENGTH) {
+                entries[index(key.hashCode())] = new Entry((String) key, value);
+            }
+            return value;
+        }
+
+        private static int index(int hash) {
+            return (hash ^ (hash >>> 16)) & (SIZE - 1);
+        }
+
+        private record Entry(String key, String value) {
+        }
+    }
 }
@@ -0,0 +1,1006 @@
+package top.lytree.math;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * 基本类型与字节的相互转换，读写调用方提供的{@code byte[]}或{@link ByteBuffer}的指定位置，每个值的转换不创建对象
+ * <p>
+ * 定长类型通过{@link MethodHandles#byteArrayViewVarHandle(Class, ByteOrder)}及
+ * {@link MethodHandles#byteBufferViewVarHandle(Class, ByteOrder)}读写，端序由{@link #LITTLE_ENDIAN}、{@link #BIG_ENDIAN}决定，
+ * 与{@link ByteBuffer#order()}无关，位置不要求对齐。float、double按原始位模式读写，NaN的位模式原样保留。
+ * </p>
+ * <p>
+ * 变长整数（varint）每字节存7位，低位在前，最高位为1表示后面还有字节，与Protocol Buffers的编码相同；
+ * int按无符号32位编码，最多5字节，long最多10字节。有符号数先用ZigZag编码（{@link #encodeZigZag(long)}），绝对值小的负数也只占很少的字节。
+ * 解码时拒绝多余的前导0字节等非最短编码，因此{@link #varLongSize(long)}就是读取的字节数。
+ * </p>
+ *
+ * <pre>
+ * final byte[] buf = new byte[64];
+ * int offset = ByteCodec.BIG_ENDIAN.putInt(buf, 0, 42);
+ * offset = ByteCodec.putVarLong(buf, offset, ByteCodec.encodeZigZag(-1L));
+ * </pre>
+ *
+ * @author pride
+ * @see NumberUtils
+ */
+public final class ByteCodec {
+
+    /**
+     * 小端序
+     */
+    public static final ByteCodec LITTLE_ENDIAN = new ByteCodec(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * 大端序（网络字节序）
+     */
+    public static final ByteCodec BIG_ENDIAN = new ByteCodec(ByteOrder.BIG_ENDIAN);
+
+    /**
+     * int变长编码的最大字节数
+     */
+    public static final int MAX_VAR_INT_SIZE = 5;
+
+    /**
+     * long变长编码的最大字节数
+     */
+    public static final int MAX_VAR_LONG_SIZE = 10;
+
+    // VarHandle必须是静态常量，JIT才能内联成直接的内存读写
+    private static final VarHandle SHORT_ARRAY_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle SHORT_ARRAY_BE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle CHAR_ARRAY_LE = MethodHandles.byteArrayViewVarHandle(char[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle CHAR_ARRAY_BE = MethodHandles.byteArrayViewVarHandle(char[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_ARRAY_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_ARRAY_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG_ARRAY_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_ARRAY_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle FLOAT_ARRAY_LE = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle FLOAT_ARRAY_BE = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle DOUBLE_ARRAY_LE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle DOUBLE_ARRAY_BE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final VarHandle SHORT_BUFFER_LE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle SHORT_BUFFER_BE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle CHAR_BUFFER_LE = MethodHandles.byteBufferViewVarHandle(char[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle CHAR_BUFFER_BE = MethodHandles.byteBufferViewVarHandle(char[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_BUFFER_LE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_BUFFER_BE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG_BUFFER_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_BUFFER_BE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle FLOAT_BUFFER_LE = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle FLOAT_BUFFER_BE = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle DOUBLE_BUFFER_LE = MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle DOUBLE_BUFFER_BE = MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.BIG_ENDIAN);
+
+    private final ByteOrder order;
+
+    private final boolean bigEndian;
+
+    private ByteCodec(ByteOrder order) {
+        this.order = order;
+        this.bigEndian = ByteOrder.BIG_ENDIAN == order;
+    }
+
+    /**
+     * 获取指定端序的转换器，与{@link NumberUtils}相同，不是{@link ByteOrder#LITTLE_ENDIAN}时按大端序处理
+     *
+     * @param order 端序
+     * @return 转换器
+     */
+    public static ByteCodec of(ByteOrder order) {
+        return ByteOrder.LITTLE_ENDIAN == order ? LITTLE_ENDIAN : BIG_ENDIAN;
+    }
+
+    /**
+     * 获取端序
+     *
+     * @return 端序
+     */
+    public ByteOrder order() {
+        return order;
+    }
+
+    // byte[] ====================================================
+
+    /**
+     * 读取short
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @return short值
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public short getShort(byte[] bytes, int offset) {
+        if (bigEndian) {
+            return (short) SHORT_ARRAY_BE.get(bytes, offset);
+        }
+        return (short) SHORT_ARRAY_LE.get(bytes, offset);
+    }
+
+    /**
+     * 写入short
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @param value  short值
+     * @return 写入后的位置，即{@code offset + 2}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putShort(byte[] bytes, int offset, short value) {
+        if (bigEndian) {
+            SHORT_ARRAY_BE.set(bytes, offset, value);
+        } else {
+            SHORT_ARRAY_LE.set(bytes, offset, value);
+        }
+        return offset + Short.BYTES;
+    }
+
+    /**
+     * 读取char
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @return char值
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public char getChar(byte[] bytes, int offset) {
+        if (bigEndian) {
+            return (char) CHAR_ARRAY_BE.get(bytes, offset);
+        }
+        return (char) CHAR_ARRAY_LE.get(bytes, offset);
+    }
+
+    /**
+     * 写入char
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @param value  char值
+     * @return 写入后的位置，即{@code offset + 2}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putChar(byte[] bytes, int offset, char value) {
+        if (bigEndian) {
+            CHAR_ARRAY_BE.set(bytes, offset, value);
+        } else {
+            CHAR_ARRAY_LE.set(bytes, offset, value);
+        }
+        return offset + Character.BYTES;
+    }
+
+    /**
+     * 读取int
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @return int值
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int getInt(byte[] bytes, int offset) {
+        if (bigEndian) {
+            return (int) INT_ARRAY_BE.get(bytes, offset);
+        }
+        return (int) INT_ARRAY_LE.get(bytes, offset);
+    }
+
+    /**
+     * 写入int
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @param value  int值
+     * @return 写入后的位置，即{@code offset + 4}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putInt(byte[] bytes, int offset, int value) {
+        if (bigEndian) {
+            INT_ARRAY_BE.set(bytes, offset, value);
+        } else {
+            INT_ARRAY_LE.set(bytes, offset, value);
+        }
+        return offset + Integer.BYTES;
+    }
+
+    /**
+     * 读取long
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @return long值
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public long getLong(byte[] bytes, int offset) {
+        if (bigEndian) {
+            return (long) LONG_ARRAY_BE.get(bytes, offset);
+        }
+        return (long) LONG_ARRAY_LE.get(bytes, offset);
+    }
+
+    /**
+     * 写入long
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @param value  long值
+     * @return 写入后的位置，即{@code offset + 8}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putLong(byte[] bytes, int offset, long value) {
+        if (bigEndian) {
+            LONG_ARRAY_BE.set(bytes, offset, value);
+        } else {
+            LONG_ARRAY_LE.set(bytes, offset, value);
+        }
+        return offset + Long.BYTES;
+    }
+
+    /**
+     * 读取float
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @return float值
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public float getFloat(byte[] bytes, int offset) {
+        if (bigEndian) {
+            return (float) FLOAT_ARRAY_BE.get(bytes, offset);
+        }
+        return (float) FLOAT_ARRAY_LE.get(bytes, offset);
+    }
+
+    /**
+     * 写入float
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @param value  float值
+     * @return 写入后的位置，即{@code offset + 4}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putFloat(byte[] bytes, int offset, float value) {
+        if (bigEndian) {
+            FLOAT_ARRAY_BE.set(bytes, offset, value);
+        } else {
+            FLOAT_ARRAY_LE.set(bytes, offset, value);
+        }
+        return offset + Float.BYTES;
+    }
+
+    /**
+     * 读取double
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @return double值
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public double getDouble(byte[] bytes, int offset) {
+        if (bigEndian) {
+            return (double) DOUBLE_ARRAY_BE.get(bytes, offset);
+        }
+        return (double) DOUBLE_ARRAY_LE.get(bytes, offset);
+    }
+
+    /**
+     * 写入double
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @param value  double值
+     * @return 写入后的位置，即{@code offset + 8}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putDouble(byte[] bytes, int offset, double value) {
+        if (bigEndian) {
+            DOUBLE_ARRAY_BE.set(bytes, offset, value);
+        } else {
+            DOUBLE_ARRAY_LE.set(bytes, offset, value);
+        }
+        return offset + Double.BYTES;
+    }
+
+    // ByteBuffer ================================================
+
+    /**
+     * 读取short，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @return short值
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public short getShort(ByteBuffer buffer, int index) {
+        if (bigEndian) {
+            return (short) SHORT_BUFFER_BE.get(buffer, index);
+        }
+        return (short) SHORT_BUFFER_LE.get(buffer, index);
+    }
+
+    /**
+     * 写入short，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @param value  short值
+     * @return 写入后的位置，即{@code index + 2}
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public int putShort(ByteBuffer buffer, int index, short value) {
+        if (bigEndian) {
+            SHORT_BUFFER_BE.set(buffer, index, value);
+        } else {
+            SHORT_BUFFER_LE.set(buffer, index, value);
+        }
+        return index + Short.BYTES;
+    }
+
+    /**
+     * 读取char，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @return char值
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public char getChar(ByteBuffer buffer, int index) {
+        if (bigEndian) {
+            return (char) CHAR_BUFFER_BE.get(buffer, index);
+        }
+        return (char) CHAR_BUFFER_LE.get(buffer, index);
+    }
+
+    /**
+     * 写入char，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @param value  char值
+     * @return 写入后的位置，即{@code index + 2}
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public int putChar(ByteBuffer buffer, int index, char value) {
+        if (bigEndian) {
+            CHAR_BUFFER_BE.set(buffer, index, value);
+        } else {
+            CHAR_BUFFER_LE.set(buffer, index, value);
+        }
+        return index + Character.BYTES;
+    }
+
+    /**
+     * 读取int，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @return int值
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public int getInt(ByteBuffer buffer, int index) {
+        if (bigEndian) {
+            return (int) INT_BUFFER_BE.get(buffer, index);
+        }
+        return (int) INT_BUFFER_LE.get(buffer, index);
+    }
+
+    /**
+     * 写入int，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @param value  int值
+     * @return 写入后的位置，即{@code index + 4}
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public int putInt(ByteBuffer buffer, int index, int value) {
+        if (bigEndian) {
+            INT_BUFFER_BE.set(buffer, index, value);
+        } else {
+            INT_BUFFER_LE.set(buffer, index, value);
+        }
+        return index + Integer.BYTES;
+    }
+
+    /**
+     * 读取long，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @return long值
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public long getLong(ByteBuffer buffer, int index) {
+        if (bigEndian) {
+            return (long) LONG_BUFFER_BE.get(buffer, index);
+        }
+        return (long) LONG_BUFFER_LE.get(buffer, index);
+    }
+
+    /**
+     * 写入long，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @param value  long值
+     * @return 写入后的位置，即{@code index + 8}
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public int putLong(ByteBuffer buffer, int index, long value) {
+        if (bigEndian) {
+            LONG_BUFFER_BE.set(buffer, index, value);
+        } else {
+            LONG_BUFFER_LE.set(buffer, index, value);
+        }
+        return index + Long.BYTES;
+    }
+
+    /**
+     * 读取float，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @return float值
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public float getFloat(ByteBuffer buffer, int index) {
+        if (bigEndian) {
+            return (float) FLOAT_BUFFER_BE.get(buffer, index);
+        }
+        return (float) FLOAT_BUFFER_LE.get(buffer, index);
+    }
+
+    /**
+     * 写入float，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @param value  float值
+     * @return 写入后的位置，即{@code index + 4}
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public int putFloat(ByteBuffer buffer, int index, float value) {
+        if (bigEndian) {
+            FLOAT_BUFFER_BE.set(buffer, index, value);
+        } else {
+            FLOAT_BUFFER_LE.set(buffer, index, value);
+        }
+        return index + Float.BYTES;
+    }
+
+    /**
+     * 读取double，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @return double值
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public double getDouble(ByteBuffer buffer, int index) {
+        if (bigEndian) {
+            return (double) DOUBLE_BUFFER_BE.get(buffer, index);
+        }
+        return (double) DOUBLE_BUFFER_LE.get(buffer, index);
+    }
+
+    /**
+     * 写入double，不改变{@link ByteBuffer#position()}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param index  开始位置
+     * @param value  double值
+     * @return 写入后的位置，即{@code index + 8}
+     * @throws IndexOutOfBoundsException 位置超出{@link ByteBuffer#limit()}
+     */
+    public int putDouble(ByteBuffer buffer, int index, double value) {
+        if (bigEndian) {
+            DOUBLE_BUFFER_BE.set(buffer, index, value);
+        } else {
+            DOUBLE_BUFFER_LE.set(buffer, index, value);
+        }
+        return index + Double.BYTES;
+    }
+
+    // 批量转换 ===================================================
+
+    /**
+     * 从byte数组批量读取short
+     *
+     * @param src       byte数组
+     * @param srcOffset byte数组的开始位置
+     * @param dst       目标数组
+     * @param dstOffset 目标数组的开始位置
+     * @param length    读取的个数
+     * @return 读取后byte数组的位置，即{@code srcOffset + length * 2}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int getShorts(byte[] src, int srcOffset, short[] dst, int dstOffset, int length) {
+        checkBulk(src.length, srcOffset, dst.length, dstOffset, length, Short.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (short) SHORT_ARRAY_BE.get(src, srcOffset + i * Short.BYTES);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (short) SHORT_ARRAY_LE.get(src, srcOffset + i * Short.BYTES);
+            }
+        }
+        return srcOffset + length * Short.BYTES;
+    }
+
+    /**
+     * 批量写入short到byte数组
+     *
+     * @param src       源数组
+     * @param srcOffset 源数组的开始位置
+     * @param dst       byte数组
+     * @param dstOffset byte数组的开始位置
+     * @param length    写入的个数
+     * @return 写入后byte数组的位置，即{@code dstOffset + length * 2}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putShorts(short[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        checkBulk(dst.length, dstOffset, src.length, srcOffset, length, Short.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                SHORT_ARRAY_BE.set(dst, dstOffset + i * Short.BYTES, src[srcOffset + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                SHORT_ARRAY_LE.set(dst, dstOffset + i * Short.BYTES, src[srcOffset + i]);
+            }
+        }
+        return dstOffset + length * Short.BYTES;
+    }
+
+    /**
+     * 从byte数组批量读取int
+     *
+     * @param src       byte数组
+     * @param srcOffset byte数组的开始位置
+     * @param dst       目标数组
+     * @param dstOffset 目标数组的开始位置
+     * @param length    读取的个数
+     * @return 读取后byte数组的位置，即{@code srcOffset + length * 4}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int getInts(byte[] src, int srcOffset, int[] dst, int dstOffset, int length) {
+        checkBulk(src.length, srcOffset, dst.length, dstOffset, length, Integer.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (int) INT_ARRAY_BE.get(src, srcOffset + i * Integer.BYTES);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (int) INT_ARRAY_LE.get(src, srcOffset + i * Integer.BYTES);
+            }
+        }
+        return srcOffset + length * Integer.BYTES;
+    }
+
+    /**
+     * 批量写入int到byte数组
+     *
+     * @param src       源数组
+     * @param srcOffset 源数组的开始位置
+     * @param dst       byte数组
+     * @param dstOffset byte数组的开始位置
+     * @param length    写入的个数
+     * @return 写入后byte数组的位置，即{@code dstOffset + length * 4}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putInts(int[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        checkBulk(dst.length, dstOffset, src.length, srcOffset, length, Integer.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                INT_ARRAY_BE.set(dst, dstOffset + i * Integer.BYTES, src[srcOffset + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                INT_ARRAY_LE.set(dst, dstOffset + i * Integer.BYTES, src[srcOffset + i]);
+            }
+        }
+        return dstOffset + length * Integer.BYTES;
+    }
+
+    /**
+     * 从byte数组批量读取long
+     *
+     * @param src       byte数组
+     * @param srcOffset byte数组的开始位置
+     * @param dst       目标数组
+     * @param dstOffset 目标数组的开始位置
+     * @param length    读取的个数
+     * @return 读取后byte数组的位置，即{@code srcOffset + length * 8}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int getLongs(byte[] src, int srcOffset, long[] dst, int dstOffset, int length) {
+        checkBulk(src.length, srcOffset, dst.length, dstOffset, length, Long.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (long) LONG_ARRAY_BE.get(src, srcOffset + i * Long.BYTES);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (long) LONG_ARRAY_LE.get(src, srcOffset + i * Long.BYTES);
+            }
+        }
+        return srcOffset + length * Long.BYTES;
+    }
+
+    /**
+     * 批量写入long到byte数组
+     *
+     * @param src       源数组
+     * @param srcOffset 源数组的开始位置
+     * @param dst       byte数组
+     * @param dstOffset byte数组的开始位置
+     * @param length    写入的个数
+     * @return 写入后byte数组的位置，即{@code dstOffset + length * 8}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putLongs(long[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        checkBulk(dst.length, dstOffset, src.length, srcOffset, length, Long.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                LONG_ARRAY_BE.set(dst, dstOffset + i * Long.BYTES, src[srcOffset + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                LONG_ARRAY_LE.set(dst, dstOffset + i * Long.BYTES, src[srcOffset + i]);
+            }
+        }
+        return dstOffset + length * Long.BYTES;
+    }
+
+    /**
+     * 从byte数组批量读取float
+     *
+     * @param src       byte数组
+     * @param srcOffset byte数组的开始位置
+     * @param dst       目标数组
+     * @param dstOffset 目标数组的开始位置
+     * @param length    读取的个数
+     * @return 读取后byte数组的位置，即{@code srcOffset + length * 4}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int getFloats(byte[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+        checkBulk(src.length, srcOffset, dst.length, dstOffset, length, Float.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (float) FLOAT_ARRAY_BE.get(src, srcOffset + i * Float.BYTES);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (float) FLOAT_ARRAY_LE.get(src, srcOffset + i * Float.BYTES);
+            }
+        }
+        return srcOffset + length * Float.BYTES;
+    }
+
+    /**
+     * 批量写入float到byte数组
+     *
+     * @param src       源数组
+     * @param srcOffset 源数组的开始位置
+     * @param dst       byte数组
+     * @param dstOffset byte数组的开始位置
+     * @param length    写入的个数
+     * @return 写入后byte数组的位置，即{@code dstOffset + length * 4}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putFloats(float[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        checkBulk(dst.length, dstOffset, src.length, srcOffset, length, Float.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                FLOAT_ARRAY_BE.set(dst, dstOffset + i * Float.BYTES, src[srcOffset + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                FLOAT_ARRAY_LE.set(dst, dstOffset + i * Float.BYTES, src[srcOffset + i]);
+            }
+        }
+        return dstOffset + length * Float.BYTES;
+    }
+
+    /**
+     * 从byte数组批量读取double
+     *
+     * @param src       byte数组
+     * @param srcOffset byte数组的开始位置
+     * @param dst       目标数组
+     * @param dstOffset 目标数组的开始位置
+     * @param length    读取的个数
+     * @return 读取后byte数组的位置，即{@code srcOffset + length * 8}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int getDoubles(byte[] src, int srcOffset, double[] dst, int dstOffset, int length) {
+        checkBulk(src.length, srcOffset, dst.length, dstOffset, length, Double.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (double) DOUBLE_ARRAY_BE.get(src, srcOffset + i * Double.BYTES);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = (double) DOUBLE_ARRAY_LE.get(src, srcOffset + i * Double.BYTES);
+            }
+        }
+        return srcOffset + length * Double.BYTES;
+    }
+
+    /**
+     * 批量写入double到byte数组
+     *
+     * @param src       源数组
+     * @param srcOffset 源数组的开始位置
+     * @param dst       byte数组
+     * @param dstOffset byte数组的开始位置
+     * @param length    写入的个数
+     * @return 写入后byte数组的位置，即{@code dstOffset + length * 8}
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public int putDoubles(double[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        checkBulk(dst.length, dstOffset, src.length, srcOffset, length, Double.BYTES);
+        if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                DOUBLE_ARRAY_BE.set(dst, dstOffset + i * Double.BYTES, src[srcOffset + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                DOUBLE_ARRAY_LE.set(dst, dstOffset + i * Double.BYTES, src[srcOffset + i]);
+            }
+        }
+        return dstOffset + length * Double.BYTES;
+    }
+
+    // 变长整数 ===================================================
+
+    /**
+     * int的ZigZag编码：0、-1、1、-2……依次编码为0、1、2、3……
+     *
+     * @param value 有符号数
+     * @return 编码后的数，按无符号数处理
+     */
+    public static int encodeZigZag(int value) {
+        return (value << 1) ^ (value >> (Integer.SIZE - 1));
+    }
+
+    /**
+     * int的ZigZag解码
+     *
+     * @param value 编码后的数
+     * @return 有符号数
+     */
+    public static int decodeZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * long的ZigZag编码：0、-1、1、-2……依次编码为0、1、2、3……
+     *
+     * @param value 有符号数
+     * @return 编码后的数，按无符号数处理
+     */
+    public static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> (Long.SIZE - 1));
+    }
+
+    /**
+     * long的ZigZag解码
+     *
+     * @param value 编码后的数
+     * @return 有符号数
+     */
+    public static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * int（按无符号数）变长编码的字节数
+     *
+     * @param value int值
+     * @return 字节数，1~5
+     */
+    public static int varIntSize(int value) {
+        // 有效位数每7位一个字节，0占1字节
+        return (Integer.SIZE - Integer.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+    /**
+     * long（按无符号数）变长编码的字节数
+     *
+     * @param value long值
+     * @return 字节数，1~10
+     */
+    public static int varLongSize(long value) {
+        return (Long.SIZE - Long.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+    /**
+     * 写入int（按无符号数）的变长编码
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @param value  int值
+     * @return 写入后的位置
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public static int putVarInt(byte[] bytes, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[offset++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * 写入long（按无符号数）的变长编码
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @param value  long值
+     * @return 写入后的位置
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public static int putVarLong(byte[] bytes, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[offset++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * 读取int的变长编码，读取的字节数为{@link #varIntSize(int)}
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @return int值
+     * @throws IllegalArgumentException  不是int的最短变长编码
+     * @throws IndexOutOfBoundsException 编码超出数组范围
+     */
+    public static int getVarInt(byte[] bytes, int offset) {
+        int b = bytes[offset];
+        if (b >= 0) {
+            return b;
+        }
+        int value = b & 0x7F;
+        for (int shift = 7; ; shift += 7) {
+            b = bytes[++offset];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (b == 0 || (shift == 28 && b > 0x0F)) {
+                    throw new IllegalArgumentException("Malformed varint at " + offset);
+                }
+                return value;
+            }
+            if (shift == 28) {
+                throw new IllegalArgumentException("Malformed varint at " + offset);
+            }
+        }
+    }
+
+    /**
+     * 读取long的变长编码，读取的字节数为{@link #varLongSize(long)}
+     *
+     * @param bytes  byte数组
+     * @param offset 开始位置
+     * @return long值
+     * @throws IllegalArgumentException  不是long的最短变长编码
+     * @throws IndexOutOfBoundsException 编码超出数组范围
+     */
+    public static long getVarLong(byte[] bytes, int offset) {
+        long b = bytes[offset];
+        if (b >= 0) {
+            return b;
+        }
+        long value = b & 0x7F;
+        for (int shift = 7; ; shift += 7) {
+            b = bytes[++offset];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (b == 0 || (shift == 63 && b > 0x01)) {
+                    throw new IllegalArgumentException("Malformed varint at " + offset);
+                }
+                return value;
+            }
+            if (shift == 63) {
+                throw new IllegalArgumentException("Malformed varint at " + offset);
+            }
+        }
+    }
+
+    /**
+     * 在{@link ByteBuffer#position()}写入int（按无符号数）的变长编码，写入后position后移
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param value  int值
+     * @throws java.nio.BufferOverflowException 剩余空间不足
+     */
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * 在{@link ByteBuffer#position()}写入long（按无符号数）的变长编码，写入后position后移
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param value  long值
+     * @throws java.nio.BufferOverflowException 剩余空间不足
+     */
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * 从{@link ByteBuffer#position()}读取int的变长编码，读取后position后移
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return int值
+     * @throws IllegalArgumentException          不是int的最短变长编码
+     * @throws java.nio.BufferUnderflowException 编码不完整
+     */
+    public static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            final int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if ((b == 0 && shift > 0) || (shift == 28 && b > 0x0F)) {
+                    throw new IllegalArgumentException("Malformed varint at " + (buffer.position() - 1));
+                }
+                return value;
+            }
+            if (shift == 28) {
+                throw new IllegalArgumentException("Malformed varint at " + (buffer.position() - 1));
+            }
+        }
+    }
+
+    /**
+     * 从{@link ByteBuffer#position()}读取long的变长编码，读取后position后移
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return long值
+     * @throws IllegalArgumentException          不是long的最短变长编码
+     * @throws java.nio.BufferUnderflowException 编码不完整
+     */
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            final long b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if ((b == 0 && shift > 0) || (shift == 63 && b > 0x01)) {
+                    throw new IllegalArgumentException("Malformed varint at " + (buffer.position() - 1));
+                }
+                return value;
+            }
+            if (shift == 63) {
+                throw new IllegalArgumentException("Malformed varint at " + (buffer.position() - 1));
+            }
+        }
+    }
+
+    /**
+     * 检查批量转换的范围，避免转换了一部分之后才发现越界
+     */
+    private static void checkBulk(int bytesLength, int bytesOffset, int valuesLength, int valuesOffset, int length, int size) {
+        Objects.checkFromIndexSize(valuesOffset, length, valuesLength);
+        Objects.checkFromIndexSize(bytesOffset, Math.multiplyExact(length, size), bytesLength);
+    }
+}
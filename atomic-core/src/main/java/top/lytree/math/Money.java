@@ -256,6 +256,20 @@ public class Money implements Serializable, Comparable<Money> {
                 roundingMode);
     }
 
+    /**
+     * 构造器。
+     *
+     * <p>
+     * 创建一个具有金额<code>cent</code>分和指定币种的货币对象。
+     *
+     * @param currency 币种。
+     * @param cent     金额，以分为单位。
+     */
+    private Money(Currency currency, long cent) {
+        this.currency = currency;
+        this.cent = cent;
+    }
+
     // Bean方法 ====================================================
 
     /**
@@ -394,11 +408,12 @@ public class Money implements Serializable, Comparable<Money> {
      * @param other 作为加数的货币对象。
      * @return 相加后的结果。
      * @throws IllegalArgumentException 如果本货币对象与另一货币对象币种不同。
+     * @throws ArithmeticException      如果金额超出long范围。
      */
     public Money add(Money other) {
         assertSameCurrencyAs(other);
 
-        return newMoneyWithSameCurrency(cent + other.cent);
+        return newMoneyWithSameCurrency(Math.addExact(cent, other.cent));
     }
 
     /**
@@ -410,11 +425,12 @@ public class Money implements Serializable, Comparable<Money> {
      * @param other 作为加数的货币对象。
      * @return 累加后的本货币对象。
      * @throws IllegalArgumentException 如果本货币对象与另一货币对象币种不同。
+     * @throws ArithmeticException      如果金额超出long范围，此时本货币对象的值不变。
      */
     public Money addTo(Money other) {
         assertSameCurrencyAs(other);
 
-        this.cent += other.cent;
+        this.cent = Math.addExact(this.cent, other.cent);
 
         return this;
     }
@@ -428,11 +444,12 @@ public class Money implements Serializable, Comparable<Money> {
      * @param other 作为减数的货币对象。
      * @return 相减后的结果。
      * @throws IllegalArgumentException 如果本货币对象与另一货币对象币种不同。
+     * @throws ArithmeticException      如果金额超出long范围。
      */
     public Money subtract(Money other) {
         assertSameCurrencyAs(other);
 
-        return newMoneyWithSameCurrency(cent - other.cent);
+        return newMoneyWithSameCurrency(Math.subtractExact(cent, other.cent));
     }
 
     /**
@@ -444,11 +461,12 @@ public class Money implements Serializable, Comparable<Money> {
      * @param other 作为减数的货币对象。
      * @return 累减后的本货币对象。
      * @throws IllegalArgumentException 如果本货币对象与另一货币对象币种不同。
+     * @throws ArithmeticException      如果金额超出long范围，此时本货币对象的值不变。
      */
     public Money subtractFrom(Money other) {
         assertSameCurrencyAs(other);
 
-        this.cent -= other.cent;
+        this.cent = Math.subtractExact(this.cent, other.cent);
 
         return this;
     }
@@ -461,9 +479,10 @@ public class Money implements Serializable, Comparable<Money> {
      *
      * @param val 乘数
      * @return 乘法后的结果。
+     * @throws ArithmeticException 如果金额超出long范围。
      */
     public Money multiply(long val) {
-        return newMoneyWithSameCurrency(cent * val);
+        return newMoneyWithSameCurrency(Math.multiplyExact(cent, val));
     }
 
     /**
@@ -474,9 +493,10 @@ public class Money implements Serializable, Comparable<Money> {
      *
      * @param val 乘数
      * @return 累乘后的本货币对象。
+     * @throws ArithmeticException 如果金额超出long范围，此时本货币对象的值不变。
      */
     public Money multiplyBy(long val) {
-        this.cent *= val;
+        this.cent = Math.multiplyExact(this.cent, val);
 
         return this;
     }
@@ -549,9 +569,7 @@ public class Money implements Serializable, Comparable<Money> {
      * @return 相乘后的结果。
      */
     public Money multiply(BigDecimal val, RoundingMode roundingMode) {
-        BigDecimal newCent = BigDecimal.valueOf(cent).multiply(val);
-
-        return newMoneyWithSameCurrency(rounding(newCent, roundingMode));
+        return newMoneyWithSameCurrency(multiplyCent(val, roundingMode));
     }
 
     /**
@@ -566,9 +584,7 @@ public class Money implements Serializable, Comparable<Money> {
      * @return 累乘后的结果。
      */
     public Money multiplyBy(BigDecimal val, RoundingMode roundingMode) {
-        BigDecimal newCent = BigDecimal.valueOf(cent).multiply(val);
-
-        this.cent = rounding(newCent, roundingMode);
+        this.cent = multiplyCent(val, roundingMode);
 
         return this;
     }
@@ -627,9 +643,7 @@ public class Money implements Serializable, Comparable<Money> {
      * @return 相除后的结果。
      */
     public Money divide(BigDecimal val, RoundingMode roundingMode) {
-        BigDecimal newCent = BigDecimal.valueOf(cent).divide(val, roundingMode);
-
-        return newMoneyWithSameCurrency(newCent.longValue());
+        return newMoneyWithSameCurrency(divideCent(val, roundingMode));
     }
 
     /**
@@ -658,9 +672,7 @@ public class Money implements Serializable, Comparable<Money> {
      * @return 累除后的结果。
      */
     public Money divideBy(BigDecimal val, RoundingMode roundingMode) {
-        BigDecimal newCent = BigDecimal.valueOf(cent).divide(val, roundingMode);
-
-        this.cent = newCent.longValue();
+        this.cent = divideCent(val, roundingMode);
 
         return this;
     }
@@ -703,23 +715,11 @@ public class Money implements Serializable, Comparable<Money> {
      * @return 货币对象数组，数组的长度与分配比例数组的长度相同。
      */
     public Money[] allocate(long[] ratios) {
-        Money[] results = new Money[ratios.length];
-
-        long total = 0;
-
-        for (long element : ratios) {
-            total += element;
-        }
-
-        long remainder = cent;
+        final long[] cents = MoneyUtils.allocate(cent, ratios, new long[ratios.length]);
+        final Money[] results = new Money[ratios.length];
 
         for (int i = 0; i < results.length; i++) {
-            results[i] = newMoneyWithSameCurrency((cent * ratios[i]) / total);
-            remainder -= results[i].cent;
-        }
-
-        for (int i = 0; i < remainder; i++) {
-            results[i].cent++;
+            results[i] = newMoneyWithSameCurrency(cents[i]);
         }
 
         return results;
@@ -770,11 +770,63 @@ public class Money implements Serializable, Comparable<Money> {
      * @return 一个新建的币种相同，具有指定金额的货币对象
      */
     protected Money newMoneyWithSameCurrency(long cent) {
-        Money money = new Money(0, currency);
+        return new Money(currency, cent);
+    }
 
-        money.cent = cent;
+    /**
+     * 金额乘以乘数后按指定取整方式取整，结果与{@code rounding(BigDecimal.valueOf(cent).multiply(val), roundingMode)}相同。
+     * <p>
+     * 乘数可以用long表示、乘积不超出long范围时直接在long上计算，否则使用BigDecimal。
+     *
+     * @param val          乘数
+     * @param roundingMode 取整方式
+     * @return 取整后的金额，以分为单位
+     */
+    private long multiplyCent(BigDecimal val, RoundingMode roundingMode) {
+        final int scale = val.scale();
+        if (MoneyUtils.isCompact(val)) {
+            final long product;
+            try {
+                product = scale >= 0
+                        ? Math.multiplyExact(cent, val.unscaledValue().longValue())
+                        : Math.multiplyExact(Math.multiplyExact(cent, val.unscaledValue().longValue()), MoneyUtils.TEN_POWERS[-scale]);
+            } catch (ArithmeticException e) {
+                // 超出long范围，使用BigDecimal
+                return rounding(BigDecimal.valueOf(cent).multiply(val), roundingMode);
+            }
+            return scale > 0 ? MoneyUtils.divide(product, MoneyUtils.TEN_POWERS[scale], roundingMode) : product;
+        }
+        return rounding(BigDecimal.valueOf(cent).multiply(val), roundingMode);
+    }
 
-        return money;
+    /**
+     * 金额除以除数后按指定取整方式取整，结果与{@code BigDecimal.valueOf(cent).divide(val, roundingMode).longValue()}相同。
+     * <p>
+     * 除数可以用long表示、被除数与除数对齐小数位后不超出long范围时直接在long上计算，否则使用BigDecimal。
+     *
+     * @param val          除数
+     * @param roundingMode 取整方式
+     * @return 取整后的金额，以分为单位
+     */
+    private long divideCent(BigDecimal val, RoundingMode roundingMode) {
+        final int scale = val.scale();
+        if (val.signum() != 0 && MoneyUtils.isCompact(val)) {
+            final long dividend;
+            final long divisor;
+            try {
+                dividend = scale > 0 ? Math.multiplyExact(cent, MoneyUtils.TEN_POWERS[scale]) : cent;
+                divisor = scale < 0
+                        ? Math.multiplyExact(val.unscaledValue().longValue(), MoneyUtils.TEN_POWERS[-scale])
+                        : val.unscaledValue().longValue();
+            } catch (ArithmeticException e) {
+                // 超出long范围，使用BigDecimal
+                return BigDecimal.valueOf(cent).divide(val, roundingMode).longValue();
+            }
+            if (divisor != -1 || dividend != Long.MIN_VALUE) {
+                return MoneyUtils.divide(dividend, divisor, roundingMode);
+            }
+        }
+        return BigDecimal.valueOf(cent).divide(val, roundingMode).longValue();
     }
 
     // 调试方式 ==================================================
@@ -0,0 +1,318 @@
+package top.lytree.math;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * 金额合计的{@link Collector}，以分（币种的最小货币单位）为单位在long上累加，适用于并行流
+ * <p>
+ * 每个分段在long上累加并记录溢出次数，合并分段时低64位相加、溢出次数相加，整数加法满足结合律和交换律，
+ * 因此无论流是否并行、如何拆分，结果都完全相同，不会像{@link java.util.stream.Collectors#summingLong(ToLongFunction)}一样溢出成错误的结果，
+ * 也不会像{@code reduce(BigDecimal.ZERO, BigDecimal::add)}一样每个元素创建一个中间对象。
+ * </p>
+ * <p>
+ * 对{@link java.util.stream.LongStream}或{@link java.util.Spliterator.OfLong}，直接使用{@link CentSum}：
+ * {@code cents.parallel().collect(CentSum::new, CentSum::accept, CentSum::combine)}。
+ * </p>
+ *
+ * @author pride
+ * @see MoneyUtils
+ */
+public final class MoneyCollectors {
+
+    private MoneyCollectors() {
+    }
+
+    /**
+     * 合计金额，以分为单位
+     *
+     * @param mapper 取金额的函数，以分为单位
+     * @param <T>    元素类型
+     * @return 合计金额的{@link Collector}，合计超出long范围时抛出{@link ArithmeticException}
+     */
+    public static <T> Collector<T, ?, Long> summingCents(ToLongFunction<? super T> mapper) {
+        return Collector.of(
+                CentSum::new,
+                (sum, element) -> sum.accept(mapper.applyAsLong(element)),
+                CentSum::combine,
+                CentSum::getCents,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * 合计同一币种的货币对象
+     *
+     * @param currency 币种
+     * @return 合计金额的{@link Collector}，结果为新建的货币对象，没有元素时金额为0；
+     * 有其它币种的货币对象时抛出{@link IllegalArgumentException}，合计超出long范围时抛出{@link ArithmeticException}
+     */
+    public static Collector<Money, ?, Money> summingMoney(Currency currency) {
+        return Collector.of(
+                CentSum::new,
+                (sum, money) -> {
+                    if (!currency.equals(money.getCurrency())) {
+                        throw new IllegalArgumentException("Money math currency mismatch.");
+                    }
+                    sum.accept(money.getCent());
+                },
+                CentSum::combine,
+                sum -> sum.toMoney(currency),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * 按币种合计货币对象，结果按币种首次出现的顺序排列
+     *
+     * @return 币种与该币种合计金额对应关系的{@link Collector}，合计金额为新建的货币对象；
+     * 某个币种的合计超出long范围时抛出{@link ArithmeticException}
+     */
+    public static Collector<Money, ?, Map<Currency, Money>> summingByCurrency() {
+        return Collector.of(
+                GroupSum<Currency>::new,
+                (sums, money) -> sums.get(money.getCurrency()).accept(money.getCent()),
+                GroupSum::combine,
+                sums -> {
+                    final Map<Currency, Money> result = new LinkedHashMap<>(sums.sums.size() * 4 / 3 + 1);
+                    sums.sums.forEach((currency, sum) -> result.put(currency, sum.toMoney(currency)));
+                    return result;
+                });
+    }
+
+    /**
+     * 按分组合计金额，以分为单位，结果按分组首次出现的顺序排列
+     *
+     * @param classifier 取分组的函数
+     * @param mapper     取金额的函数，以分为单位
+     * @param <T>        元素类型
+     * @param <K>        分组类型
+     * @return 分组与该分组合计金额对应关系的{@link Collector}，某个分组的合计超出long范围时抛出{@link ArithmeticException}
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> summingCentsBy(Function<? super T, ? extends K> classifier,
+                                                                      ToLongFunction<? super T> mapper) {
+        return Collector.of(
+                GroupSum<K>::new,
+                (sums, element) -> sums.get(classifier.apply(element)).accept(mapper.applyAsLong(element)),
+                GroupSum::combine,
+                sums -> {
+                    final Map<K, Long> result = new LinkedHashMap<>(sums.sums.size() * 4 / 3 + 1);
+                    sums.sums.forEach((key, sum) -> result.put(key, sum.getCents()));
+                    return result;
+                });
+    }
+
+    /**
+     * 合计{@link BigDecimal}，结果与{@code reduce(BigDecimal.ZERO, BigDecimal::add)}完全相同（包括小数位数）
+     * <p>
+     * 小数位数相同、有效数字不超过18位的数值在long上累加，其余数值使用{@link BigDecimal}累加。
+     * </p>
+     *
+     * @return 合计的{@link Collector}
+     */
+    public static Collector<BigDecimal, ?, BigDecimal> summingBigDecimal() {
+        return summingBigDecimal(Function.identity());
+    }
+
+    /**
+     * 合计{@link BigDecimal}，结果与{@code map(mapper).reduce(BigDecimal.ZERO, BigDecimal::add)}完全相同（包括小数位数）
+     * <p>
+     * 小数位数相同、有效数字不超过18位的数值在long上累加，其余数值使用{@link BigDecimal}累加。
+     * </p>
+     *
+     * @param mapper 取数值的函数
+     * @param <T>    元素类型
+     * @return 合计的{@link Collector}
+     */
+    public static <T> Collector<T, ?, BigDecimal> summingBigDecimal(Function<? super T, BigDecimal> mapper) {
+        return Collector.of(
+                DecimalSum::new,
+                (sum, element) -> sum.accept(mapper.apply(element)),
+                DecimalSum::combine,
+                DecimalSum::getSum,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * 以分为单位的金额合计，记录long溢出的次数，合计不会因中间结果溢出而出错
+     * <p>
+     * 可用于{@link java.util.stream.LongStream#collect}、{@link java.util.Spliterator.OfLong#forEachRemaining(LongConsumer)}等，
+     * 合并的顺序不影响结果。非线程安全，每个分段使用各自的对象。
+     * </p>
+     */
+    public static final class CentSum implements LongConsumer {
+
+        /**
+         * 合计的低64位
+         */
+        private long sum;
+
+        /**
+         * 溢出次数，实际的合计为{@code sum + carry * 2^64}
+         */
+        private long carry;
+
+        /**
+         * 累加金额
+         *
+         * @param cent 金额，以分为单位
+         */
+        @Override
+        public void accept(long cent) {
+            final long result = sum + cent;
+            carry += MoneyUtils.carry(sum, cent, result);
+            sum = result;
+        }
+
+        /**
+         * 合并另一分段的合计
+         *
+         * @param other 另一分段的合计
+         * @return 本对象
+         */
+        public CentSum combine(CentSum other) {
+            final long result = sum + other.sum;
+            carry += other.carry + MoneyUtils.carry(sum, other.sum, result);
+            sum = result;
+            return this;
+        }
+
+        /**
+         * 合计是否超出long范围
+         *
+         * @return 超出long范围时为{@code true}
+         */
+        public boolean isOverflow() {
+            return carry != 0;
+        }
+
+        /**
+         * 获取合计，以分为单位
+         *
+         * @return 合计
+         * @throws ArithmeticException 合计超出long范围
+         */
+        public long getCents() {
+            return MoneyUtils.exact(sum, carry);
+        }
+
+        /**
+         * 获取合计，以元为单位，不会溢出
+         *
+         * @param fractionDigits 小数位数，即{@link Currency#getDefaultFractionDigits()}
+         * @return 合计
+         */
+        public BigDecimal getAmount(int fractionDigits) {
+            return MoneyUtils.toDecimal(sum, carry).movePointLeft(fractionDigits);
+        }
+
+        /**
+         * 合计转为指定小数位数的{@link BigDecimal}，小数位数可以为负数
+         *
+         * @param scale 小数位数
+         * @return 合计
+         */
+        BigDecimal toDecimal(int scale) {
+            return MoneyUtils.toDecimal(sum, carry).scaleByPowerOfTen(-scale);
+        }
+
+        /**
+         * 获取合计的货币对象
+         *
+         * @param currency 币种
+         * @return 新建的货币对象
+         * @throws ArithmeticException 合计超出long范围
+         */
+        public Money toMoney(Currency currency) {
+            final Money money = new Money(0, currency);
+            money.setCent(getCents());
+            return money;
+        }
+    }
+
+    /**
+     * 按分组合计，同一分组连续出现时不再查找{@link Map}
+     *
+     * @param <K> 分组类型
+     */
+    private static final class GroupSum<K> {
+
+        private final Map<K, CentSum> sums = new LinkedHashMap<>();
+
+        private K lastKey;
+
+        private CentSum lastSum;
+
+        CentSum get(K key) {
+            if (lastSum == null || key != lastKey) {
+                lastKey = key;
+                lastSum = sums.computeIfAbsent(key, k -> new CentSum());
+            }
+            return lastSum;
+        }
+
+        GroupSum<K> combine(GroupSum<K> other) {
+            other.sums.forEach((key, sum) -> sums.merge(key, sum, CentSum::combine));
+            lastSum = null;
+            return this;
+        }
+    }
+
+    /**
+     * {@link BigDecimal}合计，第一个可用long表示的数值的小数位数作为long部分的小数位数
+     */
+    private static final class DecimalSum {
+
+        /**
+         * long部分的合计，小数位数为{@link #scale}
+         */
+        private final CentSum compact = new CentSum();
+
+        /**
+         * long部分的小数位数，{@link #hasCompact}为{@code false}时无意义
+         */
+        private int scale;
+
+        private boolean hasCompact;
+
+        /**
+         * 不能在long上累加的数值的合计，与{@code reduce(BigDecimal.ZERO, BigDecimal::add)}一样从0开始
+         */
+        private BigDecimal rest = BigDecimal.ZERO;
+
+        void accept(BigDecimal value) {
+            final int valueScale = value.scale();
+            if ((valueScale == scale || !hasCompact) && value.precision() <= MoneyUtils.MAX_LONG_DIGITS) {
+                scale = valueScale;
+                hasCompact = true;
+                // 小数位数为0的BigDecimal可以直接取得long值，unscaledValue()则要创建BigInteger
+                compact.accept(value.movePointRight(valueScale).longValueExact());
+            } else {
+                rest = rest.add(value);
+            }
+        }
+
+        DecimalSum combine(DecimalSum other) {
+            if (other.hasCompact) {
+                if (!hasCompact || other.scale == scale) {
+                    scale = other.scale;
+                    hasCompact = true;
+                    compact.combine(other.compact);
+                } else {
+                    rest = rest.add(other.compact.toDecimal(other.scale));
+                }
+            }
+            rest = rest.add(other.rest);
+            return this;
+        }
+
+        BigDecimal getSum() {
+            // 加法结果的小数位数为两者中较大的，与累加顺序无关
+            return hasCompact ? rest.add(compact.toDecimal(scale)) : rest;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package top.lytree.math;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 以分（币种的最小货币单位）为单位的金额批量运算工具，金额保存在{@code long[]}中，运算过程中不创建{@link Money}及{@link BigDecimal}对象。
+ * <p>
+ * 累加时记录long溢出的次数，合计超出long范围时抛出{@link ArithmeticException}，而不是像{@code +}一样溢出成错误的金额，
+ * 中间结果溢出、最终合计在long范围内时结果仍然正确；需要不限范围的合计时使用{@link #sumAmount(long[], int)}，溢出时转为{@link BigDecimal}。
+ * </p>
+ *
+ * @author pride
+ * @see Money
+ */
+public final class MoneyUtils {
+
+    /**
+     * long一定能表示的十进制位数
+     */
+    static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * 10的0~18次方
+     */
+    static final long[] TEN_POWERS = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        TEN_POWERS[0] = 1;
+        for (int i = 1; i < TEN_POWERS.length; i++) {
+            TEN_POWERS[i] = TEN_POWERS[i - 1] * 10;
+        }
+    }
+
+    private MoneyUtils() {
+    }
+
+    /**
+     * 金额合计
+     *
+     * @param cents 金额数组，以分为单位
+     * @return 合计金额，以分为单位
+     * @throws ArithmeticException 合计超出long范围
+     */
+    public static long sum(long[] cents) {
+        return sum(cents, 0, cents.length);
+    }
+
+    /**
+     * 金额合计，只有最终的合计超出long范围时才抛出异常，中间结果溢出不影响结果
+     *
+     * @param cents     金额数组，以分为单位
+     * @param fromIndex 开始位置（包含）
+     * @param toIndex   结束位置（不包含）
+     * @return 合计金额，以分为单位
+     * @throws ArithmeticException       合计超出long范围
+     * @throws IndexOutOfBoundsException 位置超出数组范围
+     */
+    public static long sum(long[] cents, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, cents.length);
+        long sum = 0;
+        long carry = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            final long cent = cents[i];
+            final long result = sum + cent;
+            carry += carry(sum, cent, result);
+            sum = result;
+        }
+        return exact(sum, carry);
+    }
+
+    /**
+     * 金额合计，合计超出long范围时转为{@link BigDecimal}，结果不会溢出
+     *
+     * @param cents          金额数组，以分为单位
+     * @param fractionDigits 小数位数，即{@link Currency#getDefaultFractionDigits()}
+     * @return 合计金额，以元为单位
+     */
+    public static BigDecimal sumAmount(long[] cents, int fractionDigits) {
+        long sum = 0;
+        long carry = 0;
+        for (long cent : cents) {
+            final long result = sum + cent;
+            carry += carry(sum, cent, result);
+            sum = result;
+        }
+        return toDecimal(sum, carry).movePointLeft(fractionDigits);
+    }
+
+    /**
+     * 分组合计，如按币种合计时，{@code groups}为每个金额所属币种的序号
+     *
+     * @param cents      金额数组，以分为单位
+     * @param groups     每个金额所属分组的序号，0 ~ groupCount-1，长度与金额数组相同
+     * @param groupCount 分组数
+     * @return 每个分组的合计金额，以分为单位，下标为分组序号
+     * @throws ArithmeticException       某个分组的合计超出long范围
+     * @throws IllegalArgumentException  两个数组的长度不同
+     * @throws IndexOutOfBoundsException 分组序号超出范围
+     */
+    public static long[] sumByGroup(long[] cents, int[] groups, int groupCount) {
+        if (cents.length != groups.length) {
+            throw new IllegalArgumentException("Cents and groups must have the same length.");
+        }
+        final long[] totals = new long[groupCount];
+        // 溢出次数，很少用到，第一次溢出时才创建
+        long[] carries = null;
+        for (int i = 0; i < cents.length; i++) {
+            final int group = groups[i];
+            final long sum = totals[group];
+            final long cent = cents[i];
+            final long result = sum + cent;
+            final long carry = carry(sum, cent, result);
+            if (carry != 0) {
+                if (carries == null) {
+                    carries = new long[groupCount];
+                }
+                carries[group] += carry;
+            }
+            totals[group] = result;
+        }
+        if (carries != null) {
+            for (int group = 0; group < groupCount; group++) {
+                exact(totals[group], carries[group]);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * 按币种合计，返回的{@link Map}按币种首次出现的顺序排列
+     *
+     * @param moneys 货币对象
+     * @return 币种与该币种合计金额的对应关系，合计金额是新建的货币对象
+     * @throws ArithmeticException 某个币种的合计超出long范围
+     */
+    public static Map<Currency, Money> sumByCurrency(Iterable<? extends Money> moneys) {
+        // 每个币种的合计及溢出次数
+        final Map<Currency, long[]> totals = new LinkedHashMap<>();
+        // 同一币种通常连续出现，连续时不再查找Map
+        Currency lastCurrency = null;
+        long[] lastTotal = null;
+        for (Money money : moneys) {
+            final Currency currency = money.getCurrency();
+            if (currency != lastCurrency) {
+                lastCurrency = currency;
+                lastTotal = totals.computeIfAbsent(currency, key -> new long[2]);
+            }
+            final long sum = lastTotal[0];
+            final long cent = money.getCent();
+            final long result = sum + cent;
+            lastTotal[1] += carry(sum, cent, result);
+            lastTotal[0] = result;
+        }
+        final Map<Currency, Money> result = new LinkedHashMap<>(totals.size() * 4 / 3 + 1);
+        totals.forEach((currency, total) -> {
+            final Money money = new Money(0, currency);
+            money.setCent(exact(total[0], total[1]));
+            result.put(currency, money);
+        });
+        return result;
+    }
+
+    /**
+     * 按比例分配金额，与{@link Money#allocate(long[])}的分配方式相同：每份为{@code cent * ratio / total}，
+     * 剩余的零头从第一份开始每份加1分。{@code cent * ratio}超出long范围时使用{@link BigDecimal}计算，不会溢出。
+     *
+     * @param cent    待分配的金额，以分为单位
+     * @param ratios  分配比例数组，每一个比例代表相对于总数的相对数
+     * @param results 存放分配结果的数组，长度不小于比例数组，以分为单位
+     * @return {@code results}
+     * @throws ArithmeticException 比例之和为0或超出long范围
+     */
+    public static long[] allocate(long cent, long[] ratios, long[] results) {
+        long total = 0;
+        for (long ratio : ratios) {
+            total = Math.addExact(total, ratio);
+        }
+
+        long remainder = cent;
+        for (int i = 0; i < ratios.length; i++) {
+            long share;
+            try {
+                share = Math.multiplyExact(cent, ratios[i]) / total;
+            } catch (ArithmeticException e) {
+                if (total == 0) {
+                    throw e;
+                }
+                share = BigDecimal.valueOf(cent).multiply(BigDecimal.valueOf(ratios[i]))
+                        .divideToIntegralValue(BigDecimal.valueOf(total)).longValue();
+            }
+            results[i] = share;
+            remainder -= share;
+        }
+
+        for (int i = 0; i < remainder; i++) {
+            results[i]++;
+        }
+        return results;
+    }
+
+    /**
+     * long除法并按指定取整方式取整，结果与{@link BigDecimal#divide(BigDecimal, RoundingMode)}相同
+     *
+     * @param dividend     被除数
+     * @param divisor      除数，不为0及{@link Long#MIN_VALUE}
+     * @param roundingMode 取整方式
+     * @return 取整后的商
+     * @throws ArithmeticException 取整方式为{@link RoundingMode#UNNECESSARY}且不能整除
+     */
+    static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        final long quotient = dividend / divisor;
+        final long remainder = dividend - divisor * quotient;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        // 精确商的符号，余数不为0时被除数也不为0
+        final int signum = 1 | (int) ((dividend ^ divisor) >> (Long.SIZE - 1));
+        final boolean increment;
+        switch (roundingMode) {
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary");
+            case DOWN:
+                increment = false;
+                break;
+            case UP:
+                increment = true;
+                break;
+            case CEILING:
+                increment = signum > 0;
+                break;
+            case FLOOR:
+                increment = signum < 0;
+                break;
+            default:
+                // 比较余数与除数的一半
+                final long absRemainder = Math.abs(remainder);
+                final long compare = absRemainder - (Math.abs(divisor) - absRemainder);
+                if (compare == 0) {
+                    increment = roundingMode == RoundingMode.HALF_UP
+                            || (roundingMode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+                } else {
+                    increment = compare > 0;
+                }
+        }
+        return increment ? quotient + signum : quotient;
+    }
+
+    /**
+     * {@code sum + addend}溢出的方向
+     *
+     * @param sum    被加数
+     * @param addend 加数
+     * @param result {@code sum + addend}的long结果
+     * @return 向上溢出时为1，向下溢出时为-1，未溢出时为0
+     */
+    static long carry(long sum, long addend, long result) {
+        // 两个加数同号且与和的符号不同时溢出，与Math.addExact的判断相同
+        return ((sum ^ result) & (addend ^ result)) < 0 ? (addend < 0 ? -1 : 1) : 0;
+    }
+
+    /**
+     * 带溢出次数的合计转为long
+     *
+     * @param sum   合计的低64位
+     * @param carry 溢出次数，实际的合计为{@code sum + carry * 2^64}
+     * @return 合计
+     * @throws ArithmeticException 合计超出long范围
+     */
+    static long exact(long sum, long carry) {
+        if (carry != 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        return sum;
+    }
+
+    /**
+     * 带溢出次数的合计转为{@link BigDecimal}
+     *
+     * @param sum   合计的低64位
+     * @param carry 溢出次数，实际的合计为{@code sum + carry * 2^64}
+     * @return 合计
+     */
+    static BigDecimal toDecimal(long sum, long carry) {
+        if (carry == 0) {
+            return BigDecimal.valueOf(sum);
+        }
+        return new BigDecimal(BigInteger.valueOf(carry).shiftLeft(Long.SIZE).add(BigInteger.valueOf(sum)));
+    }
+
+    /**
+     * {@link BigDecimal}的非标度值及小数位是否都可以用long直接计算
+     *
+     * @param val 数值
+     * @return 有效数字不超过18位且小数位在-18~18之间时为{@code true}
+     */
+    static boolean isCompact(BigDecimal val) {
+        final int scale = val.scale();
+        return scale >= -MAX_LONG_DIGITS && scale <= MAX_LONG_DIGITS && val.precision() <= MAX_LONG_DIGITS;
+    }
+}
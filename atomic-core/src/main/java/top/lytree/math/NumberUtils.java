@@ -415,12 +415,7 @@ public class NumberUtils {
      * @return short值
      */
     public static short bytesToShort(byte[] bytes, ByteOrder byteOrder) {
-        if (ByteOrder.LITTLE_ENDIAN == byteOrder) {
-            //小端模式，数据的高字节保存在内存的高地址中，而数据的低字节保存在内存的低地址中
-            return (short) (bytes[0] & 0xff | (bytes[1] & 0xff) << Byte.SIZE);
-        } else {
-            return (short) (bytes[1] & 0xff | (bytes[0] & 0xff) << Byte.SIZE);
-        }
+        return ByteCodec.of(byteOrder).getShort(bytes, 0);
     }
 
     /**
@@ -441,14 +436,8 @@ public class NumberUtils {
      * @return byte数组
      */
     public static byte[] shortToBytes(short shortValue, ByteOrder byteOrder) {
-        byte[] b = new byte[Short.BYTES];
-        if (ByteOrder.LITTLE_ENDIAN == byteOrder) {
-            b[0] = (byte) (shortValue & 0xff);
-            b[1] = (byte) ((shortValue >> Byte.SIZE) & 0xff);
-        } else {
-            b[1] = (byte) (shortValue & 0xff);
-            b[0] = (byte) ((shortValue >> Byte.SIZE) & 0xff);
-        }
+        final byte[] b = new byte[Short.BYTES];
+        ByteCodec.of(byteOrder).putShort(b, 0, shortValue);
         return b;
     }
 
@@ -482,18 +471,7 @@ public class NumberUtils {
      * @return int值
      */
     public static int bytesToInt(byte[] bytes, int start, ByteOrder byteOrder) {
-        if (ByteOrder.LITTLE_ENDIAN == byteOrder) {
-            return bytes[start] & 0xFF | //
-                    (bytes[1 + start] & 0xFF) << 8 | //
-                    (bytes[2 + start] & 0xFF) << 16 | //
-                    (bytes[3 + start] & 0xFF) << 24; //
-        } else {
-            return bytes[3 + start] & 0xFF | //
-                    (bytes[2 + start] & 0xFF) << 8 | //
-                    (bytes[1 + start] & 0xFF) << 16 | //
-                    (bytes[start] & 0xFF) << 24; //
-        }
-
+        return ByteCodec.of(byteOrder).getInt(bytes, start);
     }
 
     /**
@@ -514,24 +492,9 @@ public class NumberUtils {
      * @return byte数组
      */
     public static byte[] intToBytes(int intValue, ByteOrder byteOrder) {
-
-        if (ByteOrder.LITTLE_ENDIAN == byteOrder) {
-            return new byte[]{ //
-                    (byte) (intValue & 0xFF), //
-                    (byte) ((intValue >> 8) & 0xFF), //
-                    (byte) ((intValue >> 16) & 0xFF), //
-                    (byte) ((intValue >> 24) & 0xFF) //
-            };
-
-        } else {
-            return new byte[]{ //
-                    (byte) ((intValue >> 24) & 0xFF), //
-                    (byte) ((intValue >> 16) & 0xFF), //
-                    (byte) ((intValue >> 8) & 0xFF), //
-                    (byte) (intValue & 0xFF) //
-            };
-        }
-
+        final byte[] b = new byte[Integer.BYTES];
+        ByteCodec.of(byteOrder).putInt(b, 0, intValue);
+        return b;
     }
 
     /**
@@ -552,19 +515,9 @@ public class NumberUtils {
      * @return byte数组
      */
     public static byte[] longToBytes(long longValue, ByteOrder byteOrder) {
-        byte[] result = new byte[Long.BYTES];
-        if (ByteOrder.LITTLE_ENDIAN == byteOrder) {
-            for (int i = 0; i < result.length; i++) {
-                result[i] = (byte) (longValue & 0xFF);
-                longValue >>= Byte.SIZE;
-            }
-        } else {
-            for (int i = (result.length - 1); i >= 0; i--) {
-                result[i] = (byte) (longValue & 0xFF);
-                longValue >>= Byte.SIZE;
-            }
-        }
-        return result;
+        final byte[] b = new byte[Long.BYTES];
+        ByteCodec.of(byteOrder).putLong(b, 0, longValue);
+        return b;
     }
 
     /**
@@ -597,20 +550,7 @@ public class NumberUtils {
      * @return long值
      */
     public static long bytesToLong(byte[] bytes, int start, ByteOrder byteOrder) {
-        long values = 0;
-        if (ByteOrder.LITTLE_ENDIAN == byteOrder) {
-            for (int i = (Long.BYTES - 1); i >= 0; i--) {
-                values <<= Byte.SIZE;
-                values |= (bytes[i + start] & 0xff);
-            }
-        } else {
-            for (int i = 0; i < Long.BYTES; i++) {
-                values <<= Byte.SIZE;
-                values |= (bytes[i + start] & 0xff);
-            }
-        }
-
-        return values;
+        return ByteCodec.of(byteOrder).getLong(bytes, start);
     }
 
     /**
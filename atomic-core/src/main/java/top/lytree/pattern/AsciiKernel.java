@@ -0,0 +1,153 @@
+package top.lytree.pattern;
+
+/**
+ * 预计算匹配器共用的批量扫描内核
+ * <p>
+ * 匹配器的ASCII部分展开为128项的查找表。查找时每次取8个字符，按位或后判断是否全部为ASCII：
+ * 是则用8次查表的按位或一次判断整块是否有命中，整块没有命中时只产生一个分支；否则这8个字符逐个回退到{@link CharMatcher#matches(char)}。
+ * 纯ASCII文本因此不再有逐字符的虚调用和哈希探测。
+ * </p>
+ *
+ * @author pride
+ */
+final class AsciiKernel {
+
+    private static final int BLOCK = 8;
+
+    private AsciiKernel() {
+    }
+
+    /**
+     * 匹配器在ASCII范围内的查找表
+     */
+    static boolean[] ascii(CharMatcher matcher) {
+        final boolean[] ascii = new boolean[0x80];
+        for (char c = 0; c < 0x80; c++) {
+            ascii[c] = matcher.matches(c);
+        }
+        return ascii;
+    }
+
+    /**
+     * 以{@code i0}开始的8个字符是否都是ASCII且都不命中（{@code match}为false时为都命中），返回true时整块可以跳过
+     */
+    private static boolean skip(boolean[] ascii, CharSequence s, int i0, boolean match) {
+        final char c0 = s.charAt(i0);
+        final char c1 = s.charAt(i0 + 1);
+        final char c2 = s.charAt(i0 + 2);
+        final char c3 = s.charAt(i0 + 3);
+        final char c4 = s.charAt(i0 + 4);
+        final char c5 = s.charAt(i0 + 5);
+        final char c6 = s.charAt(i0 + 6);
+        final char c7 = s.charAt(i0 + 7);
+        if ((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) >= 0x80) {
+            return false;
+        }
+        if (match) {
+            return !(ascii[c0] | ascii[c1] | ascii[c2] | ascii[c3] | ascii[c4] | ascii[c5] | ascii[c6] | ascii[c7]);
+        }
+        return ascii[c0] & ascii[c1] & ascii[c2] & ascii[c3] & ascii[c4] & ascii[c5] & ascii[c6] & ascii[c7];
+    }
+
+    private static boolean matches(CharMatcher matcher, boolean[] ascii, char c) {
+        return c < 0x80 ? ascii[c] : matcher.matches(c);
+    }
+
+    /**
+     * 从start开始第一个命中（{@code match}为true）或未命中（false）的位置
+     */
+    static int indexIn(CharMatcher matcher, boolean[] ascii, CharSequence s, int start, boolean match) {
+        final int len = s.length();
+        int i = start;
+        while (i + BLOCK <= len && skip(ascii, s, i, match)) {
+            i += BLOCK;
+        }
+        for (; i < len; i++) {
+            if (matches(matcher, ascii, s.charAt(i)) == match) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 从末尾向前第一个命中（{@code match}为true）或未命中（false）的位置
+     */
+    static int lastIndexIn(CharMatcher matcher, boolean[] ascii, CharSequence s, boolean match) {
+        int i = s.length();
+        while (i - BLOCK >= 0 && skip(ascii, s, i - BLOCK, match)) {
+            i -= BLOCK;
+        }
+        for (i--; i >= 0; i--) {
+            if (matches(matcher, ascii, s.charAt(i)) == match) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int countIn(CharMatcher matcher, boolean[] ascii, CharSequence s) {
+        final int len = s.length();
+        int count = 0;
+        for (int i = 0; i < len; i++) {
+            if (matches(matcher, ascii, s.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static String removeFrom(CharMatcher matcher, boolean[] ascii, CharSequence sequence) {
+        final String string = sequence.toString();
+        final int first = indexIn(matcher, ascii, string, 0, true);
+        if (first == -1) {
+            return string;
+        }
+        final char[] chars = string.toCharArray();
+        int n = first;
+        for (int i = first + 1; i < chars.length; i++) {
+            final char c = chars[i];
+            if (!matches(matcher, ascii, c)) {
+                chars[n++] = c;
+            }
+        }
+        return new String(chars, 0, n);
+    }
+
+    static String collapseFrom(CharMatcher matcher, boolean[] ascii, CharSequence sequence, char replacement) {
+        final int len = sequence.length();
+        int i = indexIn(matcher, ascii, sequence, 0, true);
+        // 跳过已经是单个replacement的命中
+        while (i != -1 && sequence.charAt(i) == replacement
+                && (i == len - 1 || !matches(matcher, ascii, sequence.charAt(i + 1)))) {
+            i = i + 1 == len ? -1 : indexIn(matcher, ascii, sequence, i + 1, true);
+        }
+        if (i == -1) {
+            return sequence.toString();
+        }
+        final StringBuilder builder = new StringBuilder(len).append(sequence, 0, i).append(replacement);
+        boolean inMatchingGroup = true;
+        for (i++; i < len; i++) {
+            final char c = sequence.charAt(i);
+            if (matches(matcher, ascii, c)) {
+                if (!inMatchingGroup) {
+                    builder.append(replacement);
+                    inMatchingGroup = true;
+                }
+            } else {
+                builder.append(c);
+                inMatchingGroup = false;
+            }
+        }
+        return builder.toString();
+    }
+
+    static String trimFrom(CharMatcher matcher, boolean[] ascii, CharSequence sequence) {
+        final int first = indexIn(matcher, ascii, sequence, 0, false);
+        if (first == -1) {
+            return "";
+        }
+        final int last = lastIndexIn(matcher, ascii, sequence, false);
+        return sequence.subSequence(first, last + 1).toString();
+    }
+}
@@ -405,7 +405,7 @@ public abstract class CharMatcher {
      */
     public int indexIn(CharSequence sequence, int start) {
         int length = sequence.length();
-        Assert.checkIndex(start, length);
+        Assert.checkIndex(start, length + 1);
         for (int i = start; i < length; i++) {
             if (matches(sequence.charAt(i))) {
                 return i;
@@ -807,30 +807,66 @@ public abstract class CharMatcher {
     }
 
     /**
-     * Fast matcher using a {@link BitSet} table of matching characters.
+     * Fast matcher using a flat {@code long[]} table of matching characters. The ASCII part of the table is additionally
+     * expanded to a {@code boolean[]} so that bulk scans go through {@link AsciiKernel}.
      */
 
     private static final class BitSetMatcher extends NamedFastMatcher {
 
-        private final BitSet table;
+        private final long[] table;
+        private final boolean[] ascii;
 
         private BitSetMatcher(BitSet table, String description) {
             super(description);
-            if (table.length() + Long.SIZE < table.size()) {
-                table = (BitSet) table.clone();
-                // If only we could actually call BitSet.trimToSize() ourselves...
-            }
-            this.table = table;
+            this.table = table.toLongArray();
+            this.ascii = AsciiKernel.ascii(this);
         }
 
         @Override
         public boolean matches(char c) {
-            return table.get(c);
+            final int word = c >>> 6;
+            return word < table.length && (table[word] & (1L << c)) != 0;
+        }
+
+        @Override
+        public int indexIn(CharSequence sequence, int start) {
+            Assert.checkIndex(start, sequence.length() + 1);
+            return AsciiKernel.indexIn(this, ascii, sequence, start, true);
+        }
+
+        @Override
+        public int lastIndexIn(CharSequence sequence) {
+            return AsciiKernel.lastIndexIn(this, ascii, sequence, true);
+        }
+
+        @Override
+        public boolean matchesAllOf(CharSequence sequence) {
+            return AsciiKernel.indexIn(this, ascii, sequence, 0, false) == -1;
+        }
+
+        @Override
+        public int countIn(CharSequence sequence) {
+            return AsciiKernel.countIn(this, ascii, sequence);
+        }
+
+        @Override
+        public String removeFrom(CharSequence sequence) {
+            return AsciiKernel.removeFrom(this, ascii, sequence);
+        }
+
+        @Override
+        public String collapseFrom(CharSequence sequence, char replacement) {
+            return AsciiKernel.collapseFrom(this, ascii, sequence, replacement);
+        }
+
+        @Override
+        public String trimFrom(CharSequence sequence) {
+            return AsciiKernel.trimFrom(this, ascii, sequence);
         }
 
         @Override
         void setBits(BitSet bitSet) {
-            bitSet.or(table);
+            bitSet.or(BitSet.valueOf(table));
         }
     }
 
@@ -860,7 +896,7 @@ public abstract class CharMatcher {
         @Override
         public int indexIn(CharSequence sequence, int start) {
             int length = sequence.length();
-            Assert.checkIndex(start, length);
+            Assert.checkIndex(start, length + 1);
             return (start == length) ? -1 : start;
         }
 
@@ -960,7 +996,7 @@ public abstract class CharMatcher {
         @Override
         public int indexIn(CharSequence sequence, int start) {
             int length = sequence.length();
-            Assert.checkIndex(start, length);
+            Assert.checkIndex(start, length + 1);
             return -1;
         }
 
@@ -1,10 +1,11 @@
 package top.lytree.pattern;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
-import top.lytree.bean.ObjectUtils;
 
 /**
  * @author Pride_Yang
@@ -132,45 +133,222 @@ public class PatternPool {
      */
     public static final Pattern CREDIT_CODE = Pattern.compile("^[0-9A-HJ-NPQRTUWXY]{2}\\d{6}[0-9A-HJ-NPQRTUWXY]{10}$");
 // -------------------------------------------------------------------------------------------------------------------------------------------------------------------
+    /**
+     * 默认的Pattern池容量
+     */
+    public static final int DEFAULT_MAX_SIZE = 512;
     /**
      * Pattern池
      */
-    private static final Map<RegexWithFlag, Pattern> POOL = new ConcurrentHashMap<>();
+    private static final Map<RegexWithFlag, Entry> POOL = new ConcurrentHashMap<>();
+    private static final Object EVICT_LOCK = new Object();
+    private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
 
     /**
      * 先从Pattern池中查找正则对应的{@link Pattern}，找不到则编译正则表达式并入池。
      *
      * @param regex 正则表达式
      * @return {@link Pattern}
+     * @throws ExecutionException 为兼容旧版本保留的声明，当前实现不会抛出
      */
     public static Pattern get(String regex) throws ExecutionException {
-        return get(regex, 0);
+        return pooled(regex, 0);
     }
 
     /**
      * 先从Pattern池中查找正则对应的{@link Pattern}，找不到则编译正则表达式并入池。
+     * <p>
+     * 池的容量有上限（见{@link #setMaxSize(int)}），超出后按近似LRU（CLOCK）淘汰最近未使用的Pattern，
+     * 因此可以放心地用于用户提交的正则。
+     * </p>
      *
      * @param regex 正则表达式
      * @param flags 正则标识位集合 {@link Pattern}
      * @return {@link Pattern}
+     * @throws ExecutionException 为兼容旧版本保留的声明，当前实现不会抛出
      */
     public static Pattern get(String regex, int flags) throws ExecutionException {
-        final RegexWithFlag regexWithFlag = new RegexWithFlag(regex, flags);
-        Pattern pattern = POOL.get(regexWithFlag);
-        if (ObjectUtils.isEmpty(pattern)) {
-
-            return POOL.put(regexWithFlag, Pattern.compile(regex, flags));
+        return pooled(regex, flags);
+    }
 
+    /**
+     * 同{@link #get(String, int)}，不声明受检异常，供本包内部使用
+     *
+     * @param regex 正则表达式
+     * @param flags 正则标识位集合 {@link Pattern}
+     * @return {@link Pattern}
+     */
+    static Pattern pooled(String regex, int flags) {
+        final RegexWithFlag regexWithFlag = new RegexWithFlag(regex, flags);
+        final Entry entry = POOL.get(regexWithFlag);
+        if (entry != null) {
+            HITS.increment();
+            entry.touch();
+            return entry.pattern;
+        }
+        MISSES.increment();
+        final Pattern pattern = Pattern.compile(regex, flags);
+        if (maxSize <= 0) {
+            return pattern;
+        }
+        final Entry existing = POOL.putIfAbsent(regexWithFlag, new Entry(pattern));
+        if (existing != null) {
+            return existing.pattern;
+        }
+        if (POOL.size() > maxSize) {
+            evict();
         }
         return pattern;
     }
 
+    /**
+     * 设置Pattern池的容量，小于等于0表示不缓存
+     *
+     * @param size 容量
+     */
+    public static void setMaxSize(int size) {
+        maxSize = size;
+        if (POOL.size() > Math.max(size, 0)) {
+            evict();
+        }
+    }
+
+    /**
+     * 获取Pattern池的容量
+     *
+     * @return 容量
+     */
+    public static int getMaxSize() {
+        return maxSize;
+    }
 
     /**
-     * 清空缓存池
+     * 获取Pattern池的命中统计
+     *
+     * @return {@link Stats}
+     */
+    public static Stats stats() {
+        return new Stats(HITS.sum(), MISSES.sum(), EVICTIONS.sum(), POOL.size());
+    }
+
+    /**
+     * 清空缓存池，统计信息一并清零
      */
     public static void clear() {
         POOL.clear();
+        HITS.reset();
+        MISSES.reset();
+        EVICTIONS.reset();
+    }
+
+    /**
+     * CLOCK淘汰：最近被访问过的条目清除访问标记后保留，其余的移除，直到容量降到上限的3/4，
+     * 一次腾出足够空间，避免之后每次写入都触发淘汰
+     */
+    private static void evict() {
+        synchronized (EVICT_LOCK) {
+            final int limit = maxSize;
+            if (POOL.size() <= Math.max(limit, 0)) {
+                return;
+            }
+            final int target = limit - (limit >> 2);
+            // 第一轮只淘汰未被访问的，若仍超出，第二轮访问标记已全部清除
+            for (int round = 0; round < 2 && POOL.size() > target; round++) {
+                for (Iterator<Map.Entry<RegexWithFlag, Entry>> it = POOL.entrySet().iterator(); it.hasNext() && POOL.size() > target; ) {
+                    final Entry entry = it.next().getValue();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        it.remove();
+                        EVICTIONS.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 池中的条目
+     */
+    private static final class Entry {
+        private final Pattern pattern;
+        /**
+         * 最近是否被访问，只在未设置时写入，避免命中时反复写同一缓存行
+         */
+        private volatile boolean referenced;
+
+        private Entry(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        private void touch() {
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+    }
+
+    /**
+     * Pattern池的命中统计快照
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        private Stats(long hitCount, long missCount, long evictionCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        /**
+         * @return 命中次数
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return 未命中（编译）次数
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return 淘汰次数
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return 当前缓存的Pattern数量
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return 命中率，没有请求时为1
+         */
+        public double hitRate() {
+            final long total = hitCount + missCount;
+            return total == 0 ? 1.0 : (double) hitCount / total;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+                    + ", size=" + size + ", hitRate=" + hitRate() + '}';
+        }
     }
 // ---------------------------------------------------------------------------------------------------------------------------------
 
@@ -21,9 +21,9 @@ import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.commons.lang3.mutable.MutableObject;
 import top.lytree.bean.ObjectUtils;
 import top.lytree.lang.StringUtils;
+import top.lytree.validator.ChinaNumberValidator;
 
 /**
  * <p>Helpers to process Strings using regular expressions.</p>
@@ -300,7 +300,7 @@ public class RegExUtils {
         if (ObjectUtils.anyNull(text, regex, replacement)) {
             return text;
         }
-        return text.replaceAll(regex, replacement);
+        return PatternPool.pooled(regex, 0).matcher(text).replaceAll(replacement);
     }
 
     /**
@@ -389,7 +389,7 @@ public class RegExUtils {
         if (text == null || regex == null || replacement == null) {
             return text;
         }
-        return text.replaceFirst(regex, replacement);
+        return PatternPool.pooled(regex, 0).matcher(text).replaceFirst(replacement);
     }
 
     /**
@@ -430,7 +430,7 @@ public class RegExUtils {
         if (ObjectUtils.anyNull(text, regex, replacement)) {
             return text;
         }
-        return Pattern.compile(regex, Pattern.DOTALL).matcher(text).replaceAll(replacement);
+        return PatternPool.pooled(regex, Pattern.DOTALL).matcher(text).replaceAll(replacement);
     }
 
     /**
@@ -440,13 +440,14 @@ public class RegExUtils {
      * @param content    被匹配的内容
      * @param groupIndex 匹配正则的分组序号
      * @return 匹配后得到的字符串，未匹配返回null
+     * @throws ExecutionException 为兼容旧版本保留的声明，当前实现不会抛出
      */
     public static String get(String regex, CharSequence content, int groupIndex) throws ExecutionException {
         if (null == content || null == regex) {
             return null;
         }
 
-        final Pattern pattern = PatternPool.get(regex, Pattern.DOTALL);
+        final Pattern pattern = PatternPool.pooled(regex, Pattern.DOTALL);
         return get(pattern, content, groupIndex);
     }
 
@@ -457,13 +458,14 @@ public class RegExUtils {
      * @param content   被匹配的内容
      * @param groupName 匹配正则的分组名称
      * @return 匹配后得到的字符串，未匹配返回null
+     * @throws ExecutionException 为兼容旧版本保留的声明，当前实现不会抛出
      */
     public static String get(String regex, CharSequence content, String groupName) throws ExecutionException {
         if (null == content || null == regex) {
             return null;
         }
 
-        final Pattern pattern = PatternPool.get(regex, Pattern.DOTALL);
+        final Pattern pattern = PatternPool.pooled(regex, Pattern.DOTALL);
         return get(pattern, content, groupName);
     }
 
@@ -480,9 +482,8 @@ public class RegExUtils {
             return null;
         }
 
-        final MutableObject<String> result = new MutableObject<>();
-        get(pattern, content, matcher -> result.setValue(matcher.group(groupIndex)));
-        return result.getValue();
+        final Matcher m = pattern.matcher(content);
+        return m.find() ? m.group(groupIndex) : null;
     }
 
     /**
@@ -499,9 +500,8 @@ public class RegExUtils {
             return null;
         }
 
-        final MutableObject<String> result = new MutableObject<>();
-        get(pattern, content, matcher -> result.setValue(matcher.group(groupName)));
-        return result.getValue();
+        final Matcher m = pattern.matcher(content);
+        return m.find() ? m.group(groupName) : null;
     }
 
     /**
@@ -554,8 +554,7 @@ public class RegExUtils {
             // 正则不存在则为全匹配
             return true;
         }
-        Pattern pattern = Pattern.compile(regex);
-        return isMatch(pattern, content);
+        return isMatch(PatternPool.pooled(regex, 0), content);
     }
 
     /**
@@ -566,7 +565,7 @@ public class RegExUtils {
      *
      */
     public static boolean isMobile(CharSequence value) {
-        return isMatch(PatternPool.MOBILE, value);
+        return ChinaNumberValidator.isMobile(value);
     }
 
     /**
@@ -0,0 +1,240 @@
+package top.lytree.pattern;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 预编译的一组正则，一次调用检查同一输入匹配其中哪些正则（查找语义，即{@link Matcher#find()}，需要整体匹配时请自行加上{@code ^...$}）
+ * <p>
+ * 构造时完成：
+ * <ul>
+ *     <li>逐个编译正则</li>
+ *     <li>提取每个正则开头必须出现的字面量，输入中不包含该字面量时直接跳过，不运行正则</li>
+ *     <li>尽可能将所有正则合并为一个分支正则，用于{@link #anyMatch(CharSequence)}只扫描一遍输入</li>
+ * </ul>
+ * 匹配时通过{@link ReusableMatchers}每个线程复用各自的{@link Matcher}，不再为每个正则分配新对象。实例不可变，可在多线程间共享。
+ * </p>
+ *
+ * @author Pride_Yang
+ */
+public final class RegexSet {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] regexes;
+    private final Pattern[] patterns;
+    /**
+     * 每个正则开头必须出现的字面量，没有则为null
+     */
+    private final String[] literals;
+    /**
+     * 所有正则合并成的分支正则，无法安全合并时为null
+     */
+    private final Pattern combined;
+    /**
+     * 各正则及合并正则（位于最后，存在时）的Matcher
+     */
+    private final ReusableMatchers matchers;
+
+    private RegexSet(String[] regexes, int flags) {
+        this.regexes = regexes;
+        this.patterns = new Pattern[regexes.length];
+        this.literals = new String[regexes.length];
+        for (int i = 0; i < regexes.length; i++) {
+            patterns[i] = Pattern.compile(regexes[i], flags);
+            literals[i] = requiredPrefix(regexes[i], flags);
+        }
+        this.combined = combine(regexes, flags);
+        if (combined == null) {
+            this.matchers = ReusableMatchers.of(patterns);
+        } else {
+            final Pattern[] all = Arrays.copyOf(patterns, patterns.length + 1);
+            all[patterns.length] = combined;
+            this.matchers = ReusableMatchers.of(all);
+        }
+    }
+
+    /**
+     * 编译一组正则
+     *
+     * @param regexes 正则
+     * @return RegexSet
+     */
+    public static RegexSet compile(String... regexes) {
+        return compile(0, regexes);
+    }
+
+    /**
+     * 编译一组正则
+     *
+     * @param flags   所有正则共用的标识位 {@link Pattern}
+     * @param regexes 正则
+     * @return RegexSet
+     */
+    public static RegexSet compile(int flags, String... regexes) {
+        for (String regex : regexes) {
+            if (regex == null) {
+                throw new NullPointerException("regex");
+            }
+        }
+        return new RegexSet(regexes.clone(), flags);
+    }
+
+    /**
+     * 编译一组正则
+     *
+     * @param flags   所有正则共用的标识位 {@link Pattern}
+     * @param regexes 正则
+     * @return RegexSet
+     */
+    public static RegexSet compile(int flags, Collection<String> regexes) {
+        return compile(flags, regexes.toArray(new String[0]));
+    }
+
+    /**
+     * @return 正则数量
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * 获取指定下标的正则
+     *
+     * @param index 下标
+     * @return {@link Pattern}
+     */
+    public Pattern pattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * 输入是否匹配任意一个正则
+     *
+     * @param input 输入
+     * @return 是否匹配
+     */
+    public boolean anyMatch(CharSequence input) {
+        if (combined != null) {
+            return matchers.find(patterns.length, input);
+        }
+        return firstMatch(input) >= 0;
+    }
+
+    /**
+     * 按顺序第一个匹配输入的正则的下标
+     *
+     * @param input 输入
+     * @return 下标，都不匹配返回-1
+     */
+    public int firstMatch(CharSequence input) {
+        final String text = input.toString();
+        for (int i = 0; i < patterns.length; i++) {
+            if (test(i, text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 所有匹配输入的正则的下标，升序排列
+     *
+     * @param input 输入
+     * @return 下标数组，都不匹配返回空数组
+     */
+    public int[] allMatches(CharSequence input) {
+        final String text = input.toString();
+        int[] result = EMPTY;
+        int count = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            if (test(i, text)) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, Math.max(4, count << 1));
+                }
+                result[count++] = i;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    @Override
+    public String toString() {
+        return "RegexSet" + Arrays.toString(regexes);
+    }
+
+    private boolean test(int index, String text) {
+        final String literal = literals[index];
+        if (literal != null && !text.contains(literal)) {
+            return false;
+        }
+        return matchers.find(index, text);
+    }
+
+    /**
+     * 正则开头连续的普通字符，遇到任何元字符即停止；其后紧跟量词时最后一个字符可能出现零次，需要去掉。
+     * 含有分支{@code |}时开头的字面量不再是必需的
+     */
+    private static String requiredPrefix(String regex, int flags) {
+        if ((flags & Pattern.LITERAL) != 0) {
+            return regex.isEmpty() ? null : regex;
+        }
+        if ((flags & (Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.CANON_EQ)) != 0 || regex.indexOf('|') >= 0) {
+            return null;
+        }
+        int end = 0;
+        while (end < regex.length() && "\\^$.|?*+()[]{}".indexOf(regex.charAt(end)) < 0) {
+            end++;
+        }
+        if (end < regex.length() && "?*{".indexOf(regex.charAt(end)) >= 0) {
+            end--;
+            if (end > 0 && Character.isHighSurrogate(regex.charAt(end - 1))) {
+                end--;
+            }
+        }
+        return end > 0 ? regex.substring(0, end) : null;
+    }
+
+    /**
+     * 合并为{@code (?:r0)|(?:r1)|...}；存在按编号的反向引用（合并后编号会变化）或可能开启注释模式（注释会吞掉合并时补上的括号）时不合并
+     */
+    private static Pattern combine(String[] regexes, int flags) {
+        if (regexes.length < 2 || (flags & Pattern.COMMENTS) != 0) {
+            return null;
+        }
+        final boolean literal = (flags & Pattern.LITERAL) != 0;
+        final StringBuilder builder = new StringBuilder();
+        for (String regex : regexes) {
+            if (!literal && (regex.indexOf('#') >= 0 || hasNumberedBackReference(regex))) {
+                return null;
+            }
+            if (builder.length() > 0) {
+                builder.append('|');
+            }
+            builder.append("(?:").append(literal ? Pattern.quote(regex) : regex).append(')');
+        }
+        try {
+            return Pattern.compile(builder.toString(), flags & ~Pattern.LITERAL);
+        } catch (PatternSyntaxException e) {
+            // 例如不同正则中的同名分组
+            return null;
+        }
+    }
+
+    private static boolean hasNumberedBackReference(String regex) {
+        for (int i = 0; i < regex.length() - 1; i++) {
+            if (regex.charAt(i) == '\\') {
+                final char next = regex.charAt(i + 1);
+                if (next >= '1' && next <= '9') {
+                    return true;
+                }
+                // 跳过被转义的字符
+                i++;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package top.lytree.pattern;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 一组固定正则的{@link Matcher}，每个线程每个正则复用同一个Matcher（通过{@link Matcher#reset(CharSequence)}），按需选用
+ * <p>
+ * 每次使用后Matcher会被重置为空输入，不持有调用方的内容；Matcher只引用构造时给定的正则，不会留住{@link PatternPool}已淘汰的Pattern。
+ * 线程缓存随实例回收，实例应作为长期存活的字段持有（例如{@link RegexSet}），不要在每次调用时创建。
+ * 同一线程嵌套使用同一下标时（例如在{@link #apply}的回调中），内层调用使用新建的Matcher，不会破坏外层的状态。
+ * 实例不可变，可在多线程间共享。
+ * </p>
+ *
+ * @author Pride_Yang
+ */
+public final class ReusableMatchers {
+
+    private final Pattern[] patterns;
+    private final ThreadLocal<Matcher[]> matchers;
+
+    private ReusableMatchers(Pattern[] patterns) {
+        this.patterns = patterns;
+        this.matchers = ThreadLocal.withInitial(() -> new Matcher[patterns.length]);
+    }
+
+    /**
+     * 创建复用指定正则Matcher的实例
+     *
+     * @param patterns 正则
+     * @return ReusableMatchers
+     */
+    public static ReusableMatchers of(Pattern... patterns) {
+        for (Pattern pattern : patterns) {
+            Objects.requireNonNull(pattern, "pattern");
+        }
+        return new ReusableMatchers(patterns.clone());
+    }
+
+    /**
+     * @return 正则数量
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * 获取指定下标的正则
+     *
+     * @param index 下标
+     * @return {@link Pattern}
+     */
+    public Pattern pattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * 输入中是否包含指定正则的匹配，即{@link Matcher#find()}
+     *
+     * @param index 正则下标
+     * @param input 输入
+     * @return 是否找到
+     */
+    public boolean find(int index, CharSequence input) {
+        final Matcher matcher = borrow(index, input);
+        try {
+            return matcher.find();
+        } finally {
+            release(index, matcher);
+        }
+    }
+
+    /**
+     * 输入是否整体匹配指定正则，即{@link Matcher#matches()}
+     *
+     * @param index 正则下标
+     * @param input 输入
+     * @return 是否匹配
+     */
+    public boolean matches(int index, CharSequence input) {
+        final Matcher matcher = borrow(index, input);
+        try {
+            return matcher.matches();
+        } finally {
+            release(index, matcher);
+        }
+    }
+
+    /**
+     * 使用复用的Matcher处理输入，Matcher只在回调内有效，不能保存或传出
+     *
+     * @param index  正则下标
+     * @param input  输入
+     * @param action 处理Matcher的回调
+     * @param <R>    结果类型
+     * @return 回调的结果
+     */
+    public <R> R apply(int index, CharSequence input, Function<? super Matcher, ? extends R> action) {
+        final Matcher matcher = borrow(index, input);
+        try {
+            return action.apply(matcher);
+        } finally {
+            release(index, matcher);
+        }
+    }
+
+    /**
+     * 取出当前线程缓存的Matcher，使用期间槽位置空，嵌套调用时新建
+     */
+    private Matcher borrow(int index, CharSequence input) {
+        final Matcher[] cache = matchers.get();
+        final Matcher matcher = cache[index];
+        if (matcher == null) {
+            return patterns[index].matcher(input);
+        }
+        cache[index] = null;
+        return matcher.reset(input);
+    }
+
+    private void release(int index, Matcher matcher) {
+        // 不持有调用方的输入
+        matcher.reset("");
+        matchers.get()[index] = matcher;
+    }
+}
@@ -17,6 +17,7 @@ package top.lytree.pattern;
 
 import java.util.BitSet;
 import top.lytree.pattern.CharMatcher.NamedFastMatcher;
+import top.lytree.utils.Assert;
 
 /**
  * CharMatcher的一个不可变版本，用于小字符集，使用带有线性探测的哈希表检查匹配。
@@ -30,12 +31,17 @@ final class SmallCharMatcher extends NamedFastMatcher {
     private final char[] table;
     private final boolean containsZero;
     private final long filter;
+    /**
+     * ASCII部分的查找表，ASCII字符直接查表，不再走哈希探测
+     */
+    private final boolean[] ascii;
 
-    private SmallCharMatcher(char[] table, long filter, boolean containsZero, String description) {
+    private SmallCharMatcher(char[] table, long filter, boolean containsZero, boolean[] ascii, String description) {
         super(description);
         this.table = table;
         this.filter = filter;
         this.containsZero = containsZero;
+        this.ascii = ascii;
     }
 
     private static final int C1 = 0xcc9e2d51;
@@ -102,13 +108,17 @@ final class SmallCharMatcher extends NamedFastMatcher {
                 index = (index + 1) & mask;
             }
         }
-        return new SmallCharMatcher(table, filter, containsZero, description);
+        final boolean[] ascii = new boolean[0x80];
+        for (int c = chars.nextSetBit(0); c != -1 && c < 0x80; c = chars.nextSetBit(c + 1)) {
+            ascii[c] = true;
+        }
+        return new SmallCharMatcher(table, filter, containsZero, ascii, description);
     }
 
     @Override
     public boolean matches(char c) {
-        if (c == 0) {
-            return containsZero;
+        if (c < 0x80) {
+            return ascii[c];
         }
         if (!checkFilter(c)) {
             return false;
@@ -129,6 +139,42 @@ final class SmallCharMatcher extends NamedFastMatcher {
         return false;
     }
 
+    @Override
+    public int indexIn(CharSequence sequence, int start) {
+        Assert.checkIndex(start, sequence.length() + 1);
+        return AsciiKernel.indexIn(this, ascii, sequence, start, true);
+    }
+
+    @Override
+    public int lastIndexIn(CharSequence sequence) {
+        return AsciiKernel.lastIndexIn(this, ascii, sequence, true);
+    }
+
+    @Override
+    public boolean matchesAllOf(CharSequence sequence) {
+        return AsciiKernel.indexIn(this, ascii, sequence, 0, false) == -1;
+    }
+
+    @Override
+    public int countIn(CharSequence sequence) {
+        return AsciiKernel.countIn(this, ascii, sequence);
+    }
+
+    @Override
+    public String removeFrom(CharSequence sequence) {
+        return AsciiKernel.removeFrom(this, ascii, sequence);
+    }
+
+    @Override
+    public String collapseFrom(CharSequence sequence, char replacement) {
+        return AsciiKernel.collapseFrom(this, ascii, sequence, replacement);
+    }
+
+    @Override
+    public String trimFrom(CharSequence sequence) {
+        return AsciiKernel.trimFrom(this, ascii, sequence);
+    }
+
     @Override
     void setBits(BitSet table) {
         if (containsZero) {
@@ -0,0 +1,275 @@
+package top.lytree.text;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import top.lytree.utils.Assert;
+
+/**
+ * 查表实现的字符转义
+ * <p>
+ * 每个需要转义的字符在按字符编码索引的数组中预先存放替换串，转义时先找到第一个需要转义的字符，
+ * 其间不需要转义的连续片段整段复制（{@link Appendable#append(CharSequence, int, int)}），而不是逐字符追加。
+ * 没有需要转义的字符时{@link #escape(String)}直接返回原字符串，不产生新对象。
+ * </p>
+ * <p>
+ * 实例不可变，可在多线程间共享；自定义转义表通过{@link #builder()}构建。
+ * </p>
+ *
+ * <pre>
+ * Escaper.HTML.escape("a &lt; b");          // a &amp;lt; b
+ * Escaper.JSON.escape(out, "line\n");      // 写入 line\n
+ * Writer writer = Escaper.XML.wrap(out);   // 写入writer的内容都被转义
+ * </pre>
+ *
+ * @author pride
+ */
+public final class Escaper {
+
+    /**
+     * HTML文本及属性值：{@code & < > " '}
+     */
+    public static final Escaper HTML = builder()
+            .escape('&', "&amp;").escape('<', "&lt;").escape('>', "&gt;")
+            .escape('"', "&quot;").escape('\'', "&#39;")
+            .build();
+
+    /**
+     * XML 1.0文本及属性值：{@code & < > " '}，并移除XML 1.0不允许出现的控制字符（制表符、换行、回车除外）
+     */
+    public static final Escaper XML;
+
+    /**
+     * JSON字符串内容（不含两侧引号）：双引号、反斜杠及0x20以下的控制字符
+     */
+    public static final Escaper JSON;
+
+    static {
+        final Builder xml = builder()
+                .escape('&', "&amp;").escape('<', "&lt;").escape('>', "&gt;")
+                .escape('"', "&quot;").escape('\'', "&apos;");
+        final Builder json = builder().escape('"', "\\\"").escape('\\', "\\\\");
+        for (char c = 0; c < 0x20; c++) {
+            if (c != '\t' && c != '\n' && c != '\r') {
+                xml.escape(c, "");
+            }
+            json.escape(c, String.format("\\u%04x", (int) c));
+        }
+        json.escape('\b', "\\b").escape('\f', "\\f").escape('\n', "\\n").escape('\r', "\\r").escape('\t', "\\t");
+        XML = xml.build();
+        JSON = json.build();
+    }
+
+    /**
+     * 下标为字符，null表示不需要转义；超出数组长度的字符都不需要转义
+     */
+    private final String[] replacements;
+
+    private Escaper(String[] replacements) {
+        this.replacements = replacements;
+    }
+
+    /**
+     * @return 自定义转义表的构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private boolean needsEscape(char c) {
+        return c < replacements.length && replacements[c] != null;
+    }
+
+    /**
+     * 第一个需要转义的字符位置
+     *
+     * @param s 字符串
+     * @return 位置，没有返回-1
+     */
+    public int indexOfEscape(CharSequence s) {
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            if (needsEscape(s.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 转义字符串
+     *
+     * @param s 字符串，{@code null}返回{@code null}
+     * @return 转义后的字符串，无需转义时为原字符串
+     */
+    public String escape(String s) {
+        if (s == null) {
+            return null;
+        }
+        final int first = indexOfEscape(s);
+        if (first < 0) {
+            return s;
+        }
+        final StringBuilder builder = new StringBuilder(s.length() + 16).append(s, 0, first);
+        try {
+            escape(builder, s, first, s.length());
+        } catch (IOException e) {
+            // StringBuilder不会抛出
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 将转义后的内容追加到{@code out}
+     *
+     * @param out 输出
+     * @param s   内容
+     * @throws IOException 输出异常
+     */
+    public void escape(Appendable out, CharSequence s) throws IOException {
+        escape(out, s, 0, s.length());
+    }
+
+    /**
+     * 将{@code s}中[start, end)转义后的内容追加到{@code out}
+     *
+     * @param out   输出
+     * @param s     内容
+     * @param start 开始位置（包含）
+     * @param end   结束位置（不包含）
+     * @throws IOException 输出异常
+     */
+    public void escape(Appendable out, CharSequence s, int start, int end) throws IOException {
+        int clean = start;
+        for (int i = start; i < end; i++) {
+            final char c = s.charAt(i);
+            if (needsEscape(c)) {
+                if (clean < i) {
+                    out.append(s, clean, i);
+                }
+                out.append(replacements[c]);
+                clean = i + 1;
+            }
+        }
+        if (clean < end) {
+            out.append(s, clean, end);
+        }
+    }
+
+    /**
+     * 将转义后的字符数组片段写入{@code out}
+     *
+     * @param out    输出
+     * @param chars  字符数组
+     * @param offset 开始位置
+     * @param length 长度
+     * @throws IOException 输出异常
+     */
+    public void escape(Writer out, char[] chars, int offset, int length) throws IOException {
+        final int end = offset + length;
+        int clean = offset;
+        for (int i = offset; i < end; i++) {
+            final char c = chars[i];
+            if (needsEscape(c)) {
+                if (clean < i) {
+                    out.write(chars, clean, i - clean);
+                }
+                out.write(replacements[c]);
+                clean = i + 1;
+            }
+        }
+        if (clean < end) {
+            out.write(chars, clean, end - clean);
+        }
+    }
+
+    /**
+     * 包装输出，写入返回的{@link Writer}的内容都先转义再写入{@code out}；关闭返回的Writer同时关闭{@code out}
+     *
+     * @param out 输出
+     * @return 转义的Writer
+     */
+    public Writer wrap(Writer out) {
+        Assert.notNull(out, "Writer must not be null");
+        return new Writer(out) {
+            @Override
+            public void write(int c) throws IOException {
+                if (needsEscape((char) c)) {
+                    out.write(replacements[(char) c]);
+                } else {
+                    out.write(c);
+                }
+            }
+
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                escape(out, cbuf, off, len);
+            }
+
+            @Override
+            public void write(String str, int off, int len) throws IOException {
+                escape(out, str, off, off + len);
+            }
+
+            @Override
+            public Writer append(CharSequence csq) throws IOException {
+                final CharSequence s = csq == null ? "null" : csq;
+                escape(out, s, 0, s.length());
+                return this;
+            }
+
+            @Override
+            public Writer append(CharSequence csq, int start, int end) throws IOException {
+                escape(out, csq == null ? "null" : csq, start, end);
+                return this;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+    }
+
+    /**
+     * 转义表构建器
+     */
+    public static final class Builder {
+
+        private String[] replacements = new String[0];
+
+        private Builder() {
+        }
+
+        /**
+         * 设置字符的替换串
+         *
+         * @param c           字符
+         * @param replacement 替换串，空串表示删除该字符
+         * @return this
+         */
+        public Builder escape(char c, String replacement) {
+            Assert.notNull(replacement, "Replacement must not be null");
+            if (c >= replacements.length) {
+                replacements = Arrays.copyOf(replacements, c + 1);
+            }
+            replacements[c] = replacement;
+            return this;
+        }
+
+        /**
+         * @return 转义器
+         */
+        public Escaper build() {
+            return new Escaper(replacements.clone());
+        }
+    }
+}
@@ -0,0 +1,794 @@
+package top.lytree.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link HTMLFilter}的单遍扫描实现，用状态机代替原先的多轮正则替换
+ * <p>
+ * 输入只扫描一次：注释转义、尖括号配平、标签白名单检查、属性协议检查、实体校验及空标签移除都在同一次扫描中完成，
+ * 不产生中间字符串。配置与{@link HTMLFilter}完全一致，输出与原正则实现逐字相同，由差分测试保证。
+ * </p>
+ * <p>
+ * 唯一的差异：href/src等协议属性的值经实体解码后若含有{@code <}或{@code >}，原实现的空标签正则可能匹配到属性值内部，
+ * 此处不会，这类标签原样保留。
+ * </p>
+ * <p>
+ * 支持{@link Reader}到{@link Writer}的流式处理，内存占用只与单个标签、连续的可移除空标签以及首个注释的长度有关，与输入总长度无关
+ * （alwaysMakeTags模式下还需缓存两个{@code >}之间的文本）。实例不可变，可在多线程间共享。
+ * </p>
+ * <p>
+ * 向前查看的长度不超过{@link #MAX_LOOKAHEAD}：{@code <}之后这么长都没有{@code >}时按不配对的{@code <}转义为{@code &lt;}，
+ * 首个{@code <!--}之后这么长都没有{@code -->}时不作为注释处理，alwaysMakeTags模式下两个{@code >}之间的文本超出时按文本输出，
+ * 其后的{@code >}转义为{@code &gt;}。只有超出这一长度的标签、注释的结果与原实现不同，未闭合的{@code <}不会导致缓存剩余的全部输入。
+ * </p>
+ *
+ * @author pride
+ */
+public final class HTMLSanitizer {
+
+    private static final int READ_CHUNK = 8192;
+
+    /**
+     * 单个标签、首个注释及alwaysMakeTags模式下两个{@code >}之间文本的最大长度
+     */
+    static final int MAX_LOOKAHEAD = 64 * 1024;
+
+    private static final byte OPEN = 0;
+    private static final byte SELF = 1;
+    private static final byte CLOSE = 2;
+
+    private final Map<String, List<String>> vAllowed;
+    private final Set<String> vSelfClosingTags;
+    private final Set<String> vNeedClosingTags;
+    private final Set<String> vDisallowed;
+    private final Set<String> vProtocolAtts;
+    private final Set<String> vAllowedProtocols;
+    private final Set<String> vAllowedEntities;
+    private final String[] vRemoveBlanks;
+    private final Set<String> removeBlankSet;
+    private final boolean stripComment;
+    private final boolean alwaysMakeTags;
+
+    HTMLSanitizer(final Map<String, List<String>> vAllowed, final String[] vSelfClosingTags, final String[] vNeedClosingTags,
+                  final String[] vDisallowed, final String[] vAllowedProtocols, final String[] vProtocolAtts,
+                  final String[] vRemoveBlanks, final String[] vAllowedEntities, final boolean stripComment,
+                  final boolean alwaysMakeTags) {
+        this.vAllowed = vAllowed;
+        this.vSelfClosingTags = toSet(vSelfClosingTags);
+        this.vNeedClosingTags = toSet(vNeedClosingTags);
+        this.vDisallowed = toSet(vDisallowed);
+        this.vAllowedProtocols = toSet(vAllowedProtocols);
+        this.vProtocolAtts = toSet(vProtocolAtts);
+        this.vRemoveBlanks = vRemoveBlanks.clone();
+        this.removeBlankSet = toSet(vRemoveBlanks);
+        this.vAllowedEntities = toSet(vAllowedEntities);
+        this.stripComment = stripComment;
+        this.alwaysMakeTags = alwaysMakeTags;
+    }
+
+    /**
+     * 过滤字符串
+     *
+     * @param input 可能包含html的文本
+     * @return 只保留白名单内html的文本
+     */
+    public String filter(final String input) {
+        final StringBuilder out = new StringBuilder(input.length() + 16);
+        try {
+            new Scan(new Source(input), out).run();
+        } catch (final IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 流式过滤，从{@code in}读取直到结束，结果写入{@code out}，两者均不关闭
+     *
+     * @param in  输入
+     * @param out 输出
+     * @throws IOException 读写异常
+     */
+    public void filter(final Reader in, final Writer out) throws IOException {
+        new Scan(new Source(in), out).run();
+    }
+
+    private boolean allowed(final String name) {
+        return (vAllowed.isEmpty() || vAllowed.containsKey(name)) && !vDisallowed.contains(name);
+    }
+
+    private boolean allowedAttribute(final String name, final String paramName) {
+        return allowed(name) && (vAllowed.isEmpty() || vAllowed.get(name).contains(paramName));
+    }
+
+    /**
+     * 一次过滤的状态
+     */
+    private final class Scan {
+        private final Source src;
+        private final Appendable out;
+        /**
+         * 各标签未闭合的数量，迭代顺序决定末尾补全的闭合标签顺序，因此与原实现一样使用HashMap
+         */
+        private final Map<String, Integer> vTagCounts = new HashMap<>();
+        /**
+         * 尚未输出的连续可移除标签（名称在vRemoveBlanks中），遇到文本或其它标签时统一处理后输出
+         */
+        private final List<Tag> pending = new ArrayList<>();
+        /**
+         * alwaysMakeTags模式下上一个{@code >}之后尚未确定是文本还是标签的内容
+         */
+        private final StringBuilder textRun = new StringBuilder();
+        /**
+         * 是否已遇到第一个{@code <!--}，只有第一个注释的内容会被转义
+         */
+        private boolean commentChecked;
+        /**
+         * 输入以{@code >}开头时，原实现的正则在开头产生空匹配，跳过了下一个{@code >}，该字符按原样输出
+         */
+        private boolean rawNextGt;
+        /**
+         * alwaysMakeTags模式下{@link #textRun}超出{@link #MAX_LOOKAHEAD}后已按文本输出，下一个{@code >}不再形成标签
+         */
+        private boolean textOverflow;
+
+        private Scan(final Source src, final Appendable out) {
+            this.src = src;
+            this.out = out;
+        }
+
+        private void run() throws IOException {
+            if (alwaysMakeTags && src.peek(0) == '>') {
+                src.skip(1);
+            }
+            if (src.peek(0) == '>') {
+                src.skip(1);
+                if (!alwaysMakeTags) {
+                    text("&gt;");
+                }
+                rawNextGt = true;
+            }
+            for (int c = src.peek(0); c >= 0; c = src.peek(0)) {
+                if (c == '<') {
+                    flushTextRun();
+                    lessThan();
+                } else if (c == '>') {
+                    src.skip(1);
+                    greaterThan();
+                } else {
+                    textRun();
+                }
+            }
+            flushTextRun();
+            for (Map.Entry<String, Integer> entry : vTagCounts.entrySet()) {
+                for (int ii = 0; ii < entry.getValue(); ii++) {
+                    tag(new Tag(entry.getKey(), "</" + entry.getKey() + ">", CLOSE, false));
+                }
+            }
+            flushPending();
+        }
+
+        /**
+         * 连续的普通字符
+         */
+        private void textRun() throws IOException {
+            int n = 0;
+            for (int c = src.peek(0); c >= 0 && c != '<' && c != '>' && n < READ_CHUNK; c = src.peek(++n)) {
+                // scan
+            }
+            if (alwaysMakeTags) {
+                src.appendTo(textRun, n);
+                if (textRun.length() > MAX_LOOKAHEAD) {
+                    flushTextRun();
+                    textOverflow = true;
+                }
+            } else {
+                flushPending();
+                src.appendTo(out, n);
+            }
+        }
+
+        /**
+         * 不属于任何标签的{@code >}
+         */
+        private void greaterThan() throws IOException {
+            if (rawNextGt) {
+                rawNextGt = false;
+                textOverflow = false;
+                if (alwaysMakeTags) {
+                    textRun.append('>');
+                    flushTextRun();
+                } else {
+                    text(">");
+                }
+            } else if (alwaysMakeTags && !textOverflow) {
+                // 上一个'>'之后的文本成为标签内容
+                final String content = textRun.toString();
+                textRun.setLength(0);
+                processTag(content);
+            } else {
+                flushTextRun();
+                textOverflow = false;
+                text("&gt;");
+            }
+        }
+
+        private void lessThan() throws IOException {
+            rawNextGt = false;
+            textOverflow = false;
+            if (!commentChecked && src.startsWith("<!--")) {
+                commentChecked = true;
+                final int end = src.indexOf("-->", 4, MAX_LOOKAHEAD);
+                if (end >= 0) {
+                    final String inner = src.substring(4, end);
+                    src.skip(end + 3);
+                    if (!stripComment) {
+                        barrier("<!--" + HTMLFilter.htmlSpecialChars(inner) + "-->");
+                    }
+                    return;
+                }
+            }
+            int n = 1;
+            int c = src.peek(n);
+            while (c >= 0 && c != '<' && c != '>' && n < MAX_LOOKAHEAD) {
+                c = src.peek(++n);
+            }
+            final boolean overflow = c >= 0 && c != '<' && c != '>';
+            if (c == '>') {
+                final String content = src.substring(1, n);
+                src.skip(n + 1);
+                processTag(content);
+            } else if (!alwaysMakeTags || overflow) {
+                // 没有对应'>'的'<'，或标签过长
+                src.skip(1);
+                text("&lt;");
+            } else {
+                // 补全'>'：位于下一个'<'之前，或输入末尾（末尾的换行符之前）
+                final int end = c == '<' ? n : dollarEnd(src.substring(0, n));
+                final String content = src.substring(1, end);
+                src.skip(end);
+                processTag(content);
+            }
+        }
+
+        private void flushTextRun() throws IOException {
+            if (textRun.length() > 0) {
+                text(textRun);
+                textRun.setLength(0);
+            }
+        }
+
+        private void processTag(final String s) throws IOException {
+            final int len = s.length();
+            // ending tags
+            if (len > 1 && s.charAt(0) == '/' && isAlnum(s.charAt(1))) {
+                final String name = s.substring(1, alnumEnd(s, 2)).toLowerCase();
+                if (allowed(name) && !vSelfClosingTags.contains(name)) {
+                    final Integer count = vTagCounts.get(name);
+                    if (count != null) {
+                        vTagCounts.put(name, count - 1);
+                        tag(new Tag(name, "</" + name + ">", CLOSE, false));
+                        return;
+                    }
+                }
+            }
+
+            // starting tags
+            if (len > 0 && isAlnum(s.charAt(0))) {
+                final int nameEnd = alnumEnd(s, 1);
+                final String name = s.substring(0, nameEnd).toLowerCase();
+                if (!allowed(name)) {
+                    return;
+                }
+                int bodyEnd = len;
+                String ending = "";
+                for (int p = Math.max(nameEnd, len - 3); p <= len; p++) {
+                    if (p < len && s.charAt(p) == '/' && isDollar(s, p + 1)) {
+                        bodyEnd = p;
+                        ending = "/";
+                        break;
+                    }
+                    if (isDollar(s, p)) {
+                        bodyEnd = p;
+                        break;
+                    }
+                }
+                final StringBuilder html = new StringBuilder(len + 16).append('<').append(name);
+                final boolean angle = appendParams(html, name, s, nameEnd, bodyEnd);
+
+                if (vSelfClosingTags.contains(name)) {
+                    ending = " /";
+                }
+                if (vNeedClosingTags.contains(name)) {
+                    ending = "";
+                }
+                if (ending.isEmpty()) {
+                    // merge()会把新节点插在桶头部，改变迭代顺序
+                    final Integer count = vTagCounts.get(name);
+                    vTagCounts.put(name, count == null ? 1 : count + 1);
+                } else {
+                    ending = " /";
+                }
+                html.append(ending).append('>');
+                tag(new Tag(name, html.toString(), ending.isEmpty() ? OPEN : SELF, angle));
+                return;
+            }
+
+            // comments
+            if (!stripComment) {
+                final int end = commentEnd(s);
+                if (end >= 0) {
+                    barrier("<" + s.substring(0, end) + ">");
+                }
+            }
+        }
+
+        /**
+         * 先追加所有带引号的属性，再追加所有不带引号的属性（两者独立扫描整个body），与原实现的两个正则一致
+         *
+         * @return 协议属性的值解码后是否含有尖括号
+         */
+        private boolean appendParams(final StringBuilder html, final String name, final String s, final int from, final int to) {
+            boolean angle = false;
+            // ([a-z0-9]+)=(["'])(.*?)\2
+            int i = from;
+            while (i < to) {
+                if (!isAlnum(s.charAt(i))) {
+                    i++;
+                    continue;
+                }
+                final int k = alnumEnd(s, i, to);
+                if (k + 1 < to && s.charAt(k) == '=' && (s.charAt(k + 1) == '"' || s.charAt(k + 1) == '\'')) {
+                    final int close = s.indexOf(s.charAt(k + 1), k + 2);
+                    if (close >= 0 && close < to) {
+                        angle |= appendParam(html, name, s.substring(i, k), s.substring(k + 2, close));
+                        i = close + 1;
+                        continue;
+                    }
+                }
+                i = k;
+            }
+            // ([a-z0-9]+)(=)([^"\s']+)
+            i = from;
+            while (i < to) {
+                if (!isAlnum(s.charAt(i))) {
+                    i++;
+                    continue;
+                }
+                final int k = alnumEnd(s, i, to);
+                if (k + 1 < to && s.charAt(k) == '=' && isUnquotedValue(s.charAt(k + 1))) {
+                    int e = k + 2;
+                    while (e < to && isUnquotedValue(s.charAt(e))) {
+                        e++;
+                    }
+                    angle |= appendParam(html, name, s.substring(i, k), s.substring(k + 1, e));
+                    i = e;
+                    continue;
+                }
+                i = k;
+            }
+            return angle;
+        }
+
+        private boolean appendParam(final StringBuilder html, final String name, final String param, String paramValue) {
+            final String paramName = param.toLowerCase();
+            if (!allowedAttribute(name, paramName)) {
+                return false;
+            }
+            boolean angle = false;
+            if (vProtocolAtts.contains(paramName)) {
+                paramValue = processParamProtocol(paramValue);
+                angle = paramValue.indexOf('<') >= 0 || paramValue.indexOf('>') >= 0;
+            }
+            html.append(' ').append(paramName).append("=\"").append(paramValue).append('"');
+            return angle;
+        }
+
+        private void text(final CharSequence text) throws IOException {
+            flushPending();
+            out.append(text);
+        }
+
+        /**
+         * 输出不可能被移除的内容（注释等），同时结束当前的可移除标签序列
+         */
+        private void barrier(final String html) throws IOException {
+            flushPending();
+            out.append(html);
+        }
+
+        private void tag(final Tag tag) throws IOException {
+            if (removeBlankSet.contains(tag.name) && !tag.angle) {
+                pending.add(tag);
+            } else {
+                barrier(tag.html);
+            }
+        }
+
+        /**
+         * 按vRemoveBlanks的顺序，对连续的可移除标签依次执行"成对空标签"和"自闭合空标签"两轮移除后输出。
+         * 每一轮只扫描一遍、不回溯，与原实现对整个字符串逐个执行replaceAll的结果一致
+         */
+        private void flushPending() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Tag> run = pending;
+            if (removable(run)) {
+                for (final String blank : vRemoveBlanks) {
+                    final List<Tag> next = new ArrayList<>(run.size());
+                    for (int i = 0; i < run.size(); i++) {
+                        final Tag tag = run.get(i);
+                        if (tag.kind != CLOSE && tag.name.equals(blank) && i + 1 < run.size()
+                                && run.get(i + 1).kind == CLOSE && run.get(i + 1).name.equals(blank)) {
+                            i++;
+                        } else if (tag.kind != SELF || !tag.name.equals(blank)) {
+                            next.add(tag);
+                        }
+                    }
+                    run = next;
+                }
+            }
+            for (final Tag tag : run) {
+                out.append(tag.html);
+            }
+            pending.clear();
+        }
+
+        /**
+         * 只有开始标签时不会有任何移除
+         */
+        private boolean removable(final List<Tag> run) {
+            for (final Tag tag : run) {
+                if (tag.kind != OPEN) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // ---------------------------------------------------------------
+
+    private String processParamProtocol(String s) {
+        s = decodeEntities(s);
+        final int colon = s.indexOf(':');
+        if (colon > 0) {
+            final String protocol = s.substring(0, colon);
+            if (!vAllowedProtocols.contains(protocol)) {
+                // bad protocol, turn into local anchor link instead
+                s = "#" + s.substring(colon + 1);
+                if (s.startsWith("#//")) {
+                    s = "#" + s.substring(3);
+                }
+            }
+        }
+        return s;
+    }
+
+    private String decodeEntities(String s) {
+        s = decodeNumeric(s, "&#", 10);
+        s = decodeNumeric(s, "&#x", 16);
+        s = decodeEncoded(s);
+        return validateEntities(s);
+    }
+
+    /**
+     * {@code &#(\d+);?}及{@code &#x([0-9a-f]+);?}，数字的解析方式与原实现相同（包括其抛出的异常）
+     */
+    private static String decodeNumeric(final String s, final String prefix, final int radix) {
+        int i = s.indexOf(prefix);
+        if (i < 0) {
+            return s;
+        }
+        final StringBuilder buf = new StringBuilder(s.length());
+        int last = 0;
+        final int len = s.length();
+        while (i >= 0) {
+            final int start = i + prefix.length();
+            int j = start;
+            while (j < len && (radix == 10 ? isDigit(s.charAt(j)) : isLowerHex(s.charAt(j)))) {
+                j++;
+            }
+            if (j > start) {
+                final String match = s.substring(start, j);
+                final int decimal = radix == 10 ? Integer.decode(match) : Integer.valueOf(match, 16);
+                buf.append(s, last, i).append((char) decimal);
+                last = j < len && s.charAt(j) == ';' ? j + 1 : j;
+                i = s.indexOf(prefix, last);
+            } else {
+                i = s.indexOf(prefix, i + 1);
+            }
+        }
+        return buf.append(s, last, len).toString();
+    }
+
+    /**
+     * {@code %([0-9a-f]{2});?}
+     */
+    private static String decodeEncoded(final String s) {
+        int i = s.indexOf('%');
+        if (i < 0) {
+            return s;
+        }
+        final StringBuilder buf = new StringBuilder(s.length());
+        int last = 0;
+        final int len = s.length();
+        while (i >= 0) {
+            if (i + 2 < len && isLowerHex(s.charAt(i + 1)) && isLowerHex(s.charAt(i + 2))) {
+                buf.append(s, last, i).append((char) Integer.parseInt(s, i + 1, i + 3, 16));
+                last = i + 3 < len && s.charAt(i + 3) == ';' ? i + 4 : i + 3;
+                i = s.indexOf('%', last);
+            } else {
+                i = s.indexOf('%', i + 1);
+            }
+        }
+        return buf.append(s, last, len).toString();
+    }
+
+    /**
+     * {@code &([^&;]*)(?=(;|&|$))}：白名单内且以分号结尾的实体保留，其余的{@code &}转义
+     */
+    private String validateEntities(final String s) {
+        int i = s.indexOf('&');
+        if (i < 0) {
+            return s;
+        }
+        final StringBuilder buf = new StringBuilder(s.length() + 16);
+        int last = 0;
+        final int len = s.length();
+        while (i >= 0) {
+            int k = i + 1;
+            while (k < len && s.charAt(k) != '&' && s.charAt(k) != ';') {
+                k++;
+            }
+            buf.append(s, last, i);
+            final String preamble = s.substring(i + 1, k);
+            if (k < len && s.charAt(k) == ';' && vAllowedEntities.contains(preamble)) {
+                buf.append('&');
+            } else {
+                buf.append("&amp;");
+            }
+            buf.append(preamble);
+            last = k;
+            i = s.indexOf('&', k);
+        }
+        return buf.append(s, last, len).toString();
+    }
+
+    /**
+     * {@code ^!--(.*)--$}匹配的部分的结束位置
+     *
+     * @return 结束位置，不匹配返回-1
+     */
+    private static int commentEnd(final String s) {
+        if (!s.startsWith("!--")) {
+            return -1;
+        }
+        final int len = s.length();
+        for (int end = len; end >= len - 2 && end >= 5; end--) {
+            if (s.startsWith("--", end - 2) && isDollar(s, end)) {
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 非MULTILINE模式下{@code $}在位置{@code i}是否匹配：输入末尾，或末尾的行终止符之前，与{@link java.util.regex.Pattern}一致
+     */
+    static boolean isDollar(final CharSequence s, final int i) {
+        final int end = s.length();
+        if (i < end - 2) {
+            return false;
+        }
+        if (i == end - 2) {
+            return s.charAt(i) == '\r' && s.charAt(i + 1) == '\n';
+        }
+        if (i < end) {
+            final char ch = s.charAt(i);
+            if (ch == '\n') {
+                return !(i > 0 && s.charAt(i - 1) == '\r');
+            }
+            return ch == '\r' || ch == '\u0085' || (ch | 1) == '\u2029';
+        }
+        return true;
+    }
+
+    /**
+     * 从位置1开始第一个{@code $}匹配的位置
+     */
+    private static int dollarEnd(final String s) {
+        for (int p = Math.max(1, s.length() - 2); p < s.length(); p++) {
+            if (isDollar(s, p)) {
+                return p;
+            }
+        }
+        return s.length();
+    }
+
+    private static int alnumEnd(final String s, final int from) {
+        return alnumEnd(s, from, s.length());
+    }
+
+    private static int alnumEnd(final String s, int from, final int to) {
+        while (from < to && isAlnum(s.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * 大小写不敏感的{@code [a-z0-9]}，仅ASCII
+     */
+    private static boolean isAlnum(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLowerHex(final char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+    }
+
+    /**
+     * {@code [^"\s']}
+     */
+    private static boolean isUnquotedValue(final char c) {
+        return c != '"' && c != '\'' && c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r';
+    }
+
+    private static Set<String> toSet(final String[] array) {
+        final Set<String> set = new HashSet<>(Arrays.asList(array));
+        set.remove(null);
+        return set;
+    }
+
+    /**
+     * 已生成的标签
+     */
+    private static final class Tag {
+        private final String name;
+        private final String html;
+        private final byte kind;
+        /**
+         * 属性值中含有尖括号，不参与空标签移除
+         */
+        private final boolean angle;
+
+        private Tag(final String name, final String html, final byte kind, final boolean angle) {
+            this.name = name;
+            this.html = html;
+            this.kind = kind;
+            this.angle = angle;
+        }
+    }
+
+    /**
+     * 支持任意长度向前查看的字符输入，已消费的部分在读取新数据时丢弃
+     */
+    private static final class Source {
+        private final Reader reader;
+        private char[] buf;
+        private int pos;
+        private int limit;
+        private boolean eof;
+
+        private Source(final String input) {
+            this.reader = null;
+            this.buf = input.toCharArray();
+            this.limit = buf.length;
+            this.eof = true;
+        }
+
+        private Source(final Reader reader) {
+            this.reader = reader;
+            this.buf = new char[READ_CHUNK];
+        }
+
+        /**
+         * 当前位置之后第{@code offset}个字符
+         *
+         * @return 字符，超出输入末尾返回-1
+         */
+        private int peek(final int offset) throws IOException {
+            while (pos + offset >= limit) {
+                if (!fill()) {
+                    return -1;
+                }
+            }
+            return buf[pos + offset];
+        }
+
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+            if (pos > 0) {
+                System.arraycopy(buf, pos, buf, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+            }
+            if (limit == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length << 1);
+            }
+            final int n = reader.read(buf, limit, buf.length - limit);
+            if (n < 0) {
+                eof = true;
+                return false;
+            }
+            limit += n;
+            return true;
+        }
+
+        private void skip(final int n) {
+            pos += n;
+        }
+
+        private boolean startsWith(final String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                if (peek(i) != s.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 从当前位置之后第{@code from}个字符开始查找，只查找到当前位置之后第{@code max}个字符
+         *
+         * @return 相对当前位置的偏移，找不到返回-1
+         */
+        private int indexOf(final String s, final int from, final int max) throws IOException {
+            for (int i = from; i + s.length() <= max && peek(i + s.length() - 1) >= 0; i++) {
+                if (startsWith(s, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean startsWith(final String s, final int offset) {
+            for (int i = 0; i < s.length(); i++) {
+                if (buf[pos + offset + i] != s.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 已通过{@link #peek(int)}读入的区间
+         */
+        private String substring(final int from, final int to) {
+            return new String(buf, pos + from, to - from);
+        }
+
+        /**
+         * 输出并消费已读入的{@code n}个字符
+         */
+        private void appendTo(final Appendable out, final int n) throws IOException {
+            if (out instanceof StringBuilder) {
+                ((StringBuilder) out).append(buf, pos, n);
+            } else if (out instanceof Writer) {
+                ((Writer) out).write(buf, pos, n);
+            } else {
+                out.append(new String(buf, pos, n));
+            }
+            pos += n;
+        }
+    }
+}
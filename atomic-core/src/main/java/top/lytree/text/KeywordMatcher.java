@@ -0,0 +1,653 @@
+package top.lytree.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import top.lytree.pattern.CharMatcher;
+
+/**
+ * 基于Aho-Corasick自动机的多关键词匹配，一次扫描即可查找、替换词典中的所有关键词，耗时与关键词数量无关
+ * <p>
+ * 转移表以数组形式紧凑存储：每个节点的出边按字符排序后连续存放，通过二分查找转移；根节点额外用位图快速跳过不是任何关键词首字符的字符。
+ * </p>
+ * <p>
+ * 可选忽略大小写、忽略全角/半角，以及通过{@link CharMatcher}指定匹配时跳过的字符（例如插在敏感词中间的空白或符号），
+ * 匹配结果的位置始终对应原文。实例不可变，可在多线程间共享；词典变化时通过{@link #rebuild(Collection)}构建新实例后整体替换，
+ * 参见{@link SensitiveWordFilter}。
+ * </p>
+ *
+ * <pre>
+ * KeywordMatcher matcher = KeywordMatcher.builder().ignoreCase().ignoreWidth().build(words);
+ * matcher.containsAny(text);
+ * matcher.replaceAll(text, '*');
+ * </pre>
+ *
+ * @author pride
+ */
+public final class KeywordMatcher {
+
+    private static final int ROOT = 0;
+
+    private final boolean ignoreCase;
+    private final boolean ignoreWidth;
+    private final CharMatcher skip;
+
+    /**
+     * 关键词原文，按首次出现的顺序去重
+     */
+    private final String[] keywords;
+    /**
+     * 关键词归一化后的长度
+     */
+    private final int[] lengths;
+    private final int maxLength;
+
+    /**
+     * 节点i的出边为[edgeStart[i], edgeStart[i + 1])
+     */
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    private final int[] depth;
+    /**
+     * 在该节点结束的关键词下标，没有为-1
+     */
+    private final int[] output;
+    /**
+     * 沿失败链下一个有输出的节点，没有为-1
+     */
+    private final int[] outputLink;
+    /**
+     * 关键词首字符位图
+     */
+    private final long[] firstChars = new long[1024];
+
+    private KeywordMatcher(Builder builder, Collection<String> words) {
+        this.ignoreCase = builder.ignoreCase;
+        this.ignoreWidth = builder.ignoreWidth;
+        this.skip = builder.skip;
+
+        // 构建字典树，边以 (父节点 << 16 | 字符) 为键
+        final Map<Long, Integer> edges = new HashMap<>();
+        final List<String> keywordList = new ArrayList<>();
+        final List<Integer> lengthList = new ArrayList<>();
+        final List<Integer> outputList = new ArrayList<>();
+        outputList.add(-1);
+        int max = 0;
+        for (String word : words) {
+            if (word == null) {
+                continue;
+            }
+            int node = ROOT;
+            int length = 0;
+            for (int i = 0; i < word.length(); i++) {
+                final char c = word.charAt(i);
+                if (skip != null && skip.matches(c)) {
+                    continue;
+                }
+                final long key = ((long) node << 16) | normalize(c);
+                Integer next = edges.get(key);
+                if (next == null) {
+                    next = outputList.size();
+                    outputList.add(-1);
+                    edges.put(key, next);
+                }
+                node = next;
+                length++;
+            }
+            if (length == 0 || outputList.get(node) >= 0) {
+                continue;
+            }
+            outputList.set(node, keywordList.size());
+            keywordList.add(word);
+            lengthList.add(length);
+            max = Math.max(max, length);
+        }
+        this.keywords = keywordList.toArray(new String[0]);
+        this.lengths = lengthList.stream().mapToInt(Integer::intValue).toArray();
+        this.maxLength = max;
+
+        // 压缩为按(节点, 字符)排序的边数组
+        final int nodes = outputList.size();
+        final long[] keys = new long[edges.size()];
+        int k = 0;
+        for (Long key : edges.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+        this.edgeStart = new int[nodes + 1];
+        this.edgeChars = new char[keys.length];
+        this.edgeTargets = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            final int from = (int) (keys[i] >>> 16);
+            edgeChars[i] = (char) keys[i];
+            edgeTargets[i] = edges.get(keys[i]);
+            edgeStart[from + 1]++;
+            if (from == ROOT) {
+                firstChars[edgeChars[i] >>> 6] |= 1L << edgeChars[i];
+            }
+        }
+        for (int i = 0; i < nodes; i++) {
+            edgeStart[i + 1] += edgeStart[i];
+        }
+
+        // 广度优先计算失败指针
+        this.output = new int[nodes];
+        this.fail = new int[nodes];
+        this.depth = new int[nodes];
+        this.outputLink = new int[nodes];
+        for (int i = 0; i < nodes; i++) {
+            output[i] = outputList.get(i);
+        }
+        outputLink[ROOT] = -1;
+        final int[] queue = new int[nodes];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = ROOT;
+        while (head < tail) {
+            final int node = queue[head++];
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                final int child = edgeTargets[e];
+                depth[child] = depth[node] + 1;
+                if (node == ROOT) {
+                    fail[child] = ROOT;
+                } else {
+                    fail[child] = next(fail[node], edgeChars[e]);
+                }
+                final int f = fail[child];
+                outputLink[child] = output[f] >= 0 ? f : outputLink[f];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * 使用默认选项（区分大小写、全半角，不跳过字符）构建
+     *
+     * @param words 关键词
+     * @return KeywordMatcher
+     */
+    public static KeywordMatcher of(Collection<String> words) {
+        return builder().build(words);
+    }
+
+    /**
+     * 使用默认选项（区分大小写、全半角，不跳过字符）构建
+     *
+     * @param words 关键词
+     * @return KeywordMatcher
+     */
+    public static KeywordMatcher of(String... words) {
+        return of(Arrays.asList(words));
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @return {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 以相同的选项构建新的词典
+     *
+     * @param words 新的关键词
+     * @return 新的KeywordMatcher，当前实例不变
+     */
+    public KeywordMatcher rebuild(Collection<String> words) {
+        return new Builder().options(this).build(words);
+    }
+
+    /**
+     * @return 关键词数量（去重后）
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * @return 所有关键词（去重后）
+     */
+    public List<String> getKeywords() {
+        return Collections.unmodifiableList(Arrays.asList(keywords));
+    }
+
+    /**
+     * 文本中是否包含任意关键词
+     *
+     * @param text 文本
+     * @return 是否包含
+     */
+    public boolean containsAny(CharSequence text) {
+        if (text == null || keywords.length == 0) {
+            return false;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (skip != null && skip.matches(c)) {
+                continue;
+            }
+            state = next(state, normalize(c));
+            if (output[state] >= 0 || outputLink[state] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 查找所有出现的关键词，包括相互重叠的，按结束位置排序，结束位置相同时较长的在前
+     *
+     * @param text 文本
+     * @return 命中列表
+     */
+    public List<Hit> findAll(CharSequence text) {
+        final List<Hit> hits = new ArrayList<>();
+        if (text == null || keywords.length == 0) {
+            return hits;
+        }
+        final Positions positions = new Positions(maxLength);
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (skip != null && skip.matches(c)) {
+                continue;
+            }
+            positions.add(i);
+            state = next(state, normalize(c));
+            for (int node = output[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                final int index = output[node];
+                hits.add(new Hit(positions.start(lengths[index]), i + 1, keywords[index]));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 查找第一个关键词：起始位置最靠前的，起始位置相同时取最长的
+     *
+     * @param text 文本
+     * @return 命中，没有返回null
+     */
+    public Hit findFirst(CharSequence text) {
+        final Hit[] first = new Hit[1];
+        scan(text, hit -> {
+            first[0] = hit;
+            return false;
+        });
+        return first[0];
+    }
+
+    /**
+     * 查找不重叠的关键词：从左到右，每次取起始位置最靠前、其次最长的关键词，与{@link #replaceAll(CharSequence, Function)}的替换范围一致
+     *
+     * @param text 文本
+     * @return 命中列表
+     */
+    public List<Hit> findAllNonOverlapping(CharSequence text) {
+        final List<Hit> hits = new ArrayList<>();
+        scan(text, hit -> {
+            hits.add(hit);
+            return true;
+        });
+        return hits;
+    }
+
+    /**
+     * 将不重叠的关键词（规则见{@link #findAllNonOverlapping(CharSequence)}）逐字符替换为{@code mask}，
+     * 命中范围内被跳过的字符一并替换
+     *
+     * @param text 文本
+     * @param mask 替换字符，例如{@code '*'}
+     * @return 替换后的文本
+     */
+    public String replaceAll(CharSequence text, char mask) {
+        return replaceAll(text, hit -> {
+            final char[] chars = new char[hit.getEnd() - hit.getStart()];
+            Arrays.fill(chars, mask);
+            return new String(chars);
+        });
+    }
+
+    /**
+     * 将不重叠的关键词（规则见{@link #findAllNonOverlapping(CharSequence)}）替换为函数的返回值
+     *
+     * @param text     文本
+     * @param replacer 根据命中返回替换内容
+     * @return 替换后的文本
+     */
+    public String replaceAll(CharSequence text, Function<Hit, ? extends CharSequence> replacer) {
+        if (text == null) {
+            return null;
+        }
+        final StringBuilder builder = new StringBuilder(text.length());
+        final int[] last = new int[1];
+        scan(text, hit -> {
+            builder.append(text, last[0], hit.getStart()).append(replacer.apply(hit));
+            last[0] = hit.getEnd();
+            return true;
+        });
+        if (last[0] == 0) {
+            return text.toString();
+        }
+        return builder.append(text, last[0], text.length()).toString();
+    }
+
+    /**
+     * 一次扫描选出从左到右不重叠的关键词（最左优先、其次最长）
+     * <p>
+     * 自动机只能在关键词结束时报告命中，因此命中先进入候选队列：当前状态的深度d表示此后的命中起始位置不会早于{@code 已扫描长度 - d}，
+     * 候选中起始位置早于该值的最左最长者即可确定，之后与它重叠的候选全部丢弃。
+     * </p>
+     *
+     * @param consumer 接收确定的命中，返回false停止扫描
+     */
+    private void scan(CharSequence text, HitConsumer consumer) {
+        if (text == null || keywords.length == 0) {
+            return;
+        }
+        final Positions positions = new Positions(maxLength);
+        final Candidates candidates = new Candidates();
+        // 以下位置均为去除跳过字符后的序号
+        int count = 0;
+        int committedEnd = 0;
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (skip != null && skip.matches(c)) {
+                continue;
+            }
+            positions.add(i);
+            count++;
+            state = next(state, normalize(c));
+            for (int node = output[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                final int start = count - lengths[output[node]];
+                if (start >= committedEnd) {
+                    candidates.add(start, count, output[node], i + 1, positions.start(lengths[output[node]]));
+                }
+            }
+            final int horizon = count - depth[state];
+            while (candidates.size > 0) {
+                final int best = candidates.best();
+                if (candidates.starts[best] >= horizon) {
+                    break;
+                }
+                committedEnd = candidates.ends[best];
+                if (!consumer.accept(candidates.hit(best, keywords))) {
+                    return;
+                }
+                candidates.removeBefore(committedEnd);
+            }
+        }
+        while (candidates.size > 0) {
+            final int best = candidates.best();
+            if (!consumer.accept(candidates.hit(best, keywords))) {
+                return;
+            }
+            candidates.removeBefore(candidates.ends[best]);
+        }
+    }
+
+    /**
+     * 状态转移，沿失败指针回退直到找到出边
+     */
+    private int next(int state, char c) {
+        while (true) {
+            if (state == ROOT) {
+                if ((firstChars[c >>> 6] & (1L << c)) == 0) {
+                    return ROOT;
+                }
+                return edgeTargets[Arrays.binarySearch(edgeChars, edgeStart[ROOT], edgeStart[ROOT + 1], c)];
+            }
+            final int e = Arrays.binarySearch(edgeChars, edgeStart[state], edgeStart[state + 1], c);
+            if (e >= 0) {
+                return edgeTargets[e];
+            }
+            state = fail[state];
+        }
+    }
+
+    private char normalize(char c) {
+        if (ignoreWidth) {
+            if (c >= '\uFF01' && c <= '\uFF5E') {
+                c = (char) (c - 0xFEE0);
+            } else if (c == '\u3000') {
+                c = ' ';
+            }
+        }
+        if (ignoreCase) {
+            c = Character.toLowerCase(Character.toUpperCase(c));
+        }
+        return c;
+    }
+
+    @FunctionalInterface
+    private interface HitConsumer {
+        boolean accept(Hit hit);
+    }
+
+    /**
+     * 最近maxLength个有效字符在原文中的位置
+     */
+    private static final class Positions {
+        private final int[] ring;
+        private int count;
+
+        private Positions(int capacity) {
+            this.ring = new int[Math.max(1, capacity)];
+        }
+
+        private void add(int position) {
+            ring[count++ % ring.length] = position;
+        }
+
+        /**
+         * 以最后一个有效字符结尾、长度为length的关键词在原文中的起始位置
+         */
+        private int start(int length) {
+            return ring[(count - length) % ring.length];
+        }
+    }
+
+    /**
+     * 尚未确定的候选命中
+     */
+    private static final class Candidates {
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int[] indexes = new int[8];
+        private int[] textStarts = new int[8];
+        private int[] textEnds = new int[8];
+        private int size;
+
+        private void add(int start, int end, int index, int textEnd, int textStart) {
+            if (size == starts.length) {
+                final int capacity = size << 1;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                indexes = Arrays.copyOf(indexes, capacity);
+                textStarts = Arrays.copyOf(textStarts, capacity);
+                textEnds = Arrays.copyOf(textEnds, capacity);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            indexes[size] = index;
+            textStarts[size] = textStart;
+            textEnds[size] = textEnd;
+            size++;
+        }
+
+        /**
+         * 起始位置最小、其次结束位置最大的候选
+         */
+        private int best() {
+            int best = 0;
+            for (int i = 1; i < size; i++) {
+                if (starts[i] < starts[best] || (starts[i] == starts[best] && ends[i] > ends[best])) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * 移除起始位置在end之前（与已确定命中重叠）的候选
+         */
+        private void removeBefore(int end) {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (starts[i] >= end) {
+                    starts[n] = starts[i];
+                    ends[n] = ends[i];
+                    indexes[n] = indexes[i];
+                    textStarts[n] = textStarts[i];
+                    textEnds[n] = textEnds[i];
+                    n++;
+                }
+            }
+            size = n;
+        }
+
+        private Hit hit(int i, String[] keywords) {
+            return new Hit(textStarts[i], textEnds[i], keywords[indexes[i]]);
+        }
+    }
+
+    /**
+     * 一次命中
+     */
+    public static final class Hit {
+        private final int start;
+        private final int end;
+        private final String keyword;
+
+        private Hit(int start, int end, String keyword) {
+            this.start = start;
+            this.end = end;
+            this.keyword = keyword;
+        }
+
+        /**
+         * @return 命中在原文中的起始位置（包含）
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * @return 命中在原文中的结束位置（不包含）
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * @return 命中的关键词（词典中的原文）
+         */
+        public String getKeyword() {
+            return keyword;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Hit)) {
+                return false;
+            }
+            final Hit hit = (Hit) o;
+            return start == hit.start && end == hit.end && keyword.equals(hit.keyword);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * start + end) * 31 + keyword.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return keyword + "[" + start + ", " + end + ")";
+        }
+    }
+
+    /**
+     * {@link KeywordMatcher}构建器
+     */
+    public static final class Builder {
+        private boolean ignoreCase;
+        private boolean ignoreWidth;
+        private CharMatcher skip;
+
+        private Builder() {
+        }
+
+        private Builder options(KeywordMatcher matcher) {
+            this.ignoreCase = matcher.ignoreCase;
+            this.ignoreWidth = matcher.ignoreWidth;
+            this.skip = matcher.skip;
+            return this;
+        }
+
+        /**
+         * 忽略大小写
+         *
+         * @return this
+         */
+        public Builder ignoreCase() {
+            this.ignoreCase = true;
+            return this;
+        }
+
+        /**
+         * 忽略全角/半角，全角ASCII字符（U+FF01 - U+FF5E）及全角空格视同对应的半角字符
+         *
+         * @return this
+         */
+        public Builder ignoreWidth() {
+            this.ignoreWidth = true;
+            return this;
+        }
+
+        /**
+         * 匹配时跳过的字符，关键词和文本中的这些字符都不参与匹配，例如{@code CharMatcher.whitespace()}。
+         * 会被频繁调用，建议传入{@link CharMatcher#precomputed()}后的实例
+         *
+         * @param skip 跳过的字符
+         * @return this
+         */
+        public Builder skip(CharMatcher skip) {
+            this.skip = skip;
+            return this;
+        }
+
+        /**
+         * 构建
+         *
+         * @param words 关键词，null及归一化后为空的关键词被忽略
+         * @return KeywordMatcher
+         */
+        public KeywordMatcher build(Collection<String> words) {
+            return new KeywordMatcher(this, words);
+        }
+
+        /**
+         * 构建
+         *
+         * @param words 关键词，null及归一化后为空的关键词被忽略
+         * @return KeywordMatcher
+         */
+        public KeywordMatcher build(String... words) {
+            return build(Arrays.asList(words));
+        }
+    }
+}
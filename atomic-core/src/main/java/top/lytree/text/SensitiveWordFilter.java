@@ -0,0 +1,91 @@
+package top.lytree.text;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 敏感词过滤，词典可在运行中整体替换
+ * <p>
+ * 新词典在调用{@link #reload(Collection)}的线程中构建完成后才一次性替换，替换前后的调用分别完整地使用旧、新词典，
+ * 不会看到构建了一半的自动机，也不需要加锁。
+ * </p>
+ *
+ * @author pride
+ */
+public class SensitiveWordFilter {
+
+    /**
+     * 默认的替换字符
+     */
+    public static final char DEFAULT_MASK = '*';
+
+    private volatile KeywordMatcher matcher;
+    private final char mask;
+
+    /**
+     * 构造，使用{@link #DEFAULT_MASK}替换
+     *
+     * @param matcher 初始词典，其选项（大小写、全半角、跳过字符）在重新加载时沿用
+     */
+    public SensitiveWordFilter(KeywordMatcher matcher) {
+        this(matcher, DEFAULT_MASK);
+    }
+
+    /**
+     * 构造
+     *
+     * @param matcher 初始词典，其选项（大小写、全半角、跳过字符）在重新加载时沿用
+     * @param mask    替换字符
+     */
+    public SensitiveWordFilter(KeywordMatcher matcher, char mask) {
+        this.matcher = matcher;
+        this.mask = mask;
+    }
+
+    /**
+     * 以新的词典替换当前词典
+     *
+     * @param words 敏感词
+     */
+    public void reload(Collection<String> words) {
+        final KeywordMatcher rebuilt = matcher.rebuild(words);
+        matcher = rebuilt;
+    }
+
+    /**
+     * @return 当前词典
+     */
+    public KeywordMatcher getMatcher() {
+        return matcher;
+    }
+
+    /**
+     * 是否包含敏感词
+     *
+     * @param text 文本
+     * @return 是否包含
+     */
+    public boolean contains(CharSequence text) {
+        return matcher.containsAny(text);
+    }
+
+    /**
+     * 查找文本中的敏感词（不重叠）
+     *
+     * @param text 文本
+     * @return 命中列表
+     */
+    public List<KeywordMatcher.Hit> find(CharSequence text) {
+        return matcher.findAllNonOverlapping(text);
+    }
+
+    /**
+     * 将敏感词逐字符替换为替换字符
+     *
+     * @param text 文本
+     * @return 过滤后的文本
+     */
+    public String filter(CharSequence text) {
+        return matcher.replaceAll(text, mask);
+    }
+}
@@ -1,10 +1,26 @@
 package top.lytree.text;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public final class StringFormatter {
 
+    /**
+     * Maximum number of cached templates
+     */
+    static final int CACHE_LIMIT = 1024;
+    /**
+     * Patterns longer than this are not cached
+     */
+    static final int CACHEABLE_LENGTH = 512;
+
+    private static final ConcurrentMap<String, Template> CACHE = new ConcurrentHashMap<>(64);
+
     static final char DELIM_START = '{';
     static final char DELIM_STOP = '}';
     static final String DELIM_STR = "{}";
@@ -54,60 +70,214 @@ public final class StringFormatter {
         return arrayFormat(messagePattern, argArray);
     }
 
+    /**
+     * Substitutes the arguments into the pattern and appends the result to {@code out}.
+     * <p>
+     * The pattern is compiled once and cached, see {@link #compile(String)}. When {@code out} is a
+     * {@link StringBuilder} the result is written directly, otherwise it is built in a local buffer sized from the
+     * pattern and appended in one call. No buffer is shared, so an argument whose {@code toString()} formats again
+     * on the same thread cannot corrupt the outer result.
+     *
+     * @param out            The target
+     * @param messagePattern The message pattern which will be parsed and formatted
+     * @param argArray       The arguments to be substituted in place of the formatting anchors
+     * @param <A>            The target type
+     * @return {@code out}
+     * @throws UncheckedIOException If {@code out} throws an {@link IOException}
+     */
+    public static <A extends Appendable> A formatTo(final A out, final String messagePattern, final Object... argArray) {
+        return compile(messagePattern).formatTo(out, argArray);
+    }
+
+    /**
+     * Returns the compiled form of the pattern. Compiled templates are immutable and cached by pattern, so repeated
+     * formatting skips the {@code {}} search and escape checks.
+     * <p>
+     * At most {@value #CACHE_LIMIT} patterns no longer than {@value #CACHEABLE_LENGTH} characters are cached; other
+     * patterns are compiled on every call.
+     *
+     * @param messagePattern The message pattern, {@code null} is treated as an empty pattern
+     * @return The compiled template
+     */
+    public static Template compile(final String messagePattern) {
+        if (messagePattern == null) {
+            return Template.EMPTY;
+        }
+        Template template = CACHE.get(messagePattern);
+        if (template == null) {
+            template = new Template(messagePattern);
+            if (messagePattern.length() <= CACHEABLE_LENGTH && CACHE.size() < CACHE_LIMIT) {
+                CACHE.putIfAbsent(messagePattern, template);
+            }
+        }
+        return template;
+    }
+
     private static String arrayFormat(final String messagePattern, final Object[] argArray) {
         if (messagePattern == null) {
             return "";
         }
-
-        if (argArray == null) {
+        if (argArray == null || argArray.length == 0) {
             return messagePattern;
         }
+        return compile(messagePattern).format(argArray);
+    }
+
+    /**
+     * A compiled message pattern.
+     * <p>
+     * The pattern is scanned once for anchors. Every anchor is recorded with the offsets of the literal text that
+     * precedes it, so formatting only copies ranges of the original pattern and appends the arguments. The output is
+     * identical to scanning the pattern on each call, including the argument-count dependent handling of escaped
+     * anchors.
+     */
+    public static final class Template {
 
-        int i = 0;
-        int j;
-        // use string builder for better multicore performance
-        StringBuilder sbuf = new StringBuilder(messagePattern.length() + 50);
+        static final Template EMPTY = new Template("");
 
-        int L;
-        for (L = 0; L < argArray.length; L++) {
+        /**
+         * Anchor kinds
+         */
+        private static final byte ANCHOR = 0;
+        private static final byte ESCAPED = 1;
 
-            j = messagePattern.indexOf(DELIM_STR, i);
+        private final String pattern;
+        private final byte[] kinds;
+        /**
+         * Literal text before each anchor is {@code pattern[literalStart[k], literalEnd[k])}
+         */
+        private final int[] literalStart;
+        private final int[] literalEnd;
+        /**
+         * Position in the pattern after the anchor
+         */
+        private final int[] resume;
+        private final int anchorCount;
 
-            if (j == -1) {
-                // no more variables
-                if (i == 0) { // this is a simple string
-                    return messagePattern;
-                } else { // add the tail string which contains no variables and return
-                    // the result.
-                    sbuf.append(messagePattern, i, messagePattern.length());
-                    return sbuf.toString();
-                }
-            } else {
-                if (isEscapedDelimeter(messagePattern, j)) {
-                    if (!isDoubleEscaped(messagePattern, j)) {
-                        L--; // DELIM_START was escaped, thus should not be incremented
-                        sbuf.append(messagePattern, i, j - 1);
-                        sbuf.append(DELIM_START);
+        Template(final String pattern) {
+            this.pattern = pattern;
+            int count = 0;
+            for (int j = pattern.indexOf(DELIM_STR); j != -1; j = pattern.indexOf(DELIM_STR, j + 1)) {
+                count++;
+            }
+            final byte[] kinds = new byte[count];
+            final int[] literalStart = new int[count];
+            final int[] literalEnd = new int[count];
+            final int[] resume = new int[count];
+            int anchors = 0;
+            int i = 0;
+            int k = 0;
+            for (int j = pattern.indexOf(DELIM_STR); j != -1; j = pattern.indexOf(DELIM_STR, i)) {
+                literalStart[k] = i;
+                if (isEscapedDelimeter(pattern, j)) {
+                    literalEnd[k] = j - 1;
+                    if (!isDoubleEscaped(pattern, j)) {
+                        kinds[k] = ESCAPED;
                         i = j + 1;
                     } else {
-                        // The escape character preceding the delimiter start is
-                        // itself escaped: "abc x:\\{}"
-                        // we have to consume one backward slash
-                        sbuf.append(messagePattern, i, j - 1);
-                        deeplyAppendParameter(sbuf, argArray[L], new HashMap<Object[], Object>());
+                        kinds[k] = ANCHOR;
+                        anchors++;
                         i = j + 2;
                     }
                 } else {
-                    // normal case
-                    sbuf.append(messagePattern, i, j);
-                    deeplyAppendParameter(sbuf, argArray[L], new HashMap<Object[], Object>());
+                    kinds[k] = ANCHOR;
+                    anchors++;
+                    literalEnd[k] = j;
                     i = j + 2;
                 }
+                resume[k] = i;
+                k++;
+            }
+            this.kinds = k == count ? kinds : Arrays.copyOf(kinds, k);
+            this.literalStart = literalStart;
+            this.literalEnd = literalEnd;
+            this.resume = resume;
+            this.anchorCount = anchors;
+        }
+
+        /**
+         * The source pattern
+         *
+         * @return The pattern
+         */
+        public String getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Number of anchors that consume an argument
+         *
+         * @return The anchor count
+         */
+        public int getAnchorCount() {
+            return anchorCount;
+        }
+
+        /**
+         * Substitutes the arguments into the template.
+         *
+         * @param argArray The arguments
+         * @return The formatted message
+         */
+        public String format(final Object... argArray) {
+            if (argArray == null || argArray.length == 0 || kinds.length == 0) {
+                return pattern;
+            }
+            final StringBuilder sbuf = new StringBuilder(pattern.length() + 50);
+            appendTo(sbuf, argArray);
+            return sbuf.toString();
+        }
+
+        /**
+         * Substitutes the arguments into the template and appends the result to {@code out}.
+         *
+         * @param out      The target
+         * @param argArray The arguments
+         * @param <A>      The target type
+         * @return {@code out}
+         * @throws UncheckedIOException If {@code out} throws an {@link IOException}
+         */
+        public <A extends Appendable> A formatTo(final A out, final Object... argArray) {
+            if (out instanceof StringBuilder) {
+                appendTo((StringBuilder) out, argArray);
+                return out;
+            }
+            // a local buffer rather than a per-thread one: argument toString() may format re-entrantly
+            final StringBuilder sbuf = new StringBuilder(pattern.length() + 50);
+            appendTo(sbuf, argArray);
+            try {
+                out.append(sbuf);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out;
+        }
+
+        private void appendTo(final StringBuilder sbuf, final Object[] argArray) {
+            if (argArray == null || argArray.length == 0) {
+                sbuf.append(pattern);
+                return;
+            }
+            int i = 0;
+            int L = 0;
+            for (int k = 0; k < kinds.length && L < argArray.length; k++) {
+                sbuf.append(pattern, literalStart[k], literalEnd[k]);
+                if (kinds[k] == ESCAPED) {
+                    // DELIM_START was escaped, the argument is kept for the next anchor
+                    sbuf.append(DELIM_START);
+                } else {
+                    deeplyAppendParameter(sbuf, argArray[L++], null);
+                }
+                i = resume[k];
             }
+            // append the characters following the last {} pair.
+            sbuf.append(pattern, i, pattern.length());
+        }
+
+        @Override
+        public String toString() {
+            return pattern;
         }
-        // append the characters following the last {} pair.
-        sbuf.append(messagePattern, i, messagePattern.length());
-        return sbuf.toString();
     }
 
     static boolean isEscapedDelimeter(String messagePattern, int delimeterStartIndex) {
@@ -137,6 +307,10 @@ public final class StringFormatter {
             sbuf.append("null");
             return;
         }
+        if (o instanceof String) {
+            sbuf.append((String) o);
+            return;
+        }
         if (!o.getClass().isArray()) {
             safeObjectAppend(sbuf, o);
         } else {
@@ -173,8 +347,14 @@ public final class StringFormatter {
         }
     }
 
+    /**
+     * @param seenMap arrays on the current path, created on the first nested array, may be {@code null}
+     */
     private static void objectArrayAppend(StringBuilder sbuf, Object[] a, Map<Object[], Object> seenMap) {
         sbuf.append('[');
+        if (seenMap == null) {
+            seenMap = new HashMap<>();
+        }
         if (!seenMap.containsKey(a)) {
             seenMap.put(a, null);
             final int len = a.length;
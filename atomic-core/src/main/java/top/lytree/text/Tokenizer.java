@@ -0,0 +1,517 @@
+package top.lytree.text;
+
+import java.util.Objects;
+
+import top.lytree.pattern.CharMatcher;
+import top.lytree.utils.Assert;
+
+/**
+ * 不复制字符的切分器，切分结果以原文中的位置表示
+ * <p>
+ * 与{@link top.lytree.lang.StringUtils#split(String, String)}等返回{@code String[]}的方法不同，本类不为每个片段创建字符串：
+ * <ul>
+ *     <li>{@link #tokenize(CharSequence)}返回可重复前移的{@link Cursor}，它本身就是当前片段的{@link CharSequence}视图，
+ *     可直接{@link Cursor#parseInt()}、{@link Cursor#contentEquals(CharSequence)}，需要时才{@link Cursor#toString()}；</li>
+ *     <li>{@link #split(CharSequence, int[])}把每个片段的[开始, 结束)位置对写入调用方复用的{@code int[]}。</li>
+ * </ul>
+ * 分隔符可以是单个字符、多个字符组成的字符串或{@link CharMatcher}；{@link #csv(char)}模式下双引号内的分隔符不切分，
+ * 两个连续双引号表示一个双引号字符（RFC 4180）。
+ * </p>
+ * <p>
+ * 默认保留所有片段，n个分隔符得到n+1个片段（空字符串输入没有片段）；{@link #omitEmpty()}忽略空片段，
+ * 此时相邻分隔符视为一个，与{@code StringUtils.split}一致。实例不可变，可在多线程间共享，{@link Cursor}不可共享。
+ * </p>
+ *
+ * <pre>
+ * Tokenizer.Cursor cursor = Tokenizer.on(',').tokenize(line);
+ * while (cursor.next()) {
+ *     sum += cursor.parseLong();
+ * }
+ * </pre>
+ *
+ * @author pride
+ */
+public final class Tokenizer {
+
+    private static final int CHAR = 0;
+    private static final int STRING = 1;
+    private static final int MATCHER = 2;
+    private static final int CSV = 3;
+
+    private static final char QUOTE = '"';
+
+    private final int mode;
+    private final char separatorChar;
+    private final String separator;
+    private final CharMatcher matcher;
+    private final boolean omitEmpty;
+
+    private Tokenizer(int mode, char separatorChar, String separator, CharMatcher matcher, boolean omitEmpty) {
+        this.mode = mode;
+        this.separatorChar = separatorChar;
+        this.separator = separator;
+        this.matcher = matcher;
+        this.omitEmpty = omitEmpty;
+    }
+
+    /**
+     * 以单个字符切分
+     *
+     * @param separator 分隔字符
+     * @return 切分器
+     */
+    public static Tokenizer on(char separator) {
+        return new Tokenizer(CHAR, separator, null, null, false);
+    }
+
+    /**
+     * 以字符串整体切分
+     *
+     * @param separator 分隔字符串，不能为空
+     * @return 切分器
+     */
+    public static Tokenizer on(String separator) {
+        Assert.notEmpty(separator, "Separator must not be empty");
+        if (separator.length() == 1) {
+            return on(separator.charAt(0));
+        }
+        return new Tokenizer(STRING, '\0', separator, null, false);
+    }
+
+    /**
+     * 以匹配的任一字符切分，匹配器会被{@link CharMatcher#precomputed() 预计算}
+     *
+     * @param separator 分隔字符匹配器
+     * @return 切分器
+     */
+    public static Tokenizer on(CharMatcher separator) {
+        Assert.notNull(separator, "Separator must not be null");
+        return new Tokenizer(MATCHER, '\0', null, separator.precomputed(), false);
+    }
+
+    /**
+     * 以逗号切分的CSV记录
+     *
+     * @return 切分器
+     */
+    public static Tokenizer csv() {
+        return csv(',');
+    }
+
+    /**
+     * 以指定字符切分的CSV记录，双引号内的分隔符不切分
+     * <p>
+     * 加引号的片段位置不含两侧引号；片段中转义的双引号在位置上仍是两个字符，
+     * 可通过{@link Cursor#isEscaped()}判断，{@link Cursor#toString()}返回去除转义后的值。
+     * 引号只在片段开头时才起作用，未闭合的引号视为一直延续到输入末尾。
+     * </p>
+     *
+     * @param delimiter 分隔字符，不能是双引号
+     * @return 切分器
+     */
+    public static Tokenizer csv(char delimiter) {
+        Assert.isTrue(delimiter != QUOTE, "Delimiter must not be a quote");
+        return new Tokenizer(CSV, delimiter, null, null, false);
+    }
+
+    /**
+     * 忽略空片段，相邻的分隔符视为一个；{@link #csv(char)}模式下加引号的空片段（{@code ""}）同样忽略
+     *
+     * @return 新的切分器
+     */
+    public Tokenizer omitEmpty() {
+        return omitEmpty ? this : new Tokenizer(mode, separatorChar, separator, matcher, true);
+    }
+
+    /**
+     * 开始切分
+     *
+     * @param input 输入，切分期间不能修改
+     * @return 位于第一个片段之前的游标
+     */
+    public Cursor tokenize(CharSequence input) {
+        Assert.notNull(input, "Input must not be null");
+        return new Cursor(this, input);
+    }
+
+    /**
+     * 切分并将每个片段的开始、结束位置依次写入{@code bounds}：第i个片段为[bounds[2i], bounds[2i + 1])
+     * <p>
+     * 返回值总是片段总数；数组放不下时只写入能放下的部分，调用方可按{@code 2 * 返回值}扩容后重试。
+     * </p>
+     *
+     * @param input  输入
+     * @param bounds 复用的位置数组
+     * @return 片段总数
+     */
+    public int split(CharSequence input, int[] bounds) {
+        final Cursor cursor = tokenize(input);
+        int count = 0;
+        while (cursor.next()) {
+            final int i = count << 1;
+            if (i + 1 < bounds.length) {
+                bounds[i] = cursor.start;
+                bounds[i + 1] = cursor.end;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 统计片段数量
+     *
+     * @param input 输入
+     * @return 片段数量
+     */
+    public int count(CharSequence input) {
+        final Cursor cursor = tokenize(input);
+        int count = 0;
+        while (cursor.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 切分游标，同时是当前片段的{@link CharSequence}视图
+     * <p>
+     * 调用{@link #next()}后视图内容随之改变，需要保留时使用{@link #slice()}或{@link #toString()}。
+     * CSV模式下包含转义双引号的片段，所有{@link CharSequence}方法及{@link #contentEquals}、{@link #slice()}、解析方法都作用于去除转义后的内容，
+     * 首次访问时去除转义写入游标复用的缓冲区；此时{@link #start()}、{@link #end()}仍是原文中的位置，{@link #length()}可能小于两者之差。
+     * </p>
+     */
+    public static final class Cursor implements CharSequence {
+
+        private final Tokenizer tokenizer;
+        private final CharSequence input;
+        private final int length;
+        /**
+         * 下一个片段的开始位置，大于length表示已结束
+         */
+        private int position;
+        private int start;
+        private int end;
+        private boolean escaped;
+        /**
+         * 去除转义后的当前片段，只在{@link #escaped}时使用，各片段复用
+         */
+        private StringBuilder buffer;
+        /**
+         * {@link #buffer}是否已是当前片段的内容
+         */
+        private boolean buffered;
+
+        private Cursor(Tokenizer tokenizer, CharSequence input) {
+            this.tokenizer = tokenizer;
+            this.input = input;
+            this.length = input.length();
+            this.position = length == 0 ? 1 : 0;
+            this.start = -1;
+            this.end = -1;
+        }
+
+        /**
+         * 前移到下一个片段
+         *
+         * @return 是否还有片段
+         */
+        public boolean next() {
+            while (position <= length) {
+                final int from = position;
+                escaped = false;
+                buffered = false;
+                final int sep;
+                final int sepLength;
+                switch (tokenizer.mode) {
+                    case CHAR -> {
+                        sep = indexOf(tokenizer.separatorChar, from);
+                        sepLength = 1;
+                    }
+                    case STRING -> {
+                        sep = indexOf(tokenizer.separator, from);
+                        sepLength = tokenizer.separator.length();
+                    }
+                    case MATCHER -> {
+                        sep = tokenizer.matcher.indexIn(input, from);
+                        sepLength = 1;
+                    }
+                    default -> {
+                        if (from < length && input.charAt(from) == QUOTE) {
+                            scanQuoted(from);
+                            if (end > start || !tokenizer.omitEmpty) {
+                                return true;
+                            }
+                            continue;
+                        }
+                        sep = indexOf(tokenizer.separatorChar, from);
+                        sepLength = 1;
+                    }
+                }
+                start = from;
+                if (sep < 0) {
+                    end = length;
+                    position = length + 1;
+                } else {
+                    end = sep;
+                    position = sep + sepLength;
+                }
+                if (end > start || !tokenizer.omitEmpty) {
+                    return true;
+                }
+            }
+            start = end = -1;
+            return false;
+        }
+
+        private void scanQuoted(int from) {
+            int i = from + 1;
+            start = i;
+            while (i < length) {
+                if (input.charAt(i) == QUOTE) {
+                    if (i + 1 < length && input.charAt(i + 1) == QUOTE) {
+                        escaped = true;
+                        i += 2;
+                        continue;
+                    }
+                    break;
+                }
+                i++;
+            }
+            end = Math.min(i, length);
+            // 闭合引号之后到下一个分隔符之间的内容丢弃
+            final int sep = indexOf(tokenizer.separatorChar, Math.min(i + 1, length));
+            position = sep < 0 ? length + 1 : sep + 1;
+        }
+
+        private int indexOf(char c, int from) {
+            if (input instanceof String) {
+                return ((String) input).indexOf(c, from);
+            }
+            for (int i = from; i < length; i++) {
+                if (input.charAt(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int indexOf(String s, int from) {
+            if (input instanceof String) {
+                return ((String) input).indexOf(s, from);
+            }
+            final char first = s.charAt(0);
+            final int max = length - s.length();
+            outer:
+            for (int i = from; i <= max; i++) {
+                if (input.charAt(i) != first) {
+                    continue;
+                }
+                for (int j = 1; j < s.length(); j++) {
+                    if (input.charAt(i + j) != s.charAt(j)) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+
+        /**
+         * @return 当前片段在输入中的开始位置（包含）
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * @return 当前片段在输入中的结束位置（不包含）
+         */
+        public int end() {
+            return end;
+        }
+
+        /**
+         * @return CSV模式下当前片段是否包含转义的双引号
+         */
+        public boolean isEscaped() {
+            return escaped;
+        }
+
+        @Override
+        public int length() {
+            return escaped ? unescaped().length() : end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (escaped) {
+                final StringBuilder chars = unescaped();
+                Assert.checkIndex(index, chars.length());
+                return chars.charAt(index);
+            }
+            Assert.checkIndex(index, end - start);
+            return input.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (escaped) {
+                final StringBuilder chars = unescaped();
+                Objects.checkFromToIndex(from, to, chars.length());
+                return chars.substring(from, to);
+            }
+            Objects.checkFromToIndex(from, to, end - start);
+            return new Slice(input, start + from, start + to);
+        }
+
+        /**
+         * 当前片段的不可变视图，不复制字符；CSV模式下包含转义双引号时返回去除转义后的字符串
+         *
+         * @return 视图
+         */
+        public CharSequence slice() {
+            return escaped ? unescaped().toString() : new Slice(input, start, end);
+        }
+
+        /**
+         * 当前片段是否与给定内容相同，CSV模式下与去除转义后的内容比较
+         *
+         * @param content 内容
+         * @return 是否相同
+         */
+        public boolean contentEquals(CharSequence content) {
+            final CharSequence chars = escaped ? unescaped() : input;
+            final int from = escaped ? 0 : start;
+            final int len = escaped ? chars.length() : end - start;
+            if (content.length() != len) {
+                return false;
+            }
+            for (int i = 0; i < len; i++) {
+                if (chars.charAt(from + i) != content.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 将当前片段按十进制解析为int，不创建字符串
+         *
+         * @return 值
+         * @throws NumberFormatException 片段不是合法的int
+         */
+        public int parseInt() {
+            return parseInt(10);
+        }
+
+        /**
+         * 将当前片段按指定进制解析为int，不创建字符串
+         *
+         * @param radix 进制
+         * @return 值
+         * @throws NumberFormatException 片段不是合法的int
+         */
+        public int parseInt(int radix) {
+            if (escaped) {
+                final StringBuilder chars = unescaped();
+                return Integer.parseInt(chars, 0, chars.length(), radix);
+            }
+            return Integer.parseInt(input, start, end, radix);
+        }
+
+        /**
+         * 将当前片段按十进制解析为long，不创建字符串
+         *
+         * @return 值
+         * @throws NumberFormatException 片段不是合法的long
+         */
+        public long parseLong() {
+            if (escaped) {
+                final StringBuilder chars = unescaped();
+                return Long.parseLong(chars, 0, chars.length(), 10);
+            }
+            return Long.parseLong(input, start, end, 10);
+        }
+
+        /**
+         * 将当前片段解析为double
+         *
+         * @return 值
+         * @throws NumberFormatException 片段不是合法的double
+         */
+        public double parseDouble() {
+            return Double.parseDouble(toString());
+        }
+
+        /**
+         * @return 当前片段的字符串，CSV模式下去除引号转义
+         */
+        @Override
+        public String toString() {
+            return escaped ? unescaped().toString() : input.subSequence(start, end).toString();
+        }
+
+        /**
+         * 去除当前片段中的双引号转义，结果写入复用的缓冲区，同一片段只处理一次
+         *
+         * @return 缓冲区
+         */
+        private StringBuilder unescaped() {
+            if (!buffered) {
+                if (buffer == null) {
+                    buffer = new StringBuilder(end - start);
+                } else {
+                    buffer.setLength(0);
+                }
+                for (int i = start; i < end; i++) {
+                    final char c = input.charAt(i);
+                    buffer.append(c);
+                    if (c == QUOTE) {
+                        i++;
+                    }
+                }
+                buffered = true;
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * 输入中一段区间的只读视图
+     */
+    private static final class Slice implements CharSequence {
+
+        private final CharSequence input;
+        private final int start;
+        private final int end;
+
+        private Slice(CharSequence input, int start, int end) {
+            this.input = input;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            Assert.checkIndex(index, end - start);
+            return input.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            Objects.checkFromToIndex(from, to, end - start);
+            return new Slice(input, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return input.subSequence(start, end).toString();
+        }
+    }
+}
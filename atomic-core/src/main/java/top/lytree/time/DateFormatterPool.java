@@ -0,0 +1,134 @@
+package top.lytree.time;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link DateTimeFormatter}池，按（格式, {@link Locale}, {@link ZoneId}）缓存
+ * <p>
+ * {@link DateTimeFormatter#ofPattern(String)}每次都要解析格式字符串、构建打印解析器链，
+ * 而{@link DateTimeFormatter}本身不可变且线程安全，按格式字符串取格式化器的地方都应从池中获取。
+ * {@link DatePattern}中的格式化器在类加载时即登记入池，以对应的格式取到的就是同一实例。
+ * </p>
+ * <p>
+ * 池中最多缓存{@value #CACHE_LIMIT}个格式化器，超出后新的格式照常构建但不再入池，
+ * 因此也可用于用户提交的格式；格式非法时抛出{@link IllegalArgumentException}，不会入池。
+ * </p>
+ *
+ * @author pride
+ */
+public final class DateFormatterPool {
+
+    /**
+     * 缓存的格式化器数量上限
+     */
+    static final int CACHE_LIMIT = 512;
+
+    private static final ConcurrentMap<Key, DateTimeFormatter> POOL = new ConcurrentHashMap<>(64);
+
+    static {
+        registerDatePatterns();
+    }
+
+    private DateFormatterPool() {
+    }
+
+    /**
+     * 登记{@link DatePattern}中预先构建的格式化器
+     */
+    private static void registerDatePatterns() {
+        register(DatePattern.NORM_MONTH_PATTERN, DatePattern.NORM_MONTH_FORMATTER);
+        register(DatePattern.SIMPLE_MONTH_PATTERN, DatePattern.SIMPLE_MONTH_FORMATTER);
+        register(DatePattern.NORM_DATE_PATTERN, DatePattern.NORM_DATE_FORMATTER);
+        register(DatePattern.NORM_TIME_PATTERN, DatePattern.NORM_TIME_FORMATTER);
+        register(DatePattern.NORM_DATETIME_MINUTE_PATTERN, DatePattern.NORM_DATETIME_MINUTE_FORMATTER);
+        register(DatePattern.NORM_DATETIME_PATTERN, DatePattern.NORM_DATETIME_FORMATTER);
+        register(DatePattern.NORM_DATETIME_MS_PATTERN, DatePattern.NORM_DATETIME_MS_FORMATTER);
+        register(DatePattern.ISO8601_PATTERN, DatePattern.ISO8601_FORMATTER);
+        register(DatePattern.CHINESE_DATE_PATTERN, DatePattern.CHINESE_DATE_FORMATTER);
+        register(DatePattern.CHINESE_DATE_TIME_PATTERN, DatePattern.CHINESE_DATE_TIME_FORMATTER);
+        register(DatePattern.PURE_DATE_PATTERN, DatePattern.PURE_DATE_FORMATTER);
+        register(DatePattern.PURE_TIME_PATTERN, DatePattern.PURE_TIME_FORMATTER);
+        register(DatePattern.PURE_DATETIME_PATTERN, DatePattern.PURE_DATETIME_FORMATTER);
+        register(DatePattern.PURE_DATETIME_MS_PATTERN, DatePattern.PURE_DATETIME_MS_FORMATTER);
+        register(DatePattern.HTTP_DATETIME_PATTERN, DatePattern.HTTP_DATETIME_FORMATTER);
+        register(DatePattern.JDK_DATETIME_PATTERN, DatePattern.JDK_DATETIME_FORMATTER);
+        register(DatePattern.UTC_SIMPLE_PATTERN, DatePattern.UTC_SIMPLE_FORMATTER);
+        register(DatePattern.UTC_PATTERN, DatePattern.UTC_FORMATTER);
+        register(DatePattern.UTC_WITH_ZONE_OFFSET_PATTERN, DatePattern.UTC_WITH_ZONE_OFFSET_FORMATTER);
+        register(DatePattern.UTC_MS_PATTERN, DatePattern.UTC_MS_FORMATTER);
+        register(DatePattern.UTC_MS_WITH_ZONE_OFFSET_PATTERN, DatePattern.UTC_MS_WITH_ZONE_OFFSET_FORMATTER);
+    }
+
+    /**
+     * 获取格式对应的格式化器，使用默认{@link Locale}（{@link Locale.Category#FORMAT}），不指定时区，
+     * 与{@link DateTimeFormatter#ofPattern(String)}等价
+     *
+     * @param pattern 日期格式，如{@link DatePattern#NORM_DATETIME_PATTERN}
+     * @return {@link DateTimeFormatter}
+     * @throws IllegalArgumentException 格式非法
+     */
+    public static DateTimeFormatter get(String pattern) {
+        return get(pattern, Locale.getDefault(Locale.Category.FORMAT), null);
+    }
+
+    /**
+     * 获取格式对应的格式化器，不指定时区，与{@link DateTimeFormatter#ofPattern(String, Locale)}等价
+     *
+     * @param pattern 日期格式
+     * @param locale  {@link Locale}
+     * @return {@link DateTimeFormatter}
+     * @throws IllegalArgumentException 格式非法
+     */
+    public static DateTimeFormatter get(String pattern, Locale locale) {
+        return get(pattern, locale, null);
+    }
+
+    /**
+     * 获取格式对应的格式化器，等价于{@code DateTimeFormatter.ofPattern(pattern, locale).withZone(zone)}
+     *
+     * @param pattern 日期格式
+     * @param locale  {@link Locale}
+     * @param zone    格式化、解析时使用的时区，{@code null}表示不指定
+     * @return {@link DateTimeFormatter}
+     * @throws IllegalArgumentException 格式非法
+     */
+    public static DateTimeFormatter get(String pattern, Locale locale, ZoneId zone) {
+        final Key key = new Key(pattern, locale, zone);
+        final DateTimeFormatter cached = POOL.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern, locale).withZone(zone);
+        if (POOL.size() >= CACHE_LIMIT) {
+            return formatter;
+        }
+        final DateTimeFormatter existing = POOL.putIfAbsent(key, formatter);
+        return existing == null ? formatter : existing;
+    }
+
+    /**
+     * @return 当前缓存的格式化器数量
+     */
+    public static int size() {
+        return POOL.size();
+    }
+
+    /**
+     * 清空缓存池，只保留{@link DatePattern}中的格式化器
+     */
+    static void clear() {
+        POOL.clear();
+        registerDatePatterns();
+    }
+
+    private static void register(String pattern, DateTimeFormatter formatter) {
+        POOL.put(new Key(pattern, formatter.getLocale(), formatter.getZone()), formatter);
+    }
+
+    private record Key(String pattern, Locale locale, ZoneId zone) {
+    }
+}
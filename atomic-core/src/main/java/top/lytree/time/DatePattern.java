@@ -2,10 +2,15 @@ package top.lytree.time;
 
 
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.regex.Pattern;
 
 /**
  * 日期格式化类，提供常用的日期格式化对象
+ * <p>
+ * 每个格式都有预先构建的{@link DateTimeFormatter}，并登记在{@link DateFormatterPool}中，
+ * 以相同的格式和{@link Locale}从池中取到的就是这里的实例（HTTP、JDK格式为{@link Locale#US}，其余为默认Locale）。
+ * </p>
  *
  * @author Looly
  */
@@ -65,11 +70,19 @@ public class DatePattern {
      * 标准时间格式：HH:mm:ss
      */
     public static final String NORM_TIME_PATTERN = "HH:mm:ss";
+    /**
+     * 标准时间格式 {@link DateTimeFormatter}：HH:mm:ss
+     */
+    public static final DateTimeFormatter NORM_TIME_FORMATTER = DateTimeFormatter.ofPattern(NORM_TIME_PATTERN);
 
     /**
      * 标准日期时间格式，精确到分：yyyy-MM-dd HH:mm
      */
     public static final String NORM_DATETIME_MINUTE_PATTERN = "yyyy-MM-dd HH:mm";
+    /**
+     * 标准日期时间格式，精确到分 {@link DateTimeFormatter}：yyyy-MM-dd HH:mm
+     */
+    public static final DateTimeFormatter NORM_DATETIME_MINUTE_FORMATTER = DateTimeFormatter.ofPattern(NORM_DATETIME_MINUTE_PATTERN);
     /**
      * 标准日期时间格式，精确到秒：yyyy-MM-dd HH:mm:ss
      */
@@ -83,65 +96,125 @@ public class DatePattern {
      * 标准日期时间格式，精确到毫秒：yyyy-MM-dd HH:mm:ss.SSS
      */
     public static final String NORM_DATETIME_MS_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+    /**
+     * 标准日期时间格式，精确到毫秒 {@link DateTimeFormatter}：yyyy-MM-dd HH:mm:ss.SSS
+     */
+    public static final DateTimeFormatter NORM_DATETIME_MS_FORMATTER = DateTimeFormatter.ofPattern(NORM_DATETIME_MS_PATTERN);
     /**
      * ISO8601日期时间格式，精确到毫秒：yyyy-MM-dd HH:mm:ss,SSS
      */
     public static final String ISO8601_PATTERN = "yyyy-MM-dd HH:mm:ss,SSS";
+    /**
+     * ISO8601日期时间格式，精确到毫秒 {@link DateTimeFormatter}：yyyy-MM-dd HH:mm:ss,SSS
+     */
+    public static final DateTimeFormatter ISO8601_FORMATTER = DateTimeFormatter.ofPattern(ISO8601_PATTERN);
 
     /**
      * 标准日期格式：yyyy年MM月dd日
      */
     public static final String CHINESE_DATE_PATTERN = "yyyy年MM月dd日";
+    /**
+     * 标准日期格式 {@link DateTimeFormatter}：yyyy年MM月dd日
+     */
+    public static final DateTimeFormatter CHINESE_DATE_FORMATTER = DateTimeFormatter.ofPattern(CHINESE_DATE_PATTERN);
     /**
      * 标准日期格式：yyyy年MM月dd日 HH时mm分ss秒
      */
     public static final String CHINESE_DATE_TIME_PATTERN = "yyyy年MM月dd日HH时mm分ss秒";
+    /**
+     * 标准日期格式 {@link DateTimeFormatter}：yyyy年MM月dd日HH时mm分ss秒
+     */
+    public static final DateTimeFormatter CHINESE_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(CHINESE_DATE_TIME_PATTERN);
     //-------------------------------------------------------------------------------------------------------------------------------- Pure
     /**
      * 标准日期格式：yyyyMMdd
      */
     public static final String PURE_DATE_PATTERN = "yyyyMMdd";
+    /**
+     * 标准日期格式 {@link DateTimeFormatter}：yyyyMMdd
+     */
+    public static final DateTimeFormatter PURE_DATE_FORMATTER = DateTimeFormatter.ofPattern(PURE_DATE_PATTERN);
     /**
      * 标准日期格式：HHmmss
      */
     public static final String PURE_TIME_PATTERN = "HHmmss";
+    /**
+     * 标准日期格式 {@link DateTimeFormatter}：HHmmss
+     */
+    public static final DateTimeFormatter PURE_TIME_FORMATTER = DateTimeFormatter.ofPattern(PURE_TIME_PATTERN);
     /**
      * 标准日期格式：yyyyMMddHHmmss
      */
     public static final String PURE_DATETIME_PATTERN = "yyyyMMddHHmmss";
+    /**
+     * 标准日期格式 {@link DateTimeFormatter}：yyyyMMddHHmmss
+     */
+    public static final DateTimeFormatter PURE_DATETIME_FORMATTER = DateTimeFormatter.ofPattern(PURE_DATETIME_PATTERN);
     /**
      * 标准日期格式：yyyyMMddHHmmssSSS
      */
     public static final String PURE_DATETIME_MS_PATTERN = "yyyyMMddHHmmssSSS";
+    /**
+     * 标准日期格式 {@link DateTimeFormatter}：yyyyMMddHHmmssSSS
+     */
+    public static final DateTimeFormatter PURE_DATETIME_MS_FORMATTER = DateTimeFormatter.ofPattern(PURE_DATETIME_MS_PATTERN);
 
     //-------------------------------------------------------------------------------------------------------------------------------- Others
     /**
      * HTTP头中日期时间格式：EEE, dd MMM yyyy HH:mm:ss z
      */
     public static final String HTTP_DATETIME_PATTERN = "EEE, dd MMM yyyy HH:mm:ss z";
+    /**
+     * HTTP头中日期时间格式，英文 {@link DateTimeFormatter}：EEE, dd MMM yyyy HH:mm:ss z
+     */
+    public static final DateTimeFormatter HTTP_DATETIME_FORMATTER = DateTimeFormatter.ofPattern(HTTP_DATETIME_PATTERN, Locale.US);
     /**
      * JDK中日期时间格式：EEE MMM dd HH:mm:ss zzz yyyy
      */
     public static final String JDK_DATETIME_PATTERN = "EEE MMM dd HH:mm:ss zzz yyyy";
+    /**
+     * JDK中日期时间格式，英文 {@link DateTimeFormatter}：EEE MMM dd HH:mm:ss zzz yyyy
+     */
+    public static final DateTimeFormatter JDK_DATETIME_FORMATTER = DateTimeFormatter.ofPattern(JDK_DATETIME_PATTERN, Locale.US);
 
     /**
      * UTC时间：yyyy-MM-dd'T'HH:mm:ss
      */
     public static final String UTC_SIMPLE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+    /**
+     * UTC时间 {@link DateTimeFormatter}：yyyy-MM-dd'T'HH:mm:ss
+     */
+    public static final DateTimeFormatter UTC_SIMPLE_FORMATTER = DateTimeFormatter.ofPattern(UTC_SIMPLE_PATTERN);
     /**
      * UTC时间：yyyy-MM-dd'T'HH:mm:ss'Z'
      */
     public static final String UTC_PATTERN = "yyyy-MM-dd'T'HH:mm:ss'Z'";
+    /**
+     * UTC时间 {@link DateTimeFormatter}：yyyy-MM-dd'T'HH:mm:ss'Z'
+     */
+    public static final DateTimeFormatter UTC_FORMATTER = DateTimeFormatter.ofPattern(UTC_PATTERN);
     /**
      * UTC时间：yyyy-MM-dd'T'HH:mm:ssZ
      */
     public static final String UTC_WITH_ZONE_OFFSET_PATTERN = "yyyy-MM-dd'T'HH:mm:ssZ";
+    /**
+     * UTC时间 {@link DateTimeFormatter}：yyyy-MM-dd'T'HH:mm:ssZ
+     */
+    public static final DateTimeFormatter UTC_WITH_ZONE_OFFSET_FORMATTER = DateTimeFormatter.ofPattern(UTC_WITH_ZONE_OFFSET_PATTERN);
     /**
      * UTC时间：yyyy-MM-dd'T'HH:mm:ss.SSS'Z'
      */
     public static final String UTC_MS_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+    /**
+     * UTC时间 {@link DateTimeFormatter}：yyyy-MM-dd'T'HH:mm:ss.SSS'Z'
+     */
+    public static final DateTimeFormatter UTC_MS_FORMATTER = DateTimeFormatter.ofPattern(UTC_MS_PATTERN);
     /**
      * UTC时间：yyyy-MM-dd'T'HH:mm:ssZ
      */
     public static final String UTC_MS_WITH_ZONE_OFFSET_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+    /**
+     * UTC时间 {@link DateTimeFormatter}：yyyy-MM-dd'T'HH:mm:ss.SSSZ
+     */
+    public static final DateTimeFormatter UTC_MS_WITH_ZONE_OFFSET_FORMATTER = DateTimeFormatter.ofPattern(UTC_MS_WITH_ZONE_OFFSET_PATTERN);
 }
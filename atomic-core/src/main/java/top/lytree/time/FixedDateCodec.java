@@ -0,0 +1,575 @@
+package top.lytree.time;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 定长数字日期格式的编解码
+ * <p>
+ * {@link DatePattern}中yyyy-MM-dd HH:mm:ss、yyyyMMddHHmmss、yyyy-MM-dd'T'HH:mm:ss.SSS'Z'等常用格式中每个字段都是定长数字，
+ * 格式化时直接把数字写入{@code byte[]}/{@code char[]}，解析时按固定位置取数字，
+ * 不经过{@link DateTimeFormatter}的打印解析器链，也不产生中间的{@code Parsed}对象。
+ * </p>
+ * <p>
+ * 结果与对应的{@link DateTimeFormatter}（{@link #getFormatter()}）完全一致：定长写法表示不了的值
+ * （公元1年之前、9999年之后的年份）以及定长扫描不能直接确定结果的文本（长度或分隔符不符、非数字、
+ * 字段超出范围、2月30日、24:00:00等）都交给{@link DateTimeFormatter}处理，包括抛出的异常。
+ * </p>
+ *
+ * <pre>
+ * FixedDateCodec.NORM_DATETIME.format(time);                   // 2023-07-09 08:05:03
+ * FixedDateCodec.of("yyyyMMddHHmmss").parseDateTime(text);
+ * </pre>
+ *
+ * @author pride
+ */
+public final class FixedDateCodec {
+
+    /**
+     * yyyy-MM
+     */
+    public static final FixedDateCodec NORM_MONTH = new FixedDateCodec(DatePattern.NORM_MONTH_PATTERN, DatePattern.NORM_MONTH_FORMATTER);
+    /**
+     * yyyy-MM-dd
+     */
+    public static final FixedDateCodec NORM_DATE = new FixedDateCodec(DatePattern.NORM_DATE_PATTERN, DatePattern.NORM_DATE_FORMATTER);
+    /**
+     * HH:mm:ss
+     */
+    public static final FixedDateCodec NORM_TIME = new FixedDateCodec(DatePattern.NORM_TIME_PATTERN, DatePattern.NORM_TIME_FORMATTER);
+    /**
+     * yyyy-MM-dd HH:mm
+     */
+    public static final FixedDateCodec NORM_DATETIME_MINUTE = new FixedDateCodec(DatePattern.NORM_DATETIME_MINUTE_PATTERN, DatePattern.NORM_DATETIME_MINUTE_FORMATTER);
+    /**
+     * yyyy-MM-dd HH:mm:ss
+     */
+    public static final FixedDateCodec NORM_DATETIME = new FixedDateCodec(DatePattern.NORM_DATETIME_PATTERN, DatePattern.NORM_DATETIME_FORMATTER);
+    /**
+     * yyyy-MM-dd HH:mm:ss.SSS
+     */
+    public static final FixedDateCodec NORM_DATETIME_MS = new FixedDateCodec(DatePattern.NORM_DATETIME_MS_PATTERN, DatePattern.NORM_DATETIME_MS_FORMATTER);
+    /**
+     * yyyy-MM-dd HH:mm:ss,SSS
+     */
+    public static final FixedDateCodec ISO8601 = new FixedDateCodec(DatePattern.ISO8601_PATTERN, DatePattern.ISO8601_FORMATTER);
+    /**
+     * yyyyMMdd
+     */
+    public static final FixedDateCodec PURE_DATE = new FixedDateCodec(DatePattern.PURE_DATE_PATTERN, DatePattern.PURE_DATE_FORMATTER);
+    /**
+     * HHmmss
+     */
+    public static final FixedDateCodec PURE_TIME = new FixedDateCodec(DatePattern.PURE_TIME_PATTERN, DatePattern.PURE_TIME_FORMATTER);
+    /**
+     * yyyyMMddHHmmss
+     */
+    public static final FixedDateCodec PURE_DATETIME = new FixedDateCodec(DatePattern.PURE_DATETIME_PATTERN, DatePattern.PURE_DATETIME_FORMATTER);
+    /**
+     * yyyyMMddHHmmssSSS
+     */
+    public static final FixedDateCodec PURE_DATETIME_MS = new FixedDateCodec(DatePattern.PURE_DATETIME_MS_PATTERN, DatePattern.PURE_DATETIME_MS_FORMATTER);
+    /**
+     * yyyy-MM-dd'T'HH:mm:ss
+     */
+    public static final FixedDateCodec UTC_SIMPLE = new FixedDateCodec(DatePattern.UTC_SIMPLE_PATTERN, DatePattern.UTC_SIMPLE_FORMATTER);
+    /**
+     * yyyy-MM-dd'T'HH:mm:ss'Z'
+     */
+    public static final FixedDateCodec UTC = new FixedDateCodec(DatePattern.UTC_PATTERN, DatePattern.UTC_FORMATTER);
+    /**
+     * yyyy-MM-dd'T'HH:mm:ss.SSS'Z'
+     */
+    public static final FixedDateCodec UTC_MS = new FixedDateCodec(DatePattern.UTC_MS_PATTERN, DatePattern.UTC_MS_FORMATTER);
+
+    private static final FixedDateCodec[] CODECS = {
+            NORM_DATETIME, NORM_DATE, NORM_TIME, NORM_DATETIME_MS, PURE_DATETIME, UTC_MS, UTC_SIMPLE, UTC,
+            NORM_DATETIME_MINUTE, NORM_MONTH, ISO8601, PURE_DATE, PURE_TIME, PURE_DATETIME_MS
+    };
+
+    private static final Map<String, FixedDateCodec> BY_PATTERN;
+
+    static {
+        final Map<String, FixedDateCodec> byPattern = new HashMap<>(CODECS.length * 2);
+        for (FixedDateCodec codec : CODECS) {
+            byPattern.put(codec.pattern, codec);
+        }
+        BY_PATTERN = Map.copyOf(byPattern);
+    }
+
+    /**
+     * 平年各月的天数
+     */
+    private static final int[] DAYS_OF_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int MIN_YEAR = 1;
+    private static final int MAX_YEAR = 9999;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    private final String pattern;
+    private final DateTimeFormatter formatter;
+    /**
+     * 去掉引号后的格式，字段所在位置为'0'，其余为分隔符原样
+     */
+    private final byte[] template;
+    /**
+     * 分隔符所在位置
+     */
+    private final int[] literals;
+    /**
+     * 各字段的起始位置，没有该字段为-1
+     */
+    private final int year;
+    private final int month;
+    private final int day;
+    private final int hour;
+    private final int minute;
+    private final int second;
+    private final int milli;
+
+    /**
+     * @param pattern   格式，只能由yyyy、MM、dd、HH、mm、ss、SSS及ASCII分隔符组成，分隔符中的字母用单引号括起
+     * @param formatter 格式对应的格式化器
+     */
+    private FixedDateCodec(String pattern, DateTimeFormatter formatter) {
+        this.pattern = pattern;
+        this.formatter = formatter;
+        final String layout = pattern.replace("'", "");
+        this.year = layout.indexOf("yyyy");
+        this.month = layout.indexOf("MM");
+        this.day = layout.indexOf("dd");
+        this.hour = layout.indexOf("HH");
+        this.minute = layout.indexOf("mm");
+        this.second = layout.indexOf("ss");
+        this.milli = layout.indexOf("SSS");
+
+        this.template = layout.getBytes(StandardCharsets.ISO_8859_1);
+        final boolean[] field = new boolean[template.length];
+        mark(field, year, 4);
+        mark(field, month, 2);
+        mark(field, day, 2);
+        mark(field, hour, 2);
+        mark(field, minute, 2);
+        mark(field, second, 2);
+        mark(field, milli, 3);
+        int count = 0;
+        for (int i = 0; i < field.length; i++) {
+            if (field[i]) {
+                template[i] = '0';
+            } else {
+                count++;
+            }
+        }
+        this.literals = new int[count];
+        for (int i = 0, j = 0; i < field.length; i++) {
+            if (!field[i]) {
+                literals[j++] = i;
+            }
+        }
+    }
+
+    private static void mark(boolean[] field, int start, int length) {
+        for (int i = start; start >= 0 && i < start + length; i++) {
+            field[i] = true;
+        }
+    }
+
+    /**
+     * 获取格式对应的编解码器
+     *
+     * @param pattern 日期格式
+     * @return 编解码器，不是定长数字格式返回{@code null}
+     */
+    public static FixedDateCodec of(String pattern) {
+        return pattern == null ? null : BY_PATTERN.get(pattern);
+    }
+
+    /**
+     * 获取格式化器对应的编解码器，只识别{@link DatePattern}中预先构建的格式化器（也是{@link DateFormatterPool}中的实例）
+     *
+     * @param formatter 格式化器
+     * @return 编解码器，没有对应的返回{@code null}
+     */
+    public static FixedDateCodec of(DateTimeFormatter formatter) {
+        for (FixedDateCodec codec : CODECS) {
+            if (codec.formatter == formatter) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 日期格式
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return 格式对应的格式化器
+     */
+    public DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * @return 格式化结果的长度
+     */
+    public int length() {
+        return template.length;
+    }
+
+    /**
+     * @return 是否包含完整的年月日
+     */
+    public boolean hasDate() {
+        return day >= 0;
+    }
+
+    /**
+     * @return 是否包含时分
+     */
+    public boolean hasTime() {
+        return hour >= 0;
+    }
+
+    // ----------------------------------------------------------------------------------------------------------- format
+
+    /**
+     * 格式化，等价于{@code getFormatter().format(time)}
+     *
+     * @param time 时间
+     * @return 格式化后的字符串
+     */
+    public String format(LocalDateTime time) {
+        final byte[] buf = new byte[template.length];
+        if (formatTo(time, buf, 0) < 0) {
+            return formatter.format(time);
+        }
+        return new String(buf, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 格式化，等价于{@code getFormatter().format(date)}，格式包含时间时抛出同样的异常
+     *
+     * @param date 日期
+     * @return 格式化后的字符串
+     */
+    public String format(LocalDate date) {
+        if (hasTime() || !isFixedYear(date.getYear())) {
+            return formatter.format(date);
+        }
+        final byte[] buf = template.clone();
+        writeDate(buf, 0, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        return new String(buf, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 格式化，等价于{@code getFormatter().format(time)}，格式包含日期时抛出同样的异常
+     *
+     * @param time 时间
+     * @return 格式化后的字符串
+     */
+    public String format(LocalTime time) {
+        if (year >= 0) {
+            return formatter.format(time);
+        }
+        final byte[] buf = template.clone();
+        writeTime(buf, 0, time.getHour(), time.getMinute(), time.getSecond(), time.getNano());
+        return new String(buf, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 将格式化结果以ASCII写入{@code buf}
+     *
+     * @param time 时间
+     * @param buf  输出，从{@code offset}开始至少有{@link #length()}个字节
+     * @param offset 写入位置
+     * @return 写入的字节数，年份在定长格式之外（公元1年之前、9999年之后）时不写入并返回-1
+     */
+    public int formatTo(LocalDateTime time, byte[] buf, int offset) {
+        if (year >= 0 && !isFixedYear(time.getYear())) {
+            return -1;
+        }
+        System.arraycopy(template, 0, buf, offset, template.length);
+        writeDate(buf, offset, time.getYear(), time.getMonthValue(), time.getDayOfMonth());
+        writeTime(buf, offset, time.getHour(), time.getMinute(), time.getSecond(), time.getNano());
+        return template.length;
+    }
+
+    /**
+     * 将格式化结果写入{@code buf}
+     *
+     * @param time   时间
+     * @param buf    输出，从{@code offset}开始至少有{@link #length()}个字符
+     * @param offset 写入位置
+     * @return 写入的字符数，年份在定长格式之外（公元1年之前、9999年之后）时不写入并返回-1
+     */
+    public int formatTo(LocalDateTime time, char[] buf, int offset) {
+        if (year >= 0 && !isFixedYear(time.getYear())) {
+            return -1;
+        }
+        for (int i = 0; i < template.length; i++) {
+            buf[offset + i] = (char) template[i];
+        }
+        writeDate(buf, offset, time.getYear(), time.getMonthValue(), time.getDayOfMonth());
+        writeTime(buf, offset, time.getHour(), time.getMinute(), time.getSecond(), time.getNano());
+        return template.length;
+    }
+
+    /**
+     * 将格式化结果写入{@code buf}，格式包含时间时不写入
+     *
+     * @param date   日期
+     * @param buf    输出，从{@code offset}开始至少有{@link #length()}个字符
+     * @param offset 写入位置
+     * @return 写入的字符数，格式包含时间或年份在定长格式之外时不写入并返回-1
+     */
+    public int formatTo(LocalDate date, char[] buf, int offset) {
+        if (hasTime() || !isFixedYear(date.getYear())) {
+            return -1;
+        }
+        for (int i = 0; i < template.length; i++) {
+            buf[offset + i] = (char) template[i];
+        }
+        writeDate(buf, offset, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        return template.length;
+    }
+
+    /**
+     * 将格式化结果写入{@code buf}，格式包含日期时不写入
+     *
+     * @param time   时间
+     * @param buf    输出，从{@code offset}开始至少有{@link #length()}个字符
+     * @param offset 写入位置
+     * @return 写入的字符数，格式包含日期时不写入并返回-1
+     */
+    public int formatTo(LocalTime time, char[] buf, int offset) {
+        if (year >= 0) {
+            return -1;
+        }
+        for (int i = 0; i < template.length; i++) {
+            buf[offset + i] = (char) template[i];
+        }
+        writeTime(buf, offset, time.getHour(), time.getMinute(), time.getSecond(), time.getNano());
+        return template.length;
+    }
+
+    private void writeDate(byte[] buf, int offset, int y, int mo, int d) {
+        if (year >= 0) {
+            write(buf, offset + year, y / 100);
+            write(buf, offset + year + 2, y % 100);
+        }
+        if (month >= 0) {
+            write(buf, offset + month, mo);
+        }
+        if (day >= 0) {
+            write(buf, offset + day, d);
+        }
+    }
+
+    private void writeTime(byte[] buf, int offset, int h, int mi, int s, int nano) {
+        if (hour >= 0) {
+            write(buf, offset + hour, h);
+        }
+        if (minute >= 0) {
+            write(buf, offset + minute, mi);
+        }
+        if (second >= 0) {
+            write(buf, offset + second, s);
+        }
+        if (milli >= 0) {
+            final int ms = nano / NANOS_PER_MILLI;
+            buf[offset + milli] = (byte) ('0' + ms / 100);
+            write(buf, offset + milli + 1, ms % 100);
+        }
+    }
+
+    private void writeDate(char[] buf, int offset, int y, int mo, int d) {
+        if (year >= 0) {
+            write(buf, offset + year, y / 100);
+            write(buf, offset + year + 2, y % 100);
+        }
+        if (month >= 0) {
+            write(buf, offset + month, mo);
+        }
+        if (day >= 0) {
+            write(buf, offset + day, d);
+        }
+    }
+
+    private void writeTime(char[] buf, int offset, int h, int mi, int s, int nano) {
+        if (hour >= 0) {
+            write(buf, offset + hour, h);
+        }
+        if (minute >= 0) {
+            write(buf, offset + minute, mi);
+        }
+        if (second >= 0) {
+            write(buf, offset + second, s);
+        }
+        if (milli >= 0) {
+            final int ms = nano / NANOS_PER_MILLI;
+            buf[offset + milli] = (char) ('0' + ms / 100);
+            write(buf, offset + milli + 1, ms % 100);
+        }
+    }
+
+    /**
+     * 写入两位数字，{@code value}在0到99之间
+     */
+    private static void write(byte[] buf, int index, int value) {
+        buf[index] = (byte) ('0' + value / 10);
+        buf[index + 1] = (byte) ('0' + value % 10);
+    }
+
+    private static void write(char[] buf, int index, int value) {
+        buf[index] = (char) ('0' + value / 10);
+        buf[index + 1] = (char) ('0' + value % 10);
+    }
+
+    private static boolean isFixedYear(int year) {
+        return year >= MIN_YEAR && year <= MAX_YEAR;
+    }
+
+    // ----------------------------------------------------------------------------------------------------------- parse
+
+    /**
+     * 解析日期时间，等价于{@code LocalDateTime.parse(text, getFormatter())}
+     *
+     * @param text 文本
+     * @return {@link LocalDateTime}
+     * @throws java.time.format.DateTimeParseException 解析失败
+     */
+    public LocalDateTime parseDateTime(CharSequence text) {
+        if (day >= 0 && hour >= 0 && matchesLayout(text)) {
+            final int y = parseYear(text);
+            final int mo = parse2(text, month);
+            final int d = parse2(text, day);
+            final int h = parse2(text, hour);
+            final int mi = minute < 0 ? 0 : parse2(text, minute);
+            final int s = second < 0 ? 0 : parse2(text, second);
+            final int ms = milli < 0 ? 0 : parse3(text, milli);
+            if (isValidDate(y, mo, d) && isValidTime(h, mi, s) && ms >= 0) {
+                return LocalDateTime.of(y, mo, d, h, mi, s, ms * NANOS_PER_MILLI);
+            }
+        }
+        return formatter.parse(text, LocalDateTime::from);
+    }
+
+    /**
+     * 解析日期，等价于{@code LocalDate.parse(text, getFormatter())}
+     *
+     * @param text 文本
+     * @return {@link LocalDate}
+     * @throws java.time.format.DateTimeParseException 解析失败
+     */
+    public LocalDate parseDate(CharSequence text) {
+        if (day >= 0 && matchesLayout(text)) {
+            final int y = parseYear(text);
+            final int mo = parse2(text, month);
+            final int d = parse2(text, day);
+            final int h = hour < 0 ? 0 : parse2(text, hour);
+            final int mi = minute < 0 ? 0 : parse2(text, minute);
+            final int s = second < 0 ? 0 : parse2(text, second);
+            final int ms = milli < 0 ? 0 : parse3(text, milli);
+            // 时间部分不影响结果，但格式化器会校验其范围
+            if (isValidDate(y, mo, d) && isValidTime(h, mi, s) && ms >= 0) {
+                return LocalDate.of(y, mo, d);
+            }
+        }
+        return formatter.parse(text, LocalDate::from);
+    }
+
+    /**
+     * 解析时间，等价于{@code LocalTime.parse(text, getFormatter())}
+     *
+     * @param text 文本
+     * @return {@link LocalTime}
+     * @throws java.time.format.DateTimeParseException 解析失败
+     */
+    public LocalTime parseTime(CharSequence text) {
+        if (year < 0 && hour >= 0 && matchesLayout(text)) {
+            final int h = parse2(text, hour);
+            final int mi = minute < 0 ? 0 : parse2(text, minute);
+            final int s = second < 0 ? 0 : parse2(text, second);
+            final int ms = milli < 0 ? 0 : parse3(text, milli);
+            if (isValidTime(h, mi, s) && ms >= 0) {
+                return LocalTime.of(h, mi, s, ms * NANOS_PER_MILLI);
+            }
+        }
+        return formatter.parse(text, LocalTime::from);
+    }
+
+    /**
+     * 长度及分隔符是否与格式一致
+     */
+    private boolean matchesLayout(CharSequence text) {
+        Objects.requireNonNull(text, "text");
+        if (text.length() != template.length) {
+            return false;
+        }
+        for (int i : literals) {
+            if (text.charAt(i) != template[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int parseYear(CharSequence text) {
+        final int high = parse2(text, year);
+        final int low = parse2(text, year + 2);
+        return high < 0 || low < 0 ? -1 : high * 100 + low;
+    }
+
+    /**
+     * @return 两位数字的值，含非数字时返回-1
+     */
+    private static int parse2(CharSequence text, int index) {
+        final int tens = text.charAt(index) - '0';
+        final int ones = text.charAt(index + 1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
+        }
+        return tens * 10 + ones;
+    }
+
+    /**
+     * @return 三位数字的值，含非数字时返回-1
+     */
+    private static int parse3(CharSequence text, int index) {
+        final int hundreds = text.charAt(index) - '0';
+        final int rest = parse2(text, index + 1);
+        return hundreds < 0 || hundreds > 9 || rest < 0 ? -1 : hundreds * 100 + rest;
+    }
+
+    /**
+     * 日期是否有效，2月30日之类需要{@link java.time.format.ResolverStyle#SMART}调整的日期视为无效，交给格式化器
+     */
+    private static boolean isValidDate(int year, int month, int day) {
+        if (!isFixedYear(year) || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        return day <= DAYS_OF_MONTH[month - 1] || month == 2 && day == 29 && Year.isLeap(year);
+    }
+
+    /**
+     * 时间是否有效，24:00:00交给格式化器
+     */
+    private static boolean isValidTime(int hour, int minute, int second) {
+        return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -11,6 +11,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.*;
 import java.util.Date;
+import java.util.Locale;
 import java.util.TimeZone;
 
 /**
@@ -22,6 +23,14 @@ public class LocalDateTimeUtils {
 
     private final static String DEFAULT_FORMATTER = DatePattern.NORM_DATETIME_PATTERN;
 
+    /**
+     * yyyyMMddHHmmssSSS的解析器，毫秒部分单独按定长数字解析
+     */
+    private static final DateTimeFormatter PURE_DATETIME_MS_PARSER = new DateTimeFormatterBuilder()
+            .appendPattern(DatePattern.PURE_DATETIME_PATTERN)
+            .appendValue(ChronoField.MILLI_OF_SECOND, 3)
+            .toFormatter();
+
     public static String getDefaultFormatter() {
         return DEFAULT_FORMATTER;
     }
@@ -33,8 +42,7 @@ public class LocalDateTimeUtils {
      */
     public static String getLocalDateTime() {
         LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(getDefaultFormatter());
-        return dateTimeFormatter.format(now);
+        return DatePattern.NORM_DATETIME_FORMATTER.format(now);
     }
 
     /**
@@ -45,8 +53,7 @@ public class LocalDateTimeUtils {
      */
     public static String getLocalDateTime(String dateFormatter) {
         LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(dateFormatter);
-        return dateTimeFormatter.format(now);
+        return DateFormatterPool.get(dateFormatter).format(now);
     }
 
     /**
@@ -265,6 +272,10 @@ public class LocalDateTimeUtils {
         if (null == formatter) {
             return LocalDateTime.parse(text);
         }
+        final FixedDateCodec codec = FixedDateCodec.of(formatter);
+        if (null != codec && codec.hasDate()) {
+            return codec.hasTime() ? codec.parseDateTime(text) : codec.parseDate(text).atStartOfDay();
+        }
 
         return of(formatter.parse(text));
     }
@@ -280,6 +291,10 @@ public class LocalDateTimeUtils {
         if (null == text) {
             return null;
         }
+        final FixedDateCodec codec = FixedDateCodec.of(format);
+        if (null != codec) {
+            return parse(text, codec.getFormatter());
+        }
 
         DateTimeFormatter formatter = null;
         if (StringUtils.isNotBlank(format)) {
@@ -293,18 +308,30 @@ public class LocalDateTimeUtils {
                     //将yyyyMMddHHmmssS、yyyyMMddHHmmssSS的日期统一替换为yyyyMMddHHmmssSSS格式，用0补
                     text += StringUtils.repeat('0', 3 - fraction.length());
                 }
-                formatter = new DateTimeFormatterBuilder()
-                        .appendPattern(DatePattern.PURE_DATETIME_PATTERN)
-                        .appendValue(ChronoField.MILLI_OF_SECOND, 3)
-                        .toFormatter();
+                formatter = PURE_DATETIME_MS_PARSER;
             } else {
-                formatter = DateTimeFormatter.ofPattern(format);
+                formatter = DateFormatterPool.get(format);
             }
         }
 
         return parse(text, formatter);
     }
 
+    /**
+     * 解析日期时间字符串为{@link LocalDateTime}，月份、星期等名称按{@code locale}解析
+     *
+     * @param text   日期时间字符串
+     * @param format 日期格式，类似于yyyy-MM-dd HH:mm:ss,SSS
+     * @param locale {@link Locale}
+     * @return {@link LocalDateTime}
+     */
+    public static LocalDateTime parse(String text, String format, Locale locale) {
+        if (null == text) {
+            return null;
+        }
+        return parse(text, DateFormatterPool.get(format, locale));
+    }
+
     /**
      * 解析日期时间字符串为{@link LocalDate}，仅支持yyyy-MM-dd'T'HH:mm:ss格式，例如：2007-12-03T10:15:30
      *
@@ -329,6 +356,10 @@ public class LocalDateTimeUtils {
         if (null == formatter) {
             return LocalDate.parse(text);
         }
+        final FixedDateCodec codec = FixedDateCodec.of(formatter);
+        if (null != codec && codec.hasDate()) {
+            return codec.parseDate(text);
+        }
 
         return ofDate(formatter.parse(text));
     }
@@ -344,7 +375,7 @@ public class LocalDateTimeUtils {
         if (null == text) {
             return null;
         }
-        return parseDate(text, DateTimeFormatter.ofPattern(format));
+        return parseDate(text, DateFormatterPool.get(format));
     }
 
     /**
@@ -365,6 +396,10 @@ public class LocalDateTimeUtils {
      * @return 格式化后的字符串
      */
     public static String format(LocalDateTime time, DateTimeFormatter formatter) {
+        final FixedDateCodec codec = FixedDateCodec.of(formatter);
+        if (null != time && null != codec) {
+            return codec.format(time);
+        }
         return TemporalAccessorUtil.format(time, formatter);
     }
 
@@ -379,7 +414,38 @@ public class LocalDateTimeUtils {
         if (null == time) {
             return null;
         }
-        return format(time, DateTimeFormatter.ofPattern(format));
+        final FixedDateCodec codec = FixedDateCodec.of(format);
+        return null != codec ? codec.format(time) : format(time, DateFormatterPool.get(format));
+    }
+
+    /**
+     * 格式化日期时间为指定格式，月份、星期等名称按{@code locale}输出
+     *
+     * @param time   {@link LocalDateTime}
+     * @param format 日期格式，类似于yyyy-MM-dd HH:mm:ss,SSS
+     * @param locale {@link Locale}
+     * @return 格式化后的字符串
+     */
+    public static String format(LocalDateTime time, String format, Locale locale) {
+        if (null == time) {
+            return null;
+        }
+        return format(time, DateFormatterPool.get(format, locale));
+    }
+
+    /**
+     * 将时间戳按指定时区格式化为指定格式
+     *
+     * @param instant {@link Instant}
+     * @param format  日期格式，类似于yyyy-MM-dd HH:mm:ss,SSS
+     * @param zoneId  时区
+     * @return 格式化后的字符串
+     */
+    public static String format(Instant instant, String format, ZoneId zoneId) {
+        if (null == instant) {
+            return null;
+        }
+        return DateFormatterPool.get(format, Locale.getDefault(Locale.Category.FORMAT), zoneId).format(instant);
     }
 
     /**
@@ -400,6 +466,10 @@ public class LocalDateTimeUtils {
      * @return 格式化后的字符串
      */
     public static String format(LocalDate date, DateTimeFormatter formatter) {
+        final FixedDateCodec codec = FixedDateCodec.of(formatter);
+        if (null != date && null != codec && !codec.hasTime()) {
+            return codec.format(date);
+        }
         return TemporalAccessorUtil.format(date, formatter);
     }
 
@@ -414,7 +484,11 @@ public class LocalDateTimeUtils {
         if (null == date) {
             return null;
         }
-        return format(date, DateTimeFormatter.ofPattern(format));
+        final FixedDateCodec codec = FixedDateCodec.of(format);
+        if (null != codec && !codec.hasTime()) {
+            return codec.format(date);
+        }
+        return format(date, DateFormatterPool.get(format));
     }
 
     /**
@@ -39,8 +39,7 @@ public class LocalDateUtils {
      */
     public static String getLocalDate() {
         LocalDate now = LocalDate.now();
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(getDefaultFormatter());
-        return dateTimeFormatter.format(now);
+        return DatePattern.NORM_DATE_FORMATTER.format(now);
     }
 
     /**
@@ -51,8 +50,7 @@ public class LocalDateUtils {
      */
     public static String getLocalDate(String dateFormatter) {
         LocalDate now = LocalDate.now();
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(dateFormatter);
-        return dateTimeFormatter.format(now);
+        return DateFormatterPool.get(dateFormatter).format(now);
     }
 
     /**
@@ -75,7 +75,7 @@ public class TemporalAccessorUtil extends TemporalUtil {
         }
 
         final DateTimeFormatter formatter = StringUtils.isBlank(format)
-                ? null : DateTimeFormatter.ofPattern(format);
+                ? null : DateFormatterPool.get(format);
 
         return format(time, formatter);
     }
@@ -0,0 +1,67 @@
+package top.lytree.validator;
+
+/**
+ * Character classes shared by the hand-written scanners of this package.
+ * <p>
+ * They follow the definitions {@link java.util.regex.Pattern} uses without {@code UNICODE_CHARACTER_CLASS}, so a
+ * scanner accepts exactly what the corresponding regular expression accepted.
+ * </p>
+ *
+ * @author pride
+ */
+final class CharClasses {
+
+    private CharClasses() {
+    }
+
+    /**
+     * @return a lookup table of the given ASCII chars
+     */
+    static boolean[] table(String chars) {
+        final boolean[] table = new boolean[0x80];
+        for (int i = 0; i < chars.length(); i++) {
+            table[chars.charAt(i)] = true;
+        }
+        return table;
+    }
+
+    /**
+     * @return a lookup table of {@code [A-Za-z0-9]} plus the given ASCII chars
+     */
+    static boolean[] alnumTable(String chars) {
+        final boolean[] table = table(chars);
+        for (char c = '0'; c <= '9'; c++) {
+            table[c] = true;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            table[c] = true;
+            table[c - ('a' - 'A')] = true;
+        }
+        return table;
+    }
+
+    static boolean in(boolean[] table, char c) {
+        return c < table.length && table[c];
+    }
+
+    /**
+     * {@code \d}
+     */
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * {@code \s}: {@code [ \t\n\x0B\f\r]}
+     */
+    static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Chars {@code .} does not match: {@code [\n\r\u0085\u2028\u2029]}
+     */
+    static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
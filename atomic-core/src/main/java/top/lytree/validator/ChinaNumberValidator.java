@@ -0,0 +1,139 @@
+package top.lytree.validator;
+
+/**
+ * 中国常用号码校验：手机号码、身份证号码、邮政编码
+ * <p>
+ * 逐字符扫描，不经过正则引擎，接受的内容与{@link top.lytree.pattern.PatternPool}中对应的正则
+ * （{@code MOBILE}、{@code CITIZEN_ID}、{@code ZIP_CODE}）完全一致；
+ * {@link #isValidCitizenId(CharSequence)}在格式之外还校验GB 11643规定的末位校验码。
+ * </p>
+ *
+ * @author pride
+ */
+public final class ChinaNumberValidator {
+
+    private static final int MOBILE_LENGTH = 11;
+
+    private static final int CITIZEN_ID_LENGTH = 18;
+
+    /**
+     * 身份证号码前17位的加权因子
+     */
+    private static final int[] CITIZEN_ID_WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+
+    /**
+     * 加权和模11的余数对应的校验码
+     */
+    private static final char[] CITIZEN_ID_CHECK_CODES = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+
+    /**
+     * 下标为邮编首位数字，第n位为1表示第二位可以是n
+     */
+    private static final int[] ZIP_CODE_PREFIXES = {0xFE, 0x6F, 0xFF, 0x7F, 0xFF, 0xFF, 0xFF, 0x3F, 0x3FF, 0x1FF};
+
+    private ChinaNumberValidator() {
+    }
+
+    /**
+     * 验证是否为手机号码（中国），可带{@code 0}、{@code 86}、{@code +86}前缀
+     *
+     * @param value 值
+     * @return 是否为手机号码，{@code null}返回{@code false}
+     */
+    public static boolean isMobile(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        final int start = value.length() - MOBILE_LENGTH;
+        final boolean prefix = switch (start) {
+            case 0 -> true;
+            case 1 -> value.charAt(0) == '0';
+            case 2 -> value.charAt(0) == '8' && value.charAt(1) == '6';
+            case 3 -> value.charAt(0) == '+' && value.charAt(1) == '8' && value.charAt(2) == '6';
+            default -> false;
+        };
+        return prefix && value.charAt(start) == '1' && between(value.charAt(start + 1), '3', '9')
+                && isDigits(value, start + 2, value.length());
+    }
+
+    /**
+     * 验证是否为18位身份证号码的格式：地区码、出生日期的年月日范围及末位，不校验校验码
+     *
+     * @param value 值
+     * @return 格式是否正确，{@code null}返回{@code false}
+     */
+    public static boolean isCitizenId(CharSequence value) {
+        if (value == null || value.length() != CITIZEN_ID_LENGTH) {
+            return false;
+        }
+        // 地区码
+        if (!between(value.charAt(0), '1', '9') || !isDigits(value, 1, 6)) {
+            return false;
+        }
+        // 年
+        if (!between(value.charAt(6), '1', '2') || !isDigits(value, 7, 10)) {
+            return false;
+        }
+        // 月：00-12
+        final char month = value.charAt(10);
+        if (!(month == '0' && between(value.charAt(11), '0', '9')) && !(month == '1' && between(value.charAt(11), '0', '2'))) {
+            return false;
+        }
+        // 日：00-31
+        final char day = value.charAt(12);
+        if (!(between(day, '0', '2') && between(value.charAt(13), '0', '9')) && !(day == '3' && between(value.charAt(13), '0', '1'))) {
+            return false;
+        }
+        // 顺序码及校验码
+        final char last = value.charAt(17);
+        return isDigits(value, 14, 17) && (between(last, '0', '9') || last == 'X' || last == 'x');
+    }
+
+    /**
+     * 验证是否为18位身份证号码，在{@link #isCitizenId(CharSequence)}的基础上校验末位校验码，{@code x}视同{@code X}
+     *
+     * @param value 值
+     * @return 是否为身份证号码，{@code null}返回{@code false}
+     */
+    public static boolean isValidCitizenId(CharSequence value) {
+        if (!isCitizenId(value)) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < CITIZEN_ID_WEIGHTS.length; i++) {
+            sum += (value.charAt(i) - '0') * CITIZEN_ID_WEIGHTS[i];
+        }
+        return CITIZEN_ID_CHECK_CODES[sum % 11] == Character.toUpperCase(value.charAt(17));
+    }
+
+    /**
+     * 验证是否为邮政编码（中国），兼容港澳台
+     *
+     * @param value 值
+     * @return 是否为邮政编码，{@code null}返回{@code false}
+     */
+    public static boolean isZipCode(CharSequence value) {
+        if (value == null || value.length() != 6 || !isDigits(value, 0, 6)) {
+            return false;
+        }
+        if ((ZIP_CODE_PREFIXES[value.charAt(0) - '0'] & 1 << (value.charAt(1) - '0')) != 0) {
+            return true;
+        }
+        // 香港999077、澳门999078
+        return value.charAt(0) == '9' && value.charAt(1) == '9' && value.charAt(2) == '9' && value.charAt(3) == '0'
+                && value.charAt(4) == '7' && (value.charAt(5) == '7' || value.charAt(5) == '8');
+    }
+
+    private static boolean between(char c, char min, char max) {
+        return c >= min && c <= max;
+    }
+
+    private static boolean isDigits(CharSequence value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!CharClasses.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -20,8 +20,11 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.net.IDN;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * <p><b>Domain name</b> validation routines.</p>
@@ -67,6 +70,11 @@ public class DomainValidator implements Serializable {
 
     private static final String[] EMPTY_STRING_ARRAY = new String[0];
 
+    /**
+     * Minimum batch size ({@value}) for which {@link #isValidAll(String[])} validates in parallel
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
     @Serial
     private static final long serialVersionUID = 1L;
 
@@ -128,8 +136,8 @@ public class DomainValidator implements Serializable {
      *
      * @return the singleton instance of this validator
      */
-    public static synchronized DomainValidator getInstance() {
-        inUse = true;
+    public static DomainValidator getInstance() {
+        markInUse();
         return LazyHolder.DOMAIN_VALIDATOR;
     }
 
@@ -139,8 +147,8 @@ public class DomainValidator implements Serializable {
      * @param allowLocal Should local addresses be considered valid?
      * @return the singleton instance of this validator
      */
-    public static synchronized DomainValidator getInstance(boolean allowLocal) {
-        inUse = true;
+    public static DomainValidator getInstance(boolean allowLocal) {
+        markInUse();
         if (allowLocal) {
             return LazyHolder.DOMAIN_VALIDATOR_WITH_LOCAL;
         }
@@ -157,11 +165,25 @@ public class DomainValidator implements Serializable {
      * @return an instance of this validator
      *
      */
-    public static synchronized DomainValidator getInstance(boolean allowLocal, List<Item> items) {
-        inUse = true;
+    public static DomainValidator getInstance(boolean allowLocal, List<Item> items) {
+        markInUse();
         return new DomainValidator(allowLocal, items);
     }
 
+    /**
+     * Record the first use of an instance; after this the class overrides are frozen. The first call takes the class
+     * lock, the same lock {@link #updateTLDOverride(ArrayType, String[])} holds, so an update that has passed its
+     * {@code inUse} check completes before any instance is built and its arrays are visible to this thread. Later calls
+     * are a plain volatile read without any lock.
+     */
+    private static void markInUse() {
+        if (!inUse) {
+            synchronized (DomainValidator.class) {
+                inUse = true;
+            }
+        }
+    }
+
     // intance variables allowing local overrides
     final String[] mycountryCodeTLDsMinus;
     final String[] mycountryCodeTLDsPlus;
@@ -169,6 +191,12 @@ public class DomainValidator implements Serializable {
     final String[] mygenericTLDsMinus;
     final String[] mylocalTLDsPlus;
     final String[] mylocalTLDsMinus;
+
+    /**
+     * All TLDs accepted by this instance (built-in tables with the PLUS overrides added and the MINUS overrides removed),
+     * tagged with their category.
+     */
+    private final TldTrie tlds;
     /*
      * N.B. It is vital that instances are immutable.
      * This is because the default instances are shared.
@@ -184,13 +212,16 @@ public class DomainValidator implements Serializable {
      */
     private DomainValidator(boolean allowLocal) {
         this.allowLocal = allowLocal;
-        // link to class overrides
-        mycountryCodeTLDsMinus = countryCodeTLDsMinus;
-        mycountryCodeTLDsPlus = countryCodeTLDsPlus;
-        mygenericTLDsPlus = genericTLDsPlus;
-        mygenericTLDsMinus = genericTLDsMinus;
-        mylocalTLDsPlus = localTLDsPlus;
-        mylocalTLDsMinus = localTLDsMinus;
+        // link to class overrides, read under the lock that updateTLDOverride writes them with
+        synchronized (DomainValidator.class) {
+            mycountryCodeTLDsMinus = countryCodeTLDsMinus;
+            mycountryCodeTLDsPlus = countryCodeTLDsPlus;
+            mygenericTLDsPlus = genericTLDsPlus;
+            mygenericTLDsMinus = genericTLDsMinus;
+            mylocalTLDsPlus = localTLDsPlus;
+            mylocalTLDsMinus = localTLDsMinus;
+        }
+        tlds = compileTlds();
     }
 
     /**
@@ -201,13 +232,21 @@ public class DomainValidator implements Serializable {
     private DomainValidator(boolean allowLocal, List<Item> items) {
         this.allowLocal = allowLocal;
 
-        // default to class overrides
-        String[] ccMinus = countryCodeTLDsMinus;
-        String[] ccPlus = countryCodeTLDsPlus;
-        String[] genMinus = genericTLDsMinus;
-        String[] genPlus = genericTLDsPlus;
-        String[] localMinus = localTLDsMinus;
-        String[] localPlus = localTLDsPlus;
+        // default to class overrides, read under the lock that updateTLDOverride writes them with
+        String[] ccMinus;
+        String[] ccPlus;
+        String[] genMinus;
+        String[] genPlus;
+        String[] localMinus;
+        String[] localPlus;
+        synchronized (DomainValidator.class) {
+            ccMinus = countryCodeTLDsMinus;
+            ccPlus = countryCodeTLDsPlus;
+            genMinus = genericTLDsMinus;
+            genPlus = genericTLDsPlus;
+            localMinus = localTLDsMinus;
+            localPlus = localTLDsPlus;
+        }
 
         // apply the instance overrides
         for (Item item : items) {
@@ -254,6 +293,26 @@ public class DomainValidator implements Serializable {
         mygenericTLDsPlus = genPlus;
         mylocalTLDsMinus = localMinus;
         mylocalTLDsPlus = localPlus;
+        tlds = compileTlds();
+    }
+
+    private TldTrie compileTlds() {
+        final Map<String, Integer> entries = new HashMap<>();
+        addTlds(entries, TldTrie.INFRASTRUCTURE, INFRASTRUCTURE_TLDS, EMPTY_STRING_ARRAY, EMPTY_STRING_ARRAY);
+        addTlds(entries, TldTrie.GENERIC, GENERIC_TLDS, mygenericTLDsPlus, mygenericTLDsMinus);
+        addTlds(entries, TldTrie.COUNTRY_CODE, COUNTRY_CODE_TLDS, mycountryCodeTLDsPlus, mycountryCodeTLDsMinus);
+        addTlds(entries, TldTrie.LOCAL, LOCAL_TLDS, mylocalTLDsPlus, mylocalTLDsMinus);
+        return new TldTrie(entries);
+    }
+
+    private static void addTlds(Map<String, Integer> entries, int flag, String[] builtIn, String[] plus, String[] minus) {
+        for (String[] tlds : new String[][]{builtIn, plus}) {
+            for (String tld : tlds) {
+                if (!arrayContains(minus, tld)) {
+                    entries.merge(tld, flag, (a, b) -> a | b);
+                }
+            }
+        }
     }
 
     /**
@@ -281,6 +340,22 @@ public class DomainValidator implements Serializable {
         return allowLocal && hostnameRegex.isValid(domain);
     }
 
+    /**
+     * Validates a batch of domain names. Large batches are split across the common fork-join pool; the validator is
+     * immutable and holds no per-call state, so the work scales with the number of cores.
+     *
+     * @param domains the domain names to check, elements may be null
+     * @return for each input, whether it is a valid domain name, in input order
+     * @see #isValid(String)
+     */
+    public boolean[] isValidAll(String[] domains) {
+        final boolean[] result = new boolean[domains.length];
+        final IntStream indexes = IntStream.range(0, domains.length);
+        (domains.length >= PARALLEL_THRESHOLD ? indexes.parallel() : indexes)
+                .forEach(i -> result[i] = isValid(domains[i]));
+        return result;
+    }
+
     // package protected for unit test access
     // must agree with isValid() above
     final boolean isValidDomainSyntax(String domain) {
@@ -310,12 +385,17 @@ public class DomainValidator implements Serializable {
      * @return true if the parameter is a TLD
      */
     public boolean isValidTld(String tld) {
-        if (allowLocal && isValidLocalTld(tld)) {
-            return true;
-        }
-        return isValidInfrastructureTld(tld)
-                || isValidGenericTld(tld)
-                || isValidCountryCodeTld(tld);
+        final int mask = TldTrie.INFRASTRUCTURE | TldTrie.GENERIC | TldTrie.COUNTRY_CODE | (allowLocal ? TldTrie.LOCAL : 0);
+        return (tldFlags(tld) & mask) != 0;
+    }
+
+    /**
+     * Category flags of a TLD, ignoring one leading dot and case.
+     */
+    private int tldFlags(String tld) {
+        final String key = unicodeToASCII(tld);
+        final int start = key.startsWith(".") ? 1 : 0;
+        return tlds.lookup(key, start, key.length());
     }
 
     /**
@@ -326,8 +406,7 @@ public class DomainValidator implements Serializable {
      * @return true if the parameter is an infrastructure TLD
      */
     public boolean isValidInfrastructureTld(String iTld) {
-        final String key = chompLeadingDot(unicodeToASCII(iTld).toLowerCase(Locale.ENGLISH));
-        return arrayContains(INFRASTRUCTURE_TLDS, key);
+        return (tldFlags(iTld) & TldTrie.INFRASTRUCTURE) != 0;
     }
 
     /**
@@ -337,9 +416,7 @@ public class DomainValidator implements Serializable {
      * @return true if the parameter is a generic TLD
      */
     public boolean isValidGenericTld(String gTld) {
-        final String key = chompLeadingDot(unicodeToASCII(gTld).toLowerCase(Locale.ENGLISH));
-        return (arrayContains(GENERIC_TLDS, key) || arrayContains(mygenericTLDsPlus, key))
-                && !arrayContains(mygenericTLDsMinus, key);
+        return (tldFlags(gTld) & TldTrie.GENERIC) != 0;
     }
 
     /**
@@ -350,9 +427,7 @@ public class DomainValidator implements Serializable {
      * @return true if the parameter is a country code TLD
      */
     public boolean isValidCountryCodeTld(String ccTld) {
-        final String key = chompLeadingDot(unicodeToASCII(ccTld).toLowerCase(Locale.ENGLISH));
-        return (arrayContains(COUNTRY_CODE_TLDS, key) || arrayContains(mycountryCodeTLDsPlus, key))
-                && !arrayContains(mycountryCodeTLDsMinus, key);
+        return (tldFlags(ccTld) & TldTrie.COUNTRY_CODE) != 0;
     }
 
     /**
@@ -363,9 +438,7 @@ public class DomainValidator implements Serializable {
      * @return true if the parameter is an local TLD
      */
     public boolean isValidLocalTld(String lTld) {
-        final String key = chompLeadingDot(unicodeToASCII(lTld).toLowerCase(Locale.ENGLISH));
-        return (arrayContains(LOCAL_TLDS, key) || arrayContains(mylocalTLDsPlus, key))
-                && !arrayContains(mylocalTLDsMinus, key);
+        return (tldFlags(lTld) & TldTrie.LOCAL) != 0;
     }
 
     /**
@@ -378,13 +451,6 @@ public class DomainValidator implements Serializable {
         return this.allowLocal;
     }
 
-    private String chompLeadingDot(String str) {
-        if (str.startsWith(".")) {
-            return str.substring(1);
-        }
-        return str;
-    }
-
     // ---------------------------------------------
     // ----- TLDs defined by IANA
     // ----- Authoritative and comprehensive list at:
@@ -1997,15 +2063,15 @@ public class DomainValidator implements Serializable {
     /*
      * This field is used to detect whether the getInstance has been called.
      * After this, the method updateTLDOverride is not allowed to be called.
-     * This field does not need to be volatile since it is only accessed from
-     * synchronized methods.
+     * It is volatile because getInstance reads it without a lock once set; it is only
+     * written under the class lock, which updateTLDOverride and getTLDEntries also hold.
      */
-    private static boolean inUse = false;
+    private static volatile boolean inUse = false;
 
     /*
      * These arrays are mutable.
      * They can only be updated by the updateTLDOverride method, and readers must first get an instance
-     * using the getInstance methods which are all (now) synchronised.
+     * using the getInstance methods, and are copied into each instance's TLD trie at construction.
      * The only other access is via getTLDEntries which is now synchronised.
      */
     // WARNING: this array MUST be sorted, otherwise it cannot be searched reliably using binary search
@@ -18,8 +18,6 @@ package top.lytree.validator;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * <p>Perform email validations.</p>
@@ -39,18 +37,18 @@ public class EmailValidator implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
-    private static final String SPECIAL_CHARS = "\\p{Cntrl}\\(\\)<>@,;:'\\\\\\\"\\.\\[\\]";
-    private static final String VALID_CHARS = "(\\\\.)|[^\\s" + SPECIAL_CHARS + "]";
-    private static final String QUOTED_USER = "(\"(\\\\\"|[^\"])*\")";
-    private static final String WORD = "((" + VALID_CHARS + "|')+|" + QUOTED_USER + ")";
-
-    private static final String EMAIL_REGEX = "^(.+)@(\\S+)$";
-    private static final String IP_DOMAIN_REGEX = "^\\[(.*)\\]$";
-    private static final String USER_REGEX = "^" + WORD + "(\\." + WORD + ")*$";
+    /**
+     * Chars that, like whitespace and control chars, may not appear unescaped in an unquoted word of the user name
+     */
+    private static final boolean[] SPECIAL_CHARS = CharClasses.table("()<>@,;:\\\".[]");
 
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
-    private static final Pattern IP_DOMAIN_PATTERN = Pattern.compile(IP_DOMAIN_REGEX);
-    private static final Pattern USER_PATTERN = Pattern.compile(USER_REGEX);
+    // states of the user name scanner, see isValidUser
+    private static final int WORD_START = 1;
+    private static final int PLAIN = 1 << 1;
+    private static final int PLAIN_ESCAPE = 1 << 2;
+    private static final int QUOTED = 1 << 3;
+    private static final int QUOTED_ESCAPE = 1 << 4;
+    private static final int QUOTED_END = 1 << 5;
 
     private static final int MAX_USERNAME_LEN = 64;
 
@@ -181,22 +179,50 @@ public class EmailValidator implements Serializable {
         }
 
         // Check the whole email address structure
-        Matcher emailMatcher = EMAIL_PATTERN.matcher(email);
-        if (!emailMatcher.matches()) {
+        final int at = indexOfDomain(email);
+        if (at < 0) {
             return false;
         }
 
-        if (!isValidUser(emailMatcher.group(1))) {
+        if (!isValidUser(email.substring(0, at))) {
             return false;
         }
 
-        if (!isValidDomain(emailMatcher.group(2))) {
+        if (!isValidDomain(email.substring(at + 1))) {
             return false;
         }
 
         return true;
     }
 
+    /**
+     * Splits the address like {@code ^(.+)@(\S+)$}: at the last '@' that leaves a non-empty user without line
+     * terminators and a non-empty domain without whitespace.
+     *
+     * @return position of the '@', -1 if the address has no such structure
+     */
+    private static int indexOfDomain(String email) {
+        final int length = email.length();
+        int firstLineTerminator = length;
+        int lastWhitespace = -1;
+        for (int i = 0; i < length; i++) {
+            final char c = email.charAt(i);
+            if (CharClasses.isWhitespace(c)) {
+                lastWhitespace = i;
+            }
+            if (firstLineTerminator == length && CharClasses.isLineTerminator(c)) {
+                firstLineTerminator = i;
+            }
+        }
+        final int floor = Math.max(lastWhitespace + 1, 1);
+        for (int i = Math.min(firstLineTerminator, length - 2); i >= floor; i--) {
+            if (email.charAt(i) == '@') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Returns true if the domain component of an email address is valid.
      *
@@ -205,12 +231,10 @@ public class EmailValidator implements Serializable {
      */
     protected boolean isValidDomain(String domain) {
         // see if domain is an IP address in brackets
-        Matcher ipDomainMatcher = IP_DOMAIN_PATTERN.matcher(domain);
-
-        if (ipDomainMatcher.matches()) {
+        if (isIpDomain(domain)) {
             InetAddressValidator inetAddressValidator =
                     InetAddressValidator.getInstance();
-            return inetAddressValidator.isValid(ipDomainMatcher.group(1));
+            return inetAddressValidator.isValid(domain.substring(1, domain.length() - 1));
         }
         // Domain is symbolic name
         if (allowTld) {
@@ -219,6 +243,22 @@ public class EmailValidator implements Serializable {
         return domainValidator.isValid(domain);
     }
 
+    /**
+     * {@code ^\[(.*)\]$}
+     */
+    private static boolean isIpDomain(String domain) {
+        final int length = domain.length();
+        if (length < 2 || domain.charAt(0) != '[' || domain.charAt(length - 1) != ']') {
+            return false;
+        }
+        for (int i = 1; i < length - 1; i++) {
+            if (CharClasses.isLineTerminator(domain.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns true if the user component of an email address is valid.
      *
@@ -231,7 +271,42 @@ public class EmailValidator implements Serializable {
             return false;
         }
 
-        return USER_PATTERN.matcher(user).matches();
+        // Dot separated words, each either quoted or a run of valid chars, apostrophes and backslash escapes.
+        // Every state the input can be in is tracked at once, so no backtracking is needed.
+        int states = WORD_START;
+        for (int i = 0; i < user.length() && states != 0; i++) {
+            final char c = user.charAt(i);
+            int next = 0;
+            if ((states & (WORD_START | PLAIN)) != 0) {
+                if (c == '\\') {
+                    next |= PLAIN_ESCAPE;
+                } else if (c == '\'' || (c > ' ' && c != 0x7F && !CharClasses.in(SPECIAL_CHARS, c))) {
+                    next |= PLAIN;
+                }
+            }
+            if ((states & WORD_START) != 0 && c == '"') {
+                next |= QUOTED;
+            }
+            if ((states & (PLAIN | QUOTED_END)) != 0 && c == '.') {
+                next |= WORD_START;
+            }
+            if ((states & PLAIN_ESCAPE) != 0 && !CharClasses.isLineTerminator(c)) {
+                next |= PLAIN;
+            }
+            if ((states & QUOTED) != 0) {
+                if (c == '"') {
+                    next |= QUOTED_END;
+                } else {
+                    // a backslash is either a char of its own or escapes a following quote
+                    next |= c == '\\' ? QUOTED | QUOTED_ESCAPE : QUOTED;
+                }
+            }
+            if ((states & QUOTED_ESCAPE) != 0 && c == '"') {
+                next |= QUOTED;
+            }
+            states = next;
+        }
+        return (states & (PLAIN | QUOTED_END)) != 0;
     }
 
 }
@@ -19,9 +19,6 @@ package top.lytree.validator;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 
 /**
  * <p><b>InetAddress</b> validation and conversion routines (<code>java.net.InetAddress</code>).</p>
@@ -48,8 +45,9 @@ public class InetAddressValidator implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
-    private static final String IPV4_REGEX =
-            "^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})$";
+    private static final int IPV4_GROUPS = 4;
+
+    private static final int IPV4_MAX_DIGITS_PER_GROUP = 3;
 
     // Max number of hex groups (separated by :) in an IPV6 address
     private static final int IPV6_MAX_HEX_GROUPS = 8;
@@ -62,9 +60,6 @@ public class InetAddressValidator implements Serializable {
      */
     private static final InetAddressValidator VALIDATOR = new InetAddressValidator();
 
-    /** IPv4 RegexValidator */
-    private final RegexValidator ipv4Validator = new RegexValidator(IPV4_REGEX);
-
     /**
      * Returns the singleton instance of this validator.
      * @return the singleton instance of this validator
@@ -88,38 +83,33 @@ public class InetAddressValidator implements Serializable {
      * @return true if the argument contains a valid IPv4 address
      */
     public boolean isValidInet4Address(String inet4Address) {
-        // verify that address conforms to generic IPv4 format
-        String[] groups = ipv4Validator.match(inet4Address);
-
-        if (groups == null) {
-            return false;
-        }
-
-        // verify that address subgroups are legal
-        for (String ipSegment : groups) {
-            if (ipSegment == null || ipSegment.isEmpty()) {
-                return false;
-            }
-
-            int iIpSegment = 0;
+        return inet4Address != null && isValidInet4Address(inet4Address, 0, inet4Address.length());
+    }
 
-            try {
-                iIpSegment = Integer.parseInt(ipSegment);
-            } catch(NumberFormatException e) {
-                return false;
+    /**
+     * Dotted-quad check of {@code s[start, end)}: four groups of one to three digits, each at most 255 and without
+     * leading zeroes.
+     */
+    private static boolean isValidInet4Address(String s, int start, int end) {
+        int i = start;
+        for (int group = 0; group < IPV4_GROUPS; group++) {
+            if (group > 0) {
+                if (i == end || s.charAt(i) != '.') {
+                    return false;
+                }
+                i++;
             }
-
-            if (iIpSegment > IPV4_MAX_OCTET_VALUE) {
-                return false;
+            final int groupStart = i;
+            int value = 0;
+            while (i < end && i - groupStart < IPV4_MAX_DIGITS_PER_GROUP && CharClasses.isDigit(s.charAt(i))) {
+                value = value * 10 + (s.charAt(i) - '0');
+                i++;
             }
-
-            if (ipSegment.length() > 1 && ipSegment.startsWith("0")) {
+            if (i == groupStart || value > IPV4_MAX_OCTET_VALUE || (i - groupStart > 1 && s.charAt(groupStart) == '0')) {
                 return false;
             }
-
         }
-
-        return true;
+        return i == end;
     }
 
     /**
@@ -130,91 +120,137 @@ public class InetAddressValidator implements Serializable {
      *
      */
     public boolean isValidInet6Address(String inet6Address) {
-        String[] parts;
-        // remove prefix size. This will appear after the zone id (if any)
-        parts = inet6Address.split("/", -1);
-        if (parts.length > 2) {
-            return false; // can only have one prefix specifier
+        if (inet6Address == null) {
+            return false;
         }
-        if (parts.length == 2) {
-            if (!parts[1].matches("\\d{1,3}")) {
+        int end = inet6Address.length();
+        // remove prefix size. This will appear after the zone id (if any)
+        final int slash = inet6Address.indexOf('/');
+        if (slash >= 0) {
+            if (inet6Address.indexOf('/', slash + 1) >= 0) {
+                return false; // can only have one prefix specifier
+            }
+            if (end - slash - 1 < 1 || end - slash - 1 > 3) {
                 return false; // not a valid number
             }
-            int bits = Integer.parseInt(parts[1]); // cannot fail because of RE check
-            if (bits < 0 || bits > MAX_BYTE) {
+            int bits = 0;
+            for (int i = slash + 1; i < end; i++) {
+                if (!CharClasses.isDigit(inet6Address.charAt(i))) {
+                    return false; // not a valid number
+                }
+                bits = bits * 10 + (inet6Address.charAt(i) - '0');
+            }
+            if (bits > MAX_BYTE) {
                 return false; // out of range
             }
+            end = slash;
         }
-        // remove zone-id
-        parts = parts[0].split("%", -1);
-        if (parts.length > 2) {
-            return false;
-        }
-        // The id syntax is implementation independent, but it presumably cannot allow:
-        // whitespace, '/' or '%'
-        if ((parts.length == 2) && !parts[1].matches("[^\\s/%]+")) {
-            return false; // invalid id
+        // remove zone-id; the prefix size holds digits only, so any '%' is before it
+        final int percent = inet6Address.indexOf('%');
+        if (percent >= 0) {
+            if (inet6Address.indexOf('%', percent + 1) >= 0 || percent + 1 == end) {
+                return false;
+            }
+            // The id syntax is implementation independent, but it presumably cannot allow:
+            // whitespace, '/' or '%'
+            for (int i = percent + 1; i < end; i++) {
+                if (CharClasses.isWhitespace(inet6Address.charAt(i))) {
+                    return false; // invalid id
+                }
+            }
+            end = percent;
         }
-        inet6Address = parts[0];
-        boolean containsCompressedZeroes = inet6Address.contains("::");
-        if (containsCompressedZeroes && (inet6Address.indexOf("::") != inet6Address.lastIndexOf("::"))) {
+        final int compressed = indexOfCompressedZeroes(inet6Address, 0, end);
+        if (compressed >= 0 && indexOfCompressedZeroes(inet6Address, compressed + 1, end) >= 0) {
             return false;
         }
-        if ((inet6Address.startsWith(":") && !inet6Address.startsWith("::"))
-                || (inet6Address.endsWith(":") && !inet6Address.endsWith("::"))) {
+        if ((end > 0 && inet6Address.charAt(0) == ':' && compressed != 0)
+                || (end > 0 && inet6Address.charAt(end - 1) == ':' && compressed != end - 2)) {
             return false;
         }
-        String[] octets = inet6Address.split(":");
-        if (containsCompressedZeroes) {
-            List<String> octetList = new ArrayList<>(Arrays.asList(octets));
-            if (inet6Address.endsWith("::")) {
-                // String.split() drops ending empty segments
-                octetList.add("");
-            } else if (inet6Address.startsWith("::") && !octetList.isEmpty()) {
-                octetList.remove(0);
+        if (compressed < 0) {
+            return hexGroups(inet6Address, 0, end, true) == IPV6_MAX_HEX_GROUPS;
+        }
+        final int before = hexGroups(inet6Address, 0, compressed, false);
+        final int after = hexGroups(inet6Address, compressed + 2, end, true);
+        // the compressed zeroes count as one group
+        return before >= 0 && after >= 0 && before + 1 + after <= IPV6_MAX_HEX_GROUPS;
+    }
+
+    /**
+     * @return position of the first "::" within {@code s[from, end)}, -1 if none
+     */
+    private static int indexOfCompressedZeroes(String s, int from, int end) {
+        for (int i = from; i < end - 1; i++) {
+            if (s.charAt(i) == ':' && s.charAt(i + 1) == ':') {
+                return i;
             }
-            octets = octetList.toArray(new String[octetList.size()]);
         }
-        if (octets.length > IPV6_MAX_HEX_GROUPS) {
-            return false;
+        return -1;
+    }
+
+    /**
+     * Counts the 16-bit groups of {@code s[start, end)}, a colon separated list of non-empty groups. When it ends the
+     * address, its last group may be an IPv4 address, which counts as two.
+     *
+     * @return number of groups, -1 if one of them is invalid
+     */
+    private static int hexGroups(String s, int start, int end, boolean last) {
+        if (start == end) {
+            return 0;
         }
-        int validOctets = 0;
-        int emptyOctets = 0; // consecutive empty chunks
-        for (int index = 0; index < octets.length; index++) {
-            String octet = octets[index];
-            if (octet.isEmpty()) {
-                emptyOctets++;
-                if (emptyOctets > 1) {
-                    return false;
+        int groups = 0;
+        int groupStart = start;
+        boolean dotted = false;
+        for (int i = start; i <= end; i++) {
+            if (i < end && s.charAt(i) != ':') {
+                dotted |= s.charAt(i) == '.';
+                continue;
+            }
+            // Is last chunk an IPv4 address?
+            if (last && i == end && dotted) {
+                if (!isValidInet4Address(s, groupStart, end)) {
+                    return -1;
                 }
+                groups += 2;
             } else {
-                emptyOctets = 0;
-                // Is last chunk an IPv4 address?
-                if (index == octets.length - 1 && octet.contains(".")) {
-                    if (!isValidInet4Address(octet)) {
-                        return false;
-                    }
-                    validOctets += 2;
-                    continue;
-                }
-                if (octet.length() > IPV6_MAX_HEX_DIGITS_PER_GROUP) {
-                    return false;
-                }
-                int octetInt = 0;
-                try {
-                    octetInt = Integer.parseInt(octet, BASE_16);
-                } catch (NumberFormatException e) {
-                    return false;
-                }
-                if (octetInt < 0 || octetInt > MAX_UNSIGNED_SHORT) {
-                    return false;
+                if (!isValidHexGroup(s, groupStart, i)) {
+                    return -1;
                 }
+                groups++;
             }
-            validOctets++;
+            groupStart = i + 1;
+        }
+        return groups;
+    }
+
+    /**
+     * At most four hex digits
+     */
+    private static boolean isValidHexGroup(String s, int start, int end) {
+        if (start == end || end - start > IPV6_MAX_HEX_DIGITS_PER_GROUP) {
+            return false;
         }
-        if (validOctets > IPV6_MAX_HEX_GROUPS || (validOctets < IPV6_MAX_HEX_GROUPS && !containsCompressedZeroes)) {
+        for (int i = start; i < end; i++) {
+            final char c = s.charAt(i);
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')) {
+                continue;
+            }
+            if (c == '+' || c == '-' || c >= 0x80) {
+                // a sign or a non-ASCII digit, which the group has always been allowed to have
+                return parsesAsUnsignedShort(s, start, end);
+            }
             return false;
         }
         return true;
     }
+
+    private static boolean parsesAsUnsignedShort(String s, int start, int end) {
+        try {
+            final int value = Integer.parseInt(s, start, end, BASE_16);
+            return value >= 0 && value <= MAX_UNSIGNED_SHORT;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package top.lytree.validator;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable char trie mapping top-level domains to the categories they belong to.
+ * <p>
+ * The trie is flattened into arrays: the outgoing edges of node {@code i} are stored contiguously in
+ * {@code [edgeStart[i], edgeStart[i + 1])}, sorted by char, and are binary-searched during lookup.
+ * Lookup folds case on the fly, so a key can be matched directly inside a larger string without
+ * {@code substring} or {@code toLowerCase}.
+ * </p>
+ *
+ * @author pride
+ */
+final class TldTrie implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    static final int INFRASTRUCTURE = 1;
+    static final int GENERIC = 1 << 1;
+    static final int COUNTRY_CODE = 1 << 2;
+    static final int LOCAL = 1 << 3;
+
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final byte[] flags;
+    /**
+     * Child of the root for each ASCII char (upper case folded), {@code 0} if none; saves the widest binary search
+     */
+    private final int[] rootTargets = new int[0x80];
+
+    /**
+     * @param entries lower-case TLD to category flags
+     */
+    TldTrie(Map<String, Integer> entries) {
+        final Node root = new Node();
+        int nodes = 1;
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            Node node = root;
+            for (int i = 0; i < entry.getKey().length(); i++) {
+                final char c = entry.getKey().charAt(i);
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(c, child);
+                    nodes++;
+                }
+                node = child;
+            }
+            node.flags |= entry.getValue();
+        }
+
+        // breadth-first numbering, so that the edges of each node are contiguous
+        edgeStart = new int[nodes + 1];
+        edgeChars = new char[nodes - 1];
+        edgeTargets = new int[nodes - 1];
+        flags = new byte[nodes];
+        final ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        int id = 0;
+        int next = 1;
+        int edge = 0;
+        while (!queue.isEmpty()) {
+            final Node node = queue.poll();
+            flags[id] = (byte) node.flags;
+            edgeStart[id] = edge;
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                edgeChars[edge] = child.getKey();
+                edgeTargets[edge] = next++;
+                edge++;
+                queue.add(child.getValue());
+            }
+            id++;
+        }
+        edgeStart[nodes] = edge;
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            if (edgeChars[e] < 0x80) {
+                rootTargets[edgeChars[e]] = edgeTargets[e];
+                if (edgeChars[e] >= 'a' && edgeChars[e] <= 'z') {
+                    rootTargets[edgeChars[e] - ('a' - 'A')] = edgeTargets[e];
+                }
+            }
+        }
+    }
+
+    /**
+     * Category flags of {@code s[start, end)}, compared case-insensitively.
+     *
+     * @return the flags, {@code 0} if the key is unknown
+     */
+    int lookup(CharSequence s, int start, int end) {
+        if (start == end) {
+            return flags[0];
+        }
+        final char first = s.charAt(start);
+        int node = first < 0x80 ? rootTargets[first] : child(0, Character.toLowerCase(first));
+        for (int i = start + 1; i < end && node != 0; i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                node = child(node, c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+            } else {
+                node = child(node, Character.toLowerCase(c));
+            }
+        }
+        return node == 0 ? 0 : flags[node];
+    }
+
+    /**
+     * @return the child of {@code node} along {@code c}, {@code 0} (the root, never a child) if none
+     */
+    private int child(int node, char c) {
+        final int edge = Arrays.binarySearch(edgeChars, edgeStart[node], edgeStart[node + 1], c);
+        return edge < 0 ? 0 : edgeTargets[edge];
+    }
+
+    private static final class Node {
+
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private int flags;
+    }
+}
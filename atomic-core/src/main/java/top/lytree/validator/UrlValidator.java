@@ -6,8 +6,6 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author PrideYang
@@ -38,48 +36,24 @@ public class UrlValidator {
     public static final long ALLOW_LOCAL_URLS = 1 << 3; // CHECKSTYLE IGNORE MagicNumber
 
     /**
-     * Protocol scheme (e.g. http, ftp, https).
+     * Protocol scheme (e.g. http, ftp, https): {@code \p{Alpha}[\p{Alnum}\+\-\.]*}.
      */
-    private static final String SCHEME_REGEX = "^\\p{Alpha}[\\p{Alnum}\\+\\-\\.]*";
-    private static final Pattern SCHEME_PATTERN = Pattern.compile(SCHEME_REGEX);
+    private static final boolean[] SCHEME_CHARS = CharClasses.alnumTable("+-.");
 
     // Drop numeric, and  "+-." for now
-    // TODO does not allow for optional userinfo.
     // Validation of character set is done by isValidAuthority
-    private static final String AUTHORITY_CHARS_REGEX = "\\p{Alnum}\\-\\."; // allows for IPV4 but not IPV6
-    // Allow for IPv4 mapped addresses: ::FFF:123.123.123.123
-    private static final String IPV6_REGEX = "::FFFF:(?:\\d{1,3}\\.){3}\\d{1,3}|[0-9a-fA-F:]+"; // do this as separate match because : could cause ambiguity with port prefix
+    private static final boolean[] AUTHORITY_CHARS = CharClasses.alnumTable("-."); // allows for IPV4 but not IPV6
 
     // userinfo    = *( unreserved / pct-encoded / sub-delims / ":" )
     // unreserved    = ALPHA / DIGIT / "-" / "." / "_" / "~"
     // sub-delims    = "!" / "$" / "&" / "'" / "(" / ")" / "*" / "+" / "," / ";" / "="
     // We assume that password has the same valid chars as user info
-    private static final String USERINFO_CHARS_REGEX = "[a-zA-Z0-9%-._~!$&'()*+,;=]";
-    // since neither ':' nor '@' are allowed chars, we don't need to use non-greedy matching
-    private static final String USERINFO_FIELD_REGEX =
-            USERINFO_CHARS_REGEX + "+" + // At least one character for the name
-                    "(?::" + USERINFO_CHARS_REGEX + "*)?@"; // colon and password may be absent
-    private static final String AUTHORITY_REGEX =
-            "(?:\\[(" + IPV6_REGEX + ")\\]|(?:(?:" + USERINFO_FIELD_REGEX + ")?([" + AUTHORITY_CHARS_REGEX + "]*)))(?::(\\d*))?(.*)?";
-    //             1                          e.g. user:pass@          2                                         3       4
-    private static final Pattern AUTHORITY_PATTERN = Pattern.compile(AUTHORITY_REGEX);
+    // The user name is not empty, the colon and password may be absent; an '@' ends the userinfo
+    private static final boolean[] USERINFO_CHARS = CharClasses.alnumTable("%&'()*+,-._~!$;=");
 
-    private static final int PARSE_AUTHORITY_IPV6 = 1;
+    private static final String IPV4_MAPPED_PREFIX = "::FFFF:";
 
-    private static final int PARSE_AUTHORITY_HOST_IP = 2; // excludes userinfo, if present
-
-    private static final int PARSE_AUTHORITY_PORT = 3; // excludes leading colon
-
-    /**
-     * Should always be empty. The code currently allows spaces.
-     */
-    private static final int PARSE_AUTHORITY_EXTRA = 4;
-
-    private static final String PATH_REGEX = "^(/[-\\w:@&?=+,.!/~*'%$_;\\(\\)]*)?$";
-    private static final Pattern PATH_PATTERN = Pattern.compile(PATH_REGEX);
-
-    private static final String QUERY_REGEX = "^(\\S*)$";
-    private static final Pattern QUERY_PATTERN = Pattern.compile(QUERY_REGEX);
+    private static final boolean[] PATH_CHARS = CharClasses.alnumTable("-_:@&?=+,.!/~*'%$;()");
 
     /**
      * Holds the set of current validation options.
@@ -281,9 +255,14 @@ public class UrlValidator {
             return false;
         }
 
-        if (!SCHEME_PATTERN.matcher(scheme).matches()) {
+        if (scheme.isEmpty() || !isAsciiAlpha(scheme.charAt(0))) {
             return false;
         }
+        for (int i = 1; i < scheme.length(); i++) {
+            if (!CharClasses.in(SCHEME_CHARS, scheme.charAt(i))) {
+                return false;
+            }
+        }
 
         if (isOff(ALLOW_ALL_SCHEMES) && !allowedSchemes.contains(scheme.toLowerCase(Locale.ENGLISH))) {
             return false;
@@ -295,7 +274,7 @@ public class UrlValidator {
     /**
      * Returns true if the authority is properly formatted.  An authority is the combination of hostname and port.  A <code>null</code> authority value is considered invalid. Note:
      * this implementation validates the domain unless a RegexValidator was provided. If a RegexValidator was supplied and it matches, then the authority is regarded as valid with
-     * no further checks, otherwise the method checks against the AUTHORITY_PATTERN and the DomainValidator (ALLOW_LOCAL_URLS)
+     * no further checks, otherwise the method checks the authority syntax and the DomainValidator (ALLOW_LOCAL_URLS)
      *
      * @param authority Authority value to validate, alllows IDN
      * @return true if authority (hostname and port) is valid.
@@ -312,20 +291,33 @@ public class UrlValidator {
         // convert to ASCII if possible
         final String authorityASCII = DomainValidator.unicodeToASCII(authority);
 
-        Matcher authorityMatcher = AUTHORITY_PATTERN.matcher(authorityASCII);
-        if (!authorityMatcher.matches()) {
-            return false;
+        final int length = authorityASCII.length();
+        for (int i = 0; i < length; i++) {
+            if (CharClasses.isLineTerminator(authorityASCII.charAt(i))) {
+                return false;
+            }
         }
 
-        // We have to process IPV6 separately because that is parsed in a different group
-        String ipv6 = authorityMatcher.group(PARSE_AUTHORITY_IPV6);
-        if (ipv6 != null) {
+        // the rest after host and port, should always be blank. The code currently allows spaces.
+        int extra;
+        // We have to process IPV6 separately because of the colons
+        final int ipv6End = indexOfIpv6End(authorityASCII);
+        if (ipv6End > 0) {
             InetAddressValidator inetAddressValidator = InetAddressValidator.getInstance();
-            if (!inetAddressValidator.isValidInet6Address(ipv6)) {
+            if (!inetAddressValidator.isValidInet6Address(authorityASCII.substring(1, ipv6End))) {
                 return false;
             }
+            extra = ipv6End + 1;
+            if (extra < length && authorityASCII.charAt(extra) == ':') {
+                extra = skipDigits(authorityASCII, extra + 1);
+            }
         } else {
-            String hostLocation = authorityMatcher.group(PARSE_AUTHORITY_HOST_IP);
+            final int hostStart = indexOfHost(authorityASCII);
+            int hostEnd = hostStart;
+            while (hostEnd < length && CharClasses.in(AUTHORITY_CHARS, authorityASCII.charAt(hostEnd))) {
+                hostEnd++;
+            }
+            String hostLocation = authorityASCII.substring(hostStart, hostEnd);
             // check if authority is hostname or IP address:
             // try a hostname first since that's much more likely
             if (!this.domainValidator.isValid(hostLocation)) {
@@ -336,27 +328,99 @@ public class UrlValidator {
                     return false;
                 }
             }
-            String port = authorityMatcher.group(PARSE_AUTHORITY_PORT);
-            if (port != null && !port.isEmpty()) {
-                try {
-                    int iPort = Integer.parseInt(port);
-                    if (iPort < 0 || iPort > MAX_UNSIGNED_16_BIT_INT) {
+            extra = hostEnd;
+            if (extra < length && authorityASCII.charAt(extra) == ':') {
+                final int portEnd = skipDigits(authorityASCII, extra + 1);
+                int port = 0;
+                for (int i = extra + 1; i < portEnd; i++) {
+                    port = port * 10 + (authorityASCII.charAt(i) - '0');
+                    if (port > MAX_UNSIGNED_16_BIT_INT) {
                         return false;
                     }
-                } catch (NumberFormatException nfe) {
-                    return false; // this can happen for big numbers
                 }
+                extra = portEnd;
             }
         }
 
-        String extra = authorityMatcher.group(PARSE_AUTHORITY_EXTRA);
-        if (extra != null && !extra.trim().isEmpty()) {
-            return false;
+        for (int i = extra; i < length; i++) {
+            if (authorityASCII.charAt(i) > ' ') {
+                return false;
+            }
         }
 
         return true;
     }
 
+    /**
+     * Matches {@code \[(::FFFF:(?:\d{1,3}\.){3}\d{1,3}|[0-9a-fA-F:]+)\]} at the start of the authority.
+     *
+     * @param authority the authority, in ASCII
+     * @return position of the closing bracket, -1 if the authority does not start with a bracketed IPv6 address
+     */
+    private static int indexOfIpv6End(String authority) {
+        if (authority.isEmpty() || authority.charAt(0) != '[') {
+            return -1;
+        }
+        final int length = authority.length();
+        // Allow for IPv4 mapped addresses: ::FFFF:123.123.123.123
+        if (authority.startsWith(IPV4_MAPPED_PREFIX, 1)) {
+            int i = 1 + IPV4_MAPPED_PREFIX.length();
+            for (int group = 0; group < 4 && i >= 0; group++) {
+                final int groupEnd = Math.min(skipDigits(authority, i), i + 3);
+                final char separator = group < 3 ? '.' : ']';
+                i = groupEnd > i && groupEnd < length && authority.charAt(groupEnd) == separator ? groupEnd + 1 : -1;
+            }
+            if (i >= 0) {
+                return i - 1;
+            }
+        }
+        int i = 1;
+        while (i < length && isHexDigitOrColon(authority.charAt(i))) {
+            i++;
+        }
+        return i > 1 && i < length && authority.charAt(i) == ']' ? i : -1;
+    }
+
+    /**
+     * Skips the userinfo ({@code user:pass@}), if present.
+     *
+     * @param authority the authority, in ASCII
+     * @return position of the host
+     */
+    private static int indexOfHost(String authority) {
+        final int length = authority.length();
+        int i = 0;
+        while (i < length && CharClasses.in(USERINFO_CHARS, authority.charAt(i))) {
+            i++;
+        }
+        if (i == 0) {
+            return 0;
+        }
+        if (i < length && authority.charAt(i) == ':') {
+            i++;
+            while (i < length && CharClasses.in(USERINFO_CHARS, authority.charAt(i))) {
+                i++;
+            }
+        }
+        return i < length && authority.charAt(i) == '@' ? i + 1 : 0;
+    }
+
+    private static int skipDigits(String s, int from) {
+        int i = from;
+        while (i < s.length() && CharClasses.isDigit(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isAsciiAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isHexDigitOrColon(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F') || c == ':';
+    }
+
     /**
      * Returns true if the path is valid.  A <code>null</code> value is considered invalid.
      *
@@ -368,9 +432,14 @@ public class UrlValidator {
             return false;
         }
 
-        if (!PATH_PATTERN.matcher(path).matches()) {
+        if (!path.isEmpty() && path.charAt(0) != '/') {
             return false;
         }
+        for (int i = 1; i < path.length(); i++) {
+            if (!CharClasses.in(PATH_CHARS, path.charAt(i))) {
+                return false;
+            }
+        }
 
         try {
             // Don't omit host otherwise leading path may be taken as host if it starts with //
@@ -403,7 +472,12 @@ public class UrlValidator {
             return true;
         }
 
-        return QUERY_PATTERN.matcher(query).matches();
+        for (int i = 0; i < query.length(); i++) {
+            if (CharClasses.isWhitespace(query.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
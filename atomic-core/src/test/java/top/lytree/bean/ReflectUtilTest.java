@@ -3,6 +3,9 @@ package top.lytree.bean;
 import lombok.Data;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import top.lytree.exception.BeanException;
+
+import java.lang.reflect.Field;
 import java.util.Optional;
 
 public class ReflectUtilTest {
@@ -13,8 +16,166 @@ public class ReflectUtilTest {
         Assertions.assertEquals(111, testClass.getA());
     }
 
+    @Test
+    public void getFieldsCachedTest() {
+        final Field[] fields = ReflectUtils.getFields(SubClass.class);
+        Assertions.assertEquals(2, fields.length);
+        Assertions.assertEquals(SubClass.class, fields[0].getDeclaringClass());
+        // 返回缓存数组的克隆，修改数组不影响缓存，字段为共享对象，不再反射
+        fields[0] = null;
+        Assertions.assertNotNull(ReflectUtils.getFields(SubClass.class)[0]);
+        Assertions.assertNotSame(ReflectUtils.getFields(SubClass.class), ReflectUtils.getFields(SubClass.class));
+        Assertions.assertSame(ReflectUtils.getFields(SubClass.class)[1], FieldUtils.getAllFields(SubClass.class)[1]);
+        Assertions.assertSame(ClassMetadata.of(SubClass.class).getDeclaredFields()[0], ClassMetadata.of(SubClass.class).getDeclaredFieldList().get(0));
+
+        // 同名字段子类优先
+        Assertions.assertEquals(SubClass.class, ReflectUtils.getField(SubClass.class, "a").getDeclaringClass());
+        Assertions.assertEquals(SubClass.class, ReflectUtils.getFieldMap(SubClass.class).get("a").getDeclaringClass());
+
+        // 列表和Map为缓存的只读视图
+        Assertions.assertSame(ReflectUtils.getFieldMap(SubClass.class), ReflectUtils.getFieldMap(SubClass.class));
+        Assertions.assertSame(ClassMetadata.of(SubClass.class).getFieldList(), ClassMetadata.of(SubClass.class).getFieldList());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> ReflectUtils.getFieldMap(SubClass.class).clear());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void cachedFieldAccessibilityTest() {
+        // 通过访问器或forceAccess读写后，缓存的字段及其他调用方拿到的字段仍保持原有的访问权限（isAccessible为override标志）
+        final TestClass testClass = new TestClass();
+        ReflectUtils.setFieldValue(testClass, "a", 1);
+        Assertions.assertEquals(1, ReflectUtils.getFieldValue(testClass, "a"));
+        final Field forced = FieldUtils.getField(TestClass.class, "a", true);
+        Assertions.assertTrue(forced.isAccessible());
+
+        Assertions.assertNull(FieldUtils.getField(TestClass.class, "a", false));
+        Assertions.assertNotSame(forced, FieldUtils.getField(TestClass.class, "a", true));
+        for (Field field : FieldUtils.getAllFields(SubClass.class)) {
+            Assertions.assertFalse(field.isAccessible());
+        }
+        Assertions.assertFalse(ReflectUtils.getField(TestClass.class, "a").isAccessible());
+        Assertions.assertFalse(ReflectUtils.getFieldMap(TestClass.class).get("a").isAccessible());
+        Assertions.assertFalse(FieldAccessor.of(forced).getField().isAccessible());
+        // 读写字段值使用的可访问副本同样不影响缓存的字段
+        ReflectUtils.getFieldsValue(new SubClass());
+        Assertions.assertEquals(1, FieldUtils.getFieldValue(testClass, ReflectUtils.getField(TestClass.class, "a")));
+        Assertions.assertFalse(ReflectUtils.getFieldMap(TestClass.class).get("a").isAccessible());
+    }
+
+    @Test
+    public void fieldAccessorTest() {
+        final TestClass testClass = new TestClass();
+        final FieldAccessor accessor = FieldAccessor.of(ReflectUtils.getField(TestClass.class, "a"));
+        accessor.setInt(testClass, 5);
+        Assertions.assertEquals(5, accessor.getInt(testClass));
+        Assertions.assertEquals(5, ReflectUtils.getFieldValue(testClass, "a"));
+
+        final FinalClass finalClass = new FinalClass();
+        ReflectUtils.setFieldValue(finalClass, "name", "b");
+        Assertions.assertEquals("b", finalClass.name);
+        Assertions.assertArrayEquals(new Object[]{"b"}, ReflectUtils.getFieldsValue(finalClass));
+    }
+
+    @Test
+    public void fieldAccessorPrimitiveTest() {
+        final PrimitiveClass obj = new PrimitiveClass();
+        final FieldAccessor count = FieldAccessor.of(ReflectUtils.getField(PrimitiveClass.class, "count"));
+        count.setLong(obj, 1L << 40);
+        Assertions.assertEquals(1L << 40, count.getLong(obj));
+        Assertions.assertEquals((double) (1L << 40), count.getDouble(obj));
+        count.setInt(obj, 7);
+        Assertions.assertEquals(7L, count.get(obj));
+        // 装箱的值同样按拓宽转换规则写入
+        count.set(obj, 8);
+        Assertions.assertEquals(8L, count.getLong(obj));
+        // long不能无损转为int
+        Assertions.assertThrows(BeanException.class, () -> count.getInt(obj));
+
+        final FieldAccessor flag = FieldAccessor.of(ReflectUtils.getField(PrimitiveClass.class, "flag"));
+        flag.setBoolean(obj, true);
+        Assertions.assertTrue(flag.getBoolean(obj));
+        Assertions.assertEquals(Boolean.TRUE, flag.get(obj));
+        final FieldAccessor ratio = FieldAccessor.of(ReflectUtils.getField(PrimitiveClass.class, "ratio"));
+        ratio.set(obj, 1.5F);
+        Assertions.assertEquals(1.5F, ratio.getFloat(obj));
+        Assertions.assertEquals(1.5D, ratio.getDouble(obj));
+        ratio.setFloat(obj, 2.5F);
+        Assertions.assertEquals(2.5F, ratio.getFloat(obj));
+        ratio.setInt(obj, 3);
+        Assertions.assertEquals(3F, ratio.getFloat(obj));
+        // float不能写入int字段
+        Assertions.assertThrows(BeanException.class, () -> FieldAccessor.of(ReflectUtils.getField(PrimitiveClass.class, "counter")).setFloat(null, 1F));
+    }
+
+    @Test
+    public void fieldAccessorStaticTest() {
+        final FieldAccessor counter = FieldAccessor.of(ReflectUtils.getField(PrimitiveClass.class, "counter"));
+        Assertions.assertTrue(counter.isStatic());
+        counter.setInt(null, 3);
+        Assertions.assertEquals(3, counter.getInt(new PrimitiveClass()));
+        Assertions.assertEquals(3, ReflectUtils.getFieldValue(PrimitiveClass.class, "counter"));
+        ReflectUtils.setFieldValue(PrimitiveClass.class, "counter", 4);
+        Assertions.assertEquals(4, PrimitiveClass.counter);
+
+        // static final字段不能写入
+        final FieldAccessor constant = FieldAccessor.of(ReflectUtils.getField(PrimitiveClass.class, "CONSTANT"));
+        Assertions.assertEquals("c", constant.get(null));
+        Assertions.assertThrows(BeanException.class, () -> constant.set(null, "d"));
+        Assertions.assertThrows(BeanException.class, () -> ModifierUtils.removeFinalModify(ReflectUtils.getField(PrimitiveClass.class, "CONSTANT")));
+
+        // 未开放模块中的字段无法获取句柄，回退为反射访问
+        final FieldAccessor maxValue = FieldAccessor.of(ReflectUtils.getField(Integer.class, "MAX_VALUE"));
+        Assertions.assertEquals(Integer.MAX_VALUE, maxValue.getInt(null));
+        Assertions.assertEquals((long) Integer.MAX_VALUE, maxValue.getLong(null));
+        Assertions.assertThrows(BeanException.class, () -> maxValue.setInt(null, 0));
+    }
+
+    @Test
+    public void fieldAccessorFinalTest() {
+        final FinalClass finalClass = new FinalClass();
+        final FieldAccessor name = FieldAccessor.of(ReflectUtils.getField(FinalClass.class, "name"));
+        name.set(finalClass, "c");
+        Assertions.assertEquals("c", finalClass.name);
+        Assertions.assertEquals("c", name.get(finalClass));
+    }
+
+    @Test
+    public void fieldAccessorErrorTest() {
+        final FieldAccessor a = FieldAccessor.of(ReflectUtils.getField(TestClass.class, "a"));
+        final FieldAccessor name = FieldAccessor.of(ReflectUtils.getField(FinalClass.class, "name"));
+        final TestClass testClass = new TestClass();
+        // 值的类型与字段不兼容
+        Assertions.assertThrows(BeanException.class, () -> a.set(testClass, "1"));
+        Assertions.assertThrows(BeanException.class, () -> a.set(testClass, null));
+        Assertions.assertThrows(BeanException.class, () -> a.setBoolean(testClass, true));
+        Assertions.assertThrows(BeanException.class, () -> name.set(new FinalClass(), 1));
+        // 对象为null或类型不符
+        Assertions.assertThrows(BeanException.class, () -> a.get(null));
+        Assertions.assertThrows(BeanException.class, () -> a.getInt(null));
+        Assertions.assertThrows(BeanException.class, () -> a.setInt(null, 1));
+        Assertions.assertThrows(BeanException.class, () -> a.get(new FinalClass()));
+        Assertions.assertThrows(BeanException.class, () -> ReflectUtils.getFieldValue(new FinalClass(), ReflectUtils.getField(TestClass.class, "a")));
+        Assertions.assertEquals(0, testClass.getA());
+    }
+
     @Data
     static class TestClass {
         private int a;
     }
+
+    static class SubClass extends TestClass {
+        private String a;
+    }
+
+    static class FinalClass {
+        private final String name = new String("a");
+    }
+
+    static class PrimitiveClass {
+        private static final String CONSTANT = new String("c");
+        private static int counter;
+        private long count;
+        private boolean flag;
+        private float ratio;
+    }
 }
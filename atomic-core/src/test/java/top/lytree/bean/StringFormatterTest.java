@@ -1,11 +1,15 @@
 package top.lytree.bean;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.helpers.FormattingTuple;
 import org.slf4j.helpers.MessageFormatter;
 import top.lytree.text.StringFormatter;
 
+import java.io.StringWriter;
+
 public class StringFormatterTest {
 
     private final static Logger logger = LoggerFactory.getLogger(StringFormatterTest.class);
@@ -17,4 +21,50 @@ public class StringFormatterTest {
 
         System.out.println(message);
     }
+
+    @Test
+    public void compatibleWithMessageFormatterTest() {
+        final Object[] nested = new Object[]{1, "a"};
+        final Object[] cyclic = new Object[2];
+        cyclic[0] = cyclic;
+        cyclic[1] = new int[]{1, 2};
+        final String[] patterns = {"", "plain", "{}", "a {} b {} c", "x \\{} y {}", "x \\\\{} y {}",
+                "{}{}{}", "\\{}", "tail {", "{} and \\{} and {}"};
+        final Object[][] argArrays = {{}, {"one"}, {1, null}, {nested, cyclic, new byte[]{1}}, {"a", "b", "c", "d"}};
+        for (String pattern : patterns) {
+            for (Object[] args : argArrays) {
+                final String expected = MessageFormatter.arrayFormat(pattern, args).getMessage();
+                Assertions.assertEquals(expected, StringFormatter.format(pattern, args), pattern);
+                Assertions.assertEquals(expected, StringFormatter.formatTo(new StringBuilder(), pattern, args).toString(), pattern);
+                final StringWriter writer = new StringWriter();
+                StringFormatter.compile(pattern).formatTo(writer, args);
+                Assertions.assertEquals(expected, writer.toString(), pattern);
+            }
+        }
+    }
+
+    @Test
+    public void templateTest() {
+        final StringFormatter.Template template = StringFormatter.compile("id={}, name={}");
+        Assertions.assertSame(template, StringFormatter.compile("id={}, name={}"));
+        Assertions.assertEquals(2, template.getAnchorCount());
+        Assertions.assertEquals("id=1, name=atomic", template.format(1, "atomic"));
+    }
+
+    @Test
+    public void nestedFormatTest() {
+        // 参数的toString()在同一线程内再次格式化，内外两层结果互不影响
+        final Object inner = new Object() {
+            @Override
+            public String toString() {
+                final StringWriter writer = new StringWriter();
+                StringFormatter.formatTo(writer, "inner({}, {})", "x", 2);
+                return StringFormatter.format("<{}>", writer);
+            }
+        };
+        final String expected = "outer <inner(x, 2)> end";
+        Assertions.assertEquals(expected, StringFormatter.format("outer {} {}", inner, "end"));
+        Assertions.assertEquals(expected, StringFormatter.formatTo(new StringWriter(), "outer {} {}", inner, "end").toString());
+        Assertions.assertEquals(expected, StringFormatter.formatTo(new StringBuilder(), "outer {} {}", inner, "end").toString());
+    }
 }
@@ -0,0 +1,71 @@
+package top.lytree.convert;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import top.lytree.convert.impl.CollectionConverter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ConvertTest {
+    @Test
+    public void toListTest() {
+        final List<Long> list = Convert.convert(new TypeReference<List<Long>>() {}, List.of("1", "2", "3"));
+        Assertions.assertEquals(List.of(1L, 2L, 3L), list);
+
+        final Set<Integer> set = Convert.toSet(Integer.class, new String[]{"1", "1", "2"});
+        Assertions.assertEquals(Set.of(1, 2), set);
+    }
+
+    @Test
+    public void toMapTest() {
+        final Map<String, String> src = new LinkedHashMap<>();
+        src.put("1", "10");
+        src.put("2", "20");
+        final Map<Integer, Long> map = Convert.convert(new TypeReference<Map<Integer, Long>>() {}, src);
+        Assertions.assertEquals(Map.of(1, 10L, 2, 20L), map);
+    }
+
+    @Test
+    public void toListCopyTest() {
+        final List<String> src = new ArrayList<>(List.of("a", "b"));
+        final List<?> list = Convert.toList(src);
+        Assertions.assertEquals(src, list);
+        Assertions.assertNotSame(src, list);
+        Assertions.assertNotSame(src, Convert.toList(String.class, src));
+    }
+
+    @Test
+    public void toConcurrentMapNullTest() {
+        final Map<String, String> src = new LinkedHashMap<>();
+        src.put("1", null);
+        final ConvertException e = Assertions.assertThrows(ConvertException.class,
+                () -> Convert.convert(new TypeReference<ConcurrentHashMap<Integer, Long>>() {}, src));
+        Assertions.assertTrue(e.getMessage().contains("does not accept null"), e.getMessage());
+    }
+
+    @Test
+    public void parallelTest() {
+        final List<String> src = IntStream.range(0, CollectionConverter.DEFAULT_PARALLEL_THRESHOLD * 2)
+                .mapToObj(String::valueOf).collect(Collectors.toCollection(ArrayList::new));
+        final List<Integer> list = Convert.toList(Integer.class, src);
+        Assertions.assertEquals(src.size(), list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Assertions.assertEquals(i, list.get(i));
+        }
+    }
+
+    @Test
+    public void viewTest() {
+        final List<Integer> view = CollectionConverter.view(List.of("7", "8"), Integer.class);
+        Assertions.assertEquals(8, view.get(1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> view.add(1));
+    }
+}
@@ -0,0 +1,99 @@
+package top.lytree.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Iterator;
+
+public class FixedDateSerializersTest {
+
+    @Test
+    public void roundTripTest() {
+        final Dates dates = new Dates();
+        dates.dateTime = LocalDateTime.of(2023, 7, 9, 8, 5, 3, 45_000_000);
+        dates.date = LocalDate.of(2023, 7, 9);
+        dates.time = LocalTime.of(23, 59, 1);
+        dates.farFuture = LocalDateTime.of(12345, 1, 2, 3, 4, 5);
+        dates.custom = LocalDate.of(2023, 7, 9);
+
+        final String json = JSONObject.toJSONString(dates);
+        Assertions.assertEquals("{\"dateTime\":\"2023-07-09 08:05:03\",\"date\":\"2023-07-09\",\"time\":\"23:59:01\","
+                + "\"farFuture\":\"+12345-01-02 03:04:05\",\"custom\":\"2023/07/09\"}", json);
+
+        final Dates copy = JSONObject.parseObject(json, Dates.class);
+        Assertions.assertEquals(dates.dateTime.withNano(0), copy.dateTime);
+        Assertions.assertEquals(dates.date, copy.date);
+        Assertions.assertEquals(dates.time, copy.time);
+        Assertions.assertEquals(dates.farFuture, copy.farFuture);
+        Assertions.assertEquals(dates.custom, copy.custom);
+    }
+
+    @Test
+    public void parseTest() {
+        // 两侧空白、SMART解析与jackson-datatype-jsr310一致
+        final Dates dates = JSONObject.parseObject(
+                "{\"dateTime\":\" 2023-02-30 24:00:00 \",\"date\":\"2024-02-31\",\"time\":\"08:05:03\"}", Dates.class);
+        Assertions.assertEquals(LocalDateTime.of(2023, 3, 1, 0, 0), dates.dateTime);
+        Assertions.assertEquals(LocalDate.of(2024, 2, 29), dates.date);
+        Assertions.assertEquals(LocalTime.of(8, 5, 3), dates.time);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> JSONObject.parseObject("{\"dateTime\":\"2023-07-09 08:61:00\"}", Dates.class));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> JSONObject.parseObject("{\"date\":\"2023-7-9\"}", Dates.class));
+    }
+
+    @Test
+    public void contextualTest() throws Exception {
+        final ObjectMapper mapper = JSON.getObjectMapper();
+        final BeanSerializerBase beanSerializer = (BeanSerializerBase) mapper.getSerializerProviderInstance().findValueSerializer(Dates.class);
+        final DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                .createDummyInstance(mapper.getDeserializationConfig());
+        final BeanDeserializerBase beanDeserializer = (BeanDeserializerBase) ctxt.findRootValueDeserializer(ctxt.constructType(Dates.class));
+        // 未指定格式的属性经createContextual后仍使用定长的序列化、反序列化器
+        for (String name : new String[]{"dateTime", "date", "time"}) {
+            final BeanPropertyWriter writer = writer(beanSerializer, name);
+            Assertions.assertTrue(writer.getSerializer().getClass().getSimpleName().startsWith("Fixed"), name);
+            final JsonDeserializer<Object> deserializer = beanDeserializer.findProperty(name).getValueDeserializer();
+            Assertions.assertTrue(deserializer.getClass().getSimpleName().startsWith("Fixed"), name);
+        }
+        // 指定了其它格式的属性交给父类
+        final BeanPropertyWriter custom = writer(beanSerializer, "custom");
+        Assertions.assertEquals(LocalDateSerializer.class, custom.getSerializer().getClass());
+        Assertions.assertEquals(LocalDateDeserializer.class, beanDeserializer.findProperty("custom").getValueDeserializer().getClass());
+    }
+
+    private static BeanPropertyWriter writer(BeanSerializerBase serializer, String name) {
+        final Iterator<PropertyWriter> it = serializer.properties();
+        while (it.hasNext()) {
+            final PropertyWriter writer = it.next();
+            if (writer.getName().equals(name)) {
+                return (BeanPropertyWriter) writer;
+            }
+        }
+        throw new AssertionError(name);
+    }
+
+    static class Dates {
+        private LocalDateTime dateTime;
+        private LocalDate date;
+        private LocalTime time;
+        private LocalDateTime farFuture;
+        @JsonFormat(pattern = "yyyy/MM/dd")
+        private LocalDate custom;
+    }
+}
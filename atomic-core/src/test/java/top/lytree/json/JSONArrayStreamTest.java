@@ -0,0 +1,89 @@
+package top.lytree.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class JSONArrayStreamTest {
+
+    @Test
+    public void writeAndReadMappedTest(@TempDir Path dir) throws IOException {
+        final Path file = dir.resolve("items.json");
+        final int count = 50_000;
+        try (OutputStream out = Files.newOutputStream(file);
+             JSONArrayWriter<Item> writer = JSONArray.writer(out, Item.class)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(new Item(i, "item-" + i));
+            }
+        }
+
+        final List<Integer> batchSizes = new ArrayList<>();
+        final long[] sum = new long[1];
+        try (JSONArrayReader<Item> reader = JSONArray.reader(file, Item.class)) {
+            reader.forEachBatch(1000, batch -> {
+                batchSizes.add(batch.size());
+                batch.forEach(item -> sum[0] += item.id);
+            });
+        }
+        Assertions.assertEquals(count / 1000, batchSizes.size());
+        Assertions.assertEquals((long) count * (count - 1) / 2, sum[0]);
+    }
+
+    @Test
+    public void streamTest() {
+        final byte[] json = "[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]".getBytes(StandardCharsets.UTF_8);
+        try (Stream<Item> stream = JSONArray.reader(new ByteArrayInputStream(json), Item.class).stream()) {
+            Assertions.assertEquals(List.of("a", "b"), stream.map(item -> item.name).toList());
+        }
+        try (JSONArrayReader<Item> reader = JSONArray.reader(new ByteArrayInputStream("[]".getBytes()), Item.class)) {
+            Assertions.assertFalse(reader.hasNext());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void writeSubclassTest() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JSONArrayWriter<Item> writer = JSONArray.writer(out, Item.class)) {
+            writer.write(new Item(1, "a"));
+            writer.write(new TaggedItem(2, "b", "new"));
+        }
+        // 按运行时类型写出，子类字段不丢失
+        Assertions.assertEquals("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\",\"tag\":\"new\"}]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    static class Item {
+        private long id;
+        private String name;
+
+        Item() {
+        }
+
+        Item(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static class TaggedItem extends Item {
+        private String tag;
+
+        TaggedItem(long id, String name, String tag) {
+            super(id, name);
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package top.lytree.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JSONCodecTest {
+
+    @Test
+    public void roundTripTest() {
+        final Item item = new Item();
+        item.id = 42;
+        item.name = "atomic";
+        item.tags = List.of("a", "b");
+        for (JSONFormat format : JSONFormat.values()) {
+            final byte[] bytes = JSON.toJSONBytes(item, format);
+            Assertions.assertEquals(format, JSONFormat.detect(bytes));
+            final Item copy = JSONObject.parseObject(bytes, Item.class);
+            Assertions.assertEquals(42, copy.id);
+            Assertions.assertEquals("atomic", copy.name);
+            Assertions.assertEquals(List.of("a", "b"), copy.tags);
+        }
+    }
+
+    @Test
+    public void readPlainJsonTest() {
+        final JSONCodec codec = JSON.getCodec();
+        final Item item = codec.decode(" {\"id\":1}".getBytes(), Item.class);
+        Assertions.assertEquals(1, item.id);
+    }
+
+    @Test
+    public void mapperCachedTest() {
+        final JSONCodec codec = JSON.getCodec();
+        Assertions.assertSame(JSON.getObjectMapper(), codec.getMapper(JSONFormat.JSON));
+        for (JSONFormat format : JSONFormat.values()) {
+            Assertions.assertSame(codec.getMapper(format), codec.getMapper(format));
+        }
+    }
+
+    @Test
+    public void jsonCopyTest() {
+        final Item item = new Item();
+        item.id = 7;
+        item.name = "copy";
+        item.tags = new ArrayList<>(List.of("a", "b"));
+        final Item byString = JSONObject.parseObject(JSON.toJSONString(item), Item.class);
+        final Item byToken = JSONObject.jsonCopy(item, Item.class);
+        Assertions.assertEquals(JSON.toJSONString(byString), JSON.toJSONString(byToken));
+        // 深拷贝，修改原对象不影响副本
+        item.tags.add("c");
+        Assertions.assertEquals(List.of("a", "b"), byToken.tags);
+
+        // 只有顶层的不可变叶子值直接复用，嵌套的值随token重建
+        final String text = new String("leaf");
+        Assertions.assertSame(text, JSONObject.jsonCopy(text, String.class));
+        final LocalDate date = LocalDate.of(2024, 1, 2);
+        Assertions.assertSame(date, JSONObject.jsonCopy(date, LocalDate.class));
+        final List<LocalDate> dates = JSONArray.jsonCopy(List.of(date), LocalDate.class);
+        Assertions.assertEquals(date, dates.get(0));
+        Assertions.assertNotSame(date, dates.get(0));
+    }
+
+    @Test
+    public void prettyWriterTest() throws Exception {
+        final Item item = new Item();
+        item.id = 3;
+        item.tags = List.of("x");
+        final String expected = JSON.getObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(item);
+        Assertions.assertEquals(expected, JSON.toJSONString(item, true));
+        // 缓存的格式化写出器可重复使用，不影响非格式化输出
+        Assertions.assertEquals(expected, JSON.toJSONString(item, true));
+        Assertions.assertEquals(JSON.getObjectMapper().writeValueAsString(item), JSON.toJSONString(item, false));
+    }
+
+    static class Item {
+        private long id;
+        private String name;
+        private List<String> tags;
+    }
+}
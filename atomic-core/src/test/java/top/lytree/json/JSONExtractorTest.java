@@ -0,0 +1,68 @@
+package top.lytree.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+public class JSONExtractorTest {
+
+    private static final String BODY = "{\"event\":\"order.paid\",\"data\":{\"skip\":{\"a\":[1,2,{\"event\":\"nested\"}]},"
+            + "\"order\":{\"id\":123456789012,\"amount\":12.5,\"paid\":true,\"time\":\"2023-06-01 12:00:00\"},"
+            + "\"items\":[{\"sku\":\"A\"},{\"sku\":\"B\"}],\"remark\":null}}";
+
+    @Test
+    public void extractTest() {
+        final JSONExtractor extractor = JSONExtractor.compile("event", "$.data.order.id", "data.order.amount",
+                "data.order.paid", "data.items[1].sku", "data.remark", "data.missing", "data.order.time");
+        final JSONExtractor.Values values = extractor.extract(BODY.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals("order.paid", values.getString("event"));
+        Assertions.assertEquals(123456789012L, values.getLong("$.data.order.id"));
+        Assertions.assertEquals(12.5, values.getDouble("data.order.amount"));
+        Assertions.assertTrue(values.getBoolean("data.order.paid"));
+        Assertions.assertEquals("B", values.getString("data.items[1].sku"));
+        Assertions.assertNotNull(values.getDate("data.order.time"));
+
+        Assertions.assertTrue(values.isFound("data.remark"));
+        Assertions.assertNull(values.get("data.remark"));
+        Assertions.assertFalse(values.isFound("data.missing"));
+    }
+
+    @Test
+    public void subtreeAndPrefixTest() {
+        final JSONExtractor extractor = JSONExtractor.compile("data.order", "data.order.id", "data.items");
+        final JSONExtractor.Values values = extractor.extract(new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(4, values.getNode("data.order").size());
+        Assertions.assertEquals(123456789012L, values.getLong("data.order.id"));
+        Assertions.assertEquals(2, values.getNode("data.items").size());
+    }
+
+    @Test
+    public void stopEarlyTest() {
+        // 找到event后立即停止，后面不完整的内容不会被解析
+        final JSONExtractor.Values values = JSONExtractor.compile("event").extract("{\"event\":\"x\",\"broken\":[1,");
+        Assertions.assertEquals("x", values.getString("event"));
+    }
+
+    @Test
+    public void invalidPathTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JSONExtractor.compile("a..b"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JSONExtractor.compile("a[x]"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JSONExtractor.compile("a", "a"));
+    }
+
+    @Test
+    public void equivalentPathTest() {
+        // 写法不同但解析后相同的路径视为重复
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JSONExtractor.compile("a", "$.a"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JSONExtractor.compile("$a", "a"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JSONExtractor.compile("a[0].b", "$.a.[0].b"));
+
+        // 互为前缀的不同路径仍然可以同时提取
+        final JSONExtractor.Values values = JSONExtractor.compile("a", "$.a.b").extract("{\"a\":{\"b\":1}}");
+        Assertions.assertEquals(1L, values.getLong("$.a.b"));
+        Assertions.assertNotNull(values.get("a"));
+    }
+}
@@ -0,0 +1,128 @@
+package top.lytree.lang;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NamingCaseTest {
+
+    @Test
+    public void convertTest() {
+        Assertions.assertEquals("hello_world", NamingCase.toUnderlineCase("HelloWorld"));
+        Assertions.assertEquals("hello_world", NamingCase.toUnderlineCase("Hello_World"));
+        Assertions.assertEquals("hello_world_test", NamingCase.toUnderlineCase("HelloWorld_test"));
+        Assertions.assertEquals("user_ID", NamingCase.toUnderlineCase("userID"));
+        Assertions.assertEquals("hello-world", NamingCase.toKebabCase(new StringBuilder("HelloWorld")));
+        Assertions.assertEquals("helloWorld", NamingCase.toCamelCase("hello_world"));
+        Assertions.assertEquals("HelloWorld", NamingCase.toPascalCase("hello_world"));
+        Assertions.assertEquals("plain", NamingCase.toCamelCase("plain"));
+        Assertions.assertNull(NamingCase.toUnderlineCase(null));
+        // 缓存命中时结果不变
+        Assertions.assertSame(NamingCase.toUnderlineCase("createTime"), NamingCase.toUnderlineCase("createTime"));
+        Assertions.assertArrayEquals(new String[]{"create_time", null, "user_name"},
+                NamingCase.toUnderlineCaseAll(new String[]{"createTime", null, "UserName"}));
+        Assertions.assertArrayEquals(new String[]{"createTime", "id"}, NamingCase.toCamelCaseAll(new String[]{"create_time", "id"}));
+    }
+
+    @Test
+    public void compareTest() {
+        final String alphabet = "aZ_-9ÀéΣσ";
+        final Random random = new Random(5);
+        for (int round = 0; round < 20000; round++) {
+            final char[] chars = new char[random.nextInt(12)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet.charAt(random.nextInt(random.nextBoolean() ? 5 : alphabet.length()));
+            }
+            final String s = new String(chars);
+            Assertions.assertEquals(legacySymbolCase(s, '_'), NamingCase.toUnderlineCase(s), s);
+            Assertions.assertEquals(legacySymbolCase(s, '-'), NamingCase.toSymbolCase(s, '-'), s);
+            Assertions.assertEquals(legacyCamelCase(s, '_'), NamingCase.toCamelCase(s), s);
+            Assertions.assertEquals(legacySymbolCase(s, '_'), NamingCase.toUnderlineCaseAll(new String[]{s})[0], s);
+        }
+    }
+
+    /**
+     * 原先基于StringBuilder的实现
+     */
+    private static String legacySymbolCase(CharSequence str, char symbol) {
+        if (str == null) {
+            return null;
+        }
+
+        final int length = str.length();
+        final StringBuilder sb = new StringBuilder();
+        char c;
+        for (int i = 0; i < length; i++) {
+            c = str.charAt(i);
+            if (Character.isUpperCase(c)) {
+                final Character preChar = (i > 0) ? str.charAt(i - 1) : null;
+                final Character nextChar = (i < str.length() - 1) ? str.charAt(i + 1) : null;
+
+                if (null != preChar) {
+                    if (symbol == preChar) {
+                        // 前一个为分隔符
+                        if (null == nextChar || Character.isLowerCase(nextChar)) {
+                            //普通首字母大写，如_Abb -> _abb
+                            c = Character.toLowerCase(c);
+                        }
+                        //后一个为大写，按照专有名词对待，如_AB -> _AB
+                    } else if (Character.isLowerCase(preChar)) {
+                        // 前一个为小写
+                        sb.append(symbol);
+                        if (null == nextChar || Character.isLowerCase(nextChar) || CharUtils.isNumber(nextChar)) {
+                            //普通首字母大写，如aBcc -> a_bcc
+                            c = Character.toLowerCase(c);
+                        }
+                        // 后一个为大写，按照专有名词对待，如aBC -> a_BC
+                    } else {
+                        //前一个为大写
+                        if (null != nextChar && Character.isLowerCase(nextChar)) {
+                            // 普通首字母大写，如ABcc -> A_bcc
+                            sb.append(symbol);
+                            c = Character.toLowerCase(c);
+                        }
+                        // 后一个为大写，按照专有名词对待，如ABC -> ABC
+                    }
+                } else {
+                    // 首字母，需要根据后一个判断是否转为小写
+                    if (null == nextChar || Character.isLowerCase(nextChar)) {
+                        // 普通首字母大写，如Abc -> abc
+                        c = Character.toLowerCase(c);
+                    }
+                    // 后一个为大写，按照专有名词对待，如ABC -> ABC
+                }
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static String legacyCamelCase(CharSequence name, char symbol) {
+        if (null == name) {
+            return null;
+        }
+
+        final String name2 = name.toString();
+        if (StringUtils.contains(name2, symbol)) {
+            final int length = name2.length();
+            final StringBuilder sb = new StringBuilder(length);
+            boolean upperCase = false;
+            for (int i = 0; i < length; i++) {
+                char c = name2.charAt(i);
+
+                if (c == symbol) {
+                    upperCase = true;
+                } else if (upperCase) {
+                    sb.append(Character.toUpperCase(c));
+                    upperCase = false;
+                } else {
+                    sb.append(Character.toLowerCase(c));
+                }
+            }
+            return sb.toString();
+        } else {
+            return name2;
+        }
+    }
+}
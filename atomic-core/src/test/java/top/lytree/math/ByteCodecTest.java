@@ -0,0 +1,199 @@
+package top.lytree.math;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 与{@link ByteBuffer}逐一对比读写结果
+ */
+public class ByteCodecTest {
+
+    private static final ByteOrder[] ORDERS = {ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN};
+
+    @Test
+    public void getPutTest() {
+        final Random random = new Random(1);
+        for (ByteOrder order : ORDERS) {
+            final ByteCodec codec = ByteCodec.of(order);
+            Assertions.assertEquals(order, codec.order());
+            for (int i = 0; i < 10_000; i++) {
+                final byte[] bytes = new byte[16];
+                random.nextBytes(bytes);
+                // 不对齐的位置
+                final int offset = random.nextInt(9);
+                final ByteBuffer expected = ByteBuffer.wrap(bytes).order(order);
+                Assertions.assertEquals(expected.getShort(offset), codec.getShort(bytes, offset));
+                Assertions.assertEquals(expected.getChar(offset), codec.getChar(bytes, offset));
+                Assertions.assertEquals(expected.getInt(offset), codec.getInt(bytes, offset));
+                Assertions.assertEquals(expected.getLong(offset), codec.getLong(bytes, offset));
+                Assertions.assertEquals(Float.floatToRawIntBits(expected.getFloat(offset)), Float.floatToRawIntBits(codec.getFloat(bytes, offset)));
+                Assertions.assertEquals(Double.doubleToRawLongBits(expected.getDouble(offset)), Double.doubleToRawLongBits(codec.getDouble(bytes, offset)));
+
+                // ByteBuffer自身的端序不影响结果
+                final ByteBuffer direct = ByteBuffer.allocateDirect(16).put(bytes).order(ByteOrder.nativeOrder());
+                Assertions.assertEquals(expected.getLong(offset), codec.getLong(direct, offset));
+                Assertions.assertEquals(expected.getInt(offset), codec.getInt(ByteBuffer.wrap(bytes), offset));
+
+                final long value = random.nextLong();
+                final byte[] actual = new byte[16];
+                final byte[] reference = new byte[16];
+                Assertions.assertEquals(offset + 8, codec.putLong(actual, offset, value));
+                ByteBuffer.wrap(reference).order(order).putLong(offset, value);
+                Assertions.assertArrayEquals(reference, actual);
+                Assertions.assertEquals(offset + 4, codec.putInt(actual, offset, (int) value));
+                ByteBuffer.wrap(reference).order(order).putInt(offset, (int) value);
+                Assertions.assertArrayEquals(reference, actual);
+                Assertions.assertEquals(offset + 2, codec.putShort(actual, offset, (short) value));
+                ByteBuffer.wrap(reference).order(order).putShort(offset, (short) value);
+                Assertions.assertArrayEquals(reference, actual);
+                codec.putChar(actual, offset, (char) value);
+                ByteBuffer.wrap(reference).order(order).putChar(offset, (char) value);
+                Assertions.assertArrayEquals(reference, actual);
+                codec.putDouble(actual, offset, Double.longBitsToDouble(value));
+                ByteBuffer.wrap(reference).order(order).putDouble(offset, Double.longBitsToDouble(value));
+                Assertions.assertArrayEquals(reference, actual);
+                codec.putFloat(actual, offset, Float.intBitsToFloat((int) value));
+                ByteBuffer.wrap(reference).order(order).putFloat(offset, Float.intBitsToFloat((int) value));
+                Assertions.assertArrayEquals(reference, actual);
+
+                final ByteBuffer buffer = ByteBuffer.allocate(16);
+                Assertions.assertEquals(offset + 8, codec.putLong(buffer, offset, value));
+                Assertions.assertEquals(value, expected.duplicate().order(order).put(buffer.array()).getLong(offset));
+                Assertions.assertEquals(0, buffer.position());
+            }
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> codec.getLong(new byte[8], 1));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> codec.putInt(new byte[8], -1, 0));
+        }
+    }
+
+    @Test
+    public void bulkTest() {
+        final Random random = new Random(2);
+        for (ByteOrder order : ORDERS) {
+            final ByteCodec codec = ByteCodec.of(order);
+            final byte[] bytes = new byte[8 * 64 + 3];
+            random.nextBytes(bytes);
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, 3, 8 * 64).slice().order(order);
+
+            final long[] longs = new long[66];
+            Assertions.assertEquals(3 + 8 * 64, codec.getLongs(bytes, 3, longs, 2, 64));
+            final long[] expectedLongs = new long[66];
+            buffer.asLongBuffer().get(expectedLongs, 2, 64);
+            Assertions.assertArrayEquals(expectedLongs, longs);
+
+            final int[] ints = new int[128];
+            codec.getInts(bytes, 3, ints, 0, 128);
+            final int[] expectedInts = new int[128];
+            buffer.asIntBuffer().get(expectedInts);
+            Assertions.assertArrayEquals(expectedInts, ints);
+
+            final short[] shorts = new short[256];
+            codec.getShorts(bytes, 3, shorts, 0, 256);
+            final short[] expectedShorts = new short[256];
+            buffer.asShortBuffer().get(expectedShorts);
+            Assertions.assertArrayEquals(expectedShorts, shorts);
+
+            final double[] doubles = new double[64];
+            codec.getDoubles(bytes, 3, doubles, 0, 64);
+            final float[] floats = new float[128];
+            codec.getFloats(bytes, 3, floats, 0, 128);
+
+            // 写回后与原数组相同
+            final byte[] copy = new byte[bytes.length];
+            System.arraycopy(bytes, 0, copy, 0, 3);
+            Assertions.assertEquals(3 + 8 * 64, codec.putLongs(longs, 2, copy, 3, 64));
+            Assertions.assertArrayEquals(bytes, copy);
+            Arrays.fill(copy, 3, copy.length, (byte) 0);
+            codec.putInts(ints, 0, copy, 3, 128);
+            Assertions.assertArrayEquals(bytes, copy);
+            Arrays.fill(copy, 3, copy.length, (byte) 0);
+            codec.putShorts(shorts, 0, copy, 3, 256);
+            Assertions.assertArrayEquals(bytes, copy);
+            Arrays.fill(copy, 3, copy.length, (byte) 0);
+            codec.putDoubles(doubles, 0, copy, 3, 64);
+            Assertions.assertArrayEquals(bytes, copy);
+            Arrays.fill(copy, 3, copy.length, (byte) 0);
+            codec.putFloats(floats, 0, copy, 3, 128);
+            Assertions.assertArrayEquals(bytes, copy);
+
+            // 越界时不写入任何数据
+            final byte[] small = new byte[15];
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> codec.putLongs(longs, 0, small, 0, 2));
+            Assertions.assertArrayEquals(new byte[15], small);
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> codec.getInts(bytes, 0, ints, 127, 2));
+        }
+    }
+
+    @Test
+    public void varIntTest() {
+        final Random random = new Random(3);
+        final byte[] bytes = new byte[ByteCodec.MAX_VAR_LONG_SIZE + 2];
+        for (int i = 0; i < 100_000; i++) {
+            final long value = i < 70 ? (i < 64 ? 1L << i : -i) : random.nextLong() >>> random.nextInt(64);
+            final int offset = random.nextInt(3);
+
+            final int end = ByteCodec.putVarLong(bytes, offset, value);
+            Assertions.assertEquals(ByteCodec.varLongSize(value), end - offset);
+            Assertions.assertEquals(value, ByteCodec.getVarLong(bytes, offset));
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, bytes.length - offset);
+            Assertions.assertEquals(value, ByteCodec.getVarLong(buffer));
+            Assertions.assertEquals(end, buffer.position());
+
+            final ByteBuffer out = ByteBuffer.allocate(ByteCodec.MAX_VAR_LONG_SIZE);
+            ByteCodec.putVarLong(out, value);
+            Assertions.assertEquals(end - offset, out.position());
+
+            final int intValue = (int) value;
+            final int intEnd = ByteCodec.putVarInt(bytes, offset, intValue);
+            Assertions.assertEquals(ByteCodec.varIntSize(intValue), intEnd - offset);
+            Assertions.assertTrue(intEnd - offset <= ByteCodec.MAX_VAR_INT_SIZE);
+            Assertions.assertEquals(intValue, ByteCodec.getVarInt(bytes, offset));
+            final ByteBuffer intBuffer = ByteBuffer.allocate(ByteCodec.MAX_VAR_INT_SIZE);
+            ByteCodec.putVarInt(intBuffer, intValue);
+            Assertions.assertEquals(intValue, ByteCodec.getVarInt(intBuffer.flip()));
+
+            Assertions.assertEquals(value, ByteCodec.decodeZigZag(ByteCodec.encodeZigZag(value)));
+            Assertions.assertEquals(intValue, ByteCodec.decodeZigZag(ByteCodec.encodeZigZag(intValue)));
+        }
+        Assertions.assertEquals(1, ByteCodec.varLongSize(0));
+        Assertions.assertEquals(10, ByteCodec.varLongSize(-1));
+        Assertions.assertEquals(5, ByteCodec.varIntSize(-1));
+        Assertions.assertEquals(1, ByteCodec.encodeZigZag(-1));
+        Assertions.assertEquals(2, ByteCodec.encodeZigZag(1L));
+        Assertions.assertEquals(-1, ByteCodec.encodeZigZag(Integer.MIN_VALUE));
+
+        // 非最短编码、超出范围的编码、不完整的编码
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteCodec.getVarInt(new byte[]{(byte) 0x81, 0}, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteCodec.getVarInt(new byte[]{-1, -1, -1, -1, 0x1F}, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteCodec.getVarInt(new byte[]{-1, -1, -1, -1, -1, 1}, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteCodec.getVarLong(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, -1, 2}, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteCodec.getVarLong(ByteBuffer.wrap(new byte[]{(byte) 0x80, 0})));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ByteCodec.getVarLong(new byte[]{(byte) 0x80}, 0));
+        Assertions.assertThrows(BufferUnderflowException.class, () -> ByteCodec.getVarInt(ByteBuffer.wrap(new byte[]{(byte) 0x80})));
+    }
+
+    @Test
+    public void numberUtilsTest() {
+        final Random random = new Random(4);
+        for (int i = 0; i < 10_000; i++) {
+            final long value = random.nextLong();
+            for (ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN, null}) {
+                final ByteOrder expectedOrder = order == null ? ByteOrder.BIG_ENDIAN : order;
+                Assertions.assertArrayEquals(ByteBuffer.allocate(8).order(expectedOrder).putLong(value).array(), NumberUtils.longToBytes(value, order));
+                Assertions.assertArrayEquals(ByteBuffer.allocate(4).order(expectedOrder).putInt((int) value).array(), NumberUtils.intToBytes((int) value, order));
+                Assertions.assertArrayEquals(ByteBuffer.allocate(2).order(expectedOrder).putShort((short) value).array(), NumberUtils.shortToBytes((short) value, order));
+                Assertions.assertEquals(value, NumberUtils.bytesToLong(NumberUtils.longToBytes(value, order), order));
+                Assertions.assertEquals((int) value, NumberUtils.bytesToInt(NumberUtils.intToBytes((int) value, order), order));
+                Assertions.assertEquals((short) value, NumberUtils.bytesToShort(NumberUtils.shortToBytes((short) value, order), order));
+            }
+        }
+        Assertions.assertEquals(0x04030201, NumberUtils.bytesToInt(new byte[]{1, 2, 3, 4}));
+        Assertions.assertEquals(0x0504030201L, NumberUtils.bytesToLong(new byte[]{0, 1, 2, 3, 4, 5, 0, 0, 0}, 1, ByteOrder.LITTLE_ENDIAN));
+    }
+}
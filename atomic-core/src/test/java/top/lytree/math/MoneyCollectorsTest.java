@@ -0,0 +1,145 @@
+package top.lytree.math;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 串行、不同并行度下的结果都与BigDecimal逐个累加的结果完全相同
+ */
+public class MoneyCollectorsTest {
+
+    private static final Currency CNY = Currency.getInstance("CNY");
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    private static final int[] PARALLELISM = {1, 2, 3, 8};
+
+    @Test
+    public void summingCentsTest() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            final long[] cents = new long[1 + random.nextInt(20_000)];
+            for (int i = 0; i < cents.length; i++) {
+                cents[i] = round % 4 == 0 ? random.nextLong() : random.nextInt();
+            }
+            // 有溢出的中间结果、最终合计在long范围内
+            if (round % 4 == 1) {
+                cents[0] = Long.MAX_VALUE;
+                cents[1] = Long.MAX_VALUE;
+                cents[cents.length - 1] = Long.MIN_VALUE;
+                cents[cents.length / 2] = Long.MIN_VALUE;
+            }
+            BigDecimal total = BigDecimal.ZERO;
+            for (long cent : cents) {
+                total = total.add(BigDecimal.valueOf(cent));
+            }
+            final BigDecimal expected = total;
+            final boolean overflow = expected.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0
+                    || expected.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0;
+            final List<Long> list = Arrays.stream(cents).boxed().collect(Collectors.toList());
+
+            for (int parallelism : PARALLELISM) {
+                final MoneyCollectors.CentSum sum = inPool(parallelism, () -> Arrays.stream(cents).parallel()
+                        .collect(MoneyCollectors.CentSum::new, MoneyCollectors.CentSum::accept, MoneyCollectors.CentSum::combine));
+                Assertions.assertEquals(overflow, sum.isOverflow());
+                Assertions.assertEquals(expected.movePointLeft(2), sum.getAmount(2));
+                if (overflow) {
+                    Assertions.assertThrows(ArithmeticException.class, sum::getCents);
+                    Assertions.assertThrows(ArithmeticException.class,
+                            () -> inPool(parallelism, () -> list.parallelStream().collect(MoneyCollectors.summingCents(Long::longValue))));
+                } else {
+                    Assertions.assertEquals(expected.longValue(), sum.getCents());
+                    Assertions.assertEquals(expected.longValue(),
+                            inPool(parallelism, () -> list.parallelStream().collect(MoneyCollectors.summingCents(Long::longValue))));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void summingMoneyTest() {
+        final Random random = new Random(2);
+        final List<Money> moneys = new ArrayList<>();
+        final Map<Currency, BigDecimal> expected = new LinkedHashMap<>();
+        final Currency[] currencies = {USD, CNY, JPY};
+        for (int i = 0; i < 50_000; i++) {
+            // 同一币种连续出现若干次
+            final Currency currency = currencies[(i / 7 + random.nextInt(2)) % currencies.length];
+            final Money money = new Money(0, currency);
+            money.setCent(random.nextInt(2_000_000) - 1_000_000);
+            moneys.add(money);
+            expected.merge(currency, money.getAmount(), BigDecimal::add);
+        }
+        final List<Money> cny = moneys.stream().filter(money -> money.getCurrency() == CNY).collect(Collectors.toList());
+
+        for (int parallelism : PARALLELISM) {
+            final Map<Currency, Money> totals = inPool(parallelism, () -> moneys.parallelStream().collect(MoneyCollectors.summingByCurrency()));
+            Assertions.assertEquals(List.copyOf(expected.keySet()), List.copyOf(totals.keySet()));
+            expected.forEach((currency, amount) -> Assertions.assertEquals(new Money(amount, currency), totals.get(currency)));
+            Assertions.assertEquals(totals, MoneyUtils.sumByCurrency(moneys));
+
+            Assertions.assertEquals(new Money(expected.get(CNY), CNY),
+                    inPool(parallelism, () -> cny.parallelStream().collect(MoneyCollectors.summingMoney(CNY))));
+            final Map<Currency, Long> cents = inPool(parallelism, () -> moneys.parallelStream()
+                    .collect(MoneyCollectors.summingCentsBy(Money::getCurrency, Money::getCent)));
+            expected.forEach((currency, amount) -> Assertions.assertEquals(amount.movePointRight(currency.getDefaultFractionDigits()).longValueExact(),
+                    cents.get(currency)));
+        }
+
+        Assertions.assertEquals(new Money(0, USD), List.<Money>of().stream().collect(MoneyCollectors.summingMoney(USD)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> moneys.stream().collect(MoneyCollectors.summingMoney(CNY)));
+    }
+
+    @Test
+    public void summingBigDecimalTest() {
+        final Random random = new Random(3);
+        for (int round = 0; round < 40; round++) {
+            final List<BigDecimal> values = new ArrayList<>();
+            final int size = random.nextInt(5_000);
+            for (int i = 0; i < size; i++) {
+                values.add(randomDecimal(random, round));
+            }
+            final BigDecimal expected = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            Assertions.assertEquals(expected, values.stream().collect(MoneyCollectors.summingBigDecimal()));
+            for (int parallelism : PARALLELISM) {
+                // equals同时比较小数位数
+                Assertions.assertEquals(expected, inPool(parallelism, () -> values.parallelStream().collect(MoneyCollectors.summingBigDecimal())));
+            }
+        }
+    }
+
+    /**
+     * 多数轮次只有一种小数位数，其余轮次混合不同小数位数、超过18位的数值及负小数位数
+     */
+    private static BigDecimal randomDecimal(Random random, int round) {
+        if (round % 3 != 0) {
+            return BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), round % 5);
+        }
+        final BigInteger unscaled = new BigInteger(1 + random.nextInt(random.nextInt(10) == 0 ? 100 : 62), random);
+        return new BigDecimal(random.nextBoolean() ? unscaled : unscaled.negate(), random.nextInt(8) - 3);
+    }
+
+    private static <T> T inPool(int parallelism, Supplier<T> task) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(task::get).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package top.lytree.math;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 与原有的BigDecimal算法逐一对比结果及异常
+ */
+public class MoneyTest {
+
+    private static final Currency CNY = Currency.getInstance("CNY");
+
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    public void multiplyTest() {
+        final Random random = new Random(1);
+        for (int i = 0; i < 200_000; i++) {
+            final long cent = randomCent(random);
+            final BigDecimal val = randomDecimal(random);
+            final RoundingMode mode = RoundingMode.values()[random.nextInt(RoundingMode.values().length)];
+            final Money money = new Money(0, CNY);
+            money.setCent(cent);
+            assertSame(() -> BigDecimal.valueOf(cent).multiply(val).setScale(0, mode).longValue(),
+                    () -> money.multiply(val, mode).getCent());
+        }
+    }
+
+    @Test
+    public void divideTest() {
+        final Random random = new Random(2);
+        for (int i = 0; i < 200_000; i++) {
+            final long cent = randomCent(random);
+            final BigDecimal val = randomDecimal(random);
+            final RoundingMode mode = RoundingMode.values()[random.nextInt(RoundingMode.values().length)];
+            final Money money = new Money(0, CNY);
+            money.setCent(cent);
+            assertSame(() -> BigDecimal.valueOf(cent).divide(val, mode).longValue(),
+                    () -> money.divide(val, mode).getCent());
+        }
+        final Money money = new Money(0, CNY);
+        money.setCent(Long.MIN_VALUE);
+        Assertions.assertEquals(Long.MIN_VALUE, money.divide(BigDecimal.ONE.negate()).getCent());
+    }
+
+    @Test
+    public void allocateTest() {
+        final Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            final long cent = random.nextInt(2_000_000) - 1_000_000;
+            final long[] ratios = new long[1 + random.nextInt(6)];
+            for (int j = 0; j < ratios.length; j++) {
+                ratios[j] = random.nextInt(1000);
+            }
+            final Money money = new Money(0, CNY);
+            money.setCent(cent);
+            assertSame(() -> Arrays.toString(allocate(cent, ratios)),
+                    () -> Arrays.toString(Arrays.stream(money.allocate(ratios)).mapToLong(Money::getCent).toArray()));
+        }
+
+        // cent * ratio超出long范围时仍按精确值分配
+        final long[] cents = MoneyUtils.allocate(Long.MAX_VALUE, new long[]{1, 2}, new long[2]);
+        Assertions.assertEquals(Long.MAX_VALUE, cents[0] + cents[1]);
+        Assertions.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).divide(BigInteger.valueOf(3)).longValue() + 1, cents[0]);
+    }
+
+    @Test
+    public void overflowTest() {
+        final Money max = new Money(0, CNY);
+        max.setCent(Long.MAX_VALUE);
+        final Money one = new Money(0, CNY);
+        one.setCent(1);
+        Assertions.assertThrows(ArithmeticException.class, () -> max.add(one));
+        Assertions.assertThrows(ArithmeticException.class, () -> max.addTo(one));
+        Assertions.assertEquals(Long.MAX_VALUE, max.getCent());
+        Assertions.assertThrows(ArithmeticException.class, () -> one.subtract(max).subtract(max).subtract(max));
+        Assertions.assertThrows(ArithmeticException.class, () -> max.multiply(2));
+        Assertions.assertThrows(ArithmeticException.class, () -> max.multiplyBy(2));
+        Assertions.assertEquals(Long.MAX_VALUE - 1, max.subtract(one).getCent());
+    }
+
+    @Test
+    public void sumTest() {
+        final Random random = new Random(4);
+        for (int i = 0; i < 1_000; i++) {
+            final long[] cents = new long[random.nextInt(50)];
+            BigDecimal expected = BigDecimal.ZERO;
+            for (int j = 0; j < cents.length; j++) {
+                cents[j] = random.nextInt(4) == 0 ? random.nextLong() : random.nextInt();
+                expected = expected.add(BigDecimal.valueOf(cents[j]));
+            }
+            Assertions.assertEquals(expected.movePointLeft(2), MoneyUtils.sumAmount(cents, 2));
+            if (expected.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0 || expected.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+                Assertions.assertThrows(ArithmeticException.class, () -> MoneyUtils.sum(cents));
+            } else {
+                Assertions.assertEquals(expected.longValue(), MoneyUtils.sum(cents));
+            }
+        }
+        Assertions.assertEquals(3, MoneyUtils.sum(new long[]{5, 1, 2, 7}, 1, 3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> MoneyUtils.sum(new long[2], 1, 3));
+    }
+
+    @Test
+    public void sumByGroupTest() {
+        final long[] totals = MoneyUtils.sumByGroup(new long[]{1, 2, 3, 4, 5}, new int[]{0, 2, 0, 2, 2}, 3);
+        Assertions.assertArrayEquals(new long[]{4, 0, 11}, totals);
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> MoneyUtils.sumByGroup(new long[]{Long.MAX_VALUE, 1}, new int[]{1, 1}, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoneyUtils.sumByGroup(new long[1], new int[2], 1));
+
+        final Map<Currency, Money> byCurrency = MoneyUtils.sumByCurrency(List.of(
+                new Money("1.25", JPY), new Money("1.25"), new Money("2.50"), new Money("3", JPY)));
+        Assertions.assertEquals(List.of(JPY, CNY), List.copyOf(byCurrency.keySet()));
+        Assertions.assertEquals(new Money("4", JPY), byCurrency.get(JPY));
+        Assertions.assertEquals(new Money("3.75"), byCurrency.get(CNY));
+    }
+
+    /**
+     * 原有的按比例分配算法
+     */
+    private static long[] allocate(long cent, long[] ratios) {
+        final long[] results = new long[ratios.length];
+        long total = 0;
+        for (long element : ratios) {
+            total += element;
+        }
+        long remainder = cent;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = (cent * ratios[i]) / total;
+            remainder -= results[i];
+        }
+        for (int i = 0; i < remainder; i++) {
+            results[i]++;
+        }
+        return results;
+    }
+
+    private static long randomCent(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextLong();
+            case 1:
+                return random.nextLong() >> random.nextInt(64);
+            case 2:
+                return random.nextInt(2001) - 1000;
+            default:
+                return random.nextBoolean() ? Long.MAX_VALUE - random.nextInt(3) : Long.MIN_VALUE + random.nextInt(3);
+        }
+    }
+
+    private static BigDecimal randomDecimal(Random random) {
+        final BigInteger unscaled = new BigInteger(1 + random.nextInt(random.nextInt(8) == 0 ? 80 : 40), random);
+        final BigDecimal val = new BigDecimal(random.nextBoolean() ? unscaled : unscaled.negate(), random.nextInt(46) - 23);
+        return random.nextInt(20) == 0 ? BigDecimal.valueOf(random.nextInt(3) - 1, random.nextInt(3)) : val;
+    }
+
+    /**
+     * 两者结果相同，或抛出同类型、同消息的异常
+     * <p>
+     * 频繁抛出的隐式异常（如long除以0）被JIT编译后可能复用没有消息的异常对象（OmitStackTraceInFastThrow），
+     * 因此只在两者都有消息时比较消息。
+     */
+    private static void assertSame(Supplier<Object> expected, Supplier<Object> actual) {
+        Object expectedValue;
+        RuntimeException expectedError = null;
+        try {
+            expectedValue = expected.get();
+        } catch (RuntimeException e) {
+            expectedError = e;
+            expectedValue = e.getClass().getName();
+        }
+        Object actualValue;
+        RuntimeException actualError = null;
+        try {
+            actualValue = actual.get();
+        } catch (RuntimeException e) {
+            actualError = e;
+            actualValue = e.getClass().getName();
+        }
+        Assertions.assertEquals(expectedValue, actualValue);
+        if (null != expectedError && null != expectedError.getMessage() && null != actualError.getMessage()) {
+            Assertions.assertEquals(expectedError.getMessage(), actualError.getMessage());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package top.lytree.pattern;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CharMatcherTest {
+
+    private static final String ALPHABET = "ab09 \t\n_-\u0000\u007f\u0080 　中ア￿";
+
+    @Test
+    public void precomputedTest() {
+        final List<CharMatcher> matchers = List.of(
+                CharMatcher.forPredicate(Character::isWhitespace),
+                CharMatcher.anyOf("a0_\u0000\u007f　"),
+                CharMatcher.inRange('0', '9').or(CharMatcher.anyOf("-中")),
+                CharMatcher.inRange('\u0000', 'ÿ').or(CharMatcher.inRange('　', 'ヿ')).and(CharMatcher.noneOf("b  ")),
+                CharMatcher.inRange('\u0000', '\u01ff').and(CharMatcher.noneOf("b \u0080")));
+        final Random random = new Random(11);
+        for (CharMatcher plain : matchers) {
+            final CharMatcher fast = plain.precomputed();
+            for (int round = 0; round < 3000; round++) {
+                final String s = randomString(random, random.nextInt(40));
+                final String message = plain + " " + s;
+                int expectedIndex = -1;
+                int expectedLast = -1;
+                int expectedCount = 0;
+                for (int i = 0; i < s.length(); i++) {
+                    if (plain.matches(s.charAt(i))) {
+                        expectedIndex = expectedIndex == -1 ? i : expectedIndex;
+                        expectedLast = i;
+                        expectedCount++;
+                    }
+                }
+                Assertions.assertEquals(expectedIndex, fast.indexIn(s), message);
+                Assertions.assertEquals(expectedLast, fast.lastIndexIn(s), message);
+                Assertions.assertEquals(expectedCount, fast.countIn(s), message);
+                Assertions.assertEquals(expectedCount == s.length(), fast.matchesAllOf(s), message);
+                Assertions.assertEquals(expectedCount == 0, fast.matchesNoneOf(s), message);
+                final int start = random.nextInt(s.length() + 1);
+                Assertions.assertEquals(plain.indexIn(s, start), fast.indexIn(s, start), message);
+                Assertions.assertEquals(plain.removeFrom(s), fast.removeFrom(s), message);
+                Assertions.assertEquals(plain.collapseFrom(s, '-'), fast.collapseFrom(s, '-'), message);
+                Assertions.assertEquals(plain.trimFrom(s), fast.trimFrom(s), message);
+            }
+        }
+    }
+
+    @Test
+    public void indexInBoundsTest() {
+        Assertions.assertEquals(-1, CharMatcher.is('a').indexIn("", 0));
+        Assertions.assertEquals(-1, CharMatcher.any().indexIn("ab", 2));
+        Assertions.assertTrue(CharMatcher.anyOf("xyz").matchesNoneOf(""));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> CharMatcher.is('a').indexIn("ab", 3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> CharMatcher.none().indexIn("ab", -1));
+    }
+
+    private static String randomString(Random random, int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = random.nextInt(4) == 0
+                    ? ALPHABET.charAt(random.nextInt(ALPHABET.length()))
+                    : ALPHABET.charAt(random.nextInt(8));
+        }
+        return new String(chars);
+    }
+}
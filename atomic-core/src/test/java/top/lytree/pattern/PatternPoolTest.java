@@ -0,0 +1,108 @@
+package top.lytree.pattern;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PatternPoolTest {
+
+    @AfterEach
+    public void restore() {
+        PatternPool.setMaxSize(PatternPool.DEFAULT_MAX_SIZE);
+        PatternPool.clear();
+    }
+
+    @Test
+    public void cacheTest() throws Exception {
+        PatternPool.clear();
+        final Pattern first = PatternPool.get("a+b", Pattern.CASE_INSENSITIVE);
+        Assertions.assertNotNull(first);
+        Assertions.assertSame(first, PatternPool.get("a+b", Pattern.CASE_INSENSITIVE));
+        Assertions.assertNotSame(first, PatternPool.get("a+b"));
+
+        final PatternPool.Stats stats = PatternPool.stats();
+        Assertions.assertEquals(1, stats.getHitCount());
+        Assertions.assertEquals(2, stats.getMissCount());
+        Assertions.assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    public void boundedTest() throws Exception {
+        PatternPool.clear();
+        PatternPool.setMaxSize(100);
+        final Pattern hot = PatternPool.get("hot");
+        for (int i = 0; i < 10_000; i++) {
+            PatternPool.get("user-" + i);
+            // 频繁访问的正则不应被淘汰
+            Assertions.assertSame(hot, PatternPool.get("hot"));
+        }
+        final PatternPool.Stats stats = PatternPool.stats();
+        Assertions.assertTrue(stats.getSize() <= 100, stats.toString());
+        Assertions.assertTrue(stats.getEvictionCount() > 0, stats.toString());
+        Assertions.assertEquals(1, stats.getMissCount() - 10_000);
+
+        PatternPool.setMaxSize(0);
+        Assertions.assertEquals(0, PatternPool.stats().getSize());
+        Assertions.assertEquals("x", PatternPool.get("x").pattern());
+        Assertions.assertEquals(0, PatternPool.stats().getSize());
+    }
+
+    @Test
+    public void reusableMatchersTest() {
+        final ReusableMatchers matchers = ReusableMatchers.of(PatternPool.NUMBERS, Pattern.compile("(\\d+)-(\\d+)"));
+        Assertions.assertTrue(matchers.find(0, "a12b"));
+        Assertions.assertFalse(matchers.matches(0, "a12b"));
+        Assertions.assertTrue(matchers.matches(0, "345"));
+
+        // 同一线程复用同一个Matcher，使用后不再持有输入
+        final Matcher[] borrowed = new Matcher[2];
+        Assertions.assertEquals("1", matchers.apply(1, "1-2", m -> {
+            borrowed[0] = m;
+            return m.find() ? m.group(1) : null;
+        }));
+        Assertions.assertEquals("3", matchers.apply(1, "3-4", m -> {
+            borrowed[1] = m;
+            return m.find() ? m.group(1) : null;
+        }));
+        Assertions.assertSame(borrowed[0], borrowed[1]);
+        Assertions.assertFalse(borrowed[0].find());
+
+        // 嵌套使用同一下标时内层使用新的Matcher，外层状态不受影响
+        Assertions.assertEquals("5:7", matchers.apply(1, "5-6", outer -> {
+            Assertions.assertTrue(outer.find());
+            final String inner = matchers.apply(1, "7-8", m -> m.find() ? m.group(1) : null);
+            return outer.group(1) + ":" + inner;
+        }));
+
+        Assertions.assertEquals("12", RegExUtils.get(Pattern.compile("(\\d+)"), "ab12cd", 1));
+        Assertions.assertTrue(RegExUtils.isMatch("\\d+", "123"));
+        Assertions.assertEquals("a_b", RegExUtils.replaceAll("a-b", "-", "_"));
+    }
+
+    @Test
+    public void regexSetTest() {
+        final RegexSet set = RegexSet.compile("foo\\d+", "ba?r", "(\\w)\\1", "^x$", "\\bqu+x");
+        Assertions.assertArrayEquals(new int[]{0, 1, 2}, set.allMatches("foo1 bar"));
+        Assertions.assertArrayEquals(new int[]{1}, set.allMatches("br"));
+        Assertions.assertArrayEquals(new int[]{3}, set.allMatches("x"));
+        Assertions.assertArrayEquals(new int[]{2}, set.allMatches("aa"));
+        Assertions.assertArrayEquals(new int[0], set.allMatches("nothing"));
+        Assertions.assertEquals(4, set.firstMatch("a qux"));
+        Assertions.assertEquals(-1, set.firstMatch("fo1"));
+        Assertions.assertTrue(set.anyMatch("zz"));
+        Assertions.assertFalse(set.anyMatch("xy"));
+
+        final RegexSet combined = RegexSet.compile(Pattern.CASE_INSENSITIVE, "(?<n>abc)", "d[e]f", "(?-i)GHI");
+        Assertions.assertTrue(combined.anyMatch("--ABC--"));
+        Assertions.assertTrue(combined.anyMatch("DEF"));
+        Assertions.assertFalse(combined.anyMatch("ghi"));
+        Assertions.assertArrayEquals(new int[]{0, 2}, combined.allMatches("abc GHI"));
+
+        final RegexSet literal = RegexSet.compile(Pattern.LITERAL, "a.b", "(c)");
+        Assertions.assertFalse(literal.anyMatch("axb"));
+        Assertions.assertArrayEquals(new int[]{0, 1}, literal.allMatches("a.b(c)"));
+    }
+}
@@ -0,0 +1,40 @@
+package top.lytree.text;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EscaperTest {
+
+    @Test
+    public void escapeTest() {
+        final String clean = "plain text 中文";
+        Assertions.assertSame(clean, Escaper.HTML.escape(clean));
+        Assertions.assertNull(Escaper.HTML.escape(null));
+        Assertions.assertEquals("&lt;a href=&quot;x&quot;&gt;Tom&#39;s &amp; co&lt;/a&gt;",
+                Escaper.HTML.escape("<a href=\"x\">Tom's & co</a>"));
+        Assertions.assertEquals("a&apos;b\tc", Escaper.XML.escape("a'b\u0001\tc"));
+        Assertions.assertEquals("say \\\"hi\\\"\\n\\\\\\u0001", Escaper.JSON.escape("say \"hi\"\n\\\u0001"));
+        Assertions.assertEquals(3, Escaper.JSON.indexOfEscape("abc\""));
+        Assertions.assertEquals("&lt;b&gt; &quot;'", HTMLFilter.htmlSpecialChars("<b> \"'"));
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        final StringWriter out = new StringWriter();
+        try (Writer writer = Escaper.HTML.wrap(out)) {
+            writer.write("a<b");
+            writer.write('&');
+            writer.write("x>y".toCharArray(), 1, 2);
+            writer.append("\"q\"", 1, 3);
+        }
+        Assertions.assertEquals("a&lt;b&amp;&gt;yq&quot;", out.toString());
+
+        final StringBuilder builder = new StringBuilder("[");
+        Escaper.JSON.escape(builder, "tab\there", 3, 8);
+        Assertions.assertEquals("[\\there", builder.toString());
+    }
+}
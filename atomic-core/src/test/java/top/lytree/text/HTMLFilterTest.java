@@ -0,0 +1,149 @@
+package top.lytree.text;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HTMLFilterTest {
+
+    /**
+     * 随机输入的组成片段，覆盖标签、属性、实体、注释、换行及不配对的尖括号
+     */
+    private static final String[] FRAGMENTS = {
+            "<", ">", "</", "/>", "<>", " ", "text", "\n", "\r\n", "\r", "\"", "'", "=", "&", ";", "%", "/",
+            "<b>", "</b>", "<B>", "<i>", "</i>", "<em>", "</em>", "<strong>", "</strong>", "<p>", "</p>", "<div>",
+            "<a href=\"http://a.com\">", "<a href='javascript:alert(1)'>", "<a href=//x.com target=_blank>", "</a>",
+            "<a href=\"ftp://x\" onclick=\"x()\">", "<a title=\"t\" HREF=\"mailto:a@b\">", "<a href=\"&#104;ttp:x\">",
+            "<img src=\"x.png\">", "<img src='data:x' width=10 />", "<img/>", "<img alt=\"a\"/>", "</img>",
+            "<!--", "-->", "<!-- c -->", "<!--<b>-->", "<!-- a --", "&amp;", "&lt;", "&quot;", "&nbsp;", "&#65;",
+            "&#x41;", "&#x4g;", "%41", "%4;", "&#0;", "&#08;", "&#65", "<b/>", "<b />", "<i\n>", "<a\nhref=x>",
+            "<script>", "</script>", "<1>", "</1>", " ", "\u0085"
+    };
+
+    @Test
+    public void sameAsLegacyDefaultTest() throws IOException {
+        differential(new HTMLFilter(), new LegacyHTMLFilter(), 0x5EED);
+    }
+
+    @Test
+    public void sameAsLegacyAlwaysMakeTagsTest() throws IOException {
+        final Map<String, Object> conf = config();
+        conf.put("stripComment", false);
+        differential(new HTMLFilter(conf), new LegacyHTMLFilter(conf), 0xC0FFEE);
+    }
+
+    @Test
+    public void sameAsLegacyPermissiveTest() throws IOException {
+        final Map<String, Object> conf = config();
+        conf.put("vAllowed", new HashMap<String, List<String>>());
+        conf.put("alwaysMakeTags", false);
+        differential(new HTMLFilter(conf), new LegacyHTMLFilter(conf), 42);
+    }
+
+    @Test
+    public void filterTest() {
+        final HTMLFilter filter = new HTMLFilter();
+        Assertions.assertEquals("<b>bold</b>", filter.filter("<b>bold</b><script></script>"));
+        Assertions.assertEquals("<a href=\"#alert(1)\">x</a>", filter.filter("<a href=\"javascript:alert(1)\" onclick=\"y\">x"));
+        Assertions.assertEquals("a &lt; b", filter.filter("a < b"));
+        Assertions.assertEquals("a &gt; b", filter.filter("a > b"));
+        Assertions.assertEquals("<img src=\"x.png\" />", filter.filter("<img src=\"x.png\"><b></b>"));
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        final HTMLFilter filter = new HTMLFilter();
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            input.append("<p>line ").append(i).append(" <b>bold</b> <a href=\"http://x.com/").append(i).append("\">link</a><i></i>\n");
+        }
+        final StringWriter out = new StringWriter();
+        filter.filter(new StringReader(input.toString()), out);
+        Assertions.assertEquals(new LegacyHTMLFilter().filter(input.toString()), out.toString());
+    }
+
+    @Test
+    public void unclosedTest() throws IOException {
+        final String tail = "a".repeat(HTMLSanitizer.MAX_LOOKAHEAD + 10);
+        final HTMLFilter filter = new HTMLFilter();
+        Assertions.assertEquals("&lt;" + tail, filter.filter("<" + tail));
+        Assertions.assertEquals("&lt;" + tail + "&gt;", filter.filter("<" + tail + ">"));
+        Assertions.assertEquals("&lt;!--" + tail + "--&gt;", filter.filter("<!--" + tail + "-->"));
+        Assertions.assertEquals("<b>x</b>", filter.filter("<b>x</b>"));
+
+        final Map<String, Object> conf = config();
+        conf.put("stripComment", false);
+        final HTMLFilter makeTags = new HTMLFilter(conf);
+        Assertions.assertEquals(tail + "&gt;<b>x</b>", makeTags.filter(tail + "><b>x</b>"));
+        Assertions.assertEquals("&lt;" + tail + "&gt;", makeTags.filter("<" + tail + ">"));
+
+        // 流式处理未闭合的'<'之后的长输入
+        final StringWriter out = new StringWriter();
+        filter.filter(new StringReader("<" + "a".repeat(HTMLSanitizer.MAX_LOOKAHEAD * 16)), out);
+        Assertions.assertEquals(4 + HTMLSanitizer.MAX_LOOKAHEAD * 16, out.getBuffer().length());
+    }
+
+    private static void differential(HTMLFilter filter, LegacyHTMLFilter legacy, long seed) throws IOException {
+        final Random random = new Random(seed);
+        for (int i = 0; i < 20000; i++) {
+            final StringBuilder input = new StringBuilder();
+            final int count = random.nextInt(12);
+            for (int j = 0; j < count; j++) {
+                input.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            final String html = input.toString();
+            String expected;
+            try {
+                expected = legacy.filter(html);
+            } catch (NumberFormatException e) {
+                Assertions.assertThrows(NumberFormatException.class, () -> filter.filter(html), html);
+                continue;
+            }
+            Assertions.assertEquals(expected, filter.filter(html), html);
+            final StringWriter out = new StringWriter();
+            filter.filter(new OneCharReader(html), out);
+            Assertions.assertEquals(expected, out.toString(), html);
+        }
+    }
+
+    private static Map<String, Object> config() {
+        final HashMap<String, List<String>> allowed = new HashMap<>();
+        allowed.put("a", new ArrayList<>(List.of("href", "title")));
+        allowed.put("img", new ArrayList<>(List.of("src", "alt")));
+        allowed.put("b", new ArrayList<>());
+        allowed.put("p", new ArrayList<>());
+        final Map<String, Object> conf = new HashMap<>();
+        conf.put("vAllowed", allowed);
+        conf.put("vSelfClosingTags", new String[]{"img"});
+        conf.put("vNeedClosingTags", new String[]{"a", "b"});
+        conf.put("vDisallowed", new String[]{"script"});
+        conf.put("vAllowedProtocols", new String[]{"http", "https"});
+        conf.put("vProtocolAtts", new String[]{"src", "href"});
+        conf.put("vRemoveBlanks", new String[]{"a", "b", "p", "img"});
+        conf.put("vAllowedEntities", new String[]{"amp", "lt"});
+        return conf;
+    }
+
+    /**
+     * 每次只读取一个字符，检验跨缓冲区的向前查看
+     */
+    private static final class OneCharReader extends StringReader {
+
+        private OneCharReader(String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package top.lytree.text;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import top.lytree.pattern.CharMatcher;
+
+public class KeywordMatcherTest {
+
+    @Test
+    public void findTest() {
+        final KeywordMatcher matcher = KeywordMatcher.of("he", "she", "his", "hers");
+        Assertions.assertTrue(matcher.containsAny("ushers"));
+        Assertions.assertFalse(matcher.containsAny("hi"));
+        Assertions.assertEquals("[she[1, 4), he[2, 4), hers[2, 6)]", matcher.findAll("ushers").toString());
+        Assertions.assertEquals("she[1, 4)", matcher.findFirst("ushers").toString());
+        Assertions.assertEquals("u***rs", matcher.replaceAll("ushers", '*'));
+        Assertions.assertEquals("<his> and <he>r", matcher.replaceAll("his and her", hit -> "<" + hit.getKeyword() + ">"));
+        Assertions.assertNull(matcher.findFirst("nothing"));
+        Assertions.assertEquals("nothing", matcher.replaceAll("nothing", '*'));
+    }
+
+    @Test
+    public void leftmostLongestTest() {
+        // 较短的命中先结束，但必须等到确定没有更早开始的命中
+        final KeywordMatcher matcher = KeywordMatcher.of("ab", "cd", "abcde", "bcdef");
+        Assertions.assertEquals("[ab[0, 2), cd[2, 4)]", matcher.findAllNonOverlapping("abcdX").toString());
+        Assertions.assertEquals("[abcde[0, 5)]", matcher.findAllNonOverlapping("abcdef").toString());
+        Assertions.assertEquals("[bcdef[1, 6)]", matcher.findAllNonOverlapping("xbcdef").toString());
+    }
+
+    @Test
+    public void optionsTest() {
+        final KeywordMatcher matcher = KeywordMatcher.builder()
+                .ignoreCase().ignoreWidth().skip(CharMatcher.anyOf(" *-").precomputed())
+                .build("Bad Word", "坏词");
+        Assertions.assertEquals(2, matcher.size());
+        Assertions.assertTrue(matcher.containsAny("a ＢＡＤ-word!"));
+        Assertions.assertEquals("[Bad Word[2, 10)]", matcher.findAll("a ＢＡＤ-word!").toString());
+        Assertions.assertEquals("这是*** 句", matcher.replaceAll("这是坏 词 句", '*'));
+
+        final SensitiveWordFilter filter = new SensitiveWordFilter(matcher);
+        Assertions.assertEquals("********** ok", filter.filter("b-a-d word ok"));
+        filter.reload(List.of("other"));
+        Assertions.assertFalse(filter.contains("badword"));
+        Assertions.assertEquals("*****", filter.filter("OTHER"));
+        Assertions.assertTrue(filter.getMatcher().containsAny("o t h e r"));
+    }
+
+    @Test
+    public void bruteForceTest() {
+        final Random random = new Random(7);
+        for (int round = 0; round < 2000; round++) {
+            final Set<String> words = new LinkedHashSet<>();
+            for (int i = random.nextInt(8) + 1; i > 0; i--) {
+                words.add(randomString(random, random.nextInt(4) + 1));
+            }
+            final String text = randomString(random, random.nextInt(30));
+            final KeywordMatcher matcher = KeywordMatcher.of(new ArrayList<>(words));
+
+            final List<String> all = new ArrayList<>();
+            for (int end = 1; end <= text.length(); end++) {
+                for (int start = 0; start < end; start++) {
+                    if (words.contains(text.substring(start, end))) {
+                        all.add(text.substring(start, end) + "[" + start + ", " + end + ")");
+                    }
+                }
+            }
+            Assertions.assertEquals(all.toString(), matcher.findAll(text).toString(), words + " " + text);
+
+            final List<String> greedy = new ArrayList<>();
+            for (int start = 0; start < text.length(); ) {
+                int longest = -1;
+                for (int end = text.length(); end > start; end--) {
+                    if (words.contains(text.substring(start, end))) {
+                        longest = end;
+                        break;
+                    }
+                }
+                if (longest < 0) {
+                    start++;
+                } else {
+                    greedy.add(text.substring(start, longest) + "[" + start + ", " + longest + ")");
+                    start = longest;
+                }
+            }
+            Assertions.assertEquals(greedy.toString(), matcher.findAllNonOverlapping(text).toString(), words + " " + text);
+            Assertions.assertEquals(!all.isEmpty(), matcher.containsAny(text));
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,118 @@
+package top.lytree.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import top.lytree.lang.StringUtils;
+import top.lytree.pattern.CharMatcher;
+
+public class TokenizerTest {
+
+    @Test
+    public void splitTest() {
+        Assertions.assertEquals(List.of("a", "", "b", ""), tokens(Tokenizer.on(','), "a,,b,"));
+        Assertions.assertEquals(List.of("a", "b"), tokens(Tokenizer.on(',').omitEmpty(), ",a,,b,"));
+        Assertions.assertEquals(List.of(), tokens(Tokenizer.on(','), ""));
+        Assertions.assertEquals(List.of("a", "b=c", ""), tokens(Tokenizer.on("::"), "a::b=c::"));
+        Assertions.assertEquals(List.of("a", "b", "c"), tokens(Tokenizer.on(CharMatcher.anyOf(" \t")).omitEmpty(), " a\t b  c"));
+
+        final int[] bounds = new int[4];
+        Assertions.assertEquals(3, Tokenizer.on('|').split("ab|c|def", bounds));
+        Assertions.assertArrayEquals(new int[]{0, 2, 3, 4}, bounds);
+    }
+
+    @Test
+    public void cursorTest() {
+        final Tokenizer.Cursor cursor = Tokenizer.on(' ').tokenize(new StringBuilder("12 -7 ff 3.5 key"));
+        long sum = 0;
+        Assertions.assertTrue(cursor.next());
+        sum += cursor.parseInt();
+        Assertions.assertTrue(cursor.next());
+        sum += cursor.parseLong();
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(255, cursor.parseInt(16));
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(3.5, cursor.parseDouble());
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertTrue(cursor.contentEquals("key"));
+        Assertions.assertEquals("ey", cursor.slice().subSequence(1, 3).toString());
+        Assertions.assertFalse(cursor.next());
+        Assertions.assertEquals(5, sum);
+        Assertions.assertThrows(NumberFormatException.class, () -> {
+            final Tokenizer.Cursor c = Tokenizer.on(',').tokenize("x");
+            c.next();
+            c.parseInt();
+        });
+    }
+
+    @Test
+    public void csvTest() {
+        Assertions.assertEquals(List.of("a", "b,c", "say \"hi\"", "", "d"),
+                tokens(Tokenizer.csv(), "a,\"b,c\",\"say \"\"hi\"\"\",,d"));
+        Assertions.assertEquals(List.of("", "x;y"), tokens(Tokenizer.csv(';'), "\"\";\"x;y"));
+        Assertions.assertEquals(List.of("a", "b"), tokens(Tokenizer.csv().omitEmpty(), "\"\",a,,\"\",\"b\",\"\""));
+        Assertions.assertEquals(List.of(), tokens(Tokenizer.csv().omitEmpty(), "\"\""));
+        Assertions.assertEquals(0, Tokenizer.csv().omitEmpty().count("\"\",,\"\""));
+        final Tokenizer.Cursor cursor = Tokenizer.csv().tokenize("\"a\"\"b\",c");
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertTrue(cursor.isEscaped());
+        Assertions.assertEquals(1, cursor.start());
+        Assertions.assertEquals(5, cursor.end());
+        // CharSequence方法与toString()一致，都作用于去除转义后的内容
+        final String text = cursor.toString();
+        Assertions.assertEquals("a\"b", text);
+        Assertions.assertEquals(text.length(), cursor.length());
+        for (int i = 0; i < text.length(); i++) {
+            Assertions.assertEquals(text.charAt(i), cursor.charAt(i));
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> cursor.charAt(3));
+        Assertions.assertEquals("\"b", cursor.subSequence(1, 3).toString());
+        Assertions.assertTrue(cursor.contentEquals(text));
+        Assertions.assertEquals(text, String.valueOf(cursor));
+        final CharSequence slice = cursor.slice();
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertFalse(cursor.isEscaped());
+        Assertions.assertEquals("c", cursor.toString());
+        Assertions.assertEquals(1, cursor.length());
+        Assertions.assertEquals(text, slice.toString());
+
+        final Tokenizer.Cursor numbers = Tokenizer.csv().tokenize("\"1\"\"2\",\"3\"\"\"");
+        Assertions.assertTrue(numbers.next());
+        Assertions.assertThrows(NumberFormatException.class, numbers::parseInt);
+        Assertions.assertTrue(numbers.next());
+        Assertions.assertEquals("3\"", numbers.toString());
+        Assertions.assertEquals(2, numbers.length());
+    }
+
+    @Test
+    public void compareTest() {
+        final Random random = new Random(3);
+        for (int round = 0; round < 5000; round++) {
+            final char[] chars = new char[random.nextInt(20)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = "ab,:".charAt(random.nextInt(4));
+            }
+            final String s = new String(chars);
+            Assertions.assertEquals(Arrays.asList(StringUtils.split(s, ',')), tokens(Tokenizer.on(',').omitEmpty(), s), s);
+            final List<String> expected = s.isEmpty() ? List.of() : Arrays.asList(s.split(",", -1));
+            Assertions.assertEquals(expected, tokens(Tokenizer.on(','), s), s);
+            final List<String> multi = s.isEmpty() ? List.of() : Arrays.asList(s.split(Pattern.quote(",:"), -1));
+            Assertions.assertEquals(multi, tokens(Tokenizer.on(",:"), new StringBuilder(s)), s);
+            Assertions.assertEquals(expected.size(), Tokenizer.on(CharMatcher.is(',')).count(s), s);
+        }
+    }
+
+    private static List<String> tokens(Tokenizer tokenizer, CharSequence input) {
+        final List<String> tokens = new ArrayList<>();
+        final Tokenizer.Cursor cursor = tokenizer.tokenize(input);
+        while (cursor.next()) {
+            tokens.add(cursor.toString());
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,78 @@
+package top.lytree.time;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DateFormatterPoolTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2023, 7, 9, 8, 5, 3, 45_000_000);
+
+    @AfterEach
+    public void restore() {
+        DateFormatterPool.clear();
+    }
+
+    @Test
+    public void prebuiltTest() {
+        Assertions.assertSame(DatePattern.NORM_DATETIME_FORMATTER, DateFormatterPool.get(DatePattern.NORM_DATETIME_PATTERN));
+        Assertions.assertSame(DatePattern.PURE_DATE_FORMATTER, DateFormatterPool.get(DatePattern.PURE_DATE_PATTERN));
+        Assertions.assertSame(DatePattern.UTC_MS_FORMATTER, DateFormatterPool.get(DatePattern.UTC_MS_PATTERN));
+        Assertions.assertSame(DatePattern.HTTP_DATETIME_FORMATTER, DateFormatterPool.get(DatePattern.HTTP_DATETIME_PATTERN, Locale.US));
+    }
+
+    @Test
+    public void cacheTest() {
+        final DateTimeFormatter first = DateFormatterPool.get("yy/M/d H:m");
+        Assertions.assertSame(first, DateFormatterPool.get("yy/M/d H:m"));
+        Assertions.assertEquals(DateTimeFormatter.ofPattern("yy/M/d H:m").format(TIME), first.format(TIME));
+
+        // Locale和时区不同的是不同的格式化器
+        final DateTimeFormatter english = DateFormatterPool.get("MMM d", Locale.ENGLISH);
+        Assertions.assertNotSame(english, DateFormatterPool.get("MMM d", Locale.CHINA));
+        Assertions.assertEquals("Jul 9", english.format(TIME));
+        final DateTimeFormatter utc = DateFormatterPool.get("HH:mm", Locale.ENGLISH, ZoneOffset.UTC);
+        Assertions.assertSame(utc, DateFormatterPool.get("HH:mm", Locale.ENGLISH, ZoneOffset.UTC));
+        Assertions.assertEquals(ZoneOffset.UTC, utc.getZone());
+    }
+
+    @Test
+    public void invalidTest() {
+        final int size = DateFormatterPool.size();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DateFormatterPool.get("yyyy-MM-dd {"));
+        Assertions.assertEquals(size, DateFormatterPool.size());
+    }
+
+    @Test
+    public void boundedTest() {
+        for (int i = 0; i < DateFormatterPool.CACHE_LIMIT * 2; i++) {
+            Assertions.assertEquals("2023-" + i, DateFormatterPool.get("yyyy-'" + i + "'").format(TIME));
+        }
+        Assertions.assertTrue(DateFormatterPool.size() <= DateFormatterPool.CACHE_LIMIT);
+        Assertions.assertSame(DatePattern.NORM_DATE_FORMATTER, DateFormatterPool.get(DatePattern.NORM_DATE_PATTERN));
+    }
+
+    @Test
+    public void localDateTimeUtilsTest() {
+        Assertions.assertEquals("2023-07-09 08:05:03.045", LocalDateTimeUtils.format(TIME, DatePattern.NORM_DATETIME_MS_PATTERN));
+        Assertions.assertEquals(TIME, LocalDateTimeUtils.parse("20230709080503045", DatePattern.PURE_DATETIME_MS_PATTERN));
+        Assertions.assertEquals(TIME.withNano(0), LocalDateTimeUtils.parse("2023-07-09 08:05:03", DatePattern.NORM_DATETIME_PATTERN));
+        Assertions.assertEquals(LocalDate.of(2023, 7, 9), LocalDateTimeUtils.parseDate("2023年07月09日", DatePattern.CHINESE_DATE_PATTERN));
+        Assertions.assertEquals("Sun Jul 09", LocalDateTimeUtils.format(TIME, "EEE MMM dd", Locale.US));
+        Assertions.assertEquals(TIME.withSecond(0).withNano(0),
+                LocalDateTimeUtils.parse("09 Jul 2023 08:05", "dd MMM yyyy HH:mm", Locale.US));
+
+        final Instant instant = TIME.toInstant(ZoneOffset.UTC);
+        Assertions.assertEquals("2023-07-09 08:05:03", LocalDateTimeUtils.format(instant, DatePattern.NORM_DATETIME_PATTERN, ZoneOffset.UTC));
+        Assertions.assertEquals("2023-07-09 16:05:03",
+                LocalDateTimeUtils.format(instant, DatePattern.NORM_DATETIME_PATTERN, ZoneId.of("Asia/Shanghai")));
+    }
+}
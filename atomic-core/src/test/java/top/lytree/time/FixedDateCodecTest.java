@@ -0,0 +1,140 @@
+package top.lytree.time;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 与{@link DateTimeFormatter}逐一对比结果及异常
+ */
+public class FixedDateCodecTest {
+
+    private static final List<FixedDateCodec> CODECS = List.of(
+            FixedDateCodec.NORM_MONTH, FixedDateCodec.NORM_DATE, FixedDateCodec.NORM_TIME,
+            FixedDateCodec.NORM_DATETIME_MINUTE, FixedDateCodec.NORM_DATETIME, FixedDateCodec.NORM_DATETIME_MS,
+            FixedDateCodec.ISO8601, FixedDateCodec.PURE_DATE, FixedDateCodec.PURE_TIME, FixedDateCodec.PURE_DATETIME,
+            FixedDateCodec.PURE_DATETIME_MS, FixedDateCodec.UTC_SIMPLE, FixedDateCodec.UTC, FixedDateCodec.UTC_MS);
+
+    @Test
+    public void ofTest() {
+        for (FixedDateCodec codec : CODECS) {
+            Assertions.assertSame(codec, FixedDateCodec.of(codec.getPattern()));
+            Assertions.assertSame(codec, FixedDateCodec.of(DateFormatterPool.get(codec.getPattern())));
+        }
+        Assertions.assertNull(FixedDateCodec.of("yyyy/MM/dd"));
+        Assertions.assertNull(FixedDateCodec.of(DateTimeFormatter.ofPattern(DatePattern.NORM_DATETIME_PATTERN)));
+        Assertions.assertNull(FixedDateCodec.of((String) null));
+    }
+
+    @Test
+    public void formatTest() {
+        final Random random = new Random(1);
+        for (int i = 0; i < 2_000; i++) {
+            final LocalDateTime time = randomTime(random);
+            for (FixedDateCodec codec : CODECS) {
+                final DateTimeFormatter formatter = codec.getFormatter();
+                Assertions.assertEquals(formatter.format(time), codec.format(time), codec.getPattern());
+                assertSame(() -> formatter.format(time.toLocalDate()), () -> codec.format(time.toLocalDate()));
+                assertSame(() -> formatter.format(time.toLocalTime()), () -> codec.format(time.toLocalTime()));
+
+                final char[] buf = new char[codec.length() + 2];
+                final int written = codec.formatTo(time, buf, 2);
+                if (written > 0) {
+                    Assertions.assertEquals(formatter.format(time), new String(buf, 2, written));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parseTest() {
+        final Random random = new Random(2);
+        for (int i = 0; i < 2_000; i++) {
+            final LocalDateTime time = randomTime(random);
+            for (FixedDateCodec codec : CODECS) {
+                final DateTimeFormatter formatter = codec.getFormatter();
+                final String text = mutate(random, formatter.format(time));
+                assertSame(() -> LocalDateTime.parse(text, formatter), () -> codec.parseDateTime(text));
+                assertSame(() -> LocalDate.parse(text, formatter), () -> codec.parseDate(text));
+                assertSame(() -> LocalTime.parse(text, formatter), () -> codec.parseTime(text));
+            }
+        }
+    }
+
+    @Test
+    public void edgeTest() {
+        // SMART解析：2月30日调整为月末，24:00:00为次日零点
+        Assertions.assertEquals(LocalDateTime.of(2023, 3, 1, 0, 0),
+                FixedDateCodec.NORM_DATETIME.parseDateTime("2023-02-30 24:00:00"));
+        Assertions.assertEquals(LocalDate.of(2024, 2, 29), FixedDateCodec.NORM_DATE.parseDate("2024-02-31"));
+        Assertions.assertThrows(java.time.format.DateTimeParseException.class, () -> FixedDateCodec.NORM_DATE.parseDate("0000-01-01"));
+        Assertions.assertEquals("+10000-01-01", FixedDateCodec.NORM_DATE.format(LocalDate.of(10000, 1, 1)));
+        Assertions.assertEquals(-1, FixedDateCodec.NORM_DATE.formatTo(LocalDate.of(10000, 1, 1), new char[16], 0));
+    }
+
+    @Test
+    public void localDateTimeUtilsTest() {
+        final LocalDateTime time = LocalDateTime.of(2023, 7, 9, 8, 5, 3, 45_000_000);
+        Assertions.assertEquals("20230709080503", LocalDateTimeUtils.format(time, DatePattern.PURE_DATETIME_PATTERN));
+        Assertions.assertEquals(time.withNano(0), LocalDateTimeUtils.parse("20230709080503", DatePattern.PURE_DATETIME_PATTERN));
+        Assertions.assertEquals(time, LocalDateTimeUtils.parse("20230709080503045", DatePattern.PURE_DATETIME_MS_PATTERN));
+        Assertions.assertEquals(time, LocalDateTimeUtils.parse("2023-07-09T08:05:03.045Z", DatePattern.UTC_MS_FORMATTER));
+        Assertions.assertEquals(time.toLocalDate().atStartOfDay(), LocalDateTimeUtils.parse("2023-07-09", DatePattern.NORM_DATE_PATTERN));
+        Assertions.assertEquals(LocalDateTime.of(2023, 7, 1, 0, 0), LocalDateTimeUtils.parse("2023-07", DatePattern.NORM_MONTH_PATTERN));
+        Assertions.assertEquals(time.toLocalDate(), LocalDateTimeUtils.parseDate("2023-07-09 08:05:03", DatePattern.NORM_DATETIME_PATTERN));
+        Assertions.assertEquals("2023-07-09", LocalDateTimeUtils.formatNormal(time.toLocalDate()));
+        // 格式包含时间时LocalDate按当天零点格式化
+        Assertions.assertEquals("2023-07-09 00:00:00", LocalDateTimeUtils.format(time.toLocalDate(), DatePattern.NORM_DATETIME_PATTERN));
+    }
+
+    private static LocalDateTime randomTime(Random random) {
+        final int year = random.nextInt(20) == 0 ? random.nextInt(12000) - 1000 : 1900 + random.nextInt(200);
+        return LocalDateTime.of(year, 1 + random.nextInt(12), 1, random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                        random.nextInt(1_000_000_000))
+                .plusDays(random.nextInt(31));
+    }
+
+    /**
+     * 随机改写一个字符，包括超出范围的数字、非数字及删除
+     */
+    private static String mutate(Random random, String text) {
+        if (random.nextBoolean() || text.isEmpty()) {
+            return text;
+        }
+        final StringBuilder builder = new StringBuilder(text);
+        final int index = random.nextInt(text.length());
+        switch (random.nextInt(4)) {
+            case 0 -> builder.setCharAt(index, (char) ('0' + random.nextInt(10)));
+            case 1 -> builder.setCharAt(index, "9-: T.,Zx\u0660".charAt(random.nextInt(10)));
+            case 2 -> builder.deleteCharAt(index);
+            default -> builder.insert(index, '1');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 两者结果相同，或抛出同类型、同消息的异常
+     */
+    private static void assertSame(Supplier<Object> expected, Supplier<Object> actual) {
+        Object expectedValue;
+        try {
+            expectedValue = expected.get();
+        } catch (RuntimeException e) {
+            expectedValue = e.getClass().getName() + ": " + e.getMessage();
+        }
+        Object actualValue;
+        try {
+            actualValue = actual.get();
+        } catch (RuntimeException e) {
+            actualValue = e.getClass().getName() + ": " + e.getMessage();
+        }
+        Assertions.assertEquals(expectedValue, actualValue);
+    }
+}
@@ -0,0 +1,84 @@
+package top.lytree.validator;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import top.lytree.pattern.PatternPool;
+
+public class ChinaNumberValidatorTest {
+
+    @Test
+    public void isMobileTest() {
+        Assertions.assertTrue(ChinaNumberValidator.isMobile("13812345678"));
+        Assertions.assertTrue(ChinaNumberValidator.isMobile("+8619912345678"));
+        Assertions.assertTrue(ChinaNumberValidator.isMobile("8615012345678"));
+        Assertions.assertTrue(ChinaNumberValidator.isMobile("015012345678"));
+        Assertions.assertFalse(ChinaNumberValidator.isMobile("12812345678"));
+        Assertions.assertFalse(ChinaNumberValidator.isMobile("1381234567"));
+        Assertions.assertFalse(ChinaNumberValidator.isMobile("+8513812345678"));
+        Assertions.assertFalse(ChinaNumberValidator.isMobile(null));
+    }
+
+    @Test
+    public void isCitizenIdTest() {
+        Assertions.assertTrue(ChinaNumberValidator.isValidCitizenId("11010519491231002X"));
+        Assertions.assertTrue(ChinaNumberValidator.isValidCitizenId("11010519491231002x"));
+        Assertions.assertTrue(ChinaNumberValidator.isValidCitizenId("440524188001010014"));
+        Assertions.assertTrue(ChinaNumberValidator.isCitizenId("110105194912310021"));
+        Assertions.assertFalse(ChinaNumberValidator.isValidCitizenId("110105194912310021"));
+        Assertions.assertFalse(ChinaNumberValidator.isCitizenId("110105194913310021"));
+        Assertions.assertFalse(ChinaNumberValidator.isCitizenId("110105194912320021"));
+        Assertions.assertFalse(ChinaNumberValidator.isCitizenId(null));
+    }
+
+    @Test
+    public void isZipCodeTest() {
+        Assertions.assertTrue(ChinaNumberValidator.isZipCode("100000"));
+        Assertions.assertTrue(ChinaNumberValidator.isZipCode("999077"));
+        Assertions.assertFalse(ChinaNumberValidator.isZipCode("140000"));
+        Assertions.assertFalse(ChinaNumberValidator.isZipCode("999079"));
+        Assertions.assertFalse(ChinaNumberValidator.isZipCode("10000"));
+    }
+
+    @Test
+    public void compareTest() {
+        final Random random = new Random(11);
+        for (int round = 0; round < 200_000; round++) {
+            final String mobile = mutate(random, new String[]{"", "0", "86", "+86"}[random.nextInt(4)]
+                    + "1" + digits(random, 10));
+            Assertions.assertEquals(PatternPool.MOBILE.matcher(mobile).matches(), ChinaNumberValidator.isMobile(mobile), mobile);
+
+            final String id = mutate(random, digits(random, 6) + (1 + random.nextInt(2)) + digits(random, 3)
+                    + String.format("%02d%02d", random.nextInt(14), random.nextInt(33)) + digits(random, 3)
+                    + "0123456789Xx".charAt(random.nextInt(12)));
+            Assertions.assertEquals(PatternPool.CITIZEN_ID.matcher(id).matches(), ChinaNumberValidator.isCitizenId(id), id);
+
+            final String zip = random.nextInt(10) == 0 ? mutate(random, "99907" + random.nextInt(10)) : mutate(random, digits(random, 6));
+            Assertions.assertEquals(PatternPool.ZIP_CODE.matcher(zip).matches(), ChinaNumberValidator.isZipCode(zip), zip);
+        }
+    }
+
+    private static String digits(Random random, int count) {
+        final char[] chars = new char[count];
+        for (int i = 0; i < count; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    private static String mutate(Random random, String s) {
+        if (random.nextInt(3) != 0) {
+            return s;
+        }
+        final String alphabet = "0123456789+Xx a١";
+        final StringBuilder builder = new StringBuilder(s);
+        final int at = random.nextInt(builder.length());
+        switch (random.nextInt(3)) {
+            case 0 -> builder.insert(at, alphabet.charAt(random.nextInt(alphabet.length())));
+            case 1 -> builder.deleteCharAt(at);
+            default -> builder.setCharAt(at, alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package top.lytree.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import top.lytree.validator.DomainValidator.ArrayType;
+import top.lytree.validator.DomainValidator.Item;
+
+public class DomainValidatorTest {
+
+    @Test
+    public void tldTest() {
+        final DomainValidator validator = DomainValidator.getInstance();
+        Assertions.assertTrue(validator.isValidTld("COM"));
+        Assertions.assertTrue(validator.isValidTld(".org"));
+        Assertions.assertTrue(validator.isValidCountryCodeTld("Cn"));
+        Assertions.assertTrue(validator.isValidInfrastructureTld("arpa"));
+        Assertions.assertFalse(validator.isValidTld("localhost"));
+        Assertions.assertTrue(DomainValidator.getInstance(true).isValidTld("localhost"));
+        Assertions.assertFalse(validator.isValidTld(""));
+        Assertions.assertFalse(validator.isValidTld("."));
+        Assertions.assertFalse(validator.isValidTld("..com"));
+        Assertions.assertFalse(validator.isValidTld("zz"));
+        Assertions.assertTrue(validator.isValid("www.Example.COM"));
+        Assertions.assertFalse(validator.isValid("example.notatld"));
+    }
+
+    @Test
+    public void compareTest() {
+        final List<String> keys = new ArrayList<>();
+        for (ArrayType type : new ArrayType[]{ArrayType.GENERIC_RO, ArrayType.COUNTRY_CODE_RO, ArrayType.INFRASTRUCTURE_RO, ArrayType.LOCAL_RO}) {
+            keys.addAll(Arrays.asList(DomainValidator.getTLDEntries(type)));
+        }
+        final Random random = new Random(9);
+        final int size = keys.size();
+        for (int i = 0; i < size; i++) {
+            final String key = keys.get(i);
+            keys.add(key.toUpperCase(Locale.ENGLISH));
+            keys.add("." + key);
+            keys.add(key.substring(0, random.nextInt(key.length())));
+            keys.add(key + "x");
+        }
+        keys.add("apache");
+
+        final DomainValidator overridden = DomainValidator.getInstance(true, List.of(
+                new Item(ArrayType.GENERIC_PLUS, new String[]{"APACHE"}),
+                new Item(ArrayType.GENERIC_MINUS, new String[]{"com"}),
+                new Item(ArrayType.COUNTRY_CODE_MINUS, new String[]{"cn"}),
+                new Item(ArrayType.LOCAL_MINUS, new String[]{"localdomain"})));
+        Assertions.assertTrue(overridden.isValidGenericTld("apache"));
+        Assertions.assertFalse(overridden.isValidGenericTld("com"));
+        for (DomainValidator validator : new DomainValidator[]{DomainValidator.getInstance(), DomainValidator.getInstance(true), overridden}) {
+            for (String key : keys) {
+                final String lower = key.toLowerCase(Locale.ENGLISH);
+                final String chomped = lower.startsWith(".") ? lower.substring(1) : lower;
+                final boolean generic = (contains(DomainValidator.getTLDEntries(ArrayType.GENERIC_RO), chomped)
+                        || contains(validator.getOverrides(ArrayType.GENERIC_PLUS), chomped))
+                        && !contains(validator.getOverrides(ArrayType.GENERIC_MINUS), chomped);
+                final boolean countryCode = (contains(DomainValidator.getTLDEntries(ArrayType.COUNTRY_CODE_RO), chomped)
+                        || contains(validator.getOverrides(ArrayType.COUNTRY_CODE_PLUS), chomped))
+                        && !contains(validator.getOverrides(ArrayType.COUNTRY_CODE_MINUS), chomped);
+                final boolean local = (contains(DomainValidator.getTLDEntries(ArrayType.LOCAL_RO), chomped)
+                        || contains(validator.getOverrides(ArrayType.LOCAL_PLUS), chomped))
+                        && !contains(validator.getOverrides(ArrayType.LOCAL_MINUS), chomped);
+                final boolean infrastructure = contains(DomainValidator.getTLDEntries(ArrayType.INFRASTRUCTURE_RO), chomped);
+                Assertions.assertEquals(generic, validator.isValidGenericTld(key), key);
+                Assertions.assertEquals(countryCode, validator.isValidCountryCodeTld(key), key);
+                Assertions.assertEquals(local, validator.isValidLocalTld(key), key);
+                Assertions.assertEquals(infrastructure, validator.isValidInfrastructureTld(key), key);
+                Assertions.assertEquals(generic || countryCode || infrastructure || validator.isAllowLocal() && local,
+                        validator.isValidTld(key), key);
+            }
+        }
+    }
+
+    @Test
+    public void batchTest() {
+        final DomainValidator validator = DomainValidator.getInstance();
+        final String[] domains = new String[10_000];
+        final String[] tlds = {"com", "cn", "invalidtld", "org", ""};
+        for (int i = 0; i < domains.length; i++) {
+            domains[i] = i % 97 == 0 ? null : "host" + i + "." + tlds[i % tlds.length];
+        }
+        final boolean[] result = validator.isValidAll(domains);
+        for (int i = 0; i < domains.length; i++) {
+            Assertions.assertEquals(validator.isValid(domains[i]), result[i], domains[i]);
+        }
+    }
+
+    private static boolean contains(String[] sorted, String key) {
+        return Arrays.binarySearch(sorted, key) >= 0;
+    }
+}
@@ -0,0 +1,58 @@
+package top.lytree.validator;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EmailValidatorTest {
+
+    private final EmailValidator validator = EmailValidator.getInstance();
+
+    @Test
+    public void isValidTest() {
+        Assertions.assertTrue(validator.isValid("jsmith@apache.org"));
+        Assertions.assertTrue(validator.isValid("joe.o'brien@apache.org"));
+        Assertions.assertTrue(validator.isValid("\"joe smith\"@apache.org"));
+        Assertions.assertTrue(validator.isValid("\"a\\\"b\".c@apache.org"));
+        Assertions.assertTrue(validator.isValid("a\\@b@apache.org"));
+        Assertions.assertTrue(validator.isValid("jsmith@[192.168.0.1]"));
+        Assertions.assertFalse(validator.isValid("jsmith@apache.org."));
+        Assertions.assertFalse(validator.isValid("joe..smith@apache.org"));
+        Assertions.assertFalse(validator.isValid("joe smith@apache.org"));
+        Assertions.assertFalse(validator.isValid("joe@apache org"));
+        Assertions.assertFalse(validator.isValid("@apache.org"));
+        Assertions.assertFalse(validator.isValid("jsmith@"));
+        Assertions.assertFalse(validator.isValid(null));
+    }
+
+    @Test
+    public void compareUserTest() {
+        final Random random = new Random(5);
+        for (int round = 0; round < 300_000; round++) {
+            final String user = user(random);
+            Assertions.assertEquals(RegexOracle.isValidUser(user), validator.isValidUser(user), user);
+        }
+    }
+
+    @Test
+    public void compareTest() {
+        final String[] domains = {"apache.org", "[127.0.0.1]", "[::1]", "[1.2.3\n.4]", "apa che.org", "a@apache.org", "",
+                "\u2028apache.org", "apache.org@", "localhost"};
+        final DomainValidator domainValidator = DomainValidator.getInstance(false);
+        final Random random = new Random(9);
+        for (int round = 0; round < 200_000; round++) {
+            final String email = user(random) + "@" + domains[random.nextInt(domains.length)];
+            Assertions.assertEquals(RegexOracle.isValidEmail(email, domainValidator), validator.isValid(email), email);
+        }
+    }
+
+    private static String user(Random random) {
+        final String alphabet = "ab.\"\\'@ ()\t\n\u2028\u0085é,[\u007f";
+        final char[] chars = new char[random.nextInt(10)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(i % 3 == 0 ? alphabet.length() : 6));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,108 @@
+package top.lytree.validator;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InetAddressValidatorTest {
+
+    private final InetAddressValidator validator = InetAddressValidator.getInstance();
+
+    @Test
+    public void isValidTest() {
+        Assertions.assertTrue(validator.isValid("192.168.0.1"));
+        Assertions.assertTrue(validator.isValid("0.0.0.0"));
+        Assertions.assertFalse(validator.isValid("192.168.0.01"));
+        Assertions.assertFalse(validator.isValid("256.1.1.1"));
+        Assertions.assertFalse(validator.isValid("1.1.1"));
+        Assertions.assertFalse(validator.isValid("1.1.1.1."));
+        Assertions.assertFalse(validator.isValid(null));
+
+        Assertions.assertTrue(validator.isValid("::"));
+        Assertions.assertTrue(validator.isValid("::1"));
+        Assertions.assertTrue(validator.isValid("2001:db8::ff00:42:8329"));
+        Assertions.assertTrue(validator.isValid("2001:0db8:0000:0000:0000:ff00:0042:8329"));
+        Assertions.assertTrue(validator.isValid("::ffff:192.0.2.128"));
+        Assertions.assertTrue(validator.isValid("fe80::1%eth0/64"));
+        Assertions.assertFalse(validator.isValid("1:2:3:4:5:6:7"));
+        Assertions.assertFalse(validator.isValid("1::2::3"));
+        Assertions.assertFalse(validator.isValid(":1:2:3:4:5:6:7"));
+        Assertions.assertFalse(validator.isValid("12345::"));
+        Assertions.assertFalse(validator.isValid("::1/129"));
+        Assertions.assertFalse(validator.isValid("fe80::1%"));
+    }
+
+    @Test
+    public void compareTest() {
+        final Random random = new Random(7);
+        for (int round = 0; round < 200_000; round++) {
+            final String address = mutate(random, random.nextBoolean() ? ipv4(random) : ipv6(random));
+            Assertions.assertEquals(RegexOracle.isValidInet4Address(address), validator.isValidInet4Address(address), address);
+            Assertions.assertEquals(RegexOracle.isValidInet6Address(address), validator.isValidInet6Address(address), address);
+        }
+    }
+
+    static String ipv4(Random random) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            if (i > 0) {
+                builder.append('.');
+            }
+            builder.append(random.nextInt(10) == 0 ? "0" + random.nextInt(10) : String.valueOf(random.nextInt(300)));
+        }
+        return builder.toString();
+    }
+
+    static String ipv6(Random random) {
+        final StringBuilder builder = new StringBuilder();
+        final int groups = 1 + random.nextInt(9);
+        final int compressed = random.nextInt(3) == 0 ? -1 : random.nextInt(groups + 1);
+        for (int i = 0; i < groups; i++) {
+            if (i == compressed) {
+                builder.append("::");
+            } else if (i > 0) {
+                builder.append(':');
+            }
+            if (i == groups - 1 && random.nextInt(4) == 0) {
+                builder.append(ipv4(random));
+            } else {
+                builder.append(Integer.toHexString(random.nextInt(random.nextBoolean() ? 0x10000 : 0x100000)));
+            }
+        }
+        if (compressed == groups) {
+            builder.append("::");
+        }
+        if (random.nextInt(5) == 0) {
+            builder.append('%').append("eth").append(random.nextInt(3));
+        }
+        if (random.nextInt(5) == 0) {
+            builder.append('/').append(random.nextInt(140));
+        }
+        return builder.toString();
+    }
+
+    static String mutate(Random random, String s) {
+        final String alphabet = "0123456789abcdefABCDEFg:.%/ +-١Ａ";
+        final StringBuilder builder = new StringBuilder(s);
+        final int mutations = random.nextInt(3);
+        for (int i = 0; i < mutations; i++) {
+            final int at = random.nextInt(builder.length() + 1);
+            final char c = alphabet.charAt(random.nextInt(alphabet.length()));
+            switch (random.nextInt(3)) {
+                case 0 -> builder.insert(at, c);
+                case 1 -> {
+                    if (at < builder.length()) {
+                        builder.deleteCharAt(at);
+                    }
+                }
+                default -> {
+                    if (at < builder.length()) {
+                        builder.setCharAt(at, c);
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,197 @@
+package top.lytree.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 校验器改为逐字符扫描之前的正则实现，作为测试及性能对比的参照
+ */
+final class RegexOracle {
+
+    private static final String SPECIAL_CHARS = "\\p{Cntrl}\\(\\)<>@,;:'\\\\\\\"\\.\\[\\]";
+    private static final String VALID_CHARS = "(\\\\.)|[^\\s" + SPECIAL_CHARS + "]";
+    private static final String QUOTED_USER = "(\"(\\\\\"|[^\"])*\")";
+    private static final String WORD = "((" + VALID_CHARS + "|')+|" + QUOTED_USER + ")";
+
+    static final Pattern EMAIL_PATTERN = Pattern.compile("^(.+)@(\\S+)$");
+    static final Pattern IP_DOMAIN_PATTERN = Pattern.compile("^\\[(.*)\\]$");
+    static final Pattern USER_PATTERN = Pattern.compile("^" + WORD + "(\\." + WORD + ")*$");
+
+    static final Pattern IPV4_PATTERN = Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})$");
+
+    static final Pattern SCHEME_PATTERN = Pattern.compile("^\\p{Alpha}[\\p{Alnum}\\+\\-\\.]*");
+    private static final String IPV6_REGEX = "::FFFF:(?:\\d{1,3}\\.){3}\\d{1,3}|[0-9a-fA-F:]+";
+    private static final String USERINFO_CHARS_REGEX = "[a-zA-Z0-9%-._~!$&'()*+,;=]";
+    private static final String USERINFO_FIELD_REGEX = USERINFO_CHARS_REGEX + "+(?::" + USERINFO_CHARS_REGEX + "*)?@";
+    static final Pattern AUTHORITY_PATTERN = Pattern.compile(
+            "(?:\\[(" + IPV6_REGEX + ")\\]|(?:(?:" + USERINFO_FIELD_REGEX + ")?([\\p{Alnum}\\-\\.]*)))(?::(\\d*))?(.*)?");
+    static final Pattern PATH_PATTERN = Pattern.compile("^(/[-\\w:@&?=+,.!/~*'%$_;\\(\\)]*)?$");
+    static final Pattern QUERY_PATTERN = Pattern.compile("^(\\S*)$");
+
+    private RegexOracle() {
+    }
+
+    /**
+     * @return user and domain of the address, null if the structure does not match
+     */
+    static String[] splitEmail(String email) {
+        final Matcher matcher = EMAIL_PATTERN.matcher(email);
+        return matcher.matches() ? new String[]{matcher.group(1), matcher.group(2)} : null;
+    }
+
+    static boolean isValidUser(String user) {
+        return user.length() <= 64 && USER_PATTERN.matcher(user).matches();
+    }
+
+    /**
+     * @return the address in brackets, null if the domain is no IP domain
+     */
+    static String ipDomain(String domain) {
+        final Matcher matcher = IP_DOMAIN_PATTERN.matcher(domain);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    static boolean isValidInet4Address(String inet4Address) {
+        final Matcher matcher = IPV4_PATTERN.matcher(inet4Address);
+        if (!matcher.matches()) {
+            return false;
+        }
+        for (int i = 1; i <= matcher.groupCount(); i++) {
+            final String ipSegment = matcher.group(i);
+            if (Integer.parseInt(ipSegment) > 255 || (ipSegment.length() > 1 && ipSegment.startsWith("0"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isValidInet6Address(String inet6Address) {
+        String[] parts = inet6Address.split("/", -1);
+        if (parts.length > 2) {
+            return false;
+        }
+        if (parts.length == 2) {
+            if (!parts[1].matches("\\d{1,3}") || Integer.parseInt(parts[1]) > 128) {
+                return false;
+            }
+        }
+        parts = parts[0].split("%", -1);
+        if (parts.length > 2) {
+            return false;
+        }
+        if ((parts.length == 2) && !parts[1].matches("[^\\s/%]+")) {
+            return false;
+        }
+        inet6Address = parts[0];
+        boolean containsCompressedZeroes = inet6Address.contains("::");
+        if (containsCompressedZeroes && (inet6Address.indexOf("::") != inet6Address.lastIndexOf("::"))) {
+            return false;
+        }
+        if ((inet6Address.startsWith(":") && !inet6Address.startsWith("::"))
+                || (inet6Address.endsWith(":") && !inet6Address.endsWith("::"))) {
+            return false;
+        }
+        String[] octets = inet6Address.split(":");
+        if (containsCompressedZeroes) {
+            List<String> octetList = new ArrayList<>(Arrays.asList(octets));
+            if (inet6Address.endsWith("::")) {
+                octetList.add("");
+            } else if (inet6Address.startsWith("::") && !octetList.isEmpty()) {
+                octetList.remove(0);
+            }
+            octets = octetList.toArray(new String[0]);
+        }
+        if (octets.length > 8) {
+            return false;
+        }
+        int validOctets = 0;
+        int emptyOctets = 0;
+        for (int index = 0; index < octets.length; index++) {
+            String octet = octets[index];
+            if (octet.isEmpty()) {
+                emptyOctets++;
+                if (emptyOctets > 1) {
+                    return false;
+                }
+            } else {
+                emptyOctets = 0;
+                if (index == octets.length - 1 && octet.contains(".")) {
+                    if (!isValidInet4Address(octet)) {
+                        return false;
+                    }
+                    validOctets += 2;
+                    continue;
+                }
+                if (octet.length() > 4) {
+                    return false;
+                }
+                int octetInt;
+                try {
+                    octetInt = Integer.parseInt(octet, 16);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                if (octetInt < 0 || octetInt > 0xffff) {
+                    return false;
+                }
+            }
+            validOctets++;
+        }
+        return validOctets <= 8 && (validOctets >= 8 || containsCompressedZeroes);
+    }
+
+    static boolean isValidEmail(String email, DomainValidator domainValidator) {
+        if (email.endsWith(".")) {
+            return false;
+        }
+        final String[] parts = splitEmail(email);
+        if (parts == null || !isValidUser(parts[0])) {
+            return false;
+        }
+        final String ip = ipDomain(parts[1]);
+        if (ip != null) {
+            return isValidInet4Address(ip) || isValidInet6Address(ip);
+        }
+        return domainValidator.isValid(parts[1]);
+    }
+
+    static boolean isValidAuthority(String authority, DomainValidator domainValidator) {
+        final String[] groups = parseAuthority(DomainValidator.unicodeToASCII(authority));
+        if (groups == null) {
+            return false;
+        }
+        if (groups[0] != null) {
+            if (!isValidInet6Address(groups[0])) {
+                return false;
+            }
+        } else {
+            if (!domainValidator.isValid(groups[1]) && !isValidInet4Address(groups[1])) {
+                return false;
+            }
+            if (groups[2] != null && !groups[2].isEmpty()) {
+                try {
+                    if (Integer.parseInt(groups[2]) > 0xFFFF) {
+                        return false;
+                    }
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return groups[3] == null || groups[3].trim().isEmpty();
+    }
+
+    /**
+     * @return ipv6, host, port and extra groups, null if the authority does not match
+     */
+    static String[] parseAuthority(String authority) {
+        final Matcher matcher = AUTHORITY_PATTERN.matcher(authority);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new String[]{matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4)};
+    }
+}
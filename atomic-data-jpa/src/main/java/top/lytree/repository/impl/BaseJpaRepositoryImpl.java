@@ -27,14 +27,15 @@ import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import top.lytree.annotations.ComplexCondition;
 import top.lytree.annotations.NullHandler;
 import top.lytree.annotations.OrderBy;
 import top.lytree.annotations.OrderGroup;
 import top.lytree.exceptions.UnknownComplexConditionClassException;
+import top.lytree.bean.ClassMetadata;
 import top.lytree.bean.FieldUtils;
+import top.lytree.bean.ReflectUtils;
 import top.lytree.model.exception.exception.ServerException;
 import top.lytree.model.exception.result.ServerCode;
 import top.lytree.model.request.support.BaseQuery;
@@ -323,8 +324,7 @@ public class BaseJpaRepositoryImpl<DOMAIN, ID> extends SimpleJpaRepository<DOMAI
         @Override
         public Predicate toPredicate(Root<DOMAIN> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
             List<Predicate> predicates = new ArrayList<>();
-            for (Field field : baseQuery.getClass().getDeclaredFields()) {
-                field.setAccessible(Boolean.TRUE);
+            for (Field field : ClassMetadata.of(baseQuery.getClass()).getDeclaredFieldList()) {
                 ComplexCondition condition = field.getAnnotation(ComplexCondition.class);
                 if (ObjectUtils.isEmpty(condition)) {
                     //如果没有注解 忽略此字段 不进行构建处理
@@ -343,7 +343,8 @@ public class BaseJpaRepositoryImpl<DOMAIN, ID> extends SimpleJpaRepository<DOMAI
                 }
                 //in 和or 中需要的一个中间变量 用来将filter.value放入数组
                 Object[] objects = new Object[1];
-                Object val = ReflectionUtils.getField(field, baseQuery);
+                // 通过缓存的可访问副本读取，不修改共享字段的访问权限
+                Object val = ReflectUtils.getFieldValue(baseQuery, field);
 
                 switch (condition.sign()) {
                     case EQ:
@@ -9,10 +9,10 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.StringUtils;
+import top.lytree.json.JSONFormat;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -132,7 +132,17 @@ public abstract class AbstractRedis<T> {
     }
 
     protected RedisSerializer<Object> getRedisSerializer() {
-        return new Jackson2JsonRedisSerializer<>(Object.class);
+        return new BinaryJsonRedisSerializer<>(Object.class, valueFormat());
+    }
+
+    /**
+     * 值的存储格式，默认JSON文本；切换为二进制格式后仍可读取已有的JSON文本数据<br>
+     * 在构造过程中调用，子类覆盖时不能依赖实例字段
+     *
+     * @return 值的存储格式
+     */
+    protected JSONFormat valueFormat() {
+        return JSONFormat.JSON;
     }
 
     protected static RedisConnectionFactory getConnectionFactory(RedisStandaloneConfiguration configuration) {
@@ -0,0 +1,64 @@
+package top.lytree.redis;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import top.lytree.json.JSONCodec;
+import top.lytree.json.JSONFormat;
+
+/**
+ * 支持Smile/CBOR二进制JSON的{@link RedisSerializer}，可替代{@link org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer}
+ * <p>
+ * 按{@link JSONFormat}写出，读取时根据格式字节自动识别，始终能读取{@code Jackson2JsonRedisSerializer}写入的JSON文本。
+ * 迁移时先以{@link JSONFormat#JSON}格式部署到所有读写方，再切换为二进制格式，旧数据随过期自然替换。
+ * </p>
+ *
+ * @param <T> 值类型
+ */
+public class BinaryJsonRedisSerializer<T> implements RedisSerializer<T> {
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private final JSONCodec codec;
+    private final JavaType javaType;
+    private final JSONFormat format;
+
+    public BinaryJsonRedisSerializer(Class<T> type, JSONFormat format) {
+        this(new ObjectMapper(), type, format);
+    }
+
+    public BinaryJsonRedisSerializer(ObjectMapper mapper, Class<T> type, JSONFormat format) {
+        this.codec = JSONCodec.of(mapper);
+        this.javaType = mapper.getTypeFactory().constructType(type);
+        this.format = format;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        try {
+            return codec.encode(value, format);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Could not write " + format + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return codec.decode(bytes, javaType);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Could not read " + JSONFormat.detect(bytes) + ": " + e.getMessage(), e);
+        }
+    }
+
+    public JSONFormat getFormat() {
+        return format;
+    }
+}
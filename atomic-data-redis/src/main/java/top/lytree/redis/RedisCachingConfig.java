@@ -18,10 +18,10 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import top.lytree.json.JSONFormat;
 
 public class RedisCachingConfig extends CachingConfigurerSupport {
 
@@ -36,7 +36,7 @@ public class RedisCachingConfig extends CachingConfigurerSupport {
         ObjectMapper mapper = new ObjectMapper();
         mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
         mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
-        Jackson2JsonRedisSerializer serializer = getRedisSerializer(mapper);
+        RedisSerializer serializer = getRedisSerializer(mapper);
         // 使用StringRedisSerializer来序列化和反序列化redis的key值
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(serializer);
@@ -64,12 +64,22 @@ public class RedisCachingConfig extends CachingConfigurerSupport {
                 .cacheDefaults(redisCacheConfiguration).build();
     }
 
-    private Jackson2JsonRedisSerializer<Object> getRedisSerializer(ObjectMapper mapper) {
-        return new Jackson2JsonRedisSerializer<>(mapper, Object.class);
+    /**
+     * 值的存储格式，默认JSON文本，与原Jackson2JsonRedisSerializer写入的数据一致<br>
+     * 切换为{@link JSONFormat#SMILE}或{@link JSONFormat#CBOR}后仍可读取已有的JSON文本数据
+     *
+     * @return 值的存储格式
+     */
+    protected JSONFormat valueFormat() {
+        return JSONFormat.JSON;
     }
 
-    private Jackson2JsonRedisSerializer<Object> getRedisSerializer() {
-        return new Jackson2JsonRedisSerializer<>(Object.class);
+    private RedisSerializer<Object> getRedisSerializer(ObjectMapper mapper) {
+        return new BinaryJsonRedisSerializer<>(mapper, Object.class, valueFormat());
+    }
+
+    private RedisSerializer<Object> getRedisSerializer() {
+        return new BinaryJsonRedisSerializer<>(Object.class, valueFormat());
     }
 
 }
@@ -19,6 +19,7 @@ package top.lytree.ftp.parser;
 
 import java.text.ParseException;
 import java.util.Calendar;
+import java.util.List;
 import top.lytree.ftp.Configurable;
 import top.lytree.ftp.FTPClientConfig;
 
@@ -43,6 +44,13 @@ public abstract class ConfigurableFTPFileEntryParserImpl
 
     private final FTPTimestampParser timestampParser;
 
+    /**
+     * Parsing state shared by the entries of the listing being parsed, see {@link #preParse(List)}.
+     * Only the thread that started the listing uses it; another thread parsing with the same
+     * parser starts its own, so the listing is never shared between threads.
+     */
+    private volatile ThreadListing listing;
+
     /**
      * constructor for this abstract class.
      *
@@ -83,6 +91,7 @@ public abstract class ConfigurableFTPFileEntryParserImpl
      */
     @Override
     public void configure(final FTPClientConfig config) {
+        this.listing = null;
         if (this.timestampParser instanceof Configurable) {
             final FTPClientConfig defaultCfg = getDefaultConfiguration();
             if (config != null) {
@@ -124,6 +133,42 @@ public abstract class ConfigurableFTPFileEntryParserImpl
      * @throws ParseException on parse error
      */
     public Calendar parseTimestamp(final String timestampStr) throws ParseException {
+        if (this.timestampParser instanceof FTPTimestampParserImpl) {
+            ThreadListing current = this.listing;
+            if (current == null || current.owner != Thread.currentThread() || current.listing.isExpired()) {
+                current = new ThreadListing(((FTPTimestampParserImpl) this.timestampParser).newListing());
+                this.listing = current;
+            }
+            return current.listing.parse(timestampStr);
+        }
         return this.timestampParser.parseTimestamp(timestampStr);
     }
+
+    /**
+     * Starts a new listing: the server time used to resolve the year of recent timestamps is taken again
+     * when the first entry of the listing is parsed, see {@link FTPTimestampParserImpl#newListing()}.
+     *
+     * @param original Original list after it has been created from the server stream
+     *
+     * @return <code>original</code> unmodified.
+     */
+    @Override
+    public List<String> preParse(final List<String> original) {
+        this.listing = null;
+        return super.preParse(original);
+    }
+
+    /**
+     * A listing together with the thread that started it.
+     */
+    private static final class ThreadListing {
+
+        private final Thread owner = Thread.currentThread();
+
+        private final FTPTimestampParserImpl.Listing listing;
+
+        private ThreadListing(final FTPTimestampParserImpl.Listing listing) {
+            this.listing = listing;
+        }
+    }
 }
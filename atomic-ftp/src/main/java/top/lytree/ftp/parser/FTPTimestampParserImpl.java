@@ -21,9 +21,20 @@ import java.text.DateFormatSymbols;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 import top.lytree.ftp.Configurable;
 import top.lytree.ftp.FTPClientConfig;
 
@@ -31,6 +42,19 @@ import top.lytree.ftp.FTPClientConfig;
  * Default implementation of the {@link  FTPTimestampParser  FTPTimestampParser}
  * interface also implements the {@link  Configurable  Configurable}
  * interface to allow the parsing to be configured from the outside.
+ * <p>
+ * The configured date formats use {@link java.text.SimpleDateFormat SimpleDateFormat}
+ * pattern syntax, but are compiled into immutable {@link DateTimeFormatter}s, so once
+ * configured an instance may be shared between threads (e.g. by pooled connections).
+ * Supported pattern letters are {@code y M L d H k K h m s S a E}; quoted text and
+ * other characters are literals. A timestamp with whitespace inside a run of abutting
+ * numbers (e.g. {@code yyyyMMddHHmmss}) that the formatters reject is parsed again with
+ * a {@link SimpleDateFormat}, which reads such runs its own way.
+ * </p>
+ * <p>
+ * When parsing a whole listing use {@link #newListing()}: the year window used to place
+ * recent dates is computed once and repeated timestamp strings are only parsed once.
+ * </p>
  *
  * @see ConfigurableFTPFileEntryParserImpl
  * @since 1.4
@@ -60,17 +84,40 @@ public class FTPTimestampParserImpl implements
             Calendar.MONTH,
             Calendar.YEAR};
 
+    /*
+     * Two digit years are parsed as this base plus the two digits, so that they
+     * can be told apart from years written in full and placed in the 80/20 window
+     * of the listing being parsed, as SimpleDateFormat does.
+     */
+    private static final int TWO_DIGIT_YEAR_BASE = 100_000_000;
+
+    /*
+     * The year SimpleDateFormat assumes when the format has no year.
+     */
+    private static final int EPOCH_YEAR = 1970;
+
+    private static final int MAX_YEAR = 292_278_994;
+
+    /*
+     * Maximum number of distinct timestamp strings remembered by a Listing.
+     */
+    private static final int LISTING_CACHE_LIMIT = 4096;
+
+    /*
+     * How long a Listing keeps using the server time it was created with.
+     */
+    private static final long LISTING_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
     /*
      * Return the index to the array representing the least significant
      * unit found in the date format.
      * Default is 0 (to avoid dropping precision)
      */
-    private static int getEntry(final SimpleDateFormat dateFormat) {
-        if (dateFormat == null) {
+    private static int getEntry(final String pattern) {
+        if (pattern == null) {
             return 0;
         }
         final String FORMAT_CHARS = "SsmHdM";
-        final String pattern = dateFormat.toPattern();
         for (final char ch : FORMAT_CHARS.toCharArray()) {
             if (pattern.indexOf(ch) != -1) { // found the character
                 switch (ch) {
@@ -118,33 +165,24 @@ public class FTPTimestampParserImpl implements
         // Just in case the analysis is wrong, stop clearing if
         // field value is not the default.
         final int value = working.get(field);
-        if (value != 0) { // don't reset if it has a value
-//            new Throwable("Unexpected value "+value).printStackTrace(); // DEBUG
-        } else {
+        if (value == 0) { // don't reset if it has a value
             working.clear(field); // reset just the required field
         }
     }
 
-    /** The date format for all dates, except possibly recent dates. Assumed to include the year. */
-    private SimpleDateFormat defaultDateFormat;
-
-    /* The index in CALENDAR_UNITS of the smallest time unit in defaultDateFormat */
-    private int defaultDateSmallestUnitIndex;
-
-    /** The format used for recent dates (which don't have the year). May be null. */
-    private SimpleDateFormat recentDateFormat;
-
-    /* The index in CALENDAR_UNITS of the smallest time unit in recentDateFormat */
-    private int recentDateSmallestUnitIndex;
-
-    private boolean lenientFutureDates;
+    /*
+     * The configuration currently in use; replaced as a whole so that
+     * concurrent parses always see a consistent set of formats.
+     */
+    private volatile Settings settings;
 
     /**
      * The only constructor for this class.
      */
     public FTPTimestampParserImpl() {
-        setDefaultDateFormat(DEFAULT_SDF, null);
-        setRecentDateFormat(DEFAULT_RECENT_SDF, null);
+        final DateFormatSymbols dfs = DateFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.settings = new Settings(TimestampFormat.compile(DEFAULT_SDF, dfs),
+                TimestampFormat.compile(DEFAULT_RECENT_SDF, dfs), TimeZone.getDefault(), dfs.getShortMonths(), false);
     }
 
     /**
@@ -169,6 +207,8 @@ public class FTPTimestampParserImpl implements
      * has been supplied via the config, set that into all date formats that have
      * been configured.
      * </p>
+     *
+     * @throws IllegalArgumentException if a date format is missing, malformed or uses an unsupported pattern letter
      */
     @Override
     public void configure(final FTPClientConfig config) {
@@ -185,52 +225,81 @@ public class FTPTimestampParserImpl implements
         }
 
         final String recentFormatString = config.getRecentDateFormatStr();
-        setRecentDateFormat(recentFormatString, dfs);
+        final TimestampFormat recentFormat =
+                recentFormatString == null ? null : TimestampFormat.compile(recentFormatString, dfs);
 
         final String defaultFormatString = config.getDefaultDateFormatStr();
         if (defaultFormatString == null) {
             throw new IllegalArgumentException("defaultFormatString cannot be null");
         }
-        setDefaultDateFormat(defaultFormatString, dfs);
+        final TimestampFormat defaultFormat = TimestampFormat.compile(defaultFormatString, dfs);
 
-        setServerTimeZone(config.getServerTimeZoneId());
+        final String serverTimeZoneId = config.getServerTimeZoneId();
+        final TimeZone serverTimeZone = serverTimeZoneId == null
+                ? TimeZone.getDefault() : TimeZone.getTimeZone(serverTimeZoneId);
 
-        this.lenientFutureDates = config.isLenientFutureDates();
+        this.settings = new Settings(defaultFormat, recentFormat, serverTimeZone, dfs.getShortMonths(),
+                config.isLenientFutureDates());
     }
 
     /**
-     * @return Returns the defaultDateFormat.
+     * @return Returns the formatter used for all dates, except possibly recent dates.
      */
+    public DateTimeFormatter getDefaultDateFormatter() {
+        return settings.defaultFormat.formatter;
+    }
+
+    /**
+     * @return Returns a new non-lenient SimpleDateFormat for the defaultDateFormat
+     * pattern in the server time zone. Changing it does not affect this parser.
+     * @deprecated use {@link #getDefaultDateFormatter()} or {@link #getDefaultDateFormatString()}
+     */
+    @Deprecated
     public SimpleDateFormat getDefaultDateFormat() {
-        return defaultDateFormat;
+        final Settings current = this.settings;
+        return current.defaultFormat.toSimpleDateFormat(current.defaultFormat.pattern, current.serverTimeZone);
     }
 
     /**
      * @return Returns the defaultDateFormat pattern string.
      */
     public String getDefaultDateFormatString() {
-        return defaultDateFormat.toPattern();
+        return settings.defaultFormat.pattern;
+    }
+
+    /**
+     * @return Returns the formatter used for recent dates, may be {@code null}.
+     */
+    public DateTimeFormatter getRecentDateFormatter() {
+        final TimestampFormat recentFormat = settings.recentFormat;
+        return recentFormat == null ? null : recentFormat.formatter;
     }
 
     /**
-     * @return Returns the recentDateFormat.
+     * @return Returns a new non-lenient SimpleDateFormat for the recentDateFormat
+     * pattern in the server time zone, may be {@code null}. Changing it does not affect this parser.
+     * @deprecated use {@link #getRecentDateFormatter()} or {@link #getRecentDateFormatString()}
      */
+    @Deprecated
     public SimpleDateFormat getRecentDateFormat() {
-        return recentDateFormat;
+        final Settings current = this.settings;
+        final TimestampFormat recentFormat = current.recentFormat;
+        return recentFormat == null ? null : recentFormat.toSimpleDateFormat(recentFormat.pattern, current.serverTimeZone);
     }
 
     /**
-     * @return Returns the recentDateFormat.
+     * @return Returns the recentDateFormat pattern string, may be {@code null}.
      */
     public String getRecentDateFormatString() {
-        return recentDateFormat.toPattern();
+        final TimestampFormat recentFormat = settings.recentFormat;
+        return recentFormat == null ? null : recentFormat.pattern;
     }
 
     /**
      * @return Returns the serverTimeZone used by this parser.
      */
     public TimeZone getServerTimeZone() {
-        return this.defaultDateFormat.getTimeZone();
+        return (TimeZone) settings.serverTimeZone.clone();
     }
 
     /**
@@ -238,14 +307,14 @@ public class FTPTimestampParserImpl implements
      * month names used by this parse.
      */
     public String[] getShortMonths() {
-        return defaultDateFormat.getDateFormatSymbols().getShortMonths();
+        return settings.shortMonths.clone();
     }
 
     /**
      * @return Returns the lenientFutureDates.
      */
     boolean isLenientFutureDates() {
-        return lenientFutureDates;
+        return settings.lenientFutureDates;
     }
 
     /**
@@ -292,125 +361,663 @@ public class FTPTimestampParserImpl implements
      * @since 1.5
      */
     public Calendar parseTimestamp(final String timestampStr, final Calendar serverTime) throws ParseException {
-        final Calendar working = (Calendar) serverTime.clone();
-        working.setTimeZone(getServerTimeZone()); // is this needed?
+        return new Listing(settings, serverTime).parse(timestampStr);
+    }
+
+    /**
+     * Starts parsing a listing, assuming that the server time is the same as the local time.
+     *
+     * @return a {@link Listing} for the timestamps of one listing
+     *
+     * @see #newListing(Calendar)
+     */
+    public Listing newListing() {
+        return newListing(Calendar.getInstance());
+    }
+
+    /**
+     * Starts parsing a listing: the current year and the cut-off for future dates are
+     * computed once from {@code serverTime}, and the returned {@link Listing} remembers
+     * the timestamps it has parsed. The listing uses the configuration in effect when
+     * it was created.
+     *
+     * @param serverTime The current time for the server
+     *
+     * @return a {@link Listing} for the timestamps of one listing
+     */
+    public Listing newListing(final Calendar serverTime) {
+        return new Listing(settings, serverTime);
+    }
+
+    /**
+     * @param lenientFutureDates The lenientFutureDates to set.
+     */
+    void setLenientFutureDates(final boolean lenientFutureDates) {
+        final Settings current = this.settings;
+        this.settings = new Settings(current.defaultFormat, current.recentFormat, current.serverTimeZone,
+                current.shortMonths, lenientFutureDates);
+    }
+
+    /**
+     * Parses the timestamps of a single listing. A listing is not thread-safe; each
+     * parse of a directory listing should use its own, see {@link #newListing(Calendar)}.
+     */
+    public static final class Listing {
+
+        private final Settings settings;
+
+        /* server time in the server time zone, gives each result its calendar type and settings */
+        private final Calendar template;
+
+        /* the calendar timestamps are parsed into, reused for every timestamp of the listing */
+        private final Calendar working;
+
+        /* server time (plus one day if lenient), recent dates after it belong to the previous year */
+        private final long latestMillis;
+
+        private final int currentYear;
+
+        /* two digit years are placed from this time on, see SimpleDateFormat#set2DigitYearStart */
+        private final Calendar twoDigitYearStart;
 
-        Date parsed = null;
+        private final String serverTime;
 
-        if (recentDateFormat != null) {
-            final Calendar now = (Calendar) serverTime.clone();// Copy this, because we may change it
-            now.setTimeZone(this.getServerTimeZone());
-            if (lenientFutureDates) {
+        private final long createdNanos = System.nanoTime();
+
+        /* Parsed or ParseException for each timestamp string */
+        private final Map<String, Object> parsed = new HashMap<>();
+
+        /* created when first needed, see TimestampFormat#hasAbuttingNumbers */
+        private SimpleDateFormat legacyRecentFormat;
+
+        private SimpleDateFormat legacyDefaultFormat;
+
+        private Listing(final Settings settings, final Calendar serverTime) {
+            this.settings = settings;
+            this.template = (Calendar) serverTime.clone();
+            this.template.setTimeZone(settings.serverTimeZone);
+            this.working = (Calendar) template.clone();
+            final Calendar latest = (Calendar) template.clone();
+            if (settings.lenientFutureDates) {
                 // add a day to "now" so that "slop" doesn't cause a date
                 // slightly in the future to roll back a full year.  (Bug 35181 => NET-83)
-                now.add(Calendar.DAY_OF_MONTH, 1);
+                latest.add(Calendar.DAY_OF_MONTH, 1);
             }
-            // The Java SimpleDateFormat class uses the epoch year 1970 if not present in the input
-            // As 1970 was not a leap year, it cannot parse "Feb 29" correctly.
-            // Java 1.5+ returns Mar 1 1970
-            // Temporarily add the current year to the short date time
-            // to cope with short-date leap year strings.
-            // Since Feb 29 is more that 6 months from the end of the year, this should be OK for
-            // all instances of short dates which are +- 6 months from current date.
-            // TODO this won't always work for systems that use short dates +0/-12months
-            // e.g. if today is Jan 1 2001 and the short date is Feb 29
-            final String year = Integer.toString(now.get(Calendar.YEAR));
-            final String timeStampStrPlusYear = timestampStr + " " + year;
-            final SimpleDateFormat hackFormatter = new SimpleDateFormat(recentDateFormat.toPattern() + " yyyy",
-                    recentDateFormat.getDateFormatSymbols());
-            hackFormatter.setLenient(false);
-            hackFormatter.setTimeZone(recentDateFormat.getTimeZone());
-            final ParsePosition pp = new ParsePosition(0);
-            parsed = hackFormatter.parse(timeStampStrPlusYear, pp);
-            // Check if we parsed the full string, if so it must have been a short date originally
-            if (parsed != null && pp.getIndex() == timeStampStrPlusYear.length()) {
-                working.setTime(parsed);
-                if (working.after(now)) { // must have been last year instead
-                    working.add(Calendar.YEAR, -1);
+            this.latestMillis = latest.getTimeInMillis();
+            this.currentYear = latest.get(Calendar.YEAR);
+            // SimpleDateFormat places two digit years within 80 years before and 20 years after today
+            this.twoDigitYearStart = Calendar.getInstance();
+            this.twoDigitYearStart.add(Calendar.YEAR, -80);
+            this.serverTime = serverTime.getTime().toString();
+        }
+
+        /**
+         * Parses a timestamp of this listing, see {@link FTPTimestampParserImpl#parseTimestamp(String, Calendar)}.
+         *
+         * @param timestampStr The timestamp to be parsed
+         *
+         * @return a new Calendar with the parsed timestamp
+         *
+         * @throws ParseException if timestamp cannot be parsed
+         */
+        public Calendar parse(final String timestampStr) throws ParseException {
+            Object result = parsed.get(timestampStr);
+            if (result == null) {
+                result = parseUncached(timestampStr);
+                if (parsed.size() < LISTING_CACHE_LIMIT) {
+                    parsed.put(timestampStr, result);
                 }
-                setPrecision(recentDateSmallestUnitIndex, working);
-                return working;
             }
+            if (result instanceof ParseException) {
+                final ParseException e = (ParseException) result;
+                throw new ParseException(e.getMessage(), e.getErrorOffset());
+            }
+            return ((Parsed) result).toCalendar(template);
         }
 
-        final ParsePosition pp = new ParsePosition(0);
-        parsed = defaultDateFormat.parse(timestampStr, pp);
-        // note, length checks are mandatory for us since
-        // SimpleDateFormat methods will succeed if less than
-        // full string is matched.  They will also accept,
-        // despite "leniency" setting, a two-digit number as
-        // a valid year (e.g. 22:04 will parse as 22 A.D.)
-        // so could mistakenly confuse an hour with a year,
-        // if we don't insist on full length parsing.
-        if ((parsed == null) || (pp.getIndex() != timestampStr.length())) {
-            throw new ParseException(
-                    "Timestamp '" + timestampStr + "' could not be parsed using a server time of "
-                            + serverTime.getTime().toString(),
-                    pp.getErrorIndex());
-        }
-        working.setTime(parsed);
-        setPrecision(defaultDateSmallestUnitIndex, working);
-        return working;
+        /**
+         * @return {@code true} if this listing was created too long ago to keep using its server time
+         */
+        public boolean isExpired() {
+            return System.nanoTime() - createdNanos > LISTING_TTL_NANOS;
+        }
+
+        private Object parseUncached(final String timestampStr) {
+            final String text = TimestampFormat.normalizeWhitespace(timestampStr);
+            final TimestampFormat recentFormat = settings.recentFormat;
+            if (recentFormat != null) {
+                if (recentFormat.parse(text, currentYear, twoDigitYearStart, working)
+                        || recentFormat.hasAbuttingNumbers && parseLegacyRecent(recentFormat, timestampStr)) {
+                    if (working.getTimeInMillis() > latestMillis) { // must have been last year instead
+                        working.add(Calendar.YEAR, -1);
+                    }
+                    return new Parsed(working.getTimeInMillis(), recentFormat.smallestUnitIndex);
+                }
+            }
+
+            final TimestampFormat defaultFormat = settings.defaultFormat;
+            if (!defaultFormat.parse(text, EPOCH_YEAR, twoDigitYearStart, working)
+                    && !(defaultFormat.hasAbuttingNumbers && parseLegacyDefault(defaultFormat, timestampStr))) {
+                return new ParseException(
+                        "Timestamp '" + timestampStr + "' could not be parsed using a server time of " + serverTime, 0);
+            }
+            return new Parsed(working.getTimeInMillis(), defaultFormat.smallestUnitIndex);
+        }
+
+        /*
+         * The recent date parse of the SimpleDateFormat implementation: the current year is
+         * appended, as 1970 was not a leap year and could not parse "Feb 29".
+         */
+        private boolean parseLegacyRecent(final TimestampFormat recentFormat, final String timestampStr) {
+            if (!TimestampFormat.hasWhitespace(timestampStr)) {
+                return false;
+            }
+            if (legacyRecentFormat == null) {
+                legacyRecentFormat = recentFormat.toSimpleDateFormat(recentFormat.pattern + " yyyy", settings.serverTimeZone);
+            }
+            return parseLegacy(legacyRecentFormat, timestampStr + " " + currentYear);
+        }
+
+        private boolean parseLegacyDefault(final TimestampFormat defaultFormat, final String timestampStr) {
+            if (!TimestampFormat.hasWhitespace(timestampStr)) {
+                return false;
+            }
+            if (legacyDefaultFormat == null) {
+                legacyDefaultFormat = defaultFormat.toSimpleDateFormat(defaultFormat.pattern, settings.serverTimeZone);
+            }
+            return parseLegacy(legacyDefaultFormat, timestampStr);
+        }
+
+        private boolean parseLegacy(final SimpleDateFormat format, final String text) {
+            final ParsePosition pp = new ParsePosition(0);
+            final Date date = format.parse(text, pp);
+            if (date == null || pp.getIndex() != text.length()) {
+                return false;
+            }
+            working.setTime(date);
+            return true;
+        }
     }
 
-    /**
-     * @param format The defaultDateFormat to be set.
-     * @param dfs    the symbols to use (may be null)
+    /*
+     * A parsed timestamp: the instant and the precision of the format it was parsed with.
      */
-    private void setDefaultDateFormat(final String format, final DateFormatSymbols dfs) {
-        if (format != null) {
-            if (dfs != null) {
-                this.defaultDateFormat = new SimpleDateFormat(format, dfs);
-            } else {
-                this.defaultDateFormat = new SimpleDateFormat(format);
-            }
-            this.defaultDateFormat.setLenient(false);
-        } else {
-            this.defaultDateFormat = null;
+    private static final class Parsed {
+
+        private final long millis;
+
+        private final int smallestUnitIndex;
+
+        private Parsed(final long millis, final int smallestUnitIndex) {
+            this.millis = millis;
+            this.smallestUnitIndex = smallestUnitIndex;
+        }
+
+        /*
+         * A new calendar of the same type and settings as the template, so that callers
+         * never share one.
+         */
+        Calendar toCalendar(final Calendar template) {
+            final Calendar calendar = new Calendar.Builder()
+                    .setCalendarType(template.getCalendarType())
+                    .setTimeZone(template.getTimeZone())
+                    .setLenient(template.isLenient())
+                    .setWeekDefinition(template.getFirstDayOfWeek(), template.getMinimalDaysInFirstWeek())
+                    .setInstant(millis)
+                    .build();
+            setPrecision(smallestUnitIndex, calendar);
+            return calendar;
         }
-        this.defaultDateSmallestUnitIndex = getEntry(this.defaultDateFormat);
     }
 
-    /**
-     * @param lenientFutureDates The lenientFutureDates to set.
+    /*
+     * An immutable snapshot of the configuration.
      */
-    void setLenientFutureDates(final boolean lenientFutureDates) {
-        this.lenientFutureDates = lenientFutureDates;
+    private static final class Settings {
+
+        private final TimestampFormat defaultFormat;
+
+        private final TimestampFormat recentFormat;
+
+        private final TimeZone serverTimeZone;
+
+        private final String[] shortMonths;
+
+        private final boolean lenientFutureDates;
+
+        private Settings(final TimestampFormat defaultFormat, final TimestampFormat recentFormat,
+                         final TimeZone serverTimeZone, final String[] shortMonths, final boolean lenientFutureDates) {
+            this.defaultFormat = defaultFormat;
+            this.recentFormat = recentFormat;
+            this.serverTimeZone = serverTimeZone;
+            this.shortMonths = shortMonths;
+            this.lenientFutureDates = lenientFutureDates;
+        }
     }
 
-    /**
-     * @param format The recentDateFormat to set.
-     * @param dfs    the symbols to use (may be null)
+    /*
+     * A SimpleDateFormat pattern compiled into a DateTimeFormatter.
+     *
+     * The formatter only reads the fields; they are checked here the way a
+     * non-lenient SimpleDateFormat would (e.g. Feb 30 or 24:00 are rejected).
+     * SimpleDateFormat skips spaces and tabs before a number: each such run in the
+     * text is shortened to its first character, which is what a whitespace literal
+     * before a number in the pattern is shortened to as well. Where the pattern has
+     * no whitespace before a number, a second formatter allowing it is tried when the
+     * first one stops at whitespace.
      */
-    private void setRecentDateFormat(final String format, final DateFormatSymbols dfs) {
-        if (format != null) {
-            if (dfs != null) {
-                this.recentDateFormat = new SimpleDateFormat(format, dfs);
+    private static final class TimestampFormat {
+
+        private final String pattern;
+
+        private final DateFormatSymbols dfs;
+
+        private final DateTimeFormatter formatter;
+
+        /* the formatter allowing whitespace before numbers, null if the same as formatter */
+        private final DateTimeFormatter tolerantFormatter;
+
+        private final int smallestUnitIndex;
+
+        /* whether the year is written with two digits */
+        private final boolean twoDigitYear;
+
+        /* text fields that may be written in long or short form, one of which must be present */
+        private final ChronoField[] textFields;
+
+        /* whether a number is directly followed by another number, e.g. yyyyMMdd */
+        private final boolean hasAbuttingNumbers;
+
+        private TimestampFormat(final String pattern, final List<Object> tokens, final DateFormatSymbols dfs) {
+            this.pattern = pattern;
+            this.dfs = dfs;
+            this.formatter = toFormatter(tokens, dfs, false);
+            this.tolerantFormatter = toFormatter(tokens, dfs, true);
+            this.smallestUnitIndex = getEntry(pattern);
+            boolean twoDigits = false;
+            boolean abutting = false;
+            final List<ChronoField> text = new ArrayList<>(2);
+            for (int i = 0; i < tokens.size(); i++) {
+                final Object token = tokens.get(i);
+                if (token instanceof Field) {
+                    final Object next = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+                    abutting |= ((Field) token).isNumber() && next instanceof Field && ((Field) next).isNumber();
+                    final Field field = (Field) token;
+                    if (field.letter == 'y' && field.count <= 2) {
+                        twoDigits = true;
+                    } else if (field.letter == 'E' || !field.isNumber()) {
+                        text.add(field.letter == 'E' ? ChronoField.DAY_OF_WEEK : ChronoField.MONTH_OF_YEAR);
+                    }
+                }
+            }
+            this.twoDigitYear = twoDigits;
+            this.textFields = text.toArray(new ChronoField[0]);
+            this.hasAbuttingNumbers = abutting;
+        }
+
+        /**
+         * @param pattern a SimpleDateFormat pattern
+         * @param dfs     the names of months, weekdays and AM/PM
+         *
+         * @return the compiled format
+         *
+         * @throws IllegalArgumentException if the pattern is malformed or uses an unsupported pattern letter
+         */
+        static TimestampFormat compile(final String pattern, final DateFormatSymbols dfs) {
+            return new TimestampFormat(pattern, tokenize(pattern), dfs);
+        }
+
+        /**
+         * Parses the text (with whitespace normalized) into the calendar.
+         *
+         * @param text              the timestamp
+         * @param defaultYear       the year if the format has none
+         * @param twoDigitYearStart the start of the window for two digit years
+         * @param working           the calendar to set, in the server time zone
+         *
+         * @return {@code false} if the text does not match or a field is out of range, e.g. Feb 30
+         */
+        boolean parse(final String text, final int defaultYear, final Calendar twoDigitYearStart,
+                      final Calendar working) {
+            ParsePosition position = new ParsePosition(0);
+            TemporalAccessor fields = formatter.parseUnresolved(text, position);
+            if (fields == null && tolerantFormatter != null) {
+                final int errorIndex = position.getErrorIndex();
+                if (errorIndex >= 0 && errorIndex < text.length() && isWhitespace(text.charAt(errorIndex))) {
+                    position = new ParsePosition(0);
+                    fields = tolerantFormatter.parseUnresolved(text, position);
+                }
+            }
+            if (fields == null || position.getIndex() != text.length()) {
+                return false;
+            }
+            for (final ChronoField field : textFields) {
+                if (!fields.isSupported(field)) {
+                    return false;
+                }
+            }
+
+            long year = defaultYear;
+            boolean ambiguousYear = false;
+            if (fields.isSupported(ChronoField.YEAR)) {
+                year = fields.getLong(ChronoField.YEAR);
+                if (twoDigitYear && year >= TWO_DIGIT_YEAR_BASE) {
+                    final int startYear = twoDigitYearStart.get(Calendar.YEAR);
+                    year = year - TWO_DIGIT_YEAR_BASE + startYear / 100 * 100;
+                    if (year < startYear) {
+                        year += 100;
+                    }
+                    ambiguousYear = year == startYear;
+                }
+            }
+            final long month = get(fields, ChronoField.MONTH_OF_YEAR, 1);
+            final long day = get(fields, ChronoField.DAY_OF_MONTH, 1);
+
+            final long hour;
+            if (fields.isSupported(ChronoField.HOUR_OF_DAY)) {
+                hour = fields.getLong(ChronoField.HOUR_OF_DAY);
+            } else if (fields.isSupported(ChronoField.CLOCK_HOUR_OF_DAY)) {
+                final long clockHour = fields.getLong(ChronoField.CLOCK_HOUR_OF_DAY);
+                hour = clockHour < 1 || clockHour > 24 ? -1 : clockHour % 24;
             } else {
-                this.recentDateFormat = new SimpleDateFormat(format);
+                long hourOfAmPm = 0;
+                if (fields.isSupported(ChronoField.HOUR_OF_AMPM)) {
+                    hourOfAmPm = fields.getLong(ChronoField.HOUR_OF_AMPM);
+                } else if (fields.isSupported(ChronoField.CLOCK_HOUR_OF_AMPM)) {
+                    final long clockHour = fields.getLong(ChronoField.CLOCK_HOUR_OF_AMPM);
+                    hourOfAmPm = clockHour < 1 || clockHour > 12 ? -1 : clockHour % 12;
+                }
+                hour = hourOfAmPm < 0 || hourOfAmPm > 11
+                        ? -1 : hourOfAmPm + 12 * get(fields, ChronoField.AMPM_OF_DAY, 0);
             }
-            this.recentDateFormat.setLenient(false);
-        } else {
-            this.recentDateFormat = null;
+            final long minute = get(fields, ChronoField.MINUTE_OF_HOUR, 0);
+            final long second = get(fields, ChronoField.SECOND_OF_MINUTE, 0);
+            final long milli = get(fields, ChronoField.MILLI_OF_SECOND, 0);
+
+            if (year < 1 || year > MAX_YEAR || month < 1 || month > 12 || day < 1 || day > 31
+                    || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                    || milli < 0 || milli > 999) {
+                return false;
+            }
+            // the calendar takes care of the Julian calendar, historical offsets and daylight saving gaps
+            final boolean lenient = working.isLenient();
+            working.clear();
+            working.set((int) year, (int) month - 1, (int) day, (int) hour, (int) minute, (int) second);
+            working.set(Calendar.MILLISECOND, (int) milli);
+            working.setLenient(false);
+            try {
+                if (ambiguousYear && working.getTimeInMillis() < twoDigitYearStart.getTimeInMillis()) {
+                    working.set(Calendar.YEAR, (int) year + 100);
+                }
+                working.getTimeInMillis();
+                return true;
+            } catch (final IllegalArgumentException e) {
+                return false; // e.g. Feb 30
+            } finally {
+                working.setLenient(lenient);
+            }
+        }
+
+        /*
+         * The SimpleDateFormat the format was configured with before it was compiled.
+         */
+        SimpleDateFormat toSimpleDateFormat(final String simplePattern, final TimeZone timeZone) {
+            final SimpleDateFormat format = new SimpleDateFormat(simplePattern, dfs);
+            format.setLenient(false);
+            format.setTimeZone(timeZone);
+            return format;
+        }
+
+        static boolean hasWhitespace(final String text) {
+            return text.indexOf(' ') >= 0 || text.indexOf('\t') >= 0;
+        }
+
+        /*
+         * Shortens each run of spaces and tabs before a digit to its first character.
+         */
+        static String normalizeWhitespace(final String text) {
+            final int length = text.length();
+            int i = 0;
+            while (i < length - 2 && !(isWhitespace(text.charAt(i)) && isWhitespace(text.charAt(i + 1)))) {
+                i++;
+            }
+            if (i >= length - 2) {
+                return text;
+            }
+            final StringBuilder builder = new StringBuilder(length).append(text, 0, i);
+            while (i < length) {
+                final char ch = text.charAt(i);
+                int end = i + 1;
+                if (isWhitespace(ch)) {
+                    while (end < length && isWhitespace(text.charAt(end))) {
+                        end++;
+                    }
+                    if (end < length && isDigit(text.charAt(end))) {
+                        builder.append(ch);
+                    } else {
+                        builder.append(text, i, end);
+                    }
+                } else {
+                    builder.append(ch);
+                }
+                i = end;
+            }
+            return builder.toString();
+        }
+
+        private static long get(final TemporalAccessor fields, final ChronoField field, final long defaultValue) {
+            return fields.isSupported(field) ? fields.getLong(field) : defaultValue;
+        }
+
+        /*
+         * Splits a SimpleDateFormat pattern into literal Strings and Fields.
+         */
+        private static List<Object> tokenize(final String pattern) {
+            final List<Object> tokens = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder();
+            final int length = pattern.length();
+            int i = 0;
+            while (i < length) {
+                final char ch = pattern.charAt(i);
+                if (ch == '\'') {
+                    i++;
+                    if (i < length && pattern.charAt(i) == '\'') {
+                        literal.append('\'');
+                        i++;
+                        continue;
+                    }
+                    while (true) {
+                        if (i >= length) {
+                            throw new IllegalArgumentException("Unterminated quote in " + pattern);
+                        }
+                        final char quoted = pattern.charAt(i++);
+                        if (quoted == '\'') {
+                            if (i < length && pattern.charAt(i) == '\'') {
+                                literal.append('\'');
+                                i++;
+                                continue;
+                            }
+                            break;
+                        }
+                        literal.append(quoted);
+                    }
+                } else if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                    if (FIELD_LETTERS.indexOf(ch) < 0) {
+                        throw new IllegalArgumentException("Unsupported pattern letter '" + ch + "' in " + pattern);
+                    }
+                    int count = 1;
+                    while (i + count < length && pattern.charAt(i + count) == ch) {
+                        count++;
+                    }
+                    if (literal.length() > 0) {
+                        tokens.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    tokens.add(new Field(ch, count));
+                    i += count;
+                } else {
+                    literal.append(ch);
+                    i++;
+                }
+            }
+            if (literal.length() > 0) {
+                tokens.add(literal.toString());
+            }
+            return tokens;
+        }
+
+        /*
+         * Builds the formatter; if tolerant, the one allowing whitespace before numbers,
+         * or null if that is the same formatter.
+         */
+        private static DateTimeFormatter toFormatter(final List<Object> tokens, final DateFormatSymbols dfs,
+                                                     final boolean tolerant) {
+            final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().parseCaseInsensitive();
+            boolean skipsWhitespace = false;
+            for (int i = 0; i < tokens.size(); i++) {
+                final Object token = tokens.get(i);
+                final Object next = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+                final boolean beforeNumber = next instanceof Field && ((Field) next).isNumber();
+                if (token instanceof String) {
+                    final String literal = (String) token;
+                    int end = literal.length();
+                    if (beforeNumber) {
+                        // shortened like the whitespace before a digit in the text
+                        while (end > 1 && isWhitespace(literal.charAt(end - 1)) && isWhitespace(literal.charAt(end - 2))) {
+                            end--;
+                        }
+                    }
+                    builder.appendLiteral(literal.substring(0, end));
+                    continue;
+                }
+                final Field field = (Field) token;
+                // SimpleDateFormat also skips whitespace within a run of numbers, but reads the run differently then
+                if (tolerant && field.isNumber() && !beforeNumber
+                        && !endsWithNumberOrWhitespace(i > 0 ? tokens.get(i - 1) : null)) {
+                    builder.optionalStart().appendLiteral(' ').optionalEnd();
+                    builder.optionalStart().appendLiteral('\t').optionalEnd();
+                    skipsWhitespace = true;
+                }
+                // a number directly followed by another number is read with its exact width
+                final boolean abutting = beforeNumber;
+                switch (field.letter) {
+                    case 'y':
+                        if (field.count > 2) {
+                            appendNumber(builder, ChronoField.YEAR, field.count, abutting);
+                        } else {
+                            // exactly two digits are a two digit year, otherwise the year as written
+                            if (abutting) {
+                                builder.appendValueReduced(ChronoField.YEAR, 2, 2, TWO_DIGIT_YEAR_BASE);
+                            } else {
+                                // lenient parsing accepts any number of digits and only reduces two
+                                builder.parseLenient()
+                                        .appendValueReduced(ChronoField.YEAR, 2, 2, TWO_DIGIT_YEAR_BASE)
+                                        .parseStrict();
+                            }
+                        }
+                        break;
+                    case 'M':
+                    case 'L':
+                        if (field.isNumber()) {
+                            appendNumber(builder, ChronoField.MONTH_OF_YEAR, field.count, abutting);
+                        } else {
+                            appendNames(builder, ChronoField.MONTH_OF_YEAR, dfs.getMonths(), 1, true);
+                            appendNames(builder, ChronoField.MONTH_OF_YEAR, dfs.getShortMonths(), 1, true);
+                        }
+                        break;
+                    case 'a':
+                        appendNames(builder, ChronoField.AMPM_OF_DAY, dfs.getAmPmStrings(), 0, false);
+                        break;
+                    case 'E':
+                        // Calendar.SUNDAY is 1, DayOfWeek.SUNDAY is 7
+                        appendNames(builder, ChronoField.DAY_OF_WEEK, dfs.getWeekdays(), -1, true);
+                        appendNames(builder, ChronoField.DAY_OF_WEEK, dfs.getShortWeekdays(), -1, true);
+                        break;
+                    default:
+                        appendNumber(builder, NUMBER_FIELDS[NUMBER_LETTERS.indexOf(field.letter)], field.count, abutting);
+                }
+            }
+            if (tolerant && !skipsWhitespace) {
+                return null;
+            }
+            return builder.toFormatter(Locale.ROOT);
+        }
+
+        /*
+         * Whether the token before a number leaves no room for skipped whitespace.
+         */
+        private static boolean endsWithNumberOrWhitespace(final Object previous) {
+            if (previous instanceof Field) {
+                return ((Field) previous).isNumber();
+            }
+            return previous != null && isWhitespace(((String) previous).charAt(((String) previous).length() - 1));
+        }
+
+        private static void appendNumber(final DateTimeFormatterBuilder builder, final ChronoField field,
+                                         final int count, final boolean abutting) {
+            if (abutting) {
+                builder.appendValue(field, count);
+            } else {
+                builder.appendValue(field, 1, 9, SignStyle.NOT_NEGATIVE);
+            }
+        }
+
+        /*
+         * Appends names[i] as the text of the value i + offset. SimpleDateFormat accepts
+         * both long and short names, so these are appended as optional alternatives.
+         */
+        private static void appendNames(final DateTimeFormatterBuilder builder, final ChronoField field,
+                                        final String[] names, final int offset, final boolean optional) {
+            final Map<Long, String> map = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                if (names[i] != null && !names[i].isEmpty()) {
+                    final long value = i + offset;
+                    map.put(field == ChronoField.DAY_OF_WEEK && value == 0 ? 7 : value, names[i]);
+                }
+            }
+            if (optional) {
+                builder.optionalStart().appendText(field, map).optionalEnd();
+            } else {
+                builder.appendText(field, map);
+            }
+        }
+
+        private static boolean isDigit(final char ch) {
+            return ch >= '0' && ch <= '9';
+        }
+
+        private static boolean isWhitespace(final char ch) {
+            return ch == ' ' || ch == '\t';
         }
-        this.recentDateSmallestUnitIndex = getEntry(this.recentDateFormat);
     }
 
-    /**
-     * sets a TimeZone represented by the supplied ID string into all
-     * of the parsers used by this server.
-     *
-     * @param serverTimeZoneId Time Id java.util.TimeZone id used by
-     *                         the ftp server.  If null the client's local time zone is assumed.
-     */
-    private void setServerTimeZone(final String serverTimeZoneId) {
-        TimeZone serverTimeZone = TimeZone.getDefault();
-        if (serverTimeZoneId != null) {
-            serverTimeZone = TimeZone.getTimeZone(serverTimeZoneId);
-        }
-        this.defaultDateFormat.setTimeZone(serverTimeZone);
-        if (this.recentDateFormat != null) {
-            this.recentDateFormat.setTimeZone(serverTimeZone);
+    private static final String FIELD_LETTERS = "yMLdHkKhmsSaE";
+
+    private static final String NUMBER_LETTERS = "dHkKhmsS";
+
+    private static final ChronoField[] NUMBER_FIELDS = {
+            ChronoField.DAY_OF_MONTH,
+            ChronoField.HOUR_OF_DAY,
+            ChronoField.CLOCK_HOUR_OF_DAY,
+            ChronoField.HOUR_OF_AMPM,
+            ChronoField.CLOCK_HOUR_OF_AMPM,
+            ChronoField.MINUTE_OF_HOUR,
+            ChronoField.SECOND_OF_MINUTE,
+            ChronoField.MILLI_OF_SECOND};
+
+    private static final class Field {
+
+        private final char letter;
+
+        private final int count;
+
+        private Field(final char letter, final int count) {
+            this.letter = letter;
+            this.count = count;
+        }
+
+        boolean isNumber() {
+            return letter != 'a' && letter != 'E' && !((letter == 'M' || letter == 'L') && count > 2);
         }
     }
 }
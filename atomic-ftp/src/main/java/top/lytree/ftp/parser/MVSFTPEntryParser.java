@@ -479,11 +479,13 @@ public class MVSFTPEntryParser extends ConfigurableFTPFileEntryParserImpl {
      * z/OS-MVS File lists
      * z/OS-MVS Member lists
      * unix file lists
+     * The base class is called first so that the timestamp state cached for the previous listing is reset.
      *
      * @since 2.0
      */
     @Override
     public List<String> preParse(final List<String> orig) {
+        super.preParse(orig);
         // simply remove the header line. Composite logic will take care of the
         // two different types of
         // list in short order.
@@ -56,6 +56,9 @@ public class UnixFTPEntryParser extends ConfigurableFTPFileEntryParserImpl {
     private static final String DEFAULT_RECENT_DATE_FORMAT_JA
             = "M'" + JA_MONTH + "' d'" + JA_DAY + "' HH:mm"; //8月 17日 20:10
 
+    // Parser for Japanese timestamps, built by configure() in the time zone current at that time.
+    private FTPTimestampParserImpl jaTimestampParser;
+
     /**
      * Some Linux distributions are now shipping an FTP server which formats
      * file listing dates in an all-numeric format:
@@ -211,6 +214,23 @@ public class UnixFTPEntryParser extends ConfigurableFTPFileEntryParserImpl {
                 DEFAULT_RECENT_DATE_FORMAT);
     }
 
+    /**
+     * Configures this parser as described in
+     * {@link ConfigurableFTPFileEntryParserImpl#configure(FTPClientConfig)}.
+     * Japanese timestamps are always parsed with the fixed Japanese formats
+     * in the local time zone.
+     *
+     * @param config the configuration to be used to configure this parser.
+     */
+    @Override
+    public void configure(final FTPClientConfig config) {
+        super.configure(config);
+        final FTPTimestampParserImpl jaParser = new FTPTimestampParserImpl();
+        jaParser.configure(new FTPClientConfig(
+                FTPClientConfig.SYST_UNIX, DEFAULT_DATE_FORMAT_JA, DEFAULT_RECENT_DATE_FORMAT_JA));
+        this.jaTimestampParser = jaParser;
+    }
+
     /**
      * Parses a line of a unix (standard) FTP server file listing and converts
      * it into a usable format in the form of an <code> FTPFile </code>
@@ -243,10 +263,7 @@ public class UnixFTPEntryParser extends ConfigurableFTPFileEntryParserImpl {
 
             try {
                 if (group(19).contains(JA_MONTH)) { // special processing for Japanese format
-                    final FTPTimestampParserImpl jaParser = new FTPTimestampParserImpl();
-                    jaParser.configure(new FTPClientConfig(
-                            FTPClientConfig.SYST_UNIX, DEFAULT_DATE_FORMAT_JA, DEFAULT_RECENT_DATE_FORMAT_JA));
-                    file.setTimestamp(jaParser.parseTimestamp(datestr));
+                    file.setTimestamp(jaTimestampParser.parseTimestamp(datestr));
                 } else {
                     file.setTimestamp(super.parseTimestamp(datestr));
                 }
@@ -341,7 +358,7 @@ public class UnixFTPEntryParser extends ConfigurableFTPFileEntryParserImpl {
     public List<String> preParse(final List<String> original) {
         // NET-389
         original.removeIf(entry -> entry.matches("^total \\d+$"));
-        return original;
+        return super.preParse(original);
     }
 
 }
@@ -95,12 +95,15 @@ public class VMSVersioningFTPEntryParser extends VMSFTPEntryParser {
      * VMSVersioningFTPEntryParser, and possibly others) which return
      * multiple files with the same name to remove the duplicates ..
      *
+     * The base class is called first so that the timestamp state cached for the previous listing is reset.
+     *
      * @param original Original list
      *
      * @return Original list purged of duplicates
      */
     @Override
     public List<String> preParse(final List<String> original) {
+        super.preParse(original);
         final HashMap<String, Integer> existingEntries = new HashMap<>();
         final ListIterator<String> iter = original.listIterator();
         while (iter.hasNext()) {
@@ -0,0 +1,278 @@
+package top.lytree.ftp.parser;
+
+import java.lang.reflect.Field;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import top.lytree.ftp.FTPClientConfig;
+import top.lytree.ftp.FTPFile;
+
+/**
+ * Every timestamp is parsed with the SimpleDateFormat implementation and the DateTimeFormatter one,
+ * the results (or the failure) must be the same.
+ */
+public class FTPTimestampParserImplTest {
+
+    private static final String JA_DEFAULT = "M'月' d'日' yyyy'年'";
+
+    private static final String JA_RECENT = "M'月' d'日' HH:mm";
+
+    private static final int[] PRECISION_FIELDS = {Calendar.MILLISECOND, Calendar.SECOND, Calendar.MINUTE, Calendar.HOUR_OF_DAY};
+
+    @Test
+    public void recentYearRolloverTest() {
+        final FTPClientConfig config = unix();
+        final Calendar newYear = serverTime("UTC", 2024, Calendar.JANUARY, 1, 10, 0);
+        assertSameAsLegacy(config, newYear, "Dec 31 23:59", "Jan 1 09:00", "Jan 1 10:00", "Jan 1 11:00", "Jan 2 00:00",
+                "Jun 30 12:00", "Dec 31 2023", "Jan 1 2024");
+        final Calendar newYearsEve = serverTime("UTC", 2023, Calendar.DECEMBER, 31, 23, 30);
+        assertSameAsLegacy(config, newYearsEve, "Dec 31 23:29", "Dec 31 23:31", "Jan 1 00:00", "Jul 1 00:00");
+    }
+
+    @Test
+    public void leapDayTest() {
+        final FTPClientConfig config = unix();
+        assertSameAsLegacy(config, serverTime("UTC", 2024, Calendar.MARCH, 1, 0, 0),
+                "Feb 29 12:00", "Feb 29 2024", "Feb 29 2023", "Feb 30 12:00", "Mar 1 00:00");
+        assertSameAsLegacy(config, serverTime("UTC", 2023, Calendar.MARCH, 1, 0, 0),
+                "Feb 29 12:00", "Feb 28 12:00", "Feb 29 2020");
+        assertSameAsLegacy(config, serverTime("UTC", 2025, Calendar.JANUARY, 15, 0, 0), "Feb 29 12:00", "Feb 29 2024");
+    }
+
+    @Test
+    public void formatsTest() {
+        final Calendar now = serverTime("UTC", 2024, Calendar.JUNE, 15, 12, 0);
+        assertSameAsLegacy(unix(), now, "Jun 3 2003", "Jun  3  2003", "jun 3 2003", "JUN 03 2003", "Jun 3 12:00",
+                "Jun 13 1:05", "Jun 3 25:00", "Jun 32 2003", "Jun 3 12:60", "Foo 3 2003", "Jun 3", "Jun 3 2003 ", "",
+                "Jun 3 99", "Jun 3 12:00:00", "Jun\t3 2003", "June 3 2003");
+
+        // only a default format
+        final FTPClientConfig numeric = new FTPClientConfig(FTPClientConfig.SYST_NT, "MM-dd-yy hh:mma", null);
+        assertSameAsLegacy(numeric, now, "06-03-03 12:00PM", "06-03-03 12:00AM", "12-31-99 01:30pm", "13-01-03 12:00PM",
+                "06-03-2003 12:00PM", "6-3-3 1:05AM", "06-03-03 13:00PM", "06-03-03 12:00");
+
+        final FTPClientConfig seconds = new FTPClientConfig(FTPClientConfig.SYST_UNIX, "yyyy-MM-dd HH:mm:ss.SSS", "MMM d HH:mm:ss");
+        assertSameAsLegacy(seconds, now, "2024-06-03 10:11:12.013", "2024-06-03 10:11:12", "Jun 3 10:11:12",
+                "Jun 3 10:11", "2024-02-30 10:11:12.000");
+    }
+
+    @Test
+    public void serverTimeZoneTest() {
+        for (String zone : new String[]{"UTC", "Asia/Tokyo", "America/New_York", "Australia/Lord_Howe"}) {
+            final FTPClientConfig config = unix();
+            config.setServerTimeZoneId(zone);
+            // the client clock is in another zone than the server
+            final Calendar now = serverTime("Europe/Berlin", 2024, Calendar.MARCH, 31, 1, 30);
+            assertSameAsLegacy(config, now, "Mar 31 02:30", "Mar 31 01:00", "Mar 30 23:59", "Mar 31 23:00", "Apr 1 00:00",
+                    "Oct 27 02:30", "Mar 31 2024", "Nov 3 2024");
+        }
+    }
+
+    @Test
+    public void lenientFutureDatesTest() {
+        final Calendar now = serverTime("UTC", 2024, Calendar.JUNE, 15, 12, 0);
+        for (boolean lenient : new boolean[]{false, true}) {
+            final FTPClientConfig config = unix();
+            config.setLenientFutureDates(lenient);
+            assertSameAsLegacy(config, now, "Jun 15 11:00", "Jun 15 13:00", "Jun 16 11:59", "Jun 16 12:01", "Jun 17 00:00",
+                    "Dec 31 23:59");
+        }
+    }
+
+    @Test
+    public void japaneseTest() {
+        final FTPClientConfig config = new FTPClientConfig(FTPClientConfig.SYST_UNIX, JA_DEFAULT, JA_RECENT);
+        final Calendar now = serverTime("Asia/Tokyo", 2024, Calendar.JANUARY, 10, 9, 0);
+        assertSameAsLegacy(config, now, "6月 3日 2003年", "6月  3日 2003年", "8月 17日 20:10",
+                "1月 10日 08:59", "1月 10日 09:01", "2月 29日 12:00", "13月 1日 2003年");
+
+        final FTPClientConfig languageCode = unix();
+        languageCode.setServerLanguageCode("ja");
+        assertSameAsLegacy(languageCode, now, "6月 3 2003", "12月 31 23:59", "Jun 3 2003");
+
+        final FTPFile file = new UnixFTPEntryParser().parseFTPEntry(
+                "-rw-r--r--   1 user  group  1234 6月  3日 2003年 file.txt");
+        final Calendar timestamp = file.getTimestamp();
+        Assertions.assertEquals("file.txt", file.getName());
+        Assertions.assertEquals(2003, timestamp.get(Calendar.YEAR));
+        Assertions.assertEquals(Calendar.JUNE, timestamp.get(Calendar.MONTH));
+        Assertions.assertEquals(3, timestamp.get(Calendar.DAY_OF_MONTH));
+    }
+
+    @Test
+    public void abuttingNumbersTest() {
+        final Calendar now = serverTime("UTC", 2024, Calendar.JUNE, 15, 12, 0);
+        final FTPClientConfig config = new FTPClientConfig(FTPClientConfig.SYST_UNIX, "yyyyMMddHHmmss", "MMddHHmm");
+        assertSameAsLegacy(config, now, "20240102030405", "2024 0102030405", "2024010203 0405", " 20240102030405",
+                "2024\t0102030405", "20240102 030405", "0102 0304", "01020304", "2024010203040", "202401020304056");
+    }
+
+    @Test
+    public void randomTest() {
+        final String[] fragments = {"Jan", "Feb", "Jun", "Dec", " ", "  ", "\t", "1", "2", "3", "9", "12", "29", "31", "0",
+                "00", "59", "60", "24", ":", "2003", "2024", "-", "a"};
+        final Random random = new Random(47);
+        final FTPClientConfig[] configs = {unix(), new FTPClientConfig(FTPClientConfig.SYST_NT, "MM-dd-yy hh:mma", null),
+                new FTPClientConfig(FTPClientConfig.SYST_UNIX, "yyyyMMddHHmmss", "MMddHHmm")};
+        final Calendar now = serverTime("UTC", 2024, Calendar.FEBRUARY, 29, 12, 0);
+        for (FTPClientConfig config : configs) {
+            final List<String> timestamps = new ArrayList<>();
+            for (int i = 0; i < 3000; i++) {
+                final StringBuilder timestamp = new StringBuilder();
+                if (i % 2 == 0) {
+                    // month day time-or-year with random spacing
+                    timestamp.append(fragments[random.nextInt(4)]).append(fragments[4 + random.nextInt(3)])
+                            .append(1 + random.nextInt(32)).append(fragments[4 + random.nextInt(3)]);
+                    if (random.nextBoolean()) {
+                        timestamp.append(random.nextInt(25)).append(':').append(random.nextInt(61));
+                    } else {
+                        timestamp.append(2000 + random.nextInt(30));
+                    }
+                } else {
+                    for (int j = random.nextInt(7); j >= 0; j--) {
+                        timestamp.append(fragments[random.nextInt(fragments.length)]);
+                    }
+                }
+                timestamps.add(timestamp.toString());
+            }
+            assertSameAsLegacy(config, now, timestamps.toArray(new String[0]));
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void dateFormatTest() {
+        final FTPClientConfig config = unix();
+        config.setServerTimeZoneId("Asia/Tokyo");
+        final FTPTimestampParserImpl parser = new FTPTimestampParserImpl();
+        parser.configure(config);
+        final SimpleDateFormat defaultFormat = parser.getDefaultDateFormat();
+        Assertions.assertEquals(UnixFTPEntryParser.DEFAULT_DATE_FORMAT, defaultFormat.toPattern());
+        Assertions.assertEquals("Asia/Tokyo", defaultFormat.getTimeZone().getID());
+        Assertions.assertFalse(defaultFormat.isLenient());
+        Assertions.assertEquals(UnixFTPEntryParser.DEFAULT_RECENT_DATE_FORMAT, parser.getRecentDateFormat().toPattern());
+        Assertions.assertNotSame(defaultFormat, parser.getDefaultDateFormat());
+
+        parser.configure(new FTPClientConfig(FTPClientConfig.SYST_NT, "MM-dd-yy hh:mma", null));
+        Assertions.assertNull(parser.getRecentDateFormat());
+        Assertions.assertNull(parser.getRecentDateFormatter());
+    }
+
+    @Test
+    public void sharedParserTest() throws Exception {
+        final UnixFTPEntryParser parser = new UnixFTPEntryParser();
+        final Calendar now = Calendar.getInstance();
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                futures.add(pool.submit(() -> {
+                    // the SimpleDateFormat reference is not thread safe
+                    final LegacyFTPTimestampParser legacy = new LegacyFTPTimestampParser();
+                    legacy.configure(unix());
+                    for (int i = 0; i < 20_000; i++) {
+                        final String timestamp = "Jan " + (1 + (i + offset) % 28) + " " + (1990 + i % 30);
+                        Assertions.assertEquals(legacy.parseTimestamp(timestamp, now).getTimeInMillis(),
+                                parser.parseTimestamp(timestamp).getTimeInMillis(), timestamp);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void preParseResetsListingTest() throws Exception {
+        final MVSFTPEntryParser mvs = new MVSFTPEntryParser();
+        mvs.parseTimestamp("2001/01/01 10:00");
+        Assertions.assertNotNull(listing(mvs));
+        mvs.preParse(new ArrayList<>());
+        Assertions.assertNull(listing(mvs));
+
+        final VMSVersioningFTPEntryParser vms = new VMSVersioningFTPEntryParser();
+        vms.parseTimestamp("1-Jan-2001 10:00:00");
+        Assertions.assertNotNull(listing(vms));
+        vms.preParse(new ArrayList<>());
+        Assertions.assertNull(listing(vms));
+    }
+
+    private static Object listing(final ConfigurableFTPFileEntryParserImpl parser) throws Exception {
+        final Field field = ConfigurableFTPFileEntryParserImpl.class.getDeclaredField("listing");
+        field.setAccessible(true);
+        return field.get(parser);
+    }
+
+    private static FTPClientConfig unix() {
+        return new FTPClientConfig(FTPClientConfig.SYST_UNIX,
+                UnixFTPEntryParser.DEFAULT_DATE_FORMAT, UnixFTPEntryParser.DEFAULT_RECENT_DATE_FORMAT);
+    }
+
+    private static Calendar serverTime(String zone, int year, int month, int day, int hour, int minute) {
+        final Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(zone));
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        calendar.getTimeInMillis();
+        return calendar;
+    }
+
+    private static void assertSameAsLegacy(FTPClientConfig config, Calendar serverTime, String... timestamps) {
+        final LegacyFTPTimestampParser legacy = new LegacyFTPTimestampParser();
+        legacy.configure(config);
+        final FTPTimestampParserImpl parser = new FTPTimestampParserImpl();
+        parser.configure(config);
+        final FTPTimestampParserImpl.Listing listing = parser.newListing(serverTime);
+        for (String timestamp : timestamps) {
+            Calendar expected;
+            try {
+                expected = legacy.parseTimestamp(timestamp, serverTime);
+            } catch (ParseException e) {
+                expected = null;
+            }
+            // the second parse comes from the listing's memo
+            assertSameCalendar(expected, () -> listing.parse(timestamp), timestamp);
+            assertSameCalendar(expected, () -> listing.parse(timestamp), timestamp);
+            assertSameCalendar(expected, () -> parser.parseTimestamp(timestamp, serverTime), timestamp);
+        }
+    }
+
+    private static void assertSameCalendar(Calendar expected, Parse parse, String timestamp) {
+        if (expected == null) {
+            Assertions.assertThrows(ParseException.class, parse::parse, timestamp);
+            return;
+        }
+        final Calendar actual;
+        try {
+            actual = parse.parse();
+        } catch (ParseException e) {
+            throw new AssertionError("'" + timestamp + "' expected " + expected.getTime(), e);
+        }
+        for (int field : PRECISION_FIELDS) {
+            Assertions.assertEquals(expected.isSet(field), actual.isSet(field), timestamp);
+        }
+        Assertions.assertEquals(expected.getTimeInMillis(), actual.getTimeInMillis(), timestamp);
+        Assertions.assertEquals(expected.getTimeZone().getID(), actual.getTimeZone().getID(), timestamp);
+        Assertions.assertEquals(expected.getCalendarType(), actual.getCalendarType(), timestamp);
+    }
+
+    @FunctionalInterface
+    private interface Parse {
+
+        Calendar parse() throws ParseException;
+    }
+}
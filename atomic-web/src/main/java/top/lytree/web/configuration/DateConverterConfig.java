@@ -1,10 +1,11 @@
 package top.lytree.web.configuration;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 import org.springframework.core.convert.converter.Converter;
+import top.lytree.time.DateFormatterPool;
 
 /**
  * @author pride
@@ -13,6 +14,13 @@ public class DateConverterConfig implements Converter<String, LocalDateTime> {
 
     private static final List<String> formarts = new ArrayList<>(4);
 
+    private static final Pattern MONTH = Pattern.compile("^\\d{4}-\\d{1,2}$");
+    private static final Pattern DATE = Pattern.compile("^\\d{4}-\\d{1,2}-\\d{1,2}$");
+    private static final Pattern DATETIME_MINUTE = Pattern.compile("^\\d{4}-\\d{1,2}-\\d{1,2} {1}\\d{1,2}:\\d{1,2}$");
+    private static final Pattern DATETIME = Pattern.compile("^\\d{4}-\\d{1,2}-\\d{1,2} {1}\\d{1,2}:\\d{1,2}:\\d{1,2}$");
+    private static final Pattern UTC_SIMPLE = Pattern.compile("^\\d{4}-\\d{1,2}-\\d{1,2}'T'{1}\\d{1,2}:\\d{1,2}:\\d{1,2}$");
+    private static final Pattern UTC = Pattern.compile("^\\d{4}-\\d{1,2}-\\d{1,2}'T'{1}\\d{1,2}:\\d{1,2}:\\d{1,2}'Z'$");
+
     static {
         formarts.add("yyyy-MM");
         formarts.add("yyyy-MM-dd");
@@ -29,17 +37,17 @@ public class DateConverterConfig implements Converter<String, LocalDateTime> {
         if ("".equals(value)) {
             return null;
         }
-        if (source.matches("^\\d{4}-\\d{1,2}$")) {
+        if (MONTH.matcher(source).matches()) {
             return parseDate(source, formarts.get(0));
-        } else if (source.matches("^\\d{4}-\\d{1,2}-\\d{1,2}$")) {
+        } else if (DATE.matcher(source).matches()) {
             return parseDate(source, formarts.get(1));
-        } else if (source.matches("^\\d{4}-\\d{1,2}-\\d{1,2} {1}\\d{1,2}:\\d{1,2}$")) {
+        } else if (DATETIME_MINUTE.matcher(source).matches()) {
             return parseDate(source, formarts.get(2));
-        } else if (source.matches("^\\d{4}-\\d{1,2}-\\d{1,2} {1}\\d{1,2}:\\d{1,2}:\\d{1,2}$")) {
+        } else if (DATETIME.matcher(source).matches()) {
             return parseDate(source, formarts.get(3));
-        } else if (source.matches("^\\d{4}-\\d{1,2}-\\d{1,2}'T'{1}\\d{1,2}:\\d{1,2}:\\d{1,2}$")) {
+        } else if (UTC_SIMPLE.matcher(source).matches()) {
             return parseDate(source, formarts.get(4));
-        } else if (source.matches("^\\d{4}-\\d{1,2}-\\d{1,2}'T'{1}\\d{1,2}:\\d{1,2}:\\d{1,2}'Z'$")) {
+        } else if (UTC.matcher(source).matches()) {
             return parseDate(source, formarts.get(4));
         } else {
             throw new IllegalArgumentException("Invalid boolean value '" + source + "'");
@@ -54,7 +62,6 @@ public class DateConverterConfig implements Converter<String, LocalDateTime> {
      * @return Date 日期
      */
     public LocalDateTime parseDate(String dateStr, String format) {
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(format);
-        return LocalDateTime.parse(dateStr, dateTimeFormatter);
+        return LocalDateTime.parse(dateStr, DateFormatterPool.get(format));
     }
 }
@@ -18,7 +18,7 @@ public class BaseValidator {
 
     static {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-        validator = factory.getValidator();
+        validator = new CompiledValidator(factory.getValidator());
     }
 
     public static <T> void validate(T t) {
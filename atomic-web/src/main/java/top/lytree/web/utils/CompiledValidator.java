@@ -0,0 +1,576 @@
+package top.lytree.web.utils;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.GroupSequence;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.AssertFalse;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Negative;
+import jakarta.validation.constraints.NegativeOrZero;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.executable.ExecutableValidator;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.ContainerElementTypeDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import top.lytree.pattern.PatternPool;
+import top.lytree.validator.ChinaNumberValidator;
+
+/**
+ * 预编译校验计划的Bean Validation校验器
+ * <p>
+ * 首次校验某个类时，根据被包装校验器的元数据把该类的约束编译为扁平的（取值器，检查）数组：取值器是字段或getter的{@link MethodHandle}，
+ * 常用的内置约束（{@code @NotNull}、{@code @NotBlank}、{@code @Size}、{@code @Min}、{@code @Pattern}等）直接判断，
+ * 不再逐次解析元数据、反射取值；{@code @Pattern}为{@link PatternPool}中手机号、身份证、邮编的正则时使用{@link ChinaNumberValidator}。
+ * 级联（{@code @Valid}）的对象没有任何约束时直接跳过；其它约束（包括自定义约束）交给被包装的校验器按属性校验。
+ * </p>
+ * <p>
+ * 编译后的检查只用于确认"全部通过"：任何一项不通过时，改由被包装的校验器完整校验，违规信息与标准校验器完全一致。
+ * 类级约束、容器元素约束、组序列、组转换等无法编译的情况，该类直接使用被包装的校验器；只有按默认分组校验时才走编译后的检查。
+ * </p>
+ *
+ * <pre>
+ * // Spring MVC
+ * public org.springframework.validation.Validator getValidator() {
+ *     return new SpringValidatorAdapter(new CompiledValidator(factory.getValidator()));
+ * }
+ * </pre>
+ *
+ * @author pride
+ */
+public class CompiledValidator implements Validator {
+
+    /**
+     * 超过该级联深度时不再判断，交给被包装的校验器（它能识别循环引用）
+     */
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * 返回对象本身的取值器
+     */
+    private static final MethodHandle SELF = MethodHandles.identity(Object.class);
+
+    private final Validator delegate;
+
+    private final ClassValue<Plan> plans = new ClassValue<>() {
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    /**
+     * @param delegate 被包装的标准校验器，提供元数据，并在编译后的检查未通过时完整校验
+     */
+    public CompiledValidator(Validator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+        if (object != null && isDefault(groups) && plans.get(object.getClass()).passes(object, 0)) {
+            return Collections.emptySet();
+        }
+        return delegate.validate(object, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+        return delegate.validateProperty(object, propertyName, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value, Class<?>... groups) {
+        return delegate.validateValue(beanType, propertyName, value, groups);
+    }
+
+    @Override
+    public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+        return delegate.getConstraintsForClass(clazz);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        return type.isInstance(this) ? type.cast(this) : delegate.unwrap(type);
+    }
+
+    @Override
+    public ExecutableValidator forExecutables() {
+        return delegate.forExecutables();
+    }
+
+    private static boolean isDefault(Class<?>[] groups) {
+        return groups == null || groups.length == 0 || (groups.length == 1 && groups[0] == Default.class);
+    }
+
+    private Plan compile(Class<?> type) {
+        final BeanDescriptor bean = delegate.getConstraintsForClass(type);
+        if (!bean.isBeanConstrained()) {
+            return Plan.EMPTY;
+        }
+        if (!bean.getConstraintDescriptors().isEmpty() || redefinesDefaultGroup(type)) {
+            return Plan.FALLBACK;
+        }
+        final List<MethodHandle> accessors = new ArrayList<>();
+        final List<Check> checks = new ArrayList<>();
+        try {
+            for (PropertyDescriptor property : bean.getConstrainedProperties()) {
+                if (!isPlainCascade(property) || !property.getGroupConversions().isEmpty()) {
+                    return Plan.FALLBACK;
+                }
+                final String name = property.getPropertyName();
+                final Set<ConstraintDescriptor<?>> onField = property.findConstraints()
+                        .unorderedAndMatchingGroups(Default.class).declaredOn(ElementType.FIELD).getConstraintDescriptors();
+                final Set<ConstraintDescriptor<?>> onGetter = property.findConstraints()
+                        .unorderedAndMatchingGroups(Default.class).declaredOn(ElementType.METHOD).getConstraintDescriptors();
+                final List<Check> fieldChecks = compile(onField);
+                final List<Check> getterChecks = compile(onGetter);
+                if ((fieldChecks == null || getterChecks == null) && !onField.isEmpty() && !onGetter.isEmpty()) {
+                    // 含有无法编译的约束，整个属性交给被包装的校验器，不需要取值
+                    accessors.add(SELF);
+                    checks.add((target, value, depth) -> delegate.validateProperty(target, name).isEmpty());
+                } else if (fieldChecks == null || getterChecks == null) {
+                    // 约束都在字段或都在getter上时只需校验取到的值，validateValue比validateProperty开销小得多
+                    final MethodHandle accessor = onGetter.isEmpty() ? field(type, name) : getter(type, name);
+                    if (accessor == null) {
+                        return Plan.FALLBACK;
+                    }
+                    accessors.add(accessor);
+                    checks.add((target, value, depth) -> delegate.validateValue(type, name, value).isEmpty());
+                } else if (!add(accessors, checks, onField.isEmpty() ? null : field(type, name), fieldChecks)
+                        || !add(accessors, checks, onGetter.isEmpty() ? null : getter(type, name), getterChecks)) {
+                    return Plan.FALLBACK;
+                }
+                // List<@Valid T>这类只在容器元素上级联时，属性本身的isCascaded()为false
+                if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                    final Check cascade = cascade(property);
+                    if (cascade != null) {
+                        final MethodHandle accessor = cascadeAccessor(type, name);
+                        if (accessor == null) {
+                            return Plan.FALLBACK;
+                        }
+                        accessors.add(accessor);
+                        checks.add(cascade);
+                    }
+                }
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            return Plan.FALLBACK;
+        }
+        return accessors.isEmpty() ? Plan.EMPTY : new Plan(accessors.toArray(new MethodHandle[0]), checks.toArray(new Check[0]));
+    }
+
+    /**
+     * 容器元素上没有约束，只有{@code List<@Valid T>}、{@code Map<K, @Valid V>}、{@code @Valid T[]}这类对元素或值的级联
+     */
+    private static boolean isPlainCascade(PropertyDescriptor property) {
+        for (ContainerElementTypeDescriptor element : property.getConstrainedContainerElementTypes()) {
+            final boolean nested = !element.getConstraintDescriptors().isEmpty()
+                    || !element.getConstrainedContainerElementTypes().isEmpty() || !element.getGroupConversions().isEmpty();
+            if (!element.isCascaded() && !nested) {
+                // Map的另一个类型参数也会列出，没有任何约束时不影响校验
+                continue;
+            }
+            final Class<?> container = element.getContainerClass();
+            final boolean elements = Iterable.class.isAssignableFrom(container) || container.isArray()
+                    || (Map.class.isAssignableFrom(container) && Integer.valueOf(1).equals(element.getTypeArgumentIndex()));
+            if (!elements || !element.isCascaded() || nested) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean add(List<MethodHandle> accessors, List<Check> checks, MethodHandle accessor, List<Check> compiled) {
+        if (compiled.isEmpty()) {
+            return true;
+        }
+        if (accessor == null) {
+            return false;
+        }
+        for (Check check : compiled) {
+            accessors.add(accessor);
+            checks.add(check);
+        }
+        return true;
+    }
+
+    /**
+     * @return 编译后的检查，有无法编译的约束时返回{@code null}
+     */
+    private static List<Check> compile(Set<ConstraintDescriptor<?>> constraints) {
+        final List<Check> checks = new ArrayList<>(constraints.size());
+        for (ConstraintDescriptor<?> constraint : constraints) {
+            final Check check = constraint.getComposingConstraints().isEmpty() ? compile(constraint.getAnnotation()) : null;
+            if (check == null) {
+                return null;
+            }
+            checks.add(check);
+        }
+        return checks;
+    }
+
+    /**
+     * 与Hibernate Validator内置实现一致的判断；值的类型不受支持时判为不通过，由被包装的校验器给出结果
+     */
+    private static Check compile(Annotation annotation) {
+        if (annotation instanceof NotNull) {
+            return (bean, value, depth) -> value != null;
+        }
+        if (annotation instanceof Null) {
+            return (bean, value, depth) -> value == null;
+        }
+        if (annotation instanceof NotBlank) {
+            return (bean, value, depth) -> value instanceof CharSequence && !value.toString().trim().isEmpty();
+        }
+        if (annotation instanceof NotEmpty) {
+            return (bean, value, depth) -> value != null && size(value) > 0;
+        }
+        if (annotation instanceof Size size) {
+            final int min = size.min();
+            final int max = size.max();
+            return (bean, value, depth) -> {
+                if (value == null) {
+                    return true;
+                }
+                final int length = size(value);
+                return length >= min && length <= max;
+            };
+        }
+        if (annotation instanceof Min min) {
+            final long bound = min.value();
+            return (bean, value, depth) -> value == null || (isExact(value) && compare(value, bound) >= 0);
+        }
+        if (annotation instanceof Max max) {
+            final long bound = max.value();
+            return (bean, value, depth) -> value == null || (isExact(value) && compare(value, bound) <= 0);
+        }
+        if (annotation instanceof Positive) {
+            return (bean, value, depth) -> value == null || (isExact(value) && compare(value, 0) > 0);
+        }
+        if (annotation instanceof PositiveOrZero) {
+            return (bean, value, depth) -> value == null || (isExact(value) && compare(value, 0) >= 0);
+        }
+        if (annotation instanceof Negative) {
+            return (bean, value, depth) -> value == null || (isExact(value) && compare(value, 0) < 0);
+        }
+        if (annotation instanceof NegativeOrZero) {
+            return (bean, value, depth) -> value == null || (isExact(value) && compare(value, 0) <= 0);
+        }
+        if (annotation instanceof AssertTrue) {
+            return (bean, value, depth) -> value == null || Boolean.TRUE.equals(value);
+        }
+        if (annotation instanceof AssertFalse) {
+            return (bean, value, depth) -> value == null || Boolean.FALSE.equals(value);
+        }
+        if (annotation instanceof jakarta.validation.constraints.Pattern pattern) {
+            return compile(pattern);
+        }
+        return null;
+    }
+
+    private static Check compile(jakarta.validation.constraints.Pattern annotation) {
+        int flags = 0;
+        for (jakarta.validation.constraints.Pattern.Flag flag : annotation.flags()) {
+            flags |= flag.getValue();
+        }
+        final String regexp = annotation.regexp();
+        if (flags == 0 && regexp.equals(PatternPool.MOBILE.pattern())) {
+            return (bean, value, depth) -> value == null || (value instanceof CharSequence s && ChinaNumberValidator.isMobile(s));
+        }
+        if (flags == 0 && regexp.equals(PatternPool.CITIZEN_ID.pattern())) {
+            return (bean, value, depth) -> value == null || (value instanceof CharSequence s && ChinaNumberValidator.isCitizenId(s));
+        }
+        if (flags == 0 && regexp.equals(PatternPool.ZIP_CODE.pattern())) {
+            return (bean, value, depth) -> value == null || (value instanceof CharSequence s && ChinaNumberValidator.isZipCode(s));
+        }
+        final Pattern pattern = Pattern.compile(regexp, flags);
+        return (bean, value, depth) -> value == null || (value instanceof CharSequence s && pattern.matcher(s).matches());
+    }
+
+    /**
+     * @return 字符序列、集合、Map或数组的长度，其它类型返回-1
+     */
+    private static int size(Object value) {
+        if (value instanceof CharSequence s) {
+            return s.length();
+        }
+        if (value instanceof Collection<?> c) {
+            return c.size();
+        }
+        if (value instanceof Map<?, ?> m) {
+            return m.size();
+        }
+        if (value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+        return -1;
+    }
+
+    /**
+     * 整数及{@link BigDecimal}；浮点数、字符串等有各自的比较规则，由被包装的校验器判断
+     */
+    private static boolean isExact(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger || value instanceof BigDecimal;
+    }
+
+    /**
+     * 比较{@link #isExact(Object)}类型的值与{@code bound}
+     */
+    private static int compare(Object value, long bound) {
+        if (value instanceof BigInteger i) {
+            return i.compareTo(BigInteger.valueOf(bound));
+        }
+        if (value instanceof BigDecimal d) {
+            return d.compareTo(BigDecimal.valueOf(bound));
+        }
+        return Long.compare(((Number) value).longValue(), bound);
+    }
+
+    /**
+     * 级联检查：值为null或其类型（及元素类型）没有约束时通过
+     *
+     * @return 声明类型为final且没有约束时返回{@code null}，即整个对象图都可以跳过
+     */
+    private Check cascade(PropertyDescriptor property) {
+        final Class<?> declared = property.getElementClass();
+        if (Modifier.isFinal(declared.getModifiers()) && !declared.isArray()
+                && !delegate.getConstraintsForClass(declared).isBeanConstrained()) {
+            return null;
+        }
+        return (bean, value, depth) -> value == null || cascade(value, depth);
+    }
+
+    private boolean cascade(Object value, int depth) {
+        if (depth >= MAX_DEPTH || value instanceof Optional) {
+            return false;
+        }
+        if (value instanceof Iterable<?> iterable) {
+            for (Object element : iterable) {
+                if (element != null && !plans.get(element.getClass()).passes(element, depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Map<?, ?> map) {
+            for (Object element : map.values()) {
+                if (element != null && !plans.get(element.getClass()).passes(element, depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Object[] array) {
+            for (Object element : array) {
+                if (element != null && !plans.get(element.getClass()).passes(element, depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return plans.get(value.getClass()).passes(value, depth + 1);
+    }
+
+    /**
+     * 本身或容器元素类型标注{@link Valid}的字段或getter
+     */
+    private static MethodHandle cascadeAccessor(Class<?> type, String name) throws IllegalAccessException {
+        final Field field = findField(type, name);
+        if (field != null && (field.isAnnotationPresent(Valid.class) || isValidTypeArgument(field.getAnnotatedType()))) {
+            return accessor(field);
+        }
+        final Method getter = findGetter(type, name);
+        return getter != null && (getter.isAnnotationPresent(Valid.class) || isValidTypeArgument(getter.getAnnotatedReturnType()))
+                ? accessor(getter) : null;
+    }
+
+    private static boolean isValidTypeArgument(AnnotatedType type) {
+        if (type instanceof AnnotatedParameterizedType parameterized) {
+            for (AnnotatedType argument : parameterized.getAnnotatedActualTypeArguments()) {
+                if (argument.isAnnotationPresent(Valid.class) || isValidTypeArgument(argument)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static MethodHandle field(Class<?> type, String name) throws IllegalAccessException {
+        final Field field = findField(type, name);
+        return field == null ? null : accessor(field);
+    }
+
+    private static MethodHandle getter(Class<?> type, String name) throws IllegalAccessException {
+        final Method getter = findGetter(type, name);
+        return getter == null ? null : accessor(getter);
+    }
+
+    /**
+     * @return 继承层次中唯一的同名实例字段，没有或有多个时返回{@code null}
+     */
+    private static Field findField(Class<?> type, String name) {
+        Field found = null;
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                    if (found != null) {
+                        return null;
+                    }
+                    found = field;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return 最具体的{@code getXxx}、{@code isXxx}或{@code hasXxx}方法，有多种前缀时返回{@code null}
+     */
+    private static Method findGetter(Class<?> type, String name) {
+        final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        Method found = null;
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers()) && !method.isBridge()
+                        && method.getReturnType() != void.class && isGetterName(method.getName(), suffix)) {
+                    if (found == null) {
+                        found = method;
+                    } else if (!found.getName().equals(method.getName())) {
+                        return null;
+                    }
+                }
+            }
+        }
+        if (found == null) {
+            for (Method method : type.getMethods()) {
+                if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())
+                        && method.getReturnType() != void.class && isGetterName(method.getName(), suffix)) {
+                    return method;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean isGetterName(String method, String suffix) {
+        return method.endsWith(suffix) && (method.length() == suffix.length() + 3 && (method.startsWith("get") || method.startsWith("has"))
+                || method.length() == suffix.length() + 2 && method.startsWith("is"));
+    }
+
+    /**
+     * @return 类型为{@code (Object)Object}的取值器
+     */
+    private static MethodHandle accessor(AccessibleObject member) throws IllegalAccessException {
+        final MethodHandle handle;
+        if (member instanceof Field field) {
+            handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectGetter(field);
+        } else {
+            final Method method = (Method) member;
+            handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflect(method);
+        }
+        return handle.asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    /**
+     * 类或其父类通过{@link GroupSequence}或Hibernate Validator的{@code @GroupSequenceProvider}重新定义了默认分组
+     */
+    private static boolean redefinesDefaultGroup(Class<?> type) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Annotation annotation : c.getDeclaredAnnotations()) {
+                if (annotation instanceof GroupSequence
+                        || annotation.annotationType().getName().equals("org.hibernate.validator.group.GroupSequenceProvider")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Check {
+
+        /**
+         * @param bean  属性所在的对象
+         * @param value 属性值
+         * @param depth 级联深度
+         * @return 是否通过
+         */
+        boolean test(Object bean, Object value, int depth);
+    }
+
+    /**
+     * 一个类的校验计划：{@code checks[i]}检查{@code accessors[i]}取得的值
+     */
+    private static final class Plan {
+
+        /**
+         * 没有约束
+         */
+        static final Plan EMPTY = new Plan(new MethodHandle[0], new Check[0]);
+
+        /**
+         * 无法编译，总是交给被包装的校验器
+         */
+        static final Plan FALLBACK = new Plan(new MethodHandle[]{SELF},
+                new Check[]{(bean, value, depth) -> false});
+
+        private final MethodHandle[] accessors;
+        private final Check[] checks;
+
+        Plan(MethodHandle[] accessors, Check[] checks) {
+            this.accessors = accessors;
+            this.checks = checks;
+        }
+
+        boolean passes(Object bean, int depth) {
+            for (int i = 0; i < checks.length; i++) {
+                final Object value;
+                try {
+                    value = (Object) accessors[i].invokeExact(bean);
+                } catch (Throwable e) {
+                    // 取值异常由被包装的校验器报告
+                    return false;
+                }
+                if (!checks[i].test(bean, value, depth)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package top.lytree.web.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Payload;
+import jakarta.validation.Valid;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.ConvertGroup;
+import jakarta.validation.groups.Default;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 每种情况下的校验结果都与被包装的校验器逐条相同
+ */
+public class CompiledValidatorTest {
+
+    private static ValidatorFactory factory;
+
+    private static Validator delegate;
+
+    private static Validator compiled;
+
+    @BeforeAll
+    public static void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        delegate = factory.getValidator();
+        compiled = new CompiledValidator(delegate);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    public void nestedBeanTest() {
+        assertSame(0, order());
+        final Order invalidMain = order();
+        invalidMain.main.name = " ";
+        assertSame(1, invalidMain);
+        final Order nullMain = order();
+        nullMain.main = null;
+        assertSame(0, nullMain);
+
+        final Node head = new Node("a", new Node("b", new Node(null, null)));
+        assertSame(1, head);
+        head.next.next.value = "c";
+        assertSame(0, head);
+    }
+
+    @Test
+    public void containerElementTest() {
+        final Order list = order();
+        list.items.add(new Item("", 0));
+        assertSame(2, list);
+
+        final Order map = order();
+        map.byKey.put("b", new Item("y", 0));
+        assertSame(1, map);
+
+        final Order array = order();
+        array.array[0].qty = -1;
+        assertSame(1, array);
+
+        final Order nullElements = order();
+        nullElements.items.add(null);
+        nullElements.byKey.put("c", null);
+        assertSame(0, nullElements);
+
+        final Order tags = order();
+        tags.tags = List.of("a", "b", "c", "d");
+        assertSame(1, tags);
+
+        final Order email = order();
+        email.mail = "not an address";
+        assertSame(1, email);
+
+        final Getters getters = new Getters();
+        assertSame(0, getters);
+        getters.items.add(new Item(null, 1));
+        assertSame(1, getters);
+    }
+
+    @Test
+    public void groupTest() {
+        final Order order = order();
+        order.items.add(new Item("x", 0));
+        assertSame(1, order);
+        assertSame(0, order, Strict.class);
+        assertSame(1, order, Default.class, Strict.class);
+
+        order.items.clear();
+        order.note = null;
+        assertSame(0, order);
+        assertSame(1, order, Strict.class);
+    }
+
+    @Test
+    public void groupConversionTest() {
+        final Converted converted = new Converted();
+        converted.item = new Item("x", 1);
+        assertSame(0, converted);
+        converted.item.code = null;
+        assertSame(1, converted);
+        converted.item.code = "c";
+        converted.item.qty = 0;
+        assertSame(0, converted);
+
+        final Item element = new Item("y", 0);
+        converted.items.add(element);
+        assertSame(0, converted);
+        element.code = null;
+        assertSame(1, converted);
+    }
+
+    @Test
+    public void classLevelTest() {
+        final Range range = new Range();
+        range.from = 1;
+        range.to = 2;
+        assertSame(0, range);
+        range.to = 0;
+        assertSame(1, range);
+
+        final Order order = order();
+        order.range = range;
+        assertSame(1, order);
+        range.to = 5;
+        assertSame(0, order);
+    }
+
+    @Test
+    public void propertyTest() {
+        final Order order = order();
+        order.id = null;
+        order.items.add(new Item("", 0));
+        order.tags = List.of("a", "b", "c", "d");
+        order.note = null;
+        for (String property : List.of("id", "main", "items", "byKey", "array", "tags", "mail", "note", "range")) {
+            for (Class<?>[] groups : List.of(new Class<?>[0], new Class<?>[]{Strict.class})) {
+                Assertions.assertEquals(describe(delegate.validateProperty(order, property, groups)),
+                        describe(compiled.validateProperty(order, property, groups)), property);
+            }
+        }
+        Assertions.assertEquals(1, compiled.validateProperty(order, "id").size());
+        Assertions.assertEquals(1, compiled.validateValue(Order.class, "tags", List.of("a", "b", "c", "d")).size());
+        Assertions.assertEquals(describe(delegate.validateValue(Order.class, "id", null)),
+                describe(compiled.validateValue(Order.class, "id", null)));
+        Assertions.assertEquals(describe(delegate.validateValue(Item.class, "name", " ")),
+                describe(compiled.validateValue(Item.class, "name", " ")));
+        Assertions.assertEquals(describe(delegate.validateValue(Order.class, "note", null, Strict.class)),
+                describe(compiled.validateValue(Order.class, "note", null, Strict.class)));
+    }
+
+    /**
+     * 同一对象先经编译的计划校验，再与被包装的校验器比较，两次都要检查，因为计划只在首次校验时编译
+     */
+    private static void assertSame(int expected, Object bean, Class<?>... groups) {
+        for (int i = 0; i < 2; i++) {
+            final Set<String> actual = describe(compiled.validate(bean, groups));
+            Assertions.assertEquals(describe(delegate.validate(bean, groups)), actual);
+            Assertions.assertEquals(expected, actual.size(), actual::toString);
+        }
+    }
+
+    private static <T> Set<String> describe(Set<ConstraintViolation<T>> violations) {
+        final Set<String> result = new TreeSet<>();
+        for (ConstraintViolation<T> violation : violations) {
+            result.add(violation.getPropertyPath() + " " + violation.getMessageTemplate() + " " + violation.getInvalidValue());
+        }
+        return result;
+    }
+
+    private static Order order() {
+        final Order order = new Order();
+        order.id = "o1";
+        order.main = new Item("main", 1);
+        order.items.add(new Item("a", 2));
+        order.byKey.put("a", new Item("x", 3));
+        order.array = new Item[]{new Item("z", 4)};
+        order.tags = List.of("a");
+        order.mail = "a@b.com";
+        order.note = "n";
+        return order;
+    }
+
+    public interface Strict {
+    }
+
+    public static class Item {
+
+        @NotBlank
+        String name;
+
+        @Min(1)
+        int qty;
+
+        @NotNull(groups = Strict.class)
+        String code = "c";
+
+        Item(String name, int qty) {
+            this.name = name;
+            this.qty = qty;
+        }
+    }
+
+    public static class Order {
+
+        @NotNull
+        String id;
+
+        @Valid
+        Item main;
+
+        List<@Valid Item> items = new ArrayList<>();
+
+        Map<String, @Valid Item> byKey = new LinkedHashMap<>();
+
+        @Valid
+        Item[] array;
+
+        @Size(max = 3)
+        List<String> tags;
+
+        @Email
+        String mail;
+
+        @NotNull(groups = Strict.class)
+        String note;
+
+        @Valid
+        Range range;
+    }
+
+    public static class Node {
+
+        @NotNull
+        String value;
+
+        @Valid
+        Node next;
+
+        Node(String value, Node next) {
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    public static class Getters {
+
+        private final List<Item> items = new ArrayList<>(List.of(new Item("a", 1)));
+
+        public List<@Valid Item> getItems() {
+            return items;
+        }
+    }
+
+    public static class Converted {
+
+        @Valid
+        @ConvertGroup(to = Strict.class)
+        Item item;
+
+        List<@Valid @ConvertGroup(to = Strict.class) Item> items = new ArrayList<>();
+    }
+
+    @Ordered
+    public static class Range {
+
+        @Min(0)
+        int from;
+
+        int to;
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = OrderedValidator.class)
+    public @interface Ordered {
+
+        String message() default "from must not exceed to";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    public static class OrderedValidator implements ConstraintValidator<Ordered, Range> {
+
+        @Override
+        public boolean isValid(Range value, ConstraintValidatorContext context) {
+            return value == null || value.from <= value.to;
+        }
+    }
+}